@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -83,9 +84,9 @@ public class ServiceMetadataGenerator implements PoetClass {
                                           .addModifiers(PRIVATE, FINAL, STATIC)
                                           .initializer(partitionEndpoints(partitions))
                                           .build())
-                       .addField(FieldSpec.builder(mapOfStringString, "REGION_OVERRIDDEN_ENDPOINTS")
+                       .addField(FieldSpec.builder(mapOfStringString, "ENDPOINTS")
                                           .addModifiers(PRIVATE, FINAL, STATIC)
-                                          .initializer(serviceEndpoints(partitions))
+                                          .initializer(endpoints(partitions))
                                           .build())
                        .addField(FieldSpec.builder(listOfRegions, "REGIONS")
                                           .addModifiers(PRIVATE, FINAL, STATIC)
@@ -123,20 +124,28 @@ public class ServiceMetadataGenerator implements PoetClass {
         return builder.add(".build()").build();
     }
 
-    private CodeBlock serviceEndpoints(Partitions partitions) {
-        Map<String, Service> services = getServiceData(partitions);
-
-        CodeBlock.Builder builder = CodeBlock.builder().add("$T.<String, String>builder()", ImmutableMap.class);
+    /**
+     * The endpoint of each region the service is available in, so that looking one up at runtime does not have to compute it.
+     * Regions are skipped if their endpoint can not be determined without runtime metadata, and are resolved with
+     * {@code computeEndpoint} instead.
+     */
+    private CodeBlock endpoints(Partitions partitions) {
+        Map<String, String> endpoints = new LinkedHashMap<>();
 
-        services.values()
-                .stream()
-                .forEach(s -> s.getEndpoints()
-                               .entrySet()
-                               .stream()
-                               .filter(e -> e.getValue().getHostname() != null)
-                               .forEach(e -> builder.add(".put(\"" + e.getKey() + "\", " +
-                                                         "\"" + e.getValue().getHostname() + "\")")));
+        partitions.getPartitions()
+                  .stream()
+                  .filter(p -> p.getServices().containsKey(service))
+                  .forEach(p -> p.getServices().get(service).getEndpoints().forEach((region, endpoint) -> {
+                      if (endpoint.getHostname() != null) {
+                          endpoints.putIfAbsent(region, endpoint.getHostname());
+                      } else if (p.getRegions().containsKey(region)) {
+                          // Matches ServiceMetadata.computeEndpoint for regions with region metadata.
+                          endpoints.putIfAbsent(region, service + "." + region + "." + p.getDnsSuffix());
+                      }
+                  }));
 
+        CodeBlock.Builder builder = CodeBlock.builder().add("$T.<String, String>builder()", ImmutableMap.class);
+        endpoints.forEach((region, endpoint) -> builder.add(".put($S, $S)", region, endpoint));
         return builder.add(".build()").build();
     }
 
@@ -197,8 +206,8 @@ public class ServiceMetadataGenerator implements PoetClass {
                          .addParameter(ClassName.get(regionBasePackage, "Region"), "region")
                          .addAnnotation(Override.class)
                          .returns(URI.class)
-                         .addStatement("return $T.create(REGION_OVERRIDDEN_ENDPOINTS.containsKey(region.id()) ? "
-                                       + "REGION_OVERRIDDEN_ENDPOINTS.get(region.id()) : "
+                         .addStatement("String endpoint = ENDPOINTS.get(region.id())")
+                         .addStatement("return $T.create(endpoint != null ? endpoint : "
                                        + "computeEndpoint(ENDPOINT_PREFIX, PARTITION_OVERRIDDEN_ENDPOINTS, region))",
                                        URI.class)
                          .build();
@@ -18,13 +18,18 @@ public final class S3ServiceMetadata implements ServiceMetadata {
 
     private static final Map<String, String> PARTITION_OVERRIDDEN_ENDPOINTS = ImmutableMap.<String, String> builder().build();
 
-    private static final Map<String, String> REGION_OVERRIDDEN_ENDPOINTS = ImmutableMap.<String, String> builder()
+    private static final Map<String, String> ENDPOINTS = ImmutableMap.<String, String> builder()
+            .put("ap-northeast-1", "s3.ap-northeast-1.amazonaws.com").put("ap-northeast-2", "s3.ap-northeast-2.amazonaws.com")
+            .put("ap-south-1", "s3.ap-south-1.amazonaws.com").put("ap-southeast-1", "s3.ap-southeast-1.amazonaws.com")
+            .put("ap-southeast-2", "s3.ap-southeast-2.amazonaws.com").put("ca-central-1", "s3.ca-central-1.amazonaws.com")
+            .put("eu-central-1", "s3.eu-central-1.amazonaws.com").put("eu-west-1", "s3.eu-west-1.amazonaws.com")
+            .put("eu-west-2", "s3.eu-west-2.amazonaws.com").put("eu-west-3", "s3.eu-west-3.amazonaws.com")
+            .put("s3-external-1", "s3-external-1.amazonaws.com").put("sa-east-1", "s3.sa-east-1.amazonaws.com")
+            .put("us-east-1", "s3.amazonaws.com").put("us-east-2", "s3.us-east-2.amazonaws.com")
+            .put("us-west-1", "s3.us-west-1.amazonaws.com").put("us-west-2", "s3.us-west-2.amazonaws.com")
+            .put("cn-north-1", "s3.cn-north-1.amazonaws.com.cn").put("cn-northwest-1", "s3.cn-northwest-1.amazonaws.com.cn")
             .put("fips-us-gov-west-1", "s3-fips-us-gov-west-1.amazonaws.com")
-            .put("us-gov-west-1", "s3.us-gov-west-1.amazonaws.com").put("ap-northeast-1", "s3.ap-northeast-1.amazonaws.com")
-            .put("ap-southeast-1", "s3.ap-southeast-1.amazonaws.com").put("ap-southeast-2", "s3.ap-southeast-2.amazonaws.com")
-            .put("eu-west-1", "s3.eu-west-1.amazonaws.com").put("s3-external-1", "s3-external-1.amazonaws.com")
-            .put("sa-east-1", "s3.sa-east-1.amazonaws.com").put("us-east-1", "s3.amazonaws.com")
-            .put("us-west-1", "s3.us-west-1.amazonaws.com").put("us-west-2", "s3.us-west-2.amazonaws.com").build();
+            .put("us-gov-west-1", "s3.us-gov-west-1.amazonaws.com").build();
 
     private static final List<Region> REGIONS = Collections.unmodifiableList(Arrays.asList(Region.of("ap-northeast-1"),
             Region.of("ap-northeast-2"), Region.of("ap-south-1"), Region.of("ap-southeast-1"), Region.of("ap-southeast-2"),
@@ -43,8 +48,8 @@ public final class S3ServiceMetadata implements ServiceMetadata {
 
     @Override
     public URI endpointFor(Region region) {
-        return URI.create(REGION_OVERRIDDEN_ENDPOINTS.containsKey(region.id()) ? REGION_OVERRIDDEN_ENDPOINTS.get(region.id())
-                : computeEndpoint(ENDPOINT_PREFIX, PARTITION_OVERRIDDEN_ENDPOINTS, region));
+        String endpoint = ENDPOINTS.get(region.id());
+        return URI.create(endpoint != null ? endpoint : computeEndpoint(ENDPOINT_PREFIX, PARTITION_OVERRIDDEN_ENDPOINTS, region));
     }
 
     @Override
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.credentials;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * An {@link AwsCredentialsProvider} that can load credentials without blocking the calling thread.
+ *
+ * <p>Asynchronous clients use {@link #resolveCredentialsAsync()} instead of {@link #resolveCredentials()} when the configured
+ * credentials provider implements this interface, so that a request that needs the credentials to be refreshed (e.g. from the
+ * Amazon EC2 metadata service or AWS STS) does not block the thread that made the request while the refresh is in progress.</p>
+ *
+ * <p>Implementations include {@link DefaultCredentialsProvider}, {@link InstanceProfileCredentialsProvider} and
+ * {@link ContainerCredentialsProvider}, as well as the AWS STS credentials providers.</p>
+ */
+@SdkPublicApi
+public interface AsyncAwsCredentialsProvider extends AwsCredentialsProvider {
+    /**
+     * Returns a future that is completed with {@link AwsCredentials} that can be used to authorize an AWS request. If the
+     * credentials are already available, the returned future is already completed.
+     *
+     * <p>If an error occurs during the loading of credentials or credentials could not be found, the future will be completed
+     * exceptionally instead of raising the exception from this method.</p>
+     *
+     * @return A future that is completed with AwsCredentials which the caller can use to authorize an AWS request.
+     */
+    CompletableFuture<AwsCredentials> resolveCredentialsAsync();
+}
@@ -20,8 +20,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
@@ -40,24 +45,43 @@ import software.amazon.awssdk.utils.Validate;
  * will continue to use that provider when credentials are requested in the future, instead of traversing the chain each time.
  * This behavior can be controlled through the {@link Builder#reuseLastProviderEnabled(Boolean)} method.</p>
  *
+ * <p>When credentials are loaded with {@link #resolveCredentialsAsync()}, providers in the chain that implement
+ * {@link AsyncAwsCredentialsProvider} are also called asynchronously, and the next provider is only tried once the previous one
+ * has failed.</p>
+ *
+ * <p>If {@link Builder#parallelResolutionEnabled(Boolean)} is enabled, all providers in the chain are called at once instead,
+ * so that slow providers, such as those loading credentials from a local endpoint, do not wait for each other to fail. The
+ * credentials of the first provider in the chain that succeeds are still used, and concurrent callers share a single
+ * resolution.</p>
+ *
  * <p>This chain implements {@link AutoCloseable}. When closed, it will call the {@link AutoCloseable#close()} on any credential
  * providers in the chain that need to be closed.</p>
  */
 @SdkPublicApi
-public final class AwsCredentialsProviderChain implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class AwsCredentialsProviderChain implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private static final Logger log = Logger.loggerFor(AwsCredentialsProviderChain.class);
 
     private final List<AwsCredentialsProvider> credentialsProviders;
 
     private final boolean reuseLastProviderEnabled;
 
+    private final boolean parallelResolutionEnabled;
+
+    private final Object resolutionLock = new Object();
+
     private volatile AwsCredentialsProvider lastUsedProvider;
 
+    /**
+     * The resolution in progress when {@link #parallelResolutionEnabled} is set, guarded by {@link #resolutionLock}.
+     */
+    private CompletableFuture<AwsCredentials> pendingResolution;
+
     /**
      * @see #builder()
      */
     private AwsCredentialsProviderChain(BuilderImpl builder) {
         this.reuseLastProviderEnabled = builder.reuseLastProviderEnabled;
+        this.parallelResolutionEnabled = builder.parallelResolutionEnabled;
         this.credentialsProviders = Collections.unmodifiableList(
                 Validate.notEmpty(builder.credentialsProviders, "No credential providers were specified."));
     }
@@ -85,6 +109,14 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
             return lastUsedProvider.resolveCredentials();
         }
 
+        if (parallelResolutionEnabled) {
+            try {
+                return resolveCredentialsInParallel().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
         List<String> exceptionMessages = null;
         for (AwsCredentialsProvider provider : credentialsProviders) {
             try {
@@ -96,20 +128,96 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
                 return credentials;
             } catch (RuntimeException e) {
                 // Ignore any exceptions and move onto the next provider
-                String message = provider + ": " + e.getMessage();
-                log.debug(() -> "Unable to load credentials from " + message , e);
+                exceptionMessages = recordFailure(exceptionMessages, provider, e);
+            }
+        }
 
-                if (exceptionMessages == null) {
-                    exceptionMessages = new ArrayList<>();
-                }
-                exceptionMessages.add(message);
+        throw noCredentialsException(exceptionMessages);
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        AwsCredentialsProvider provider = lastUsedProvider;
+        if (reuseLastProviderEnabled && provider != null) {
+            return CredentialUtils.resolveCredentialsAsync(provider);
+        }
+
+        if (parallelResolutionEnabled) {
+            return resolveCredentialsInParallel();
+        }
+
+        return resolveInOrder(i -> CredentialUtils.resolveCredentialsAsync(credentialsProviders.get(i)), 0, null);
+    }
+
+    /**
+     * Call all providers in the chain at once, or join the resolution that is already in progress.
+     */
+    private CompletableFuture<AwsCredentials> resolveCredentialsInParallel() {
+        CompletableFuture<AwsCredentials> resolution;
+        synchronized (resolutionLock) {
+            resolution = pendingResolution;
+            if (resolution == null) {
+                List<CompletableFuture<AwsCredentials>> probes = new ArrayList<>(credentialsProviders.size());
+                credentialsProviders.forEach(provider -> probes.add(CredentialUtils.resolveCredentialsAsync(provider)));
+
+                CompletableFuture<AwsCredentials> newResolution = resolveInOrder(probes::get, 0, null);
+                resolution = newResolution;
+                pendingResolution = newResolution;
+                newResolution.whenComplete((credentials, error) -> {
+                    synchronized (resolutionLock) {
+                        if (pendingResolution == newResolution) {
+                            pendingResolution = null;
+                        }
+                    }
+                });
             }
         }
 
-        throw SdkClientException.builder()
-                                .message("Unable to load credentials from any of the providers in the chain " +
-                                         this + " : " + exceptionMessages)
-                                .build();
+        // Callers get their own future, so that one of them cancelling does not affect the others.
+        return resolution.thenApply(Function.identity());
+    }
+
+    /**
+     * Wait for the result of the provider at the given index in the chain, moving on to the next provider if it fails.
+     *
+     * @param probe Loads the credentials of the provider at an index in the chain.
+     */
+    private CompletableFuture<AwsCredentials> resolveInOrder(IntFunction<CompletableFuture<AwsCredentials>> probe,
+                                                             int index,
+                                                             List<String> exceptionMessages) {
+        if (index == credentialsProviders.size()) {
+            return CompletableFutureUtils.failedFuture(noCredentialsException(exceptionMessages));
+        }
+
+        AwsCredentialsProvider provider = credentialsProviders.get(index);
+        return probe.apply(index).handle((credentials, error) -> {
+            if (error == null) {
+                log.debug(() -> "Loading credentials from " + provider);
+
+                lastUsedProvider = provider;
+                return CompletableFuture.completedFuture(credentials);
+            }
+
+            // Ignore any exceptions and move onto the next provider
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return resolveInOrder(probe, index + 1, recordFailure(exceptionMessages, provider, cause));
+        }).thenCompose(Function.identity());
+    }
+
+    private static List<String> recordFailure(List<String> exceptionMessages, AwsCredentialsProvider provider, Throwable e) {
+        String message = provider + ": " + e.getMessage();
+        log.debug(() -> "Unable to load credentials from " + message , e);
+
+        List<String> messages = exceptionMessages == null ? new ArrayList<>() : exceptionMessages;
+        messages.add(message);
+        return messages;
+    }
+
+    private SdkClientException noCredentialsException(List<String> exceptionMessages) {
+        return SdkClientException.builder()
+                                 .message("Unable to load credentials from any of the providers in the chain " +
+                                          this + " : " + exceptionMessages)
+                                 .build();
     }
 
     @Override
@@ -138,6 +246,20 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
          */
         Builder reuseLastProviderEnabled(Boolean reuseLastProviderEnabled);
 
+        /**
+         * Controls whether the chain should call all of its credentials providers at once when it needs to search for
+         * credentials, instead of calling each one after the previous one has failed. The credentials of the first provider in
+         * the chain that succeeds are used either way, but a provider near the end of the chain no longer has to wait for slow
+         * providers before it to time out.
+         *
+         * <p>Every provider in the chain is called, even if an earlier one succeeds, so this is most useful when the chain ends
+         * in providers that load credentials asynchronously from a network endpoint.</p>
+         *
+         * <p>
+         * By default, this is disabled
+         */
+        Builder parallelResolutionEnabled(Boolean parallelResolutionEnabled);
+
         /**
          * Configure the credentials providers that should be checked for credentials, in the order they should be checked.
          */
@@ -158,6 +280,7 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
 
     private static final class BuilderImpl implements Builder {
         private Boolean reuseLastProviderEnabled = true;
+        private Boolean parallelResolutionEnabled = false;
         private List<AwsCredentialsProvider> credentialsProviders = new ArrayList<>();
 
         private BuilderImpl() {}
@@ -172,6 +295,16 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
             reuseLastProviderEnabled(reuseLastProviderEnabled);
         }
 
+        @Override
+        public Builder parallelResolutionEnabled(Boolean parallelResolutionEnabled) {
+            this.parallelResolutionEnabled = parallelResolutionEnabled;
+            return this;
+        }
+
+        public void setParallelResolutionEnabled(Boolean parallelResolutionEnabled) {
+            parallelResolutionEnabled(parallelResolutionEnabled);
+        }
+
         @Override
         public Builder credentialsProviders(Collection<? extends AwsCredentialsProvider> credentialsProviders) {
             this.credentialsProviders = new ArrayList<>(credentialsProviders);
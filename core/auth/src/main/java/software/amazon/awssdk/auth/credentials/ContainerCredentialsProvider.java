@@ -163,7 +163,6 @@ public final class ContainerCredentialsProvider extends HttpCredentialsProvider
         private ResourcesEndpointProvider credentialsEndpointProvider = new ContainerCredentialsEndpointProvider();
 
         BuilderImpl() {
-            super.asyncThreadName("container-credentials-provider");
         }
 
         @SdkTestInternalApi
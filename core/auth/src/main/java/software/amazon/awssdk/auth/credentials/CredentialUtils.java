@@ -15,7 +15,9 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 @SdkProtectedApi
 public final class CredentialUtils {
@@ -30,4 +32,21 @@ public final class CredentialUtils {
     public static boolean isAnonymous(AwsCredentials credentials) {
         return credentials.secretAccessKey() == null && credentials.accessKeyId() == null;
     }
+
+    /**
+     * Load credentials from the provided provider without blocking the calling thread if it is an
+     * {@link AsyncAwsCredentialsProvider}. Other providers are called on the calling thread, and any exception they raise is
+     * used to complete the returned future.
+     */
+    public static CompletableFuture<AwsCredentials> resolveCredentialsAsync(AwsCredentialsProvider credentialsProvider) {
+        if (credentialsProvider instanceof AsyncAwsCredentialsProvider) {
+            return ((AsyncAwsCredentialsProvider) credentialsProvider).resolveCredentialsAsync();
+        }
+
+        try {
+            return CompletableFuture.completedFuture(credentialsProvider.resolveCredentials());
+        } catch (RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
 }
@@ -15,7 +15,10 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ToString;
 
@@ -30,6 +33,13 @@ import software.amazon.awssdk.utils.ToString;
  *   <li>Instance profile credentials delivered through the Amazon EC2 metadata service</li>
  * </ol>
  *
+ * <p>When credentials are loaded with {@link #resolveCredentialsAsync()}, the container and instance profile credentials are
+ * loaded without blocking the calling thread.</p>
+ *
+ * <p>When {@link Builder#parallelResolutionEnabled(Boolean)} is enabled, all of these sources are checked at once, still
+ * preferring them in the order above, and the search starts in the background as soon as the provider is returned by
+ * {@link #create()} or {@link Builder#build()}.</p>
+ *
  * @see SystemPropertyCredentialsProvider
  * @see EnvironmentVariableCredentialsProvider
  * @see ProfileCredentialsProvider
@@ -37,17 +47,29 @@ import software.amazon.awssdk.utils.ToString;
  * @see InstanceProfileCredentialsProvider
  */
 @SdkPublicApi
-public final class DefaultCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class DefaultCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
 
     private static final DefaultCredentialsProvider DEFAULT_CREDENTIALS_PROVIDER = new DefaultCredentialsProvider(builder());
 
     private final AwsCredentialsProviderChain providerChain;
 
+    private final boolean warmUpEnabled;
+
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+
     /**
      * @see #builder()
      */
     private DefaultCredentialsProvider(Builder builder) {
-        this.providerChain = createChain(builder);
+        this(createChain(builder), builder.parallelResolutionEnabled);
+    }
+
+    /**
+     * Used by tests to check the warm-up with their own providers.
+     */
+    DefaultCredentialsProvider(AwsCredentialsProviderChain providerChain, boolean warmUpEnabled) {
+        this.providerChain = providerChain;
+        this.warmUpEnabled = warmUpEnabled;
     }
 
     /**
@@ -55,9 +77,22 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
      * specified by creating an create using the {@link #builder()}.
      */
     public static DefaultCredentialsProvider create() {
+        DEFAULT_CREDENTIALS_PROVIDER.startWarmUp();
         return DEFAULT_CREDENTIALS_PROVIDER;
     }
 
+    /**
+     * When parallel resolution is enabled, start looking for credentials the first time this provider is handed out, so that
+     * they are likely to be ready by the time the first request is signed. This is not done in the constructor, so that
+     * loading this class does not call the metadata endpoints. A failure is not cached, so the first request repeats the
+     * search and reports the error.
+     */
+    void startWarmUp() {
+        if (warmUpEnabled && warmUpStarted.compareAndSet(false, true)) {
+            providerChain.resolveCredentialsAsync();
+        }
+    }
+
     /**
      * Create the default credential chain using the configuration in the provided builder.
      */
@@ -76,6 +111,7 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
 
         return AwsCredentialsProviderChain.builder()
                                           .reuseLastProviderEnabled(builder.reuseLastProviderEnabled)
+                                          .parallelResolutionEnabled(builder.parallelResolutionEnabled)
                                           .credentialsProviders(credentialsProviders)
                                           .build();
     }
@@ -92,6 +128,11 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
         return providerChain.resolveCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return providerChain.resolveCredentialsAsync();
+    }
+
     @Override
     public void close() {
         providerChain.close();
@@ -110,6 +151,8 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
     public static final class Builder {
         private Boolean reuseLastProviderEnabled = true;
         private Boolean asyncCredentialUpdateEnabled = false;
+        private Boolean parallelResolutionEnabled =
+            SdkSystemSetting.AWS_PARALLEL_CREDENTIAL_RESOLUTION_ENABLED.getBooleanValueOrThrow();
 
         /**
          * Created with {@link #builder()}.
@@ -139,11 +182,30 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
             return this;
         }
 
+        /**
+         * Configure whether this provider should check all of its credential sources at once, instead of waiting for each one
+         * to fail before checking the next. The first source in the chain's order that has credentials is still used. When
+         * enabled, the provider also starts looking for credentials in the background as soon as it is built, so that they are
+         * ready for the first request of a client.
+         *
+         * <p>This mostly helps on hosts where credentials come from the container or instance metadata endpoints, at the cost
+         * of calling those endpoints even when credentials are found earlier in the chain.</p>
+         *
+         * <p>By default, this is disabled, unless the {@code aws.parallelCredentialResolutionEnabled} system property is set to
+         * true.</p>
+         */
+        public Builder parallelResolutionEnabled(Boolean parallelResolutionEnabled) {
+            this.parallelResolutionEnabled = parallelResolutionEnabled;
+            return this;
+        }
+
         /**
          * Create a {@link DefaultCredentialsProvider} using the configuration defined in this builder.
          */
         public DefaultCredentialsProvider build() {
-            return new DefaultCredentialsProvider(this);
+            DefaultCredentialsProvider provider = new DefaultCredentialsProvider(this);
+            provider.startWarmUp();
+            return provider;
         }
     }
 }
@@ -21,12 +21,14 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.util.json.JacksonUtils;
 import software.amazon.awssdk.regions.util.HttpResourcesUtils;
 import software.amazon.awssdk.regions.util.ResourcesEndpointProvider;
 import software.amazon.awssdk.utils.ComparableUtils;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.DateUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
@@ -37,22 +39,25 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
 /**
  * Helper class that contains the common behavior of the CredentialsProviders that loads the credentials from a local endpoint on
  * a container (e.g. an EC2 instance).
+ *
+ * <p>When credentials are loaded with {@link #resolveCredentialsAsync()}, the request to the endpoint is made on a background
+ * thread shared by all credentials providers, so the caller is never blocked on it.</p>
  */
 @SdkProtectedApi
-public abstract class HttpCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public abstract class HttpCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final Optional<CachedSupplier<AwsCredentials>> credentialsCache;
 
     protected HttpCredentialsProvider(BuilderImpl<?, ?> builder) {
-        this(builder.asyncCredentialUpdateEnabled, builder.asyncThreadName);
+        this(builder.asyncCredentialUpdateEnabled);
     }
 
-    HttpCredentialsProvider(boolean asyncCredentialUpdateEnabled, String asyncThreadName) {
+    HttpCredentialsProvider(boolean asyncCredentialUpdateEnabled) {
         if (isLocalCredentialLoadingDisabled()) {
             this.credentialsCache = Optional.empty();
         } else {
             CachedSupplier.Builder<AwsCredentials> cacheBuilder = CachedSupplier.builder(this::refreshCredentials);
             if (asyncCredentialUpdateEnabled) {
-                cacheBuilder.prefetchStrategy(new NonBlocking(asyncThreadName));
+                cacheBuilder.prefetchStrategy(new NonBlocking());
             }
             this.credentialsCache = Optional.of(cacheBuilder.build());
         }
@@ -138,13 +143,31 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
     @Override
     public AwsCredentials resolveCredentials() {
         if (isLocalCredentialLoadingDisabled()) {
-            throw SdkClientException.builder()
-                                    .message("Loading credentials from local endpoint is disabled. Unable to load " +
-                                             "credentials from service endpoint.")
-                                    .build();
+            throw loadingDisabledException();
         }
-        return credentialsCache.map(CachedSupplier::get).orElseThrow(() ->
-                SdkClientException.builder().message("Unable to load credentials from service endpoint").build());
+        return credentialsCache.map(CachedSupplier::get).orElseThrow(HttpCredentialsProvider::unavailableException);
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (isLocalCredentialLoadingDisabled()) {
+            return CompletableFutureUtils.failedFuture(loadingDisabledException());
+        }
+        if (!credentialsCache.isPresent()) {
+            return CompletableFutureUtils.failedFuture(unavailableException());
+        }
+        return credentialsCache.get().getAsync();
+    }
+
+    private static SdkClientException loadingDisabledException() {
+        return SdkClientException.builder()
+                                 .message("Loading credentials from local endpoint is disabled. Unable to load " +
+                                          "credentials from service endpoint.")
+                                 .build();
+    }
+
+    private static SdkClientException unavailableException() {
+        return SdkClientException.builder().message("Unable to load credentials from service endpoint").build();
     }
 
     @Override
@@ -163,6 +186,11 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
          */
         BuilderT asyncCredentialUpdateEnabled(Boolean asyncCredentialUpdateEnabled);
 
+        /**
+         * @deprecated Credentials are fetched in the background on threads that are shared by all credentials providers, so the
+         * thread name is no longer used.
+         */
+        @Deprecated
         BuilderT asyncThreadName(String asyncThreadName);
 
         TypeToBuildT build();
@@ -174,7 +202,6 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
     protected abstract static class BuilderImpl<TypeToBuildT extends HttpCredentialsProvider, BuilderT extends Builder>
         implements Builder<TypeToBuildT, BuilderT> {
         private boolean asyncCredentialUpdateEnabled = false;
-        private String asyncThreadName;
 
         protected BuilderImpl() {
         }
@@ -190,11 +217,12 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
         }
 
         @Override
+        @Deprecated
         public BuilderT asyncThreadName(String asyncThreadName) {
-            this.asyncThreadName = asyncThreadName;
             return (BuilderT) this;
         }
 
+        @Deprecated
         public void setAsyncThreadName(String asyncThreadName) {
             asyncThreadName(asyncThreadName);
         }
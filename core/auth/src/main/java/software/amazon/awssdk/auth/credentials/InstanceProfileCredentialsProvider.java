@@ -17,10 +17,11 @@ package software.amazon.awssdk.auth.credentials;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Map;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.regions.util.HttpResourcesUtils;
+import software.amazon.awssdk.regions.util.Ec2MetadataClient;
 import software.amazon.awssdk.regions.util.ResourcesEndpointProvider;
 import software.amazon.awssdk.utils.ToString;
 
@@ -30,6 +31,10 @@ import software.amazon.awssdk.utils.ToString;
  * <P>
  * If {@link SdkSystemSetting#AWS_EC2_METADATA_DISABLED} is set to true, it will not try to load
  * credentials from EC2 metadata service and will return null.
+ *
+ * <P>
+ * Requests are authenticated with the session token of the shared {@link Ec2MetadataClient} when the metadata service
+ * supports it, and fail immediately if the metadata service was recently found to be unreachable.
  */
 @SdkPublicApi
 public final class InstanceProfileCredentialsProvider extends HttpCredentialsProvider {
@@ -80,8 +85,13 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
         public URI endpoint() throws IOException {
             String host = SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow();
 
-            URI endpoint = URI.create(host + SECURITY_CREDENTIALS_RESOURCE);
-            String securityCredentialsList = HttpResourcesUtils.instance().readResource(endpoint);
+            String securityCredentialsList =
+                Ec2MetadataClient.instance()
+                                 .getData(SECURITY_CREDENTIALS_RESOURCE)
+                                 .orElseThrow(() -> SdkClientException.builder()
+                                                                      .message("The requested metadata is not found at " +
+                                                                               host + SECURITY_CREDENTIALS_RESOURCE)
+                                                                      .build());
             String[] securityCredentials = securityCredentialsList.trim().split("\n");
 
             if (securityCredentials.length == 0) {
@@ -90,6 +100,13 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
 
             return URI.create(host + SECURITY_CREDENTIALS_RESOURCE + securityCredentials[0]);
         }
+
+        @Override
+        public Map<String, String> headers() {
+            Map<String, String> headers = ResourcesEndpointProvider.super.headers();
+            Ec2MetadataClient.instance().sessionToken().ifPresent(t -> headers.put(Ec2MetadataClient.TOKEN_HEADER, t));
+            return headers;
+        }
     }
 
     /**
@@ -109,7 +126,6 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
         implements Builder {
 
         private BuilderImpl() {
-            super.asyncThreadName("instance-profile-credentials-provider");
         }
 
         @Override
@@ -16,6 +16,7 @@
 package software.amazon.awssdk.auth.credentials;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkPublicApi;
@@ -25,6 +26,7 @@ import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.profiles.ProfileFileSystemSetting;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ToString;
@@ -36,12 +38,13 @@ import software.amazon.awssdk.utils.ToString;
  * <p>See http://docs.aws.amazon.com/cli/latest/userguide/cli-chap-getting-started.html</p>
  *
  * <p>If this credentials provider is loading assume-role credentials from STS, it should be cleaned up with {@link #close()} if
- * it is no longer being used.</p>
+ * it is no longer being used. Assume-role credentials are loaded without blocking the calling thread when
+ * {@link #resolveCredentialsAsync()} is used.</p>
  *
  * @see ProfileFile
  */
 @SdkPublicApi
-public final class ProfileCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class ProfileCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final AwsCredentialsProvider credentialsProvider;
     private final RuntimeException loadException;
 
@@ -110,6 +113,14 @@ public final class ProfileCredentialsProvider implements AwsCredentialsProvider,
         return credentialsProvider.resolveCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (loadException != null) {
+            return CompletableFutureUtils.failedFuture(loadException);
+        }
+        return CredentialUtils.resolveCredentialsAsync(credentialsProvider);
+    }
+
     @Override
     public String toString() {
         return ToString.builder("ProfileCredentialsProvider")
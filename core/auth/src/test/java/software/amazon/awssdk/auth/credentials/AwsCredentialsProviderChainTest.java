@@ -15,8 +15,12 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -121,6 +125,159 @@ public class AwsCredentialsProviderChainTest {
         chain.resolveCredentials();
     }
 
+    @Test
+    public void resolveCredentialsAsyncTriesProvidersInOrder() {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        CompletableFuture<AwsCredentials> pendingCredentials = new CompletableFuture<>();
+        AsyncAwsCredentialsProvider provider2 = asyncProvider(pendingCredentials);
+        MockCredentialsProvider provider3 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2, provider3)
+                                                                       .build();
+
+        // The chain waits for the asynchronous provider without blocking the caller.
+        CompletableFuture<AwsCredentials> credentials = chain.resolveCredentialsAsync();
+        assertThat(credentials).isNotDone();
+        assertEquals(1, provider1.getCredentialsCallCount);
+
+        AwsCredentials expected = AwsBasicCredentials.create("async", "credentials");
+        pendingCredentials.complete(expected);
+        assertThat(credentials.join()).isSameAs(expected);
+        assertEquals(0, provider3.getCredentialsCallCount);
+
+        // The asynchronous provider is reused.
+        assertThat(chain.resolveCredentialsAsync().join()).isSameAs(expected);
+        assertEquals(1, provider1.getCredentialsCallCount);
+    }
+
+    @Test
+    public void resolveCredentialsAsyncMovesOnWhenAsyncProviderFails() {
+        CompletableFuture<AwsCredentials> failedCredentials = new CompletableFuture<>();
+        failedCredentials.completeExceptionally(new RuntimeException("Async failed!"));
+        MockCredentialsProvider provider2 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(asyncProvider(failedCredentials),
+                                                                                             provider2)
+                                                                       .build();
+
+        assertThat(chain.resolveCredentialsAsync().join().accessKeyId()).isEqualTo("accessKey");
+        assertEquals(1, provider2.getCredentialsCallCount);
+    }
+
+    @Test
+    public void resolveCredentialsAsyncFailsWhenAllProvidersFail() {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        MockCredentialsProvider provider2 = new MockCredentialsProvider("Bad!");
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2)
+                                                                       .build();
+
+        assertThatExceptionOfType(CompletionException.class)
+            .isThrownBy(() -> chain.resolveCredentialsAsync().join())
+            .withCauseInstanceOf(SdkClientException.class)
+            .withMessageContaining(provider1.exceptionMessage)
+            .withMessageContaining(provider2.exceptionMessage);
+    }
+
+    @Test
+    public void parallelResolutionCallsAllProvidersAtOnce() {
+        CompletableFuture<AwsCredentials> pendingFailure = new CompletableFuture<>();
+        MockCredentialsProvider provider2 = new MockCredentialsProvider();
+        MockCredentialsProvider provider3 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(asyncProvider(pendingFailure),
+                                                                                             provider2,
+                                                                                             provider3)
+                                                                       .parallelResolutionEnabled(true)
+                                                                       .build();
+
+        // Later providers are called without waiting for the first one, but their result is only used once it fails.
+        CompletableFuture<AwsCredentials> credentials = chain.resolveCredentialsAsync();
+        assertThat(credentials).isNotDone();
+        assertEquals(1, provider2.getCredentialsCallCount);
+        assertEquals(1, provider3.getCredentialsCallCount);
+
+        pendingFailure.completeExceptionally(new RuntimeException("Async failed!"));
+        assertThat(credentials.join().accessKeyId()).isEqualTo("accessKey");
+
+        // The provider that won is reused.
+        chain.resolveCredentials();
+        assertEquals(2, provider2.getCredentialsCallCount);
+        assertEquals(1, provider3.getCredentialsCallCount);
+    }
+
+    @Test
+    public void parallelResolutionKeepsProviderOrder() {
+        CompletableFuture<AwsCredentials> pendingCredentials = new CompletableFuture<>();
+        MockCredentialsProvider provider2 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(asyncProvider(pendingCredentials),
+                                                                                             provider2)
+                                                                       .parallelResolutionEnabled(true)
+                                                                       .build();
+
+        CompletableFuture<AwsCredentials> credentials = chain.resolveCredentialsAsync();
+        assertEquals(1, provider2.getCredentialsCallCount);
+        assertThat(credentials).isNotDone();
+
+        AwsCredentials expected = AwsBasicCredentials.create("async", "credentials");
+        pendingCredentials.complete(expected);
+        assertThat(credentials.join()).isSameAs(expected);
+        assertThat(chain.resolveCredentials()).isSameAs(expected);
+        assertEquals(1, provider2.getCredentialsCallCount);
+    }
+
+    @Test
+    public void parallelResolutionIsSharedByConcurrentCallers() {
+        CompletableFuture<AwsCredentials> pendingFailure = new CompletableFuture<>();
+        MockCredentialsProvider provider2 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(asyncProvider(pendingFailure),
+                                                                                             provider2)
+                                                                       .parallelResolutionEnabled(true)
+                                                                       .build();
+
+        CompletableFuture<AwsCredentials> first = chain.resolveCredentialsAsync();
+        CompletableFuture<AwsCredentials> second = chain.resolveCredentialsAsync();
+        first.cancel(true);
+
+        pendingFailure.completeExceptionally(new RuntimeException("Async failed!"));
+        assertThat(second.join().accessKeyId()).isEqualTo("accessKey");
+        assertEquals(1, provider2.getCredentialsCallCount);
+    }
+
+    @Test
+    public void parallelResolutionFailsWhenAllProvidersFail() {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        MockCredentialsProvider provider2 = new MockCredentialsProvider("Bad!");
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2)
+                                                                       .parallelResolutionEnabled(true)
+                                                                       .build();
+
+        assertThatExceptionOfType(SdkClientException.class)
+            .isThrownBy(chain::resolveCredentials)
+            .withMessageContaining(provider1.exceptionMessage)
+            .withMessageContaining(provider2.exceptionMessage);
+
+        // A failed search is not remembered.
+        assertThatExceptionOfType(SdkClientException.class).isThrownBy(chain::resolveCredentials);
+        assertEquals(2, provider1.getCredentialsCallCount);
+    }
+
+    private static AsyncAwsCredentialsProvider asyncProvider(CompletableFuture<AwsCredentials> credentials) {
+        return new AsyncAwsCredentialsProvider() {
+            @Override
+            public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+                return credentials;
+            }
+
+            @Override
+            public AwsCredentials resolveCredentials() {
+                return credentials.join();
+            }
+        };
+    }
 
     private static final class MockCredentialsProvider implements AwsCredentialsProvider {
         private final StaticCredentialsProvider staticCredentialsProvider;
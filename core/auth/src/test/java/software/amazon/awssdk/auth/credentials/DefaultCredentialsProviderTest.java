@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.credentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DefaultCredentialsProviderTest {
+    private static final AwsCredentials CREDENTIALS = AwsBasicCredentials.create("akid", "skid");
+
+    @Test
+    public void warmUpLoadsCredentialsOnceWhenStarted() {
+        CountingCredentialsProvider source = new CountingCredentialsProvider(0);
+        DefaultCredentialsProvider provider = new DefaultCredentialsProvider(chain(source), true);
+        assertThat(source.calls.get()).isEqualTo(0);
+
+        provider.startWarmUp();
+        provider.startWarmUp();
+        assertThat(source.calls.get()).isEqualTo(1);
+
+        // The first request goes straight to the provider that the warm-up found.
+        assertThat(provider.resolveCredentials()).isSameAs(CREDENTIALS);
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void warmUpDoesNotRunWithoutParallelResolution() {
+        CountingCredentialsProvider source = new CountingCredentialsProvider(0);
+        DefaultCredentialsProvider provider = new DefaultCredentialsProvider(chain(source), false);
+
+        provider.startWarmUp();
+        assertThat(source.calls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void failedWarmUpIsRetriedOnFirstUse() {
+        CountingCredentialsProvider source = new CountingCredentialsProvider(1);
+        DefaultCredentialsProvider provider = new DefaultCredentialsProvider(chain(source), true);
+
+        provider.startWarmUp();
+        assertThat(source.calls.get()).isEqualTo(1);
+
+        assertThat(provider.resolveCredentials()).isSameAs(CREDENTIALS);
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    private static AwsCredentialsProviderChain chain(AwsCredentialsProvider source) {
+        return AwsCredentialsProviderChain.builder()
+                                          .parallelResolutionEnabled(true)
+                                          .credentialsProviders(source)
+                                          .build();
+    }
+
+    /**
+     * Returns {@link #CREDENTIALS} after failing the given number of times.
+     */
+    private static final class CountingCredentialsProvider implements AwsCredentialsProvider {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failures;
+
+        private CountingCredentialsProvider(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public AwsCredentials resolveCredentials() {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException("No credentials yet");
+            }
+            return CREDENTIALS;
+        }
+    }
+}
@@ -140,7 +140,11 @@ public class EC2MetadataServiceMock {
 
                     String httpResponse = null;
 
-                    if (resourcePath.equals(credentialsResource)) {
+                    if (resourcePath.equals("/latest/api/token")) {
+                        httpResponse = formHttpResponse("test-token");
+                        outputStream.write(httpResponse.getBytes());
+
+                    } else if (resourcePath.equals(credentialsResource)) {
                         httpResponse = formHttpResponse(securityCredentialNames);
                         outputStream.write(httpResponse.getBytes());
 
@@ -30,6 +30,8 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -127,6 +129,35 @@ public class HttpCredentialsProviderTest {
         assertThat(credentialsProvider.resolveCredentials()).isNotNull();
     }
 
+    @Test
+    public void resolveCredentialsAsyncLoadsAndCachesCredentials() {
+        HttpCredentialsProvider credentialsProvider = testCredentialsProvider();
+
+        stubForSuccessResonseWithCustomExpirationDate(Date.from(Instant.now().plus(Duration.ofDays(10))));
+        AwsCredentials credentials = credentialsProvider.resolveCredentialsAsync().join();
+        assertThat(credentials.accessKeyId()).isEqualTo("ACCESS_KEY_ID");
+        assertThat(credentials.secretAccessKey()).isEqualTo("SECRET_ACCESS_KEY");
+
+        // Cached credentials are returned in a completed future, without calling the endpoint.
+        stubForErrorResponse();
+        CompletableFuture<AwsCredentials> cached = credentialsProvider.resolveCredentialsAsync();
+        assertThat(cached).isDone();
+        assertThat(cached.join()).isEqualTo(credentials);
+        credentialsProvider.close();
+    }
+
+    @Test
+    public void resolveCredentialsAsyncCompletesExceptionallyOnFailure() {
+        stubForErrorResponse();
+
+        HttpCredentialsProvider credentialsProvider = testCredentialsProvider();
+
+        assertThatExceptionOfType(CompletionException.class)
+            .isThrownBy(() -> credentialsProvider.resolveCredentialsAsync().join())
+            .withCauseInstanceOf(SdkClientException.class);
+        credentialsProvider.close();
+    }
+
     private void stubForSuccessResponseWithCustomBody(String body) {
         stubFor(
             get(urlPathEqualTo(CREDENTIALS_PATH))
@@ -155,7 +186,7 @@ public class HttpCredentialsProviderTest {
 
 
     private HttpCredentialsProvider testCredentialsProvider() {
-        return new HttpCredentialsProvider(false, "") {
+        return new HttpCredentialsProvider(false) {
 
             @Override
             protected ResourcesEndpointProvider getCredentialsEndpointProvider() {
@@ -65,4 +65,10 @@ public final class AwsAsyncClientHandler extends SdkAsyncClientHandler implement
         return AwsClientHandlerUtils.createExecutionContext(executionParams, clientConfiguration);
     }
 
+    @Override
+    protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams) {
+        return AwsClientHandlerUtils.createExecutionContextAsync(executionParams, clientConfiguration);
+    }
+
 }
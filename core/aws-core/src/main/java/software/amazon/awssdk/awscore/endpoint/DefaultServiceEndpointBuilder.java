@@ -17,15 +17,20 @@ package software.amazon.awssdk.awscore.endpoint;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Objects;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.regions.ServiceMetadata;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.BoundedCache;
 
 /**
  * Uses service metadata and the request region to construct an endpoint for a specific service
+ *
+ * <p>Endpoints only depend on the service, protocol and region, so they are cached across builders and do not have to be
+ * resolved again each time a client is created.</p>
  */
 @NotThreadSafe
 @SdkProtectedApi
@@ -33,6 +38,11 @@ import software.amazon.awssdk.utils.Validate;
                      + "a region we don't know about yet.")
 public final class DefaultServiceEndpointBuilder {
 
+    private static final int MAX_CACHED_ENDPOINTS = 1000;
+
+    private static final BoundedCache<EndpointKey, URI> ENDPOINTS =
+        new BoundedCache<>(MAX_CACHED_ENDPOINTS, DefaultServiceEndpointBuilder::resolveEndpoint);
+
     private final String serviceName;
     private final String protocol;
     private Region region;
@@ -51,11 +61,15 @@ public final class DefaultServiceEndpointBuilder {
     }
 
     public URI getServiceEndpoint() {
-        ServiceMetadata serviceMetadata = ServiceMetadata.of(serviceName);
-        return withProtocol(serviceMetadata.endpointFor(region));
+        return ENDPOINTS.get(new EndpointKey(serviceName, protocol, region));
     }
 
-    private URI withProtocol(URI endpointWithoutProtocol) throws IllegalArgumentException {
+    private static URI resolveEndpoint(EndpointKey key) {
+        ServiceMetadata serviceMetadata = ServiceMetadata.of(key.serviceName);
+        return withProtocol(key.protocol, serviceMetadata.endpointFor(key.region));
+    }
+
+    private static URI withProtocol(String protocol, URI endpointWithoutProtocol) throws IllegalArgumentException {
         try {
             return new URI(protocol + "://" + endpointWithoutProtocol);
         } catch (URISyntaxException e) {
@@ -66,4 +80,33 @@ public final class DefaultServiceEndpointBuilder {
     public Region getRegion() {
         return region;
     }
+
+    private static final class EndpointKey {
+        private final String serviceName;
+        private final String protocol;
+        private final Region region;
+
+        private EndpointKey(String serviceName, String protocol, Region region) {
+            this.serviceName = serviceName;
+            this.protocol = protocol;
+            this.region = region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            EndpointKey that = (EndpointKey) o;
+            return serviceName.equals(that.serviceName) && protocol.equals(that.protocol) && region.equals(that.region);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceName, protocol, region);
+        }
+    }
 }
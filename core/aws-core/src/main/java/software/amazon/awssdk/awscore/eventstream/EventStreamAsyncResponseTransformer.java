@@ -50,7 +50,6 @@ import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkCancellationException;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
-import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.eventstream.Message;
 import software.amazon.eventstream.MessageDecoder;
 
@@ -105,9 +104,11 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
 
     /**
      * Event stream message decoder that decodes the binary data into "frames". These frames are then passed to the
-     * unmarshaller to produce the event POJO.
+     * unmarshaller to produce the event POJO. Messages are decoded in place from the received buffers, and only the payload
+     * is copied when the message is adapted to a response, because unmarshalled events and exceptions may outlive the
+     * buffers.
      */
-    private final MessageDecoder decoder = new MessageDecoder(this::handleMessage);
+    private final MessageDecoder decoder = MessageDecoder.forTransientMessages(this::handleMessage);
 
     /**
      * Tracks whether we have delivered a terminal notification to the subscriber and response handler
@@ -372,7 +373,7 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
                 return;
             }
             synchronized (eventsToDeliver) {
-                decoder.feed(BinaryUtils.copyBytesFrom(buffer));
+                decoder.feed(buffer.duplicate());
                 // If we have things to deliver, do so.
                 if (!eventsToDeliver.isEmpty()) {
                     isRequesting.compareAndSet(true, false);
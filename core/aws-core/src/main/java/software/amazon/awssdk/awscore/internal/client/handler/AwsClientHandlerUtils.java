@@ -21,10 +21,12 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.CredentialUtils;
 import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
@@ -57,18 +59,39 @@ public final class AwsClientHandlerUtils {
     public static <InputT extends SdkRequest, OutputT extends SdkResponse> ExecutionContext createExecutionContext(
         ClientExecutionParams<InputT, OutputT> executionParams, SdkClientConfiguration clientConfig) {
 
-        SdkRequest originalRequest = executionParams.getInput();
+        AwsCredentials credentials = resolveCredentialsProvider(executionParams, clientConfig).resolveCredentials();
+        return createExecutionContext(executionParams, clientConfig, credentials);
+    }
+
+    /**
+     * Create the execution context once the credentials have been loaded, without blocking the calling thread if the credentials
+     * provider is an {@link software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider}.
+     */
+    public static <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams, SdkClientConfiguration clientConfig) {
+
+        return CredentialUtils.resolveCredentialsAsync(resolveCredentialsProvider(executionParams, clientConfig))
+                              .thenApply(credentials -> createExecutionContext(executionParams, clientConfig, credentials));
+    }
+
+    // Credentials provider at request level gets priority over client config credentials provider
+    private static AwsCredentialsProvider resolveCredentialsProvider(ClientExecutionParams<?, ?> executionParams,
+                                                                     SdkClientConfiguration clientConfig) {
         AwsCredentialsProvider clientCredentials = clientConfig.option(AwsClientOption.CREDENTIALS_PROVIDER);
-        AwsCredentialsProvider credentialsProvider = originalRequest.overrideConfiguration()
-                                                                    .filter(c -> c instanceof AwsRequestOverrideConfiguration)
-                                                                    .map(c -> (AwsRequestOverrideConfiguration) c)
-                                                                    .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
-                                                                    .orElse(clientCredentials);
+        return executionParams.getInput()
+                              .overrideConfiguration()
+                              .filter(c -> c instanceof AwsRequestOverrideConfiguration)
+                              .map(c -> (AwsRequestOverrideConfiguration) c)
+                              .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
+                              .orElse(clientCredentials);
+    }
 
-        AwsCredentials credentials = credentialsProvider.resolveCredentials();
+    private static <InputT extends SdkRequest, OutputT extends SdkResponse> ExecutionContext createExecutionContext(
+        ClientExecutionParams<InputT, OutputT> executionParams, SdkClientConfiguration clientConfig, AwsCredentials credentials) {
 
         Validate.validState(credentials != null, "Credential providers must never return null.");
 
+        SdkRequest originalRequest = executionParams.getInput();
         ExecutionAttributes executionAttributes = new ExecutionAttributes()
             .putAttribute(AwsSignerExecutionAttribute.SERVICE_CONFIG, clientConfig.option(SdkClientOption.SERVICE_CONFIGURATION))
             .putAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS, credentials)
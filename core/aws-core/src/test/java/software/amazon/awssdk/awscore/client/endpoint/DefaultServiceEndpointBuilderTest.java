@@ -16,6 +16,7 @@
 package software.amazon.awssdk.awscore.client.endpoint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 import software.amazon.awssdk.awscore.endpoint.DefaultServiceEndpointBuilder;
@@ -43,4 +44,11 @@ public class DefaultServiceEndpointBuilderTest {
                 .withRegion(Region.EU_CENTRAL_1);
         assertEquals("http://s3.eu-central-1.amazonaws.com", endpointBuilder.getServiceEndpoint().toString());
     }
+
+    @Test
+    public void getServiceEndpoint_SameServiceRegionAndProtocol_ReusesEndpoint() throws Exception {
+        DefaultServiceEndpointBuilder first = new DefaultServiceEndpointBuilder("s3", "https").withRegion(Region.US_WEST_2);
+        DefaultServiceEndpointBuilder second = new DefaultServiceEndpointBuilder("s3", "https").withRegion(Region.US_WEST_2);
+        assertSame(first.getServiceEndpoint(), second.getServiceEndpoint());
+    }
 }
@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.profiles.internal.ProfileFileCache;
 import software.amazon.awssdk.profiles.internal.ProfileFileReader;
 import software.amazon.awssdk.utils.FunctionalUtils;
 import software.amazon.awssdk.utils.IoUtils;
@@ -51,6 +52,11 @@ import software.amazon.awssdk.utils.builder.SdkBuilder;
  */
 @SdkPublicApi
 public final class ProfileFile {
+    /**
+     * The most recent result of {@link #defaultProfileFile()}, which is returned again while neither file has changed.
+     */
+    private static volatile DefaultProfileFile lastDefaultProfileFile;
+
     private final Map<String, Profile> profiles;
 
     /**
@@ -81,12 +87,32 @@ public final class ProfileFile {
      * and the "default" profile. This default behavior can be customized using the
      * {@link ProfileFileSystemSetting#AWS_SHARED_CREDENTIALS_FILE}, {@link ProfileFileSystemSetting#AWS_CONFIG_FILE} and
      * {@link ProfileFileSystemSetting#AWS_PROFILE} settings or by specifying a different profile file and profile name
+     *
+     * <p>The files are only read and parsed again if their size or modification time changed since they were last loaded by
+     * this process, so this can be called whenever the latest profiles are needed.</p>
      */
     public static ProfileFile defaultProfileFile() {
-        return ProfileFile.aggregator()
-                          .applyMutation(ProfileFile::addCredentialsFile)
-                          .applyMutation(ProfileFile::addConfigFile)
-                          .build();
+        ProfileFileCache cache = ProfileFileCache.getInstance();
+        ProfileFile credentialsFile = cache.profileFile(ProfileFileLocation.credentialsFilePath(), Type.CREDENTIALS)
+                                           .orElse(null);
+        ProfileFile configFile = cache.profileFile(ProfileFileLocation.configurationFilePath(), Type.CONFIGURATION)
+                                      .orElse(null);
+
+        DefaultProfileFile last = lastDefaultProfileFile;
+        if (last != null && last.credentialsFile == credentialsFile && last.configFile == configFile) {
+            return last.aggregate;
+        }
+
+        Aggregator aggregator = ProfileFile.aggregator();
+        if (credentialsFile != null) {
+            aggregator.addFile(credentialsFile);
+        }
+        if (configFile != null) {
+            aggregator.addFile(configFile);
+        }
+        ProfileFile aggregate = aggregator.build();
+        lastDefaultProfileFile = new DefaultProfileFile(credentialsFile, configFile, aggregate);
+        return aggregate;
     }
 
     /**
@@ -131,22 +157,6 @@ public final class ProfileFile {
         return Objects.hashCode(profiles());
     }
 
-    private static void addCredentialsFile(ProfileFile.Aggregator builder) {
-        ProfileFileLocation.credentialsFileLocation()
-                           .ifPresent(l -> builder.addFile(ProfileFile.builder()
-                                                                       .content(l)
-                                                                       .type(ProfileFile.Type.CREDENTIALS)
-                                                                       .build()));
-    }
-
-    private static void addConfigFile(ProfileFile.Aggregator builder) {
-        ProfileFileLocation.configurationFileLocation()
-                           .ifPresent(l -> builder.addFile(ProfileFile.builder()
-                                                                       .content(l)
-                                                                       .type(ProfileFile.Type.CONFIGURATION)
-                                                                       .build()));
-    }
-
     /**
      * Convert the sorted map of profile properties into a sorted list of profiles.
      */
@@ -163,6 +173,21 @@ public final class ProfileFile {
         return result;
     }
 
+    /**
+     * The default profile file, along with the files it was aggregated from.
+     */
+    private static final class DefaultProfileFile {
+        private final ProfileFile credentialsFile;
+        private final ProfileFile configFile;
+        private final ProfileFile aggregate;
+
+        private DefaultProfileFile(ProfileFile credentialsFile, ProfileFile configFile, ProfileFile aggregate) {
+            this.credentialsFile = credentialsFile;
+            this.configFile = configFile;
+            this.aggregate = aggregate;
+        }
+    }
+
     /**
      * The supported types of profile files. The type of profile determines the way in which it is parsed.
      */
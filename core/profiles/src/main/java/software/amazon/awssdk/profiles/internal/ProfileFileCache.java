@@ -0,0 +1,156 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.profiles.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.profiles.ProfileFile;
+import software.amazon.awssdk.utils.Pair;
+
+/**
+ * A process-wide cache of parsed profile files, keyed by their path and type.
+ *
+ * <p>Each lookup checks the size, modification time and file key of the file, and the file is only read and parsed again if one
+ * of them changed. This means credentials that are rotated by other tools are still picked up, without every client re-reading
+ * the files. Files that were modified very recently are re-read on every lookup until they are older than the resolution of
+ * typical file system timestamps, so that a second modification that keeps the size and timestamp the same is not missed.</p>
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ProfileFileCache {
+    private static final ProfileFileCache INSTANCE = new ProfileFileCache();
+
+    /**
+     * How long after its modification a file is considered to be possibly still changing without its timestamp changing.
+     */
+    private static final Duration MODIFICATION_TIME_RESOLUTION = Duration.ofSeconds(2);
+
+    private final ConcurrentMap<Pair<Path, ProfileFile.Type>, CachedFile> files = new ConcurrentHashMap<>();
+
+    ProfileFileCache() {
+    }
+
+    /**
+     * The cache shared by everything in this process that loads profile files from disk.
+     */
+    public static ProfileFileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Load the profile file at the given path, reusing the previously parsed file if the file has not changed since then.
+     *
+     * @return The profile file, or empty if there is no readable file at the given path.
+     */
+    public Optional<ProfileFile> profileFile(Path path, ProfileFile.Type type) {
+        Pair<Path, ProfileFile.Type> key = Pair.of(path, type);
+
+        Optional<FileState> state = FileState.of(path);
+        if (!state.isPresent()) {
+            files.remove(key);
+            return Optional.empty();
+        }
+
+        CachedFile cached = files.get(key);
+        if (cached != null && cached.isValidFor(state.get())) {
+            return Optional.of(cached.profileFile);
+        }
+
+        Instant loadTime = Instant.now();
+        ProfileFile profileFile = ProfileFile.builder().content(path).type(type).build();
+        files.put(key, new CachedFile(profileFile, state.get(), loadTime));
+        return Optional.of(profileFile);
+    }
+
+    /**
+     * Remove all files from the cache, so that they are read from disk again.
+     */
+    public void clear() {
+        files.clear();
+    }
+
+    private static final class CachedFile {
+        private final ProfileFile profileFile;
+        private final FileState state;
+        private final boolean stateIsReliable;
+
+        private CachedFile(ProfileFile profileFile, FileState state, Instant loadTime) {
+            this.profileFile = profileFile;
+            this.state = state;
+            this.stateIsReliable = state.lastModified.plus(MODIFICATION_TIME_RESOLUTION).isBefore(loadTime);
+        }
+
+        private boolean isValidFor(FileState currentState) {
+            return stateIsReliable && state.equals(currentState);
+        }
+    }
+
+    /**
+     * The attributes of a file that are compared to decide whether it changed.
+     */
+    private static final class FileState {
+        private final Instant lastModified;
+        private final long size;
+        private final Object fileKey;
+
+        private FileState(BasicFileAttributes attributes) {
+            this.lastModified = attributes.lastModifiedTime().toInstant();
+            this.size = attributes.size();
+            this.fileKey = attributes.fileKey();
+        }
+
+        private static Optional<FileState> of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile() || !Files.isReadable(path)) {
+                    return Optional.empty();
+                }
+                return Optional.of(new FileState(attributes));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileState that = (FileState) o;
+            return size == that.size &&
+                   lastModified.equals(that.lastModified) &&
+                   Objects.equals(fileKey, that.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size, fileKey);
+        }
+    }
+}
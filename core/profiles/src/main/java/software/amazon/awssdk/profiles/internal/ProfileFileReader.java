@@ -16,14 +16,14 @@
 package software.amazon.awssdk.profiles.internal;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.utils.Logger;
@@ -34,16 +34,15 @@ import software.amazon.awssdk.utils.Validate;
 /**
  * Converts an {@link InputStream} to a configuration or credentials file into a map of profiles and their properties.
  *
+ * <p>Each line is classified and parsed by scanning its characters directly, because a process may load files with hundreds of
+ * profiles for every client it creates.</p>
+ *
  * @see #parseFile(InputStream, ProfileFile.Type)
  */
 @SdkInternalApi
 public final class ProfileFileReader {
     private static final Logger log = Logger.loggerFor(ProfileFileReader.class);
 
-    private static final Pattern EMPTY_LINE = Pattern.compile("^[\t ]*$");
-
-    private static final Pattern VALID_IDENTIFIER = Pattern.compile("^[A-Za-z0-9_\\-]*$");
-
     private ProfileFileReader() {}
 
     /**
@@ -54,7 +53,14 @@ public final class ProfileFileReader {
         ParserState state = new ParserState(fileType);
 
         BufferedReader profileReader = new BufferedReader(new InputStreamReader(profileStream, StandardCharsets.UTF_8));
-        profileReader.lines().forEach(line -> parseLine(state, line));
+        try {
+            String line;
+            while ((line = profileReader.readLine()) != null) {
+                parseLine(state, line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
         return state.profiles;
     }
@@ -86,7 +92,7 @@ public final class ProfileFileReader {
      */
     private static void readProfileDefinitionLine(ParserState state, String line) {
         // Profile definitions do not require a space between the closing bracket and the comment delimiter
-        String lineWithoutComments = removeTrailingComments(line, "#", ";");
+        String lineWithoutComments = line.substring(0, findCommentStart(line, false));
         String lineWithoutWhitespace = StringUtils.trim(lineWithoutComments);
 
         Validate.isTrue(lineWithoutWhitespace.endsWith("]"),
@@ -125,7 +131,7 @@ public final class ProfileFileReader {
                         "Expected a profile definition on line " + state.currentLineNumber);
 
         // Property definition comments must have whitespace before them, or they will be considered part of the value
-        String lineWithoutComments = removeTrailingComments(line, " #", " ;", "\t#", "\t;");
+        String lineWithoutComments = line.substring(0, findCommentStart(line, true));
         String lineWithoutWhitespace = StringUtils.trim(lineWithoutComments);
 
         Optional<Pair<String, String>> propertyDefinition = parsePropertyDefinition(state, lineWithoutWhitespace);
@@ -264,30 +270,39 @@ public final class ProfileFileReader {
     }
 
     /**
-     * Remove trailing comments from the provided line, using the provided patterns to find where the comment starts.
+     * Find where a trailing comment starts in the provided line, or return the length of the line if it has no comment.
      *
      * Profile definitions don't require spaces before comments.
-     * Property definitions require spaces before comments.
+     * Property definitions require spaces before comments, and the comment starts at that space.
      * Property continuations don't allow trailing comments. They're considered part of the value.
      */
-    private static String removeTrailingComments(String line, String... commentPatterns) {
-        return line.substring(0, findEarliestMatch(line, commentPatterns));
+    private static int findCommentStart(String line, boolean requireWhitespace) {
+        for (int i = 0; i < line.length(); ++i) {
+            char c = line.charAt(i);
+            if (c != '#' && c != ';') {
+                continue;
+            }
+            if (!requireWhitespace) {
+                return i;
+            }
+            if (i > 0 && isWhitespace(line.charAt(i - 1))) {
+                return i - 1;
+            }
+        }
+        return line.length();
     }
 
-    /**
-     * Search the provided string for the requested patterns, returning the index of the match that is closest to the front of the
-     * string. If no match is found, this returns the length of the string (one past the final index in the string).
-     */
-    private static int findEarliestMatch(String line, String... searchPatterns) {
-        return Stream.of(searchPatterns)
-                     .mapToInt(line::indexOf)
-                     .filter(location -> location >= 0)
-                     .min()
-                     .orElse(line.length());
+    private static boolean isEmptyLine(String line) {
+        for (int i = 0; i < line.length(); ++i) {
+            if (!isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private static boolean isEmptyLine(String line) {
-        return EMPTY_LINE.matcher(line).matches();
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
     }
 
     private static boolean isCommentLine(String line) {
@@ -303,7 +318,14 @@ public final class ProfileFileReader {
     }
 
     private static boolean isValidIdentifier(String value) {
-        return VALID_IDENTIFIER.matcher(value).matches();
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
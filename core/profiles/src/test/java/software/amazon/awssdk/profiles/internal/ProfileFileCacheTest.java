@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.profiles.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.profiles.ProfileFile;
+
+/**
+ * Validate the functionality of {@link ProfileFileCache}.
+ */
+public class ProfileFileCacheTest {
+    private final ProfileFileCache cache = new ProfileFileCache();
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("profile-file-cache", ".ini");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void unchangedFileIsOnlyParsedOnce() throws IOException {
+        write("[foo]\nname = value", Instant.now().minus(Duration.ofMinutes(1)));
+
+        ProfileFile first = load().get();
+        ProfileFile second = load().get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(property(second)).isEqualTo("value");
+    }
+
+    @Test
+    public void fileWithChangedSizeIsParsedAgain() throws IOException {
+        Instant modified = Instant.now().minus(Duration.ofMinutes(1));
+        write("[foo]\nname = value", modified);
+        load();
+
+        write("[foo]\nname = new-value", modified);
+
+        assertThat(property(load().get())).isEqualTo("new-value");
+    }
+
+    @Test
+    public void fileWithChangedModificationTimeIsParsedAgain() throws IOException {
+        write("[foo]\nname = value1", Instant.now().minus(Duration.ofMinutes(2)));
+        load();
+
+        write("[foo]\nname = value2", Instant.now().minus(Duration.ofMinutes(1)));
+
+        assertThat(property(load().get())).isEqualTo("value2");
+    }
+
+    @Test
+    public void recentlyModifiedFileIsParsedAgain() throws IOException {
+        Instant modified = Instant.now();
+        write("[foo]\nname = value1", modified);
+        load();
+
+        write("[foo]\nname = value2", modified);
+
+        assertThat(property(load().get())).isEqualTo("value2");
+    }
+
+    @Test
+    public void deletedFileIsNotReturned() throws IOException {
+        write("[foo]\nname = value", Instant.now().minus(Duration.ofMinutes(1)));
+        load();
+
+        Files.delete(file);
+
+        assertThat(load()).isEmpty();
+    }
+
+    private Optional<ProfileFile> load() {
+        return cache.profileFile(file, ProfileFile.Type.CREDENTIALS);
+    }
+
+    private void write(String content, Instant lastModified) throws IOException {
+        Files.write(file, content.getBytes(UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(lastModified));
+    }
+
+    private String property(ProfileFile profileFile) {
+        return profileFile.profile("foo").flatMap(p -> p.property("name")).orElse(null);
+    }
+}
@@ -40,6 +40,7 @@ import software.amazon.awssdk.protocols.json.internal.unmarshall.AwsJsonProtocol
 import software.amazon.awssdk.protocols.json.internal.unmarshall.AwsJsonResponseHandler;
 import software.amazon.awssdk.protocols.json.internal.unmarshall.JsonProtocolUnmarshaller;
 import software.amazon.awssdk.protocols.json.internal.unmarshall.JsonResponseHandler;
+import software.amazon.awssdk.utils.Lazy;
 
 @SdkProtectedApi
 public abstract class BaseAwsJsonProtocolFactory {
@@ -55,6 +56,13 @@ public abstract class BaseAwsJsonProtocolFactory {
     private final String customErrorCodeFieldName;
     private final SdkClientConfiguration clientConfiguration;
 
+    /**
+     * The unmarshallers are stateless, so they are shared by all requests. They are created when the first response is
+     * received, and the unmarshaller for error responses is only created if an error response is received.
+     */
+    private final Lazy<JsonProtocolUnmarshaller> protocolUnmarshaller = new Lazy<>(this::createJsonProtocolUnmarshaller);
+    private final Lazy<AwsJsonProtocolErrorUnmarshaller> errorUnmarshaller = new Lazy<>(this::createErrorUnmarshaller);
+
     protected BaseAwsJsonProtocolFactory(Builder<?> builder) {
         this.protocolMetadata = builder.protocolMetadata.build();
         this.modeledExceptions = unmodifiableMap(new HashMap<>(builder.modeledExceptions));
@@ -89,9 +97,8 @@ public abstract class BaseAwsJsonProtocolFactory {
      */
     public final <T extends SdkPojo> HttpResponseHandler<T> createResponseHandler(JsonOperationMetadata operationMetadata,
                                                                             Function<SdkHttpFullResponse, SdkPojo> pojoSupplier) {
-        JsonProtocolUnmarshaller unmarshaller = createJsonProtocolUnmarshaller();
         return new AwsJsonResponseHandler<>(
-            new JsonResponseHandler<>(unmarshaller,
+            new JsonResponseHandler<>(protocolUnmarshaller.getValue(),
                                       pojoSupplier,
                                       operationMetadata.hasStreamingSuccessResponse(),
                                       operationMetadata.isPayloadJson()));
@@ -108,9 +115,13 @@ public abstract class BaseAwsJsonProtocolFactory {
      */
     public final HttpResponseHandler<AwsServiceException> createErrorResponseHandler(
         JsonOperationMetadata errorResponseMetadata) {
+        return (response, executionAttributes) -> errorUnmarshaller.getValue().handle(response, executionAttributes);
+    }
+
+    private AwsJsonProtocolErrorUnmarshaller createErrorUnmarshaller() {
         return AwsJsonProtocolErrorUnmarshaller
             .builder()
-            .jsonProtocolUnmarshaller(createJsonProtocolUnmarshaller())
+            .jsonProtocolUnmarshaller(protocolUnmarshaller.getValue())
             .exceptions(modeledExceptions)
             .errorCodeParser(getSdkFactory().getErrorCodeParser(customErrorCodeFieldName))
             .errorMessageParser(AwsJsonErrorMessageParser.DEFAULT_ERROR_MESSAGE_PARSER)
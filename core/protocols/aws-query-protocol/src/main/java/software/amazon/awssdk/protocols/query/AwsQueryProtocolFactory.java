@@ -36,6 +36,7 @@ import software.amazon.awssdk.protocols.query.internal.unmarshall.AwsQueryRespon
 import software.amazon.awssdk.protocols.query.internal.unmarshall.QueryProtocolUnmarshaller;
 import software.amazon.awssdk.protocols.query.unmarshall.AwsXmlErrorProtocolUnmarshaller;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
+import software.amazon.awssdk.utils.Lazy;
 
 /**
  * Protocol factory for the AWS/Query protocol.
@@ -46,20 +47,28 @@ public class AwsQueryProtocolFactory {
     private final SdkClientConfiguration clientConfiguration;
     private final Map<String, Supplier<SdkPojo>> modeledExceptions;
     private final Supplier<SdkPojo> defaultServiceExceptionSupplier;
-    private final AwsXmlErrorProtocolUnmarshaller errorUnmarshaller;
+
+    /**
+     * The unmarshaller for error responses is only created when the first error response is received, since many clients
+     * never receive one.
+     */
+    private final Lazy<AwsXmlErrorProtocolUnmarshaller> errorUnmarshaller;
+    private final HttpResponseHandler<AwsServiceException> errorResponseHandler;
 
     AwsQueryProtocolFactory(Builder<?> builder) {
         this.clientConfiguration = builder.clientConfiguration;
         this.modeledExceptions = unmodifiableMap(new HashMap<>(builder.modeledExceptions));
         this.defaultServiceExceptionSupplier = builder.defaultServiceExceptionSupplier;
-        this.errorUnmarshaller = AwsXmlErrorProtocolUnmarshaller
-            .builder()
-            .defaultExceptionSupplier(defaultServiceExceptionSupplier)
-            .exceptions(modeledExceptions)
-            // We don't set result wrapper since that's handled by the errorRootExtractor
-            .errorUnmarshaller(QueryProtocolUnmarshaller.builder().build())
-            .errorRootExtractor(this::getErrorRoot)
-            .build();
+        this.errorUnmarshaller = new Lazy<>(() -> AwsXmlErrorProtocolUnmarshaller
+                .builder()
+                .defaultExceptionSupplier(defaultServiceExceptionSupplier)
+                .exceptions(modeledExceptions)
+                // We don't set result wrapper since that's handled by the errorRootExtractor
+                .errorUnmarshaller(QueryProtocolUnmarshaller.builder().build())
+                .errorRootExtractor(this::getErrorRoot)
+                .build());
+        this.errorResponseHandler = (response, executionAttributes) ->
+            errorUnmarshaller.getValue().handle(response, executionAttributes);
     }
 
     /**
@@ -96,7 +105,7 @@ public class AwsQueryProtocolFactory {
      * a modeled exception or the service base exception.
      */
     public final HttpResponseHandler<AwsServiceException> createErrorResponseHandler() {
-        return errorUnmarshaller;
+        return errorResponseHandler;
     }
 
     /**
@@ -39,6 +39,7 @@ import software.amazon.awssdk.protocols.xml.internal.marshall.XmlProtocolMarshal
 import software.amazon.awssdk.protocols.xml.internal.unmarshall.AwsXmlResponseHandler;
 import software.amazon.awssdk.protocols.xml.internal.unmarshall.XmlOperationMetadata;
 import software.amazon.awssdk.protocols.xml.internal.unmarshall.XmlProtocolUnmarshaller;
+import software.amazon.awssdk.utils.Lazy;
 
 /**
  * Factory to generate the various protocol handlers and generators to be used for
@@ -64,20 +65,28 @@ public class AwsXmlProtocolFactory {
 
     private final Map<String, Supplier<SdkPojo>> modeledExceptions;
     private final Supplier<SdkPojo> defaultServiceExceptionSupplier;
-    private final AwsXmlErrorProtocolUnmarshaller errorUnmarshaller;
+
+    /**
+     * The unmarshaller for error responses is only created when the first error response is received, since many clients
+     * never receive one.
+     */
+    private final Lazy<AwsXmlErrorProtocolUnmarshaller> errorUnmarshaller;
+    private final HttpResponseHandler<AwsServiceException> errorResponseHandler;
     private final SdkClientConfiguration clientConfiguration;
 
     AwsXmlProtocolFactory(Builder<?> builder) {
         this.modeledExceptions = unmodifiableMap(new HashMap<>(builder.modeledExceptions));
         this.defaultServiceExceptionSupplier = builder.defaultServiceExceptionSupplier;
         this.clientConfiguration = builder.clientConfiguration;
-        this.errorUnmarshaller = AwsXmlErrorProtocolUnmarshaller
-            .builder()
-            .defaultExceptionSupplier(defaultServiceExceptionSupplier)
-            .exceptions(modeledExceptions)
-            .errorUnmarshaller(XmlProtocolUnmarshaller.builder().build())
-            .errorRootExtractor(this::getErrorRoot)
-            .build();
+        this.errorUnmarshaller = new Lazy<>(() -> AwsXmlErrorProtocolUnmarshaller
+                .builder()
+                .defaultExceptionSupplier(defaultServiceExceptionSupplier)
+                .exceptions(modeledExceptions)
+                .errorUnmarshaller(XmlProtocolUnmarshaller.builder().build())
+                .errorRootExtractor(this::getErrorRoot)
+                .build());
+        this.errorResponseHandler = (response, executionAttributes) ->
+            errorUnmarshaller.getValue().handle(response, executionAttributes);
     }
 
     /**
@@ -101,7 +110,7 @@ public class AwsXmlProtocolFactory {
     }
 
     public HttpResponseHandler<AwsServiceException> createErrorResponseHandler() {
-        return errorUnmarshaller;
+        return errorResponseHandler;
     }
 
     /**
@@ -19,6 +19,7 @@ import java.math.BigDecimal;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.internal.util.SdkBytesFactory;
 import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
@@ -90,7 +91,7 @@ public final class StringToValueConverter {
     }
 
     private static SdkBytes toSdkBytes(String s) {
-        return SdkBytes.fromByteArray(BinaryUtils.fromBase64(s));
+        return SdkBytesFactory.fromByteArrayUnsafe(BinaryUtils.fromBase64(s));
     }
 
 }
\ No newline at end of file
@@ -21,10 +21,8 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
-import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,8 +36,9 @@ import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.util.json.JacksonUtils;
-import software.amazon.awssdk.regions.util.HttpResourcesUtils;
+import software.amazon.awssdk.regions.util.Ec2MetadataClient;
 
 /**
  * Utility class for retrieving Amazon EC2 instance metadata.<br>
@@ -72,7 +71,12 @@ public final class EC2MetadataUtils {
     private static final String EC2_USERDATA_ROOT = "/latest/user-data/";
     private static final String EC2_DYNAMICDATA_ROOT = "/latest/dynamic/";
     private static final int DEFAULT_QUERY_RETRIES = 3;
-    private static final int MINIMUM_RETRY_WAIT_TIME_MILLISECONDS = 250;
+
+    /**
+     * How long the instance identity document is cached for. It only changes when the instance is stopped and started, and
+     * the region in it never changes.
+     */
+    private static final Duration INSTANCE_IDENTITY_CACHE_TTL = Duration.ofHours(1);
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final Logger log = LoggerFactory.getLogger(EC2MetadataUtils.class);
     private static Map<String, String> cache = new ConcurrentHashMap<>();
@@ -238,8 +242,7 @@ public final class EC2MetadataUtils {
      * Get an InstanceInfo object with dynamic information about this instance.
      */
     public static InstanceInfo getInstanceInfo() {
-        return doGetInstanceInfo(getData(
-                EC2_DYNAMICDATA_ROOT + INSTANCE_IDENTITY_DOCUMENT));
+        return doGetInstanceInfo(getInstanceIdentityDocument());
     }
 
     static InstanceInfo doGetInstanceInfo(String json) {
@@ -266,8 +269,11 @@ public final class EC2MetadataUtils {
      * .aws.amazon.com/AWSEC2/latest/UserGuide/ec2-instance-metadata.html
      */
     public static String getEC2InstanceRegion() {
-        return doGetEC2InstanceRegion(getData(
-                EC2_DYNAMICDATA_ROOT + INSTANCE_IDENTITY_DOCUMENT));
+        return doGetEC2InstanceRegion(getInstanceIdentityDocument());
+    }
+
+    private static String getInstanceIdentityDocument() {
+        return getData(EC2_DYNAMICDATA_ROOT + INSTANCE_IDENTITY_DOCUMENT, INSTANCE_IDENTITY_CACHE_TTL);
     }
 
     static String doGetEC2InstanceRegion(final String json) {
@@ -373,6 +379,23 @@ public final class EC2MetadataUtils {
     }
 
     private static List<String> getItems(String path, int tries, boolean slurp) {
+        return getItems(path, tries, slurp, Duration.ZERO);
+    }
+
+    private static String getData(String path, Duration cacheTtl) {
+        List<String> items = getItems(path, DEFAULT_QUERY_RETRIES, true, cacheTtl);
+        if (null != items && items.size() > 0) {
+            return items.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Read the metadata at the given path. Failed requests are retried by {@link Ec2MetadataClient}, so {@code tries} only
+     * controls whether the metadata is requested at all. Like a missing path, a path the metadata service rejects with a
+     * client error (4xx) returns null.
+     */
+    private static List<String> getItems(String path, int tries, boolean slurp, Duration cacheTtl) {
         if (tries == 0) {
             throw SdkClientException.builder().message("Unable to contact EC2 metadata service.").build();
         }
@@ -381,30 +404,26 @@ public final class EC2MetadataUtils {
             throw SdkClientException.builder().message("EC2 metadata usage is disabled.").build();
         }
 
-        List<String> items;
+        String response;
         try {
-            String hostAddress = SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow();
-            String response = HttpResourcesUtils.instance().readResource(new URI(hostAddress + path));
-            if (slurp) {
-                items = Collections.singletonList(response);
-            } else {
-                items = Arrays.asList(response.split("\n"));
+            response = Ec2MetadataClient.instance().getData(path, cacheTtl).orElse(null);
+        } catch (SdkServiceException e) {
+            if (e.statusCode() < 400 || e.statusCode() >= 500) {
+                throw SdkClientException.builder().message("Unable to contact EC2 metadata service.").cause(e).build();
             }
-            return items;
-        } catch (SdkClientException ace) {
+            response = null;
+        } catch (RuntimeException e) {
+            throw SdkClientException.builder().message("Unable to contact EC2 metadata service.").cause(e).build();
+        }
+
+        if (response == null) {
             log.warn("Unable to retrieve the requested metadata.");
             return null;
-        } catch (IOException | URISyntaxException | RuntimeException e) {
-            // Retry on any other exceptions
-            int pause = (int) (Math.pow(2, DEFAULT_QUERY_RETRIES - tries) * MINIMUM_RETRY_WAIT_TIME_MILLISECONDS);
-            try {
-                Thread.sleep(pause < MINIMUM_RETRY_WAIT_TIME_MILLISECONDS ? MINIMUM_RETRY_WAIT_TIME_MILLISECONDS
-                                                                          : pause);
-            } catch (InterruptedException e1) {
-                Thread.currentThread().interrupt();
-            }
-            return getItems(path, tries - 1, slurp);
         }
+        if (slurp) {
+            return Collections.singletonList(response);
+        }
+        return Arrays.asList(response.split("\n"));
     }
 
     private static String fetchData(String path) {
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.util.VersionInfo;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * A client for the EC2 Instance Metadata Service that is shared by everything in the process that reads instance metadata.
+ *
+ * <p>The client uses a session token (IMDSv2) when the metadata service supports it, and falls back to unauthenticated
+ * requests (IMDSv1) when it does not. Tokens are cached until shortly before they expire. Responses are read completely, so
+ * that the JDK can keep the connection to the metadata service alive and reuse it for the next request.</p>
+ *
+ * <p>Responses can be cached per path by passing a time-to-live to {@link #getData(String, Duration)} or
+ * {@link #getDataAsync(String, Duration)}. Concurrent requests for the same cached path share one request to the metadata
+ * service.</p>
+ *
+ * <p>Connections are made with a short timeout. If the metadata service cannot be reached, e.g. because the application is
+ * not running on EC2, the request fails without retries and further requests fail immediately for five minutes instead of
+ * each waiting for a timeout. Server errors from a reachable metadata service are retried with a backoff.</p>
+ *
+ * <p>The endpoint is read from {@link SdkSystemSetting#AWS_EC2_METADATA_SERVICE_ENDPOINT} for each request, and all cached
+ * state is kept per endpoint. If {@link SdkSystemSetting#AWS_EC2_METADATA_DISABLED} is set to true, all requests fail with an
+ * {@link SdkClientException}.</p>
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class Ec2MetadataClient {
+    /**
+     * The header that holds the session token on requests for metadata.
+     */
+    public static final String TOKEN_HEADER = "x-aws-ec2-metadata-token";
+
+    private static final Logger log = LoggerFactory.getLogger(Ec2MetadataClient.class);
+
+    private static final Ec2MetadataClient INSTANCE = new Ec2MetadataClient();
+
+    private static final String TOKEN_RESOURCE = "/latest/api/token";
+    private static final String TOKEN_TTL_HEADER = "x-aws-ec2-metadata-token-ttl-seconds";
+    private static final Duration TOKEN_TTL = Duration.ofHours(6);
+    private static final Duration TOKEN_EXPIRATION_BUFFER = Duration.ofMinutes(1);
+    private static final Duration TOKEN_FAILURE_TTL = Duration.ofMinutes(1);
+
+    private static final Duration UNAVAILABLE_TTL = Duration.ofMinutes(5);
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int BASE_RETRY_DELAY_MILLIS = 100;
+
+    private final ConcurrentMap<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+
+    Ec2MetadataClient() {
+    }
+
+    /**
+     * The client that is shared by everything in this process.
+     */
+    public static Ec2MetadataClient instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Check whether the metadata service can be reached. This only waits for a connection attempt the first time the
+     * service is found to be unreachable, and returns false immediately for five minutes after that.
+     */
+    public boolean isAvailable() {
+        try {
+            EndpointState endpoint = endpoint();
+            endpoint.checkAvailable();
+            connectedToken(endpoint);
+            return true;
+        } catch (SdkClientException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the session token that should be sent in the {@link #TOKEN_HEADER} header of requests to the metadata service, or
+     * empty if the metadata service does not support session tokens.
+     *
+     * @throws SdkClientException If the metadata service is disabled or cannot be reached.
+     */
+    public Optional<String> sessionToken() {
+        EndpointState endpoint = endpoint();
+        endpoint.checkAvailable();
+        return Optional.ofNullable(connectedToken(endpoint));
+    }
+
+    /**
+     * Get the metadata at the given path, e.g. "/latest/meta-data/instance-id", without caching the response.
+     *
+     * @return The metadata, or empty if there is no metadata at the given path.
+     * @throws SdkClientException If the metadata service is disabled or cannot be reached.
+     * @throws SdkServiceException If the metadata service returned an error.
+     */
+    public Optional<String> getData(String path) {
+        return getData(path, Duration.ZERO);
+    }
+
+    /**
+     * Get the metadata at the given path, reusing a response that was received less than the given time-to-live ago.
+     *
+     * @see #getData(String)
+     */
+    public Optional<String> getData(String path, Duration cacheTtl) {
+        try {
+            return request(path, cacheTtl, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the metadata at the given path without blocking the calling thread, and without caching the response.
+     *
+     * @see #getData(String)
+     */
+    public CompletableFuture<Optional<String>> getDataAsync(String path) {
+        return getDataAsync(path, Duration.ZERO);
+    }
+
+    /**
+     * Get the metadata at the given path without blocking the calling thread. If a response that was received less than the
+     * given time-to-live ago is cached, the returned future is already completed.
+     *
+     * @see #getData(String, Duration)
+     */
+    public CompletableFuture<Optional<String>> getDataAsync(String path, Duration cacheTtl) {
+        // Cached futures are shared, so callers are given a dependent future that they cannot complete or cancel.
+        return request(path, cacheTtl, AsyncExecutor.EXECUTOR).thenApply(r -> r);
+    }
+
+    private CompletableFuture<Optional<String>> request(String path, Duration cacheTtl, Executor executor) {
+        EndpointState endpoint;
+        try {
+            endpoint = endpoint();
+            endpoint.checkAvailable();
+        } catch (SdkClientException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        if (cacheTtl.isZero() || cacheTtl.isNegative()) {
+            CompletableFuture<Optional<String>> response = new CompletableFuture<>();
+            executor.execute(() -> {
+                try {
+                    response.complete(load(endpoint, path));
+                } catch (Throwable t) {
+                    response.completeExceptionally(t);
+                }
+            });
+            return response;
+        }
+
+        CachedResponse cached = endpoint.responses.get(path);
+        if (cached != null && cached.isUsable()) {
+            return cached.response;
+        }
+
+        CachedResponse created = new CachedResponse();
+        cached = endpoint.responses.compute(path, (p, current) -> current != null && current.isUsable() ? current : created);
+        if (cached == created) {
+            executor.execute(() -> {
+                try {
+                    Optional<String> data = load(endpoint, path);
+                    created.expiration = Instant.now().plus(cacheTtl);
+                    created.response.complete(data);
+                } catch (Throwable t) {
+                    endpoint.responses.remove(path, created);
+                    created.response.completeExceptionally(t);
+                }
+            });
+        }
+        return cached.response;
+    }
+
+    private Optional<String> load(EndpointState endpoint, String path) {
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; ++attempt) {
+            if (attempt > 1) {
+                pause(attempt);
+            }
+
+            String token;
+            Response response;
+            try {
+                token = token(endpoint);
+                response = endpoint.send("GET", path, TOKEN_HEADER, token);
+            } catch (UnreachableException e) {
+                throw endpoint.markUnavailable(e);
+            } catch (IOException e) {
+                throw SdkClientException.builder().message("Unable to read EC2 metadata from " + path).cause(e).build();
+            }
+
+            if (response.statusCode == HttpURLConnection.HTTP_OK) {
+                return Optional.of(response.body);
+            }
+            if (response.statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                return Optional.empty();
+            }
+
+            lastError = SdkServiceException.builder()
+                                           .message("Unable to read EC2 metadata from " + path + ": " + response.body)
+                                           .statusCode(response.statusCode)
+                                           .build();
+            if (response.statusCode == HttpURLConnection.HTTP_UNAUTHORIZED && token != null) {
+                // The token expired or was invalidated, e.g. because the instance was stopped and started again.
+                endpoint.token = null;
+            } else if (response.statusCode < HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                throw lastError;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Get the session token for the endpoint like {@link #token(EndpointState)}.
+     *
+     * @throws SdkClientException If the endpoint could not be reached. Further requests fail immediately.
+     */
+    private String connectedToken(EndpointState endpoint) {
+        try {
+            return token(endpoint);
+        } catch (UnreachableException e) {
+            throw endpoint.markUnavailable(e);
+        }
+    }
+
+    /**
+     * Get the session token for the endpoint, or null if the endpoint does not support session tokens.
+     *
+     * @throws UnreachableException If the endpoint could not be reached to get a new token.
+     */
+    private String token(EndpointState endpoint) throws UnreachableException {
+        Token token = endpoint.token;
+        if (token != null && token.isValid()) {
+            return token.value;
+        }
+
+        synchronized (endpoint) {
+            token = endpoint.token;
+            if (token == null || !token.isValid()) {
+                token = fetchToken(endpoint);
+                endpoint.token = token;
+            }
+            return token.value;
+        }
+    }
+
+    private Token fetchToken(EndpointState endpoint) throws UnreachableException {
+        Response response;
+        try {
+            response = endpoint.send("PUT", TOKEN_RESOURCE, TOKEN_TTL_HEADER, String.valueOf(TOKEN_TTL.getSeconds()));
+        } catch (UnreachableException e) {
+            throw e;
+        } catch (IOException e) {
+            log.debug("Unable to get a session token from the EC2 metadata service, continuing without one.", e);
+            return new Token(null, Instant.now().plus(TOKEN_FAILURE_TTL));
+        }
+
+        if (response.statusCode == HttpURLConnection.HTTP_OK) {
+            return new Token(response.body, Instant.now().plus(TOKEN_TTL).minus(TOKEN_EXPIRATION_BUFFER));
+        }
+
+        if (response.statusCode == HttpURLConnection.HTTP_NOT_FOUND ||
+            response.statusCode == HttpURLConnection.HTTP_BAD_METHOD) {
+            // The metadata service does not support session tokens.
+            return new Token(null, Instant.now().plus(TOKEN_TTL));
+        }
+
+        log.debug("Unable to get a session token from the EC2 metadata service (status code {}), continuing without one.",
+                  response.statusCode);
+        return new Token(null, Instant.now().plus(TOKEN_FAILURE_TTL));
+    }
+
+    private static void pause(int attempt) {
+        try {
+            Thread.sleep((long) BASE_RETRY_DELAY_MILLIS << (attempt - 2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SdkClientException.builder().message("Interrupted while reading EC2 metadata.").cause(e).build();
+        }
+    }
+
+    private EndpointState endpoint() {
+        if (SdkSystemSetting.AWS_EC2_METADATA_DISABLED.getBooleanValueOrThrow()) {
+            throw SdkClientException.builder().message("EC2 metadata usage is disabled.").build();
+        }
+
+        String endpoint = SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow();
+        return endpoints.computeIfAbsent(endpoint, EndpointState::new);
+    }
+
+    /**
+     * The state of the client for one metadata service endpoint.
+     */
+    private static final class EndpointState {
+        private final String endpoint;
+        private final ConcurrentMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+        private volatile Token token;
+        private volatile Instant unavailableUntil = Instant.MIN;
+
+        private EndpointState(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void checkAvailable() {
+            if (Instant.now().isBefore(unavailableUntil)) {
+                throw unavailableException(null);
+            }
+        }
+
+        /**
+         * Make requests fail immediately for a while, because the endpoint could not be reached.
+         */
+        private SdkClientException markUnavailable(UnreachableException cause) {
+            unavailableUntil = Instant.now().plus(UNAVAILABLE_TTL);
+            return unavailableException(cause);
+        }
+
+        private SdkClientException unavailableException(IOException cause) {
+            return SdkClientException.builder()
+                                     .message("Unable to contact EC2 metadata service at " + endpoint + ".")
+                                     .cause(cause)
+                                     .build();
+        }
+
+        /**
+         * Send a request to the metadata service and read the complete response.
+         *
+         * @throws UnreachableException If the connection could not be established.
+         * @throws IOException If the request failed after the connection was established.
+         */
+        private Response send(String method, String path, String headerName, String headerValue) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(endpoint + path).openConnection(Proxy.NO_PROXY);
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+            connection.setRequestMethod(method);
+            connection.setInstanceFollowRedirects(false);
+            connection.setRequestProperty("User-Agent", String.format("aws-sdk-java/%s", VersionInfo.SDK_VERSION));
+            if (headerValue != null) {
+                connection.setRequestProperty(headerName, headerValue);
+            }
+
+            try {
+                connection.connect();
+            } catch (IOException e) {
+                throw new UnreachableException(e);
+            }
+
+            int statusCode = connection.getResponseCode();
+            InputStream content = statusCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream()
+                                                                                  : connection.getErrorStream();
+            try {
+                // Reading the whole response and closing the stream lets the connection be kept alive.
+                return new Response(statusCode, content == null ? "" : IoUtils.toUtf8String(content));
+            } finally {
+                IoUtils.closeQuietly(content, null);
+            }
+        }
+    }
+
+    /**
+     * Thrown when a connection to the metadata service could not be established, as opposed to a request that failed after
+     * connecting.
+     */
+    private static final class UnreachableException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private UnreachableException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private static final class Response {
+        private final int statusCode;
+        private final String body;
+
+        private Response(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+    }
+
+    private static final class Token {
+        /**
+         * The session token, or null if the metadata service does not support session tokens.
+         */
+        private final String value;
+        private final Instant expiration;
+
+        private Token(String value, Instant expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+
+        private boolean isValid() {
+            return Instant.now().isBefore(expiration);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final CompletableFuture<Optional<String>> response = new CompletableFuture<>();
+        private volatile Instant expiration = Instant.MAX;
+
+        private boolean isUsable() {
+            return !response.isCompletedExceptionally() && Instant.now().isBefore(expiration);
+        }
+    }
+
+    /**
+     * The threads that load metadata for {@link #getDataAsync(String, Duration)}. They are only created when first needed.
+     */
+    private static final class AsyncExecutor {
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static Executor createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                                                 new ThreadFactoryBuilder().daemonThreads(true)
+                                                                                           .threadNamePrefix("sdk-ec2-metadata")
+                                                                                           .build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
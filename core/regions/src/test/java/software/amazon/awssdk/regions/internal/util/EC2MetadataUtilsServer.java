@@ -90,14 +90,17 @@ public class EC2MetadataUtilsServer {
         if (parts.length != 3) {
             throw new RuntimeException("Bogus request: " + line);
         }
-        if (!"GET".equals(parts[0])) {
+        if (!"GET".equals(parts[0]) && !"PUT".equals(parts[0])) {
             throw new RuntimeException("Bogus verb: " + line);
         }
 
         ignoreRequest(input);
 
         String path = parts[1];
-        if (path.equals("/latest/meta-data/iam/info")) {
+        if (path.equals("/latest/api/token")) {
+            outputToken(output);
+
+        } else if (path.equals("/latest/meta-data/iam/info")) {
             outputIamInfo(output);
 
         } else if (path.equals("/latest/meta-data/iam/security-credentials")) {
@@ -128,6 +131,18 @@ public class EC2MetadataUtilsServer {
         }
     }
 
+    private void outputToken(PrintWriter output) {
+        String payload = "test-token";
+
+        output.println("HTTP/1.1 200 OK");
+        output.println("Connection: close");
+        output.println("Content-Length: " + payload.length());
+        output.println();
+
+        output.print(payload);
+        output.flush();
+    }
+
     private void outputIamInfo(PrintWriter output) throws IOException {
 
         String payload =
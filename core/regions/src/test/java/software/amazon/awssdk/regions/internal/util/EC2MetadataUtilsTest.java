@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.internal.util;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Validate how {@link EC2MetadataUtils} handles failed responses from a stub metadata service.
+ */
+public class EC2MetadataUtilsTest {
+    private static final String INSTANCE_ID_PATH = "/latest/meta-data/instance-id";
+    private static final String SECURITY_GROUPS_PATH = "/latest/meta-data/security-groups";
+
+    @Rule
+    public WireMockRule mockMetadataService = new WireMockRule(0);
+
+    @Before
+    public void setup() {
+        System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(),
+                           "http://localhost:" + mockMetadataService.port());
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property());
+    }
+
+    @Test
+    public void missingMetadataIsNull() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withStatus(404)));
+
+        assertThat(EC2MetadataUtils.getData(INSTANCE_ID_PATH)).isNull();
+    }
+
+    @Test
+    public void rejectedMetadataIsNull() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withStatus(403)));
+        stubFor(get(urlPathEqualTo(SECURITY_GROUPS_PATH)).willReturn(aResponse().withStatus(400)));
+
+        assertThat(EC2MetadataUtils.getData(INSTANCE_ID_PATH)).isNull();
+        assertThat(EC2MetadataUtils.getItems(SECURITY_GROUPS_PATH)).isNull();
+    }
+
+    @Test
+    public void serverErrorsFail() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withStatus(500)));
+
+        assertThatThrownBy(() -> EC2MetadataUtils.getData(INSTANCE_ID_PATH)).isInstanceOf(SdkClientException.class);
+    }
+}
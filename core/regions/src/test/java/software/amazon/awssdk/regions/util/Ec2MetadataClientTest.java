@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.util;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.regions.internal.util.SocketUtils;
+
+/**
+ * Validate the functionality of {@link Ec2MetadataClient} against a stub metadata service.
+ */
+public class Ec2MetadataClientTest {
+    private static final String TOKEN_PATH = "/latest/api/token";
+    private static final String INSTANCE_ID_PATH = "/latest/meta-data/instance-id";
+
+    @Rule
+    public WireMockRule mockMetadataService = new WireMockRule(0);
+
+    private final Ec2MetadataClient client = new Ec2MetadataClient();
+
+    @Before
+    public void setup() {
+        System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(),
+                           "http://localhost:" + mockMetadataService.port());
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property());
+        System.clearProperty(SdkSystemSetting.AWS_EC2_METADATA_DISABLED.property());
+    }
+
+    @Test
+    public void sessionTokenIsRequestedOnceAndSentWithRequests() {
+        stubFor(put(urlPathEqualTo(TOKEN_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).withHeader(Ec2MetadataClient.TOKEN_HEADER, equalTo("some-token"))
+                                                     .willReturn(aResponse().withBody("i-12345")));
+
+        assertThat(client.getData(INSTANCE_ID_PATH)).isEqualTo(Optional.of("i-12345"));
+        assertThat(client.getData(INSTANCE_ID_PATH)).isEqualTo(Optional.of("i-12345"));
+
+        verify(1, putRequestedFor(urlPathEqualTo(TOKEN_PATH)));
+        verify(2, getRequestedFor(urlPathEqualTo(INSTANCE_ID_PATH)));
+    }
+
+    @Test
+    public void requestsAreNotAuthenticatedIfSessionTokensAreNotSupported() {
+        stubFor(put(urlPathEqualTo(TOKEN_PATH)).willReturn(aResponse().withStatus(404)));
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withBody("i-12345")));
+
+        assertThat(client.getData(INSTANCE_ID_PATH)).isEqualTo(Optional.of("i-12345"));
+        assertThat(client.sessionToken()).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void cachedResponsesAreReused() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withBody("i-12345")));
+
+        assertThat(client.getData(INSTANCE_ID_PATH, Duration.ofHours(1))).isEqualTo(Optional.of("i-12345"));
+        assertThat(client.getDataAsync(INSTANCE_ID_PATH, Duration.ofHours(1)).join()).isEqualTo(Optional.of("i-12345"));
+
+        verify(1, getRequestedFor(urlPathEqualTo(INSTANCE_ID_PATH)));
+    }
+
+    @Test
+    public void missingMetadataIsEmpty() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withStatus(404)));
+
+        assertThat(client.getData(INSTANCE_ID_PATH)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void serverErrorsAreRetried() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).inScenario("retry")
+                                                     .whenScenarioStateIs(Scenario.STARTED)
+                                                     .willReturn(aResponse().withStatus(500))
+                                                     .willSetStateTo("recovered"));
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).inScenario("retry")
+                                                     .whenScenarioStateIs("recovered")
+                                                     .willReturn(aResponse().withBody("i-12345")));
+
+        assertThat(client.getData(INSTANCE_ID_PATH)).isEqualTo(Optional.of("i-12345"));
+        verify(2, getRequestedFor(urlPathEqualTo(INSTANCE_ID_PATH)));
+    }
+
+    @Test
+    public void failedResponsesAreNotCached() {
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withStatus(403)));
+        assertThatThrownBy(() -> client.getData(INSTANCE_ID_PATH, Duration.ofHours(1)));
+
+        stubFor(get(urlPathEqualTo(INSTANCE_ID_PATH)).willReturn(aResponse().withBody("i-12345")));
+        assertThat(client.getData(INSTANCE_ID_PATH, Duration.ofHours(1))).isEqualTo(Optional.of("i-12345"));
+    }
+
+    @Test
+    public void unreachableServiceFailsImmediatelyAfterFirstAttempt() throws IOException {
+        System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(),
+                           "http://localhost:" + SocketUtils.getUnusedPort());
+
+        assertThatThrownBy(() -> client.getData(INSTANCE_ID_PATH)).isInstanceOf(SdkClientException.class);
+
+        assertThat(client.isAvailable()).isFalse();
+        CompletableFuture<Optional<String>> response = client.getDataAsync(INSTANCE_ID_PATH);
+        assertThat(response.isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void failedConnectionsAreNotRetried() throws Exception {
+        int port = SocketUtils.getUnusedPort();
+        System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(), "http://localhost:" + port);
+
+        // Nothing is listening on the port for the first attempt, so the endpoint is marked unavailable straight away.
+        assertThatThrownBy(() -> client.getData(INSTANCE_ID_PATH)).isInstanceOf(SdkClientException.class);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = INSTANCE_ID_PATH.equals(exchange.getRequestURI().getPath()) ? "i-12345".getBytes(UTF_8) : new byte[0];
+            exchange.sendResponseHeaders(body.length > 0 ? 200 : 404, body.length > 0 ? body.length : -1);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            assertThat(client.isAvailable()).isFalse();
+            assertThatThrownBy(() -> client.getData(INSTANCE_ID_PATH)).isInstanceOf(SdkClientException.class);
+            assertThat(new Ec2MetadataClient().getData(INSTANCE_ID_PATH)).isEqualTo(Optional.of("i-12345"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void disabledServiceIsNotCalled() {
+        System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_DISABLED.property(), "true");
+
+        assertThatThrownBy(() -> client.getData(INSTANCE_ID_PATH)).isInstanceOf(SdkClientException.class)
+                                                                 .hasMessageContaining("disabled");
+        verify(0, getRequestedFor(urlPathEqualTo(INSTANCE_ID_PATH)));
+    }
+}
@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.signer.Signer;
+import software.amazon.awssdk.http.RequestPriority;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.Validate;
 
@@ -43,6 +44,7 @@ public abstract class RequestOverrideConfiguration {
     private final Duration apiCallTimeout;
     private final Duration apiCallAttemptTimeout;
     private final Signer signer;
+    private final RequestPriority priority;
 
     protected RequestOverrideConfiguration(Builder<?> builder) {
         this.headers = CollectionUtils.deepUnmodifiableMap(builder.headers(), () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
@@ -51,6 +53,7 @@ public abstract class RequestOverrideConfiguration {
         this.apiCallTimeout = Validate.isPositiveOrNull(builder.apiCallTimeout(), "apiCallTimeout");
         this.apiCallAttemptTimeout = Validate.isPositiveOrNull(builder.apiCallAttemptTimeout(), "apiCallAttemptTimeout");
         this.signer = builder.signer();
+        this.priority = builder.priority();
     }
 
     /**
@@ -126,6 +129,17 @@ public abstract class RequestOverrideConfiguration {
         return Optional.ofNullable(signer);
     }
 
+    /**
+     * The relative priority of this request, passed to the HTTP client. HTTP clients that support it (for example the
+     * Netty async client) serve pending higher priority requests more often than lower priority ones when all
+     * connections are in use, so latency sensitive calls are not starved by bulk traffic sharing the same client.
+     *
+     * @see Builder#priority(RequestPriority)
+     */
+    public Optional<RequestPriority> priority() {
+        return Optional.ofNullable(priority);
+    }
+
     /**
      * Create a {@link Builder} initialized with the properties of this {@code SdkRequestOverrideConfiguration}.
      *
@@ -297,6 +311,18 @@ public abstract class RequestOverrideConfiguration {
 
         Signer signer();
 
+        /**
+         * Sets the relative priority of this request. If this value is null, the request is sent with
+         * {@link RequestPriority#NORMAL} priority.
+         *
+         * @param priority Priority of the request
+         * @return This object for method chaining
+         * @see RequestOverrideConfiguration#priority()
+         */
+        B priority(RequestPriority priority);
+
+        RequestPriority priority();
+
         /**
          * Create a new {@code SdkRequestOverrideConfiguration} with the properties set on this builder.
          *
@@ -312,6 +338,7 @@ public abstract class RequestOverrideConfiguration {
         private Duration apiCallTimeout;
         private Duration apiCallAttemptTimeout;
         private Signer signer;
+        private RequestPriority priority;
 
         protected BuilderImpl() {
         }
@@ -320,6 +347,7 @@ public abstract class RequestOverrideConfiguration {
             headers(sdkRequestOverrideConfig.headers);
             rawQueryParameters(sdkRequestOverrideConfig.rawQueryParameters);
             sdkRequestOverrideConfig.apiNames.forEach(this::addApiName);
+            priority(sdkRequestOverrideConfig.priority);
         }
 
         @Override
@@ -428,5 +456,20 @@ public abstract class RequestOverrideConfiguration {
         public Signer signer() {
             return signer;
         }
+
+        @Override
+        public B priority(RequestPriority priority) {
+            this.priority = priority;
+            return (B) this;
+        }
+
+        public void setPriority(RequestPriority priority) {
+            priority(priority);
+        }
+
+        @Override
+        public RequestPriority priority() {
+            return priority;
+        }
     }
 }
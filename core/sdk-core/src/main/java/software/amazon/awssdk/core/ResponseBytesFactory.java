@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Creates {@link ResponseBytes} for the SDK's own response transformers. This lives in the same package as
+ * {@link ResponseBytes} so that it can use its constructor, without adding a non-copying factory to the public API.
+ */
+@SdkInternalApi
+public final class ResponseBytesFactory {
+    private ResponseBytesFactory() {
+    }
+
+    /**
+     * Create {@link ResponseBytes} from a Byte array <b>without</b> copying the contents of the byte array. This must only be
+     * used when the SDK owns the array, e.g. when it has just received the response content, and the array must not be
+     * modified afterwards.
+     */
+    public static <ResponseT> ResponseBytes<ResponseT> fromByteArrayUnsafe(ResponseT response, byte[] bytes) {
+        return new ResponseBytes<>(response, bytes);
+    }
+}
@@ -24,6 +24,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.util.SdkBytesFactory;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.ToString;
@@ -40,6 +41,10 @@ public final class SdkBytes extends BytesWrapper implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    static {
+        SdkBytesFactory.registerConstructor(SdkBytes::new);
+    }
+
     // Needed for serialization
     private SdkBytes() {
         super();
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.util.SharedSdkRuntime;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * The executors that are shared by all clients in the JVM when {@link SdkSystemSetting#AWS_SHARED_RUNTIME_ENABLED} is set to
+ * true.
+ *
+ * <p>By default each client creates its own scheduled executor for timeouts and retries, and each async client creates its
+ * own executors for completing futures and unmarshalling responses. An application with many clients can end up with hundreds
+ * of threads. With the shared runtime, clients that are not configured with their own executors use one scheduled executor,
+ * one future completion executor and one unmarshalling executor, sized to the number of available processors. The executors
+ * are created when the first client is built and shut down when the last client using them is closed.</p>
+ *
+ * <p>The Netty HTTP client already shares its default event loop group between clients, whether or not this is enabled.</p>
+ */
+@SdkPublicApi
+public final class SdkSharedRuntime {
+
+    private SdkSharedRuntime() {
+    }
+
+    /**
+     * @return Whether clients that are built from now on use the shared executors.
+     */
+    public static boolean isEnabled() {
+        return SdkSystemSetting.AWS_SHARED_RUNTIME_ENABLED.getBooleanValueOrThrow();
+    }
+
+    /**
+     * @return A snapshot of the state of each shared executor, or an empty list if no client is using them.
+     */
+    public static List<ExecutorMetrics> executorMetrics() {
+        return SharedSdkRuntime.snapshotExecutors(ExecutorMetrics::new);
+    }
+
+    /**
+     * A snapshot of the state of one of the shared executors. An executor is saturated when {@link #activeCount()} reaches
+     * {@link #maximumPoolSize()} and tasks start to queue. Tasks that do not fit in the queue are rejected and counted by
+     * {@link #rejectedTaskCount()}.
+     */
+    public static final class ExecutorMetrics {
+        private final String name;
+        private final int poolSize;
+        private final int largestPoolSize;
+        private final int maximumPoolSize;
+        private final int activeCount;
+        private final int queuedTaskCount;
+        private final int remainingQueueCapacity;
+        private final long completedTaskCount;
+        private final long rejectedTaskCount;
+
+        private ExecutorMetrics(String name, ThreadPoolExecutor executor, long rejectedTaskCount) {
+            this.name = name;
+            this.poolSize = executor.getPoolSize();
+            this.largestPoolSize = executor.getLargestPoolSize();
+            this.maximumPoolSize = executor.getMaximumPoolSize();
+            this.activeCount = executor.getActiveCount();
+            this.queuedTaskCount = executor.getQueue().size();
+            this.remainingQueueCapacity = executor.getQueue().remainingCapacity();
+            this.completedTaskCount = executor.getCompletedTaskCount();
+            this.rejectedTaskCount = rejectedTaskCount;
+        }
+
+        /**
+         * @return The name of the executor, which is also the prefix of its thread names.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return The current number of threads.
+         */
+        public int poolSize() {
+            return poolSize;
+        }
+
+        /**
+         * @return The largest number of threads there have been at the same time.
+         */
+        public int largestPoolSize() {
+            return largestPoolSize;
+        }
+
+        /**
+         * @return The maximum number of threads.
+         */
+        public int maximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        /**
+         * @return The approximate number of threads that are running tasks.
+         */
+        public int activeCount() {
+            return activeCount;
+        }
+
+        /**
+         * @return The number of tasks waiting for a thread.
+         */
+        public int queuedTaskCount() {
+            return queuedTaskCount;
+        }
+
+        /**
+         * @return The number of further tasks that can be queued before tasks are rejected.
+         */
+        public int remainingQueueCapacity() {
+            return remainingQueueCapacity;
+        }
+
+        /**
+         * @return The approximate number of tasks that have completed.
+         */
+        public long completedTaskCount() {
+            return completedTaskCount;
+        }
+
+        /**
+         * @return The number of tasks that did not fit in the queue.
+         */
+        public long rejectedTaskCount() {
+            return rejectedTaskCount;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("ExecutorMetrics")
+                           .add("name", name)
+                           .add("poolSize", poolSize)
+                           .add("largestPoolSize", largestPoolSize)
+                           .add("maximumPoolSize", maximumPoolSize)
+                           .add("activeCount", activeCount)
+                           .add("queuedTaskCount", queuedTaskCount)
+                           .add("remainingQueueCapacity", remainingQueueCapacity)
+                           .add("completedTaskCount", completedTaskCount)
+                           .add("rejectedTaskCount", rejectedTaskCount)
+                           .build();
+        }
+    }
+}
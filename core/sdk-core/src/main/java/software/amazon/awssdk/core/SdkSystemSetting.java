@@ -118,6 +118,18 @@ public enum SdkSystemSetting implements SystemSetting {
      */
     BINARY_ION_ENABLED("aws.binaryIonEnabled", "true"),
 
+    /**
+     * Whether clients should share one set of default executors, instead of each client creating its own thread pools. See
+     * {@link SdkSharedRuntime}.
+     */
+    AWS_SHARED_RUNTIME_ENABLED("aws.sharedRuntimeEnabled", "false"),
+
+    /**
+     * Whether the default credentials provider should look for credentials in all of its sources at once, and start doing so
+     * as soon as it is created. See {@code DefaultCredentialsProvider.Builder#parallelResolutionEnabled}.
+     */
+    AWS_PARALLEL_CREDENTIAL_RESOLUTION_ENABLED("aws.parallelCredentialResolutionEnabled", "false"),
+
     /**
      * The execution environment of the SDK user. This is automatically set in certain environments by the underlying AWS service.
      * For example, AWS Lambda will automatically specify a runtime indicating that the SDK is being used within Lambda.
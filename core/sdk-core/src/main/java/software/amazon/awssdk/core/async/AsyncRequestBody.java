@@ -16,17 +16,20 @@
 package software.amazon.awssdk.core.async;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.internal.async.ByteArrayAsyncRequestBody;
 import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
+import software.amazon.awssdk.core.internal.async.InputStreamAsyncRequestBody;
 import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
@@ -95,6 +98,21 @@ public interface AsyncRequestBody extends SdkPublisher<ByteBuffer> {
         return FileAsyncRequestBody.builder().path(path).build();
     }
 
+    /**
+     * Creates an {@link AsyncRequestBody} that produces data from a segment of a file, e.g. one part of a multipart upload.
+     * Bodies for different segments of the same file can be sent concurrently. See {@link FileAsyncRequestBody#builder} to
+     * create a customized body implementation.
+     *
+     * @param path Path to file to read from.
+     * @param offset Position in the file of the first byte to send.
+     * @param length Number of bytes to send.
+     * @return Implementation of {@link AsyncRequestBody} that reads data from the specified segment of the file.
+     * @see FileAsyncRequestBody
+     */
+    static AsyncRequestBody fromFile(Path path, long offset, long length) {
+        return FileAsyncRequestBody.builder().path(path).offset(offset).length(length).build();
+    }
+
     /**
      * Creates an {@link AsyncRequestBody} that produces data from the contents of a file. See
      * {@link FileAsyncRequestBody#builder} to create a customized body implementation.
@@ -152,6 +170,36 @@ public interface AsyncRequestBody extends SdkPublisher<ByteBuffer> {
         return new ByteArrayAsyncRequestBody(BinaryUtils.copyAllBytesFrom(byteBuffer));
     }
 
+    /**
+     * Creates an {@link AsyncRequestBody} that reads its content from an {@link InputStream}. The stream is read on the given
+     * executor, and only as fast as the HTTP client sends the content, so the stream is never buffered in memory as a whole.
+     * <p>
+     * The stream will not be closed by the SDK. It can only be read once, so requests using this body are not retried after
+     * the body has been sent.
+     *
+     * @param inputStream Input stream to send to the service.
+     * @param contentLength The number of bytes to send, or null if unknown. Some services require the content length.
+     * @param executor The executor on which the blocking reads from the stream are made.
+     * @return AsyncRequestBody instance.
+     * @see InputStreamAsyncRequestBody
+     */
+    static AsyncRequestBody fromInputStream(InputStream inputStream, Long contentLength, Executor executor) {
+        return new InputStreamAsyncRequestBody(inputStream, contentLength, executor);
+    }
+
+    /**
+     * Creates a {@link BlockingOutputStreamAsyncRequestBody}, whose content is written by the caller to
+     * {@link BlockingOutputStreamAsyncRequestBody#outputStream()} after the request has been started. Writes block while the
+     * HTTP client is not requesting content, so the content is never buffered in memory as a whole.
+     *
+     * @param contentLength The number of bytes that will be written, or null if unknown. Some services require the content
+     * length.
+     * @return BlockingOutputStreamAsyncRequestBody instance.
+     */
+    static BlockingOutputStreamAsyncRequestBody forBlockingOutputStream(Long contentLength) {
+        return new BlockingOutputStreamAsyncRequestBody(contentLength);
+    }
+
     /**
      * Creates a {@link AsyncRequestBody} with no content.
      *
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link AsyncRequestBody} whose content is written by the caller to a blocking {@link OutputStream}, e.g. by a library
+ * that produces its output through a stream.
+ *
+ * <p>Written data is sent as soon as a chunk is full and the HTTP client has requested it. While the HTTP client is not
+ * requesting data, writes block, so only the chunk being written is held in memory whatever the size of the content. The
+ * content is complete when the stream is closed.</p>
+ *
+ * <pre class="brush: java">
+ * BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(contentLength);
+ * CompletableFuture&lt;PutObjectResponse&gt; response = s3AsyncClient.putObject(putObjectRequest, body);
+ * try (OutputStream outputStream = body.outputStream()) {
+ *     writeContent(outputStream);
+ * } catch (IOException | RuntimeException e) {
+ *     body.cancel();
+ *     throw e;
+ * }
+ * response.join();
+ * </pre>
+ *
+ * <p>The content can only be written once, so the body can only be subscribed to once. Requests using it are not retried
+ * after the body has been sent.</p>
+ *
+ * @see AsyncRequestBody#forBlockingOutputStream(Long)
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class BlockingOutputStreamAsyncRequestBody implements AsyncRequestBody {
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final Duration DEFAULT_SUBSCRIBE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Long contentLength;
+    private final Duration subscribeTimeout;
+    private final CountDownLatch subscribedLatch = new CountDownLatch(1);
+    private final AtomicBoolean subscribeCalled = new AtomicBoolean();
+    private final BlockingOutputStream outputStream = new BlockingOutputStream();
+    private volatile StreamSubscription subscription;
+
+    BlockingOutputStreamAsyncRequestBody(Long contentLength) {
+        this(contentLength, DEFAULT_SUBSCRIBE_TIMEOUT);
+    }
+
+    BlockingOutputStreamAsyncRequestBody(Long contentLength, Duration subscribeTimeout) {
+        Validate.isTrue(contentLength == null || contentLength >= 0, "contentLength must not be negative.");
+        this.contentLength = contentLength;
+        this.subscribeTimeout = Validate.isPositive(subscribeTimeout, "subscribeTimeout");
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.ofNullable(contentLength);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        Validate.paramNotNull(s, "subscriber");
+        if (!subscribeCalled.compareAndSet(false, true)) {
+            s.onSubscribe(new NoopSubscription(s));
+            s.onError(new IllegalStateException("An output stream request body can only be subscribed to once."));
+            return;
+        }
+        subscription = new StreamSubscription(s);
+        s.onSubscribe(subscription);
+        subscribedLatch.countDown();
+        Throwable failure = outputStream.failure;
+        if (failure != null) {
+            subscription.fail(failure);
+        }
+    }
+
+    /**
+     * The stream to write the content to. Writes block until the body has been subscribed to by the HTTP client, which
+     * happens once the request is being sent, and fail if that takes longer than 10 seconds. They also fail once the request
+     * has failed or been cancelled.
+     *
+     * <p>Closing the stream completes the content. If a content length was provided, writing more than that many bytes, or
+     * closing the stream before that many bytes were written, fails both the write or close and the request. The stream is
+     * not thread safe.</p>
+     *
+     * @return The stream to write the content to.
+     */
+    public OutputStream outputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Fails the request instead of completing it with the content written so far. Use this if writing the content fails.
+     */
+    public void cancel() {
+        fail(new CancellationException("The output stream request body was cancelled."));
+    }
+
+    private void fail(Throwable error) {
+        outputStream.failure = error;
+        subscribedLatch.countDown();
+        StreamSubscription s = subscription;
+        if (s != null) {
+            s.fail(error);
+        }
+    }
+
+    private final class BlockingOutputStream extends OutputStream {
+        private byte[] chunk = new byte[CHUNK_SIZE];
+        private int count = 0;
+        private long written = 0;
+        private boolean closed = false;
+        private volatile Throwable failure;
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            countWritten(1);
+            if (count == chunk.length) {
+                sendChunk();
+            }
+            chunk[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Validate.paramNotNull(b, "b");
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            ensureOpen();
+            countWritten(len);
+            while (len > 0) {
+                if (count == chunk.length) {
+                    sendChunk();
+                }
+                int copied = Math.min(len, chunk.length - count);
+                System.arraycopy(b, off, chunk, count, copied);
+                count += copied;
+                off += copied;
+                len -= copied;
+            }
+        }
+
+        /**
+         * Sends the data written so far, even if it does not fill a chunk.
+         */
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            if (count > 0) {
+                sendChunk();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (contentLength != null && written < contentLength) {
+                closed = true;
+                throw failRequest(new IOException("The stream was closed after " + written + " bytes were written, but the "
+                                                  + "content length is " + contentLength + " bytes."));
+            }
+            flush();
+            StreamSubscription s = awaitSubscription();
+            closed = true;
+            s.complete();
+        }
+
+        private void sendChunk() throws IOException {
+            StreamSubscription s = awaitSubscription();
+            s.send(ByteBuffer.wrap(chunk, 0, count));
+            chunk = new byte[CHUNK_SIZE];
+            count = 0;
+        }
+
+        private void countWritten(int len) throws IOException {
+            if (contentLength != null && written + len > contentLength) {
+                throw failRequest(new IOException("More bytes were written than the content length of " + contentLength
+                                                  + " bytes."));
+            }
+            written += len;
+        }
+
+        /**
+         * Fails the request with the provided exception, and returns it so that it can also be thrown to the writer.
+         */
+        private IOException failRequest(IOException error) {
+            fail(error);
+            return error;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("The stream is closed.");
+            }
+            Throwable error = failure;
+            if (error instanceof CancellationException) {
+                throw new IOException("The request body was cancelled.");
+            }
+            if (error != null) {
+                throw new IOException("The request body has failed.", error);
+            }
+        }
+
+        private StreamSubscription awaitSubscription() throws IOException {
+            try {
+                if (!subscribedLatch.await(subscribeTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IOException("The request body was not subscribed to within " + subscribeTimeout + ".");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the request body to be subscribed to.");
+            }
+            ensureOpen();
+            return subscription;
+        }
+    }
+
+    /**
+     * Hands the written chunks to the subscriber as it requests them. The writing thread waits on this while there is no
+     * demand. A failure signalled while a chunk is being delivered, e.g. by {@link #cancel()} on another thread, is delivered
+     * once {@code onNext} has returned so that the subscriber is never signalled concurrently.
+     */
+    private static final class StreamSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        // Guarded by this.
+        private long outstandingDemand = 0;
+        private boolean done = false;
+        private boolean delivering = false;
+        private Throwable pendingError;
+
+        private StreamSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n < 1) {
+                fail(new IllegalArgumentException(subscriber + " violated the Reactive Streams rule 3.9 by requesting a "
+                                                  + "non-positive number of elements."));
+                return;
+            }
+            synchronized (this) {
+                // As governed by rule 3.17, when demand overflows `Long.MAX_VALUE` we treat the signalled demand as
+                // "effectively unbounded"
+                outstandingDemand = Long.MAX_VALUE - outstandingDemand < n ? Long.MAX_VALUE : outstandingDemand + n;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+                notifyAll();
+            }
+        }
+
+        private void send(ByteBuffer chunk) throws IOException {
+            synchronized (this) {
+                try {
+                    while (outstandingDemand == 0 && !done) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the request body to be requested.");
+                }
+                if (done) {
+                    throw new IOException("The request body is no longer being sent, because the request failed or was "
+                                          + "cancelled.");
+                }
+                outstandingDemand--;
+                delivering = true;
+            }
+            subscriber.onNext(chunk);
+
+            Throwable error;
+            synchronized (this) {
+                delivering = false;
+                error = pendingError;
+                pendingError = null;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            }
+        }
+
+        private void complete() throws IOException {
+            synchronized (this) {
+                if (done) {
+                    throw new IOException("The request body is no longer being sent, because the request failed or was "
+                                          + "cancelled.");
+                }
+                done = true;
+                notifyAll();
+            }
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable t) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                notifyAll();
+                if (delivering) {
+                    pendingError = t;
+                    return;
+                }
+            }
+            subscriber.onError(t);
+        }
+    }
+}
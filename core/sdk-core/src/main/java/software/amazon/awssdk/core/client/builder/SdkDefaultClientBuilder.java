@@ -16,6 +16,8 @@
 package software.amazon.awssdk.core.client.builder;
 
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.UNMARSHALLING_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.UNMARSHALLING_INLINE_THRESHOLD;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SIGNER;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USER_AGENT_PREFIX;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USER_AGENT_SUFFIX;
@@ -45,6 +47,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.SdkSharedRuntime;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
@@ -53,6 +56,7 @@ import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
+import software.amazon.awssdk.core.internal.util.SharedSdkRuntime;
 import software.amazon.awssdk.core.internal.util.UserAgentUtils;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.http.AbortableCallable;
@@ -87,6 +91,7 @@ import software.amazon.awssdk.utils.Validate;
 public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>, C> implements SdkClientBuilder<B, C> {
     private static final SdkHttpClient.Builder DEFAULT_HTTP_CLIENT_BUILDER = new DefaultSdkHttpClientBuilder();
     private static final SdkAsyncHttpClient.Builder DEFAULT_ASYNC_HTTP_CLIENT_BUILDER = new DefaultSdkAsyncHttpClientBuilder();
+    private static final int DEFAULT_UNMARSHALLING_INLINE_THRESHOLD = 16 * 1024;
 
     protected final SdkClientConfiguration.Builder clientConfiguration = SdkClientConfiguration.builder();
 
@@ -214,6 +219,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     private SdkClientConfiguration finalizeAsyncConfiguration(SdkClientConfiguration config) {
         return config.toBuilder()
                      .option(FUTURE_COMPLETION_EXECUTOR, resolveAsyncFutureCompletionExecutor(config))
+                     .option(UNMARSHALLING_EXECUTOR, resolveUnmarshallingExecutor(config))
+                     .option(UNMARSHALLING_INLINE_THRESHOLD, resolveUnmarshallingInlineThreshold(config))
                      .option(ASYNC_HTTP_CLIENT, resolveAsyncHttpClient(config))
                      .build();
     }
@@ -259,7 +266,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     }
 
     /**
-     * Finalize which async executor service will be used for the created client.
+     * Finalize which async executor service will be used for the created client. If the {@link SdkSharedRuntime} is enabled,
+     * the default is the shared executor.
      */
     private Executor resolveAsyncFutureCompletionExecutor(SdkClientConfiguration config) {
         Supplier<Executor> defaultExecutor = () ->
@@ -269,13 +277,48 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
                                        new ThreadFactoryBuilder().threadNamePrefix("sdk-async-response").build());
 
         return Optional.ofNullable(config.option(FUTURE_COMPLETION_EXECUTOR))
-                       .orElseGet(defaultExecutor);
+                       .orElseGet(SdkSharedRuntime.isEnabled() ? SharedSdkRuntime::futureCompletionExecutor : defaultExecutor);
     }
 
     /**
-     * Finalize which scheduled executor service will be used for retries in the created client.
+     * Finalize which executor will be used to unmarshall large responses in the created client. When the default executor is
+     * saturated it rejects the unmarshalling, which fails the request, rather than running it on the async HTTP client thread.
+     * If the {@link SdkSharedRuntime} is enabled, the default is the shared executor.
+     */
+    private Executor resolveUnmarshallingExecutor(SdkClientConfiguration config) {
+        Supplier<Executor> defaultExecutor = () -> {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(threads, threads,
+                                       10, TimeUnit.SECONDS,
+                                       new LinkedBlockingQueue<>(1_000),
+                                       new ThreadFactoryBuilder().threadNamePrefix("sdk-async-unmarshalling").build());
+            // With no core threads, a pool only grows once its queue is full, so it would unmarshall on a single thread.
+            // Using all threads as core threads starts a thread per task until all are busy, and idle threads still time out.
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        };
+
+        return Optional.ofNullable(config.option(UNMARSHALLING_EXECUTOR))
+                       .orElseGet(SdkSharedRuntime.isEnabled() ? SharedSdkRuntime::unmarshallingExecutor : defaultExecutor);
+    }
+
+    /**
+     * Finalize the response size up to which responses are unmarshalled on the async HTTP client thread.
+     */
+    private Integer resolveUnmarshallingInlineThreshold(SdkClientConfiguration config) {
+        return Optional.ofNullable(config.option(UNMARSHALLING_INLINE_THRESHOLD))
+                       .orElse(DEFAULT_UNMARSHALLING_INLINE_THRESHOLD);
+    }
+
+    /**
+     * Finalize which scheduled executor service will be used for retries in the created client. If the
+     * {@link SdkSharedRuntime} is enabled, this is the shared scheduled executor.
      */
     private ScheduledExecutorService resolveScheduledExecutorService() {
+        if (SdkSharedRuntime.isEnabled()) {
+            return SharedSdkRuntime.scheduledExecutorService();
+        }
         return Executors.newScheduledThreadPool(5, new ThreadFactoryBuilder()
             .threadNamePrefix("sdk-ScheduledExecutor").build());
     }
@@ -300,6 +343,9 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
     public final B asyncConfiguration(ClientAsyncConfiguration asyncConfiguration) {
         clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR, asyncConfiguration.advancedOption(FUTURE_COMPLETION_EXECUTOR));
+        clientConfiguration.option(UNMARSHALLING_EXECUTOR, asyncConfiguration.advancedOption(UNMARSHALLING_EXECUTOR));
+        clientConfiguration.option(UNMARSHALLING_INLINE_THRESHOLD,
+                                   asyncConfiguration.advancedOption(UNMARSHALLING_INLINE_THRESHOLD));
         return thisBuilder();
     }
 
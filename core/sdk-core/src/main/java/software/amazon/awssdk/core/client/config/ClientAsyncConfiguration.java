@@ -16,6 +16,7 @@
 package software.amazon.awssdk.core.client.config;
 
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.UNMARSHALLING_EXECUTOR;
 
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -90,6 +91,9 @@ public final class ClientAsyncConfiguration
             if (option == FUTURE_COMPLETION_EXECUTOR) {
                 Executor executor = FUTURE_COMPLETION_EXECUTOR.convertValue(value);
                 this.advancedOptions.put(FUTURE_COMPLETION_EXECUTOR, ExecutorUtils.unmanagedExecutor(executor));
+            } else if (option == UNMARSHALLING_EXECUTOR) {
+                Executor executor = UNMARSHALLING_EXECUTOR.convertValue(value);
+                this.advancedOptions.put(UNMARSHALLING_EXECUTOR, ExecutorUtils.unmanagedExecutor(executor));
             } else {
                 this.advancedOptions.put(option, value);
             }
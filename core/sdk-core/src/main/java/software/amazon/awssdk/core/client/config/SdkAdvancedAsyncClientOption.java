@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
 
 /**
  * A collection of advanced options that can be configured on an async AWS client via
@@ -41,6 +42,23 @@ public final class SdkAdvancedAsyncClientOption<T> extends ClientOption<T> {
     public static final SdkAdvancedAsyncClientOption<Executor> FUTURE_COMPLETION_EXECUTOR =
             new SdkAdvancedAsyncClientOption<>(Executor.class);
 
+    /**
+     * Configure the executor that should be used to unmarshall non-streaming responses that are larger than
+     * {@link #UNMARSHALLING_INLINE_THRESHOLD}. By default, this is a bounded {@link ExecutorService} managed by the SDK. If
+     * the executor rejects a response, e.g. because it is saturated, the request fails with an {@link SdkClientException}
+     * rather than blocking the async HTTP client's thread.
+     */
+    public static final SdkAdvancedAsyncClientOption<Executor> UNMARSHALLING_EXECUTOR =
+            new SdkAdvancedAsyncClientOption<>(Executor.class);
+
+    /**
+     * Configure the size in bytes up to which non-streaming responses are unmarshalled directly on the async HTTP client's
+     * thread, rather than being handed to the {@link #UNMARSHALLING_EXECUTOR}. Unmarshalling a small response is cheaper than
+     * switching threads. Set to 0 to always use the {@link #UNMARSHALLING_EXECUTOR}. Defaults to 16 KB.
+     */
+    public static final SdkAdvancedAsyncClientOption<Integer> UNMARSHALLING_INLINE_THRESHOLD =
+            new SdkAdvancedAsyncClientOption<>(Integer.class);
+
     private SdkAdvancedAsyncClientOption(Class<T> valueClass) {
         super(valueClass);
     }
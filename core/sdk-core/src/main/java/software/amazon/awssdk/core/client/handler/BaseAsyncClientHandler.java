@@ -17,6 +17,9 @@ package software.amazon.awssdk.core.client.handler;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
@@ -25,6 +28,7 @@ import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
@@ -44,30 +48,40 @@ import software.amazon.awssdk.utils.CompletableFutureUtils;
 public abstract class BaseAsyncClientHandler extends BaseClientHandler implements AsyncClientHandler {
     private final SdkClientConfiguration clientConfiguration;
     private final AmazonAsyncHttpClient client;
-    private final Function<SdkHttpFullResponse, SdkHttpFullResponse> crc32Validator;
+    private final BiFunction<SdkHttpResponse, Publisher<ByteBuffer>, Publisher<ByteBuffer>> crc32Validator;
+    private final Executor unmarshallingExecutor;
+    private final Executor futureCompletionExecutor;
+    private final int unmarshallingInlineThreshold;
 
     protected BaseAsyncClientHandler(SdkClientConfiguration clientConfiguration,
                                      AmazonAsyncHttpClient client) {
         super(clientConfiguration);
         this.clientConfiguration = clientConfiguration;
         this.client = client;
-        this.crc32Validator = response -> Crc32Validation.validate(isCalculateCrc32FromCompressedData(), response);
+        this.crc32Validator = (response, content) -> Crc32Validation.validate(isCalculateCrc32FromCompressedData(),
+                                                                               response, content);
+        this.unmarshallingExecutor = clientConfiguration.option(SdkAdvancedAsyncClientOption.UNMARSHALLING_EXECUTOR);
+        Integer inlineThreshold = clientConfiguration.option(SdkAdvancedAsyncClientOption.UNMARSHALLING_INLINE_THRESHOLD);
+        this.unmarshallingInlineThreshold = inlineThreshold == null ? 0 : inlineThreshold;
+        this.futureCompletionExecutor = clientConfiguration.option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
     }
 
     @Override
     public <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<OutputT> execute(
         ClientExecutionParams<InputT, OutputT> executionParams) {
-        ExecutionContext executionContext = createExecutionContext(executionParams);
-
-        HttpResponseHandler<OutputT> decoratedResponseHandlers =
-            decorateResponseHandlers(executionParams.getResponseHandler(), executionContext);
-
-        TransformingAsyncResponseHandler<OutputT> sdkHttpResponseHandler =
-                new SyncResponseHandlerAdapter<>(decoratedResponseHandlers,
-                                                 crc32Validator,
-                                                 executionContext.executionAttributes());
-
-        return execute(executionParams, executionContext, sdkHttpResponseHandler);
+        return withExecutionContext(executionParams, executionContext -> {
+            HttpResponseHandler<OutputT> decoratedResponseHandlers =
+                decorateResponseHandlers(executionParams.getResponseHandler(), executionContext);
+
+            TransformingAsyncResponseHandler<OutputT> sdkHttpResponseHandler =
+                    new SyncResponseHandlerAdapter<>(decoratedResponseHandlers,
+                                                     crc32Validator,
+                                                     executionContext.executionAttributes(),
+                                                     unmarshallingExecutor,
+                                                     unmarshallingInlineThreshold);
+
+            return execute(executionParams, executionContext, sdkHttpResponseHandler);
+        });
     }
 
     @Override
@@ -75,10 +89,58 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         ClientExecutionParams<InputT, OutputT> executionParams,
         AsyncResponseTransformer<OutputT, ReturnT> asyncResponseTransformer) {
 
-        ExecutionContext context = createExecutionContext(executionParams);
+        return withExecutionContext(executionParams, context -> execute(
+            executionParams, context, new UnmarshallingSdkHttpResponseHandler<>(asyncResponseTransformer, context,
+                                                                                executionParams.getResponseHandler())));
+    }
+
+    /**
+     * Create the {@link ExecutionContext} for a request without blocking the calling thread. This can be overridden when
+     * creating the context requires I/O, e.g. to load credentials, that can be performed asynchronously. By default this
+     * returns a future that is already completed with the result of {@link #createExecutionContext(ClientExecutionParams)}.
+     */
+    protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams) {
+        return CompletableFuture.completedFuture(createExecutionContext(executionParams));
+    }
+
+    /**
+     * Run the request once its {@link ExecutionContext} is available. If the context is already available, which is the case
+     * unless e.g. credentials are being loaded, the request is started on the calling thread. Otherwise it is started on the
+     * future completion executor rather than on the thread that completed the context, e.g. a credential refresh thread.
+     */
+    private <InputT extends SdkRequest, OutputT extends SdkResponse, ReturnT> CompletableFuture<ReturnT> withExecutionContext(
+        ClientExecutionParams<InputT, OutputT> executionParams,
+        Function<ExecutionContext, CompletableFuture<ReturnT>> execution) {
+
+        CompletableFuture<ExecutionContext> executionContext = createExecutionContextAsync(executionParams);
+        if (executionContext.isDone() && !executionContext.isCompletedExceptionally()) {
+            return execution.apply(executionContext.join());
+        }
+
+        CompletableFuture<ReturnT> result = new CompletableFuture<>();
+        executionContext.whenComplete((context, error) -> {
+            if (error != null) {
+                result.completeExceptionally(ThrowableUtils.asSdkException(unwrap(error)));
+                return;
+            }
+            try {
+                futureCompletionExecutor.execute(() -> execution.apply(context).whenComplete((response, t) -> {
+                    if (t != null) {
+                        result.completeExceptionally(t);
+                    } else {
+                        result.complete(response);
+                    }
+                }));
+            } catch (Throwable t) {
+                result.completeExceptionally(ThrowableUtils.asSdkException(t));
+            }
+        });
+        return result;
+    }
 
-        return execute(executionParams, context, new UnmarshallingSdkHttpResponseHandler<>(asyncResponseTransformer, context,
-                                                                                           executionParams.getResponseHandler()));
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     private <InputT extends SdkRequest, OutputT, ReturnT> CompletableFuture<ReturnT> execute(
@@ -124,11 +186,13 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
     private TransformingAsyncResponseHandler<? extends SdkException> resolveErrorResponseHandler(
         ClientExecutionParams<?, ?> executionParams,
         ExecutionContext executionContext,
-        Function<SdkHttpFullResponse, SdkHttpFullResponse> responseAdapter) {
+        BiFunction<SdkHttpResponse, Publisher<ByteBuffer>, Publisher<ByteBuffer>> responseAdapter) {
         SyncResponseHandlerAdapter<? extends SdkException> result =
             new SyncResponseHandlerAdapter<>(executionParams.getErrorResponseHandler(),
                                              responseAdapter,
-                                             executionContext.executionAttributes());
+                                             executionContext.executionAttributes(),
+                                             unmarshallingExecutor,
+                                             unmarshallingInlineThreshold);
         return new InterceptorCallingHttpResponseHandler<>(result, executionContext);
     }
 
@@ -217,6 +281,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         private final ExecutionContext executionContext;
         private final HttpResponseHandler<OutputT> responseHandler;
         private CompletableFuture<ReturnT> transformFuture;
+        private volatile SdkHttpResponse response;
 
         UnmarshallingSdkHttpResponseHandler(AsyncResponseTransformer<OutputT, ReturnT> asyncResponseTransformer,
                                             ExecutionContext executionContext,
@@ -228,6 +293,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
 
         @Override
         public void onHeaders(SdkHttpResponse response) {
+            this.response = response;
             try {
                 // TODO would be better to pass in AwsExecutionAttributes to the async response handler so we can
                 // provide them to HttpResponseHandler
@@ -243,7 +309,8 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
 
         @Override
         public void onStream(Publisher<ByteBuffer> publisher) {
-            asyncResponseTransformer.onStream(SdkPublisher.adapt(publisher));
+            asyncResponseTransformer.onStream(SdkPublisher.adapt(
+                Crc32Validation.validateStreaming(isCalculateCrc32FromCompressedData(), response, publisher)));
         }
 
         @Override
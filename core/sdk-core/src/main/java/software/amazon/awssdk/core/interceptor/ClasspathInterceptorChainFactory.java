@@ -25,22 +25,28 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.internal.util.ClassLoaderCache;
 import software.amazon.awssdk.core.internal.util.ClassLoaderHelper;
 import software.amazon.awssdk.utils.Validate;
 
 /**
  * Factory for creating request/response handler chains from the classpath.
+ *
+ * <p>The interceptor classes listed in a resource are only looked up the first time the resource is requested from a class
+ * loader, and are cached for all factories in the process. Each call to {@link #getInterceptors(String)} or
+ * {@link #getGlobalInterceptors()} creates new instances of those classes.</p>
  */
 @SdkProtectedApi
 public final class ClasspathInterceptorChainFactory {
 
     private static final String GLOBAL_INTERCEPTOR_PATH = "software/amazon/awssdk/global/handlers/execution.interceptors";
 
+    private static final ClassLoaderCache<String, List<Class<? extends ExecutionInterceptor>>> INTERCEPTOR_CLASSES =
+            new ClassLoaderCache<>();
+
     /**
      * Constructs a new request handler chain by analyzing the specified classpath resource.
      *
@@ -59,8 +65,29 @@ public final class ClasspathInterceptorChainFactory {
     }
 
     private List<ExecutionInterceptor> createExecutionInterceptorsFromClasspath(String path) {
+        ClassLoader classLoader = classLoader();
+        List<Class<? extends ExecutionInterceptor>> interceptorClasses =
+                INTERCEPTOR_CLASSES.get(classLoader, path, p -> loadInterceptorClasses(classLoader, p));
+
+        List<ExecutionInterceptor> interceptors = new ArrayList<>(interceptorClasses.size());
+        for (Class<? extends ExecutionInterceptor> interceptorClass : interceptorClasses) {
+            interceptors.add(createExecutionInterceptor(interceptorClass));
+        }
+        return interceptors;
+    }
+
+    private List<Class<? extends ExecutionInterceptor>> loadInterceptorClasses(ClassLoader classLoader, String path) {
         try {
-            return createExecutionInterceptorsFromResources(classLoader().getResources(path)).collect(Collectors.toList());
+            Enumeration<URL> resources = classLoader.getResources(path);
+            if (resources == null) {
+                return Collections.emptyList();
+            }
+
+            List<Class<? extends ExecutionInterceptor>> interceptorClasses = new ArrayList<>();
+            for (URL resource : Collections.list(resources)) {
+                loadInterceptorClassesFromResource(resource, interceptorClasses);
+            }
+            return Collections.unmodifiableList(interceptorClasses);
         } catch (IOException e) {
             throw SdkClientException.builder()
                                     .message("Unable to instantiate execution interceptor chain.")
@@ -69,66 +96,58 @@ public final class ClasspathInterceptorChainFactory {
         }
     }
 
-    private Stream<ExecutionInterceptor> createExecutionInterceptorsFromResources(Enumeration<URL> resources) {
-        if (resources == null) {
-            return Stream.empty();
+    private void loadInterceptorClassesFromResource(URL resource,
+                                                    List<Class<? extends ExecutionInterceptor>> interceptorClasses)
+            throws IOException {
+        if (resource == null) {
+            return;
         }
 
-        return Collections.list(resources).stream().flatMap(this::createExecutionInterceptorFromResource);
-    }
-
-    private Stream<ExecutionInterceptor> createExecutionInterceptorFromResource(URL resource) {
-        try {
-            if (resource == null) {
-                return Stream.empty();
-            }
+        try (InputStream stream = resource.openStream();
+             InputStreamReader streamReader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+             BufferedReader fileReader = new BufferedReader(streamReader)) {
 
-            List<ExecutionInterceptor> interceptors = new ArrayList<>();
-
-            try (InputStream stream = resource.openStream();
-                 InputStreamReader streamReader = new InputStreamReader(stream, StandardCharsets.UTF_8);
-                 BufferedReader fileReader = new BufferedReader(streamReader)) {
-
-                String interceptorClassName = fileReader.readLine();
-                while (interceptorClassName != null) {
-                    ExecutionInterceptor interceptor = createExecutionInterceptor(interceptorClassName);
-                    if (interceptor != null) {
-                        interceptors.add(interceptor);
-                    }
-                    interceptorClassName = fileReader.readLine();
+            String interceptorClassName = fileReader.readLine();
+            while (interceptorClassName != null) {
+                Class<? extends ExecutionInterceptor> interceptorClass = loadInterceptorClass(interceptorClassName);
+                if (interceptorClass != null) {
+                    interceptorClasses.add(interceptorClass);
                 }
+                interceptorClassName = fileReader.readLine();
             }
-
-            return interceptors.stream();
-        } catch (IOException e) {
-            throw SdkClientException.builder()
-                                    .message("Unable to instantiate execution interceptor chain.")
-                                    .cause(e)
-                                    .build();
         }
     }
 
-    private ExecutionInterceptor createExecutionInterceptor(String interceptorClassName) {
+    private Class<? extends ExecutionInterceptor> loadInterceptorClass(String interceptorClassName) {
         interceptorClassName = interceptorClassName.trim();
         if (interceptorClassName.equals("")) {
             return null;
         }
 
+        Class<?> executionInterceptorClass;
         try {
-            Class<?> executionInterceptorClass = ClassLoaderHelper.loadClass(interceptorClassName,
-                                                                             ExecutionInterceptor.class, getClass());
-            Object executionInterceptorObject = executionInterceptorClass.newInstance();
-
-            if (executionInterceptorObject instanceof ExecutionInterceptor) {
-                return (ExecutionInterceptor) executionInterceptorObject;
-            } else {
-                throw SdkClientException.builder()
-                                        .message("Unable to instantiate request handler chain for client. Listed"
-                                                + " request handler ('" + interceptorClassName + "') does not implement" +
-                                                " the " + ExecutionInterceptor.class + " API.")
-                                        .build();
-            }
-        } catch (IllegalAccessException | ClassNotFoundException | InstantiationException e) {
+            executionInterceptorClass = ClassLoaderHelper.loadClass(interceptorClassName, ExecutionInterceptor.class, getClass());
+        } catch (ClassNotFoundException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to instantiate executor interceptor for client.")
+                                    .cause(e)
+                                    .build();
+        }
+
+        if (!ExecutionInterceptor.class.isAssignableFrom(executionInterceptorClass)) {
+            throw SdkClientException.builder()
+                                    .message("Unable to instantiate request handler chain for client. Listed"
+                                            + " request handler ('" + interceptorClassName + "') does not implement" +
+                                            " the " + ExecutionInterceptor.class + " API.")
+                                    .build();
+        }
+        return executionInterceptorClass.asSubclass(ExecutionInterceptor.class);
+    }
+
+    private ExecutionInterceptor createExecutionInterceptor(Class<? extends ExecutionInterceptor> interceptorClass) {
+        try {
+            return interceptorClass.newInstance();
+        } catch (IllegalAccessException | InstantiationException e) {
             throw SdkClientException.builder()
                                     .message("Unable to instantiate executor interceptor for client.")
                                     .cause(e)
@@ -15,19 +15,14 @@
 
 package software.amazon.awssdk.core.internal.async;
 
-import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
-
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
-
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseBytesFactory;
+import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
-import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
  * Implementation of {@link AsyncResponseTransformer} that dumps content into a byte array and supports further
@@ -48,7 +43,7 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
     @Override
     public CompletableFuture<ResponseBytes<ResponseT>> prepare() {
         cf = new CompletableFuture<>();
-        return cf.thenApply(arr -> ResponseBytes.fromByteArray(response, arr));
+        return cf.thenApply(arr -> ResponseBytesFactory.fromByteArrayUnsafe(response, arr));
     }
 
     @Override
@@ -58,50 +53,21 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
     @Override
     public void onStream(SdkPublisher<ByteBuffer> publisher) {
-        publisher.subscribe(new BaosSubscriber(cf));
+        ByteBufferAggregator aggregator = response instanceof SdkResponse
+                                          ? ByteBufferAggregator.forResponse(((SdkResponse) response).sdkHttpResponse())
+                                          : ByteBufferAggregator.withExpectedLength(-1);
+        aggregator.result().whenComplete((r, t) -> {
+            if (t != null) {
+                cf.completeExceptionally(t);
+            } else {
+                cf.complete(r.toByteArray());
+            }
+        });
+        publisher.subscribe(aggregator);
     }
 
     @Override
     public void exceptionOccurred(Throwable throwable) {
         cf.completeExceptionally(throwable);
     }
-
-    static class BaosSubscriber implements Subscriber<ByteBuffer> {
-        private final CompletableFuture<byte[]> resultFuture;
-
-        private ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        private Subscription subscription;
-
-        BaosSubscriber(CompletableFuture<byte[]> resultFuture) {
-            this.resultFuture = resultFuture;
-        }
-
-        @Override
-        public void onSubscribe(Subscription s) {
-            if (this.subscription != null) {
-                s.cancel();
-                return;
-            }
-            this.subscription = s;
-            subscription.request(Long.MAX_VALUE);
-        }
-
-        @Override
-        public void onNext(ByteBuffer byteBuffer) {
-            invokeSafely(() -> baos.write(BinaryUtils.copyBytesFrom(byteBuffer)));
-            subscription.request(1);
-        }
-
-        @Override
-        public void onError(Throwable throwable) {
-            baos = null;
-            resultFuture.completeExceptionally(throwable);
-        }
-
-        @Override
-        public void onComplete() {
-            resultFuture.complete(baos.toByteArray());
-        }
-    }
 }
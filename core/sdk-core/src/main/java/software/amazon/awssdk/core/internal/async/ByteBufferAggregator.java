@@ -0,0 +1,206 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+/**
+ * Subscriber that collects a response body in memory, copying each received {@link ByteBuffer} exactly once.
+ *
+ * <p>If the expected length of the body is known, e.g. from the Content-Length header, the content is copied straight into
+ * an array of that size and {@link #toByteArray()} returns that array. The presized array is capped at a few MiB, so that a
+ * large or wrong Content-Length can't make us allocate more than we receive. Content beyond the presized array, or all content
+ * when the length is not known, is copied into a chunk per buffer. The chunks are only joined if {@link #toByteArray()} is
+ * called, {@link #toInputStream()} reads them in place.</p>
+ *
+ * <p>{@link #result()} is completed with this aggregator once the body has been received.</p>
+ */
+@SdkInternalApi
+public final class ByteBufferAggregator implements Subscriber<ByteBuffer> {
+
+    /**
+     * The largest array that is allocated up front from the expected length. Longer bodies fill an array of this size, then
+     * grow by a chunk per received buffer.
+     */
+    private static final long MAX_PRESIZED_LENGTH = 4 * 1024 * 1024;
+
+    private final CompletableFuture<ByteBufferAggregator> result = new CompletableFuture<>();
+
+    private final long expectedLength;
+    private byte[] presized;
+    private List<byte[]> chunks;
+    private int length;
+    private Subscription subscription;
+
+    private ByteBufferAggregator(long expectedLength) {
+        this.expectedLength = expectedLength;
+    }
+
+    /**
+     * Create an aggregator presized for the Content-Length of the given response, if it has one.
+     */
+    public static ByteBufferAggregator forResponse(SdkHttpResponse response) {
+        return new ByteBufferAggregator(contentLength(response).orElse(-1L));
+    }
+
+    /**
+     * Create an aggregator presized for the given length, or one that grows as content is received if the length is
+     * negative.
+     */
+    public static ByteBufferAggregator withExpectedLength(long expectedLength) {
+        return new ByteBufferAggregator(expectedLength);
+    }
+
+    /**
+     * @return The future that is completed with this aggregator once the body is complete, or completed exceptionally if
+     * the body fails.
+     */
+    public CompletableFuture<ByteBufferAggregator> result() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (this.subscription != null) {
+            s.cancel();
+            return;
+        }
+        this.subscription = s;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        add(byteBuffer);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        presized = null;
+        chunks = null;
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        result.complete(this);
+    }
+
+    /**
+     * @return The number of bytes received.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return The received content. This is the aggregator's own array when the body matched the expected length or was
+     * received in a single buffer, so no further copy is made.
+     */
+    public byte[] toByteArray() {
+        if (length == 0) {
+            return new byte[0];
+        }
+        if (presized != null) {
+            return length == presized.length ? presized : Arrays.copyOf(presized, length);
+        }
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, bytes, position, chunk.length);
+            position += chunk.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return A stream over the received content that reads the collected buffers in place.
+     */
+    public InputStream toInputStream() {
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (presized != null) {
+            return new ByteArrayInputStream(presized, 0, length);
+        }
+        if (chunks.size() == 1) {
+            return new ByteArrayInputStream(chunks.get(0));
+        }
+        List<InputStream> streams = new ArrayList<>(chunks.size());
+        chunks.forEach(chunk -> streams.add(new ByteArrayInputStream(chunk)));
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private void add(ByteBuffer byteBuffer) {
+        int remaining = byteBuffer.remaining();
+        if (remaining == 0) {
+            return;
+        }
+        if (length == 0) {
+            // Allocated on the first content rather than up front, because responses to e.g. HEAD requests have a
+            // Content-Length but no body.
+            if (expectedLength >= remaining) {
+                presized = new byte[(int) Math.min(expectedLength, MAX_PRESIZED_LENGTH)];
+            } else {
+                chunks = new ArrayList<>();
+            }
+        }
+        ByteBuffer content = byteBuffer.duplicate();
+        if (presized != null) {
+            int presizedRemaining = presized.length - length;
+            content.get(presized, length, Math.min(remaining, presizedRemaining));
+            if (remaining < presizedRemaining) {
+                length += remaining;
+                return;
+            }
+            // The presized array is full, either because the body is longer than the cap or because the expected length was
+            // wrong. It becomes the first chunk, and any further content is added as chunks.
+            chunks = new ArrayList<>();
+            chunks.add(presized);
+            presized = null;
+        }
+        if (content.hasRemaining()) {
+            byte[] chunk = new byte[content.remaining()];
+            content.get(chunk);
+            chunks.add(chunk);
+        }
+        length += remaining;
+    }
+
+    private static Optional<Long> contentLength(SdkHttpResponse response) {
+        try {
+            return response.firstMatchingHeader("Content-Length").map(Long::parseLong);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
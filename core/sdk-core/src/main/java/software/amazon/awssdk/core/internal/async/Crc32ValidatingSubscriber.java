@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.Crc32MismatchException;
+import software.amazon.awssdk.utils.async.DelegatingSubscriber;
+
+/**
+ * Subscriber that calculates the CRC32 checksum of the buffers as they pass through to the wrapped subscriber, and signals
+ * a {@link Crc32MismatchException} instead of completion if it does not match the expected checksum at the end of the
+ * stream. This is the asynchronous counterpart of
+ * {@link software.amazon.awssdk.core.internal.util.Crc32ChecksumValidatingInputStream}.
+ */
+@SdkInternalApi
+public final class Crc32ValidatingSubscriber extends DelegatingSubscriber<ByteBuffer, ByteBuffer> {
+
+    private final CRC32 crc32 = new CRC32();
+    private final long expectedChecksum;
+
+    /**
+     * @param subscriber Subscriber to pass the content to.
+     * @param expectedChecksum Expected CRC32 checksum returned by the service.
+     */
+    public Crc32ValidatingSubscriber(Subscriber<? super ByteBuffer> subscriber, long expectedChecksum) {
+        super(subscriber);
+        this.expectedChecksum = expectedChecksum;
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        crc32.update(byteBuffer.duplicate());
+        subscriber.onNext(byteBuffer);
+    }
+
+    @Override
+    public void onComplete() {
+        long actualChecksum = crc32.getValue();
+        if (expectedChecksum != actualChecksum) {
+            subscriber.onError(Crc32MismatchException.builder()
+                                                     .message(String.format("Expected %d as the Crc32 checksum but the "
+                                                                            + "actual calculated checksum was %d",
+                                                                            expectedChecksum, actualChecksum))
+                                                     .build());
+            return;
+        }
+        subscriber.onComplete();
+    }
+}
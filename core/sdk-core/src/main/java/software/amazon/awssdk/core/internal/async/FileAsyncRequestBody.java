@@ -15,27 +15,41 @@
 
 package software.amazon.awssdk.core.internal.async;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
 /**
- * Implementation of {@link AsyncRequestBody} that reads data from a file.
+ * Implementation of {@link AsyncRequestBody} that reads data from a file, or from a segment of a file.
+ *
+ * <p>By default, chunks are read with several reads outstanding at the same time, as far as the subscriber has requested
+ * them. Alternatively the file can be memory mapped, in which case the chunks are read-only slices of the mapping and no
+ * data is copied. See {@link Builder#memoryMapped(Boolean)}.</p>
  *
  * @see AsyncRequestBody#fromFile(Path)
+ * @see AsyncRequestBody#fromFile(Path, long, long)
  * @see AsyncRequestBody#fromFile(java.io.File)
  */
 @SdkInternalApi
@@ -46,6 +60,16 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
      */
     private static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
 
+    /**
+     * Default number of reads from the file that may be in progress at the same time.
+     */
+    private static final int DEFAULT_MAX_OUTSTANDING_READS = 4;
+
+    /**
+     * The largest region of the file that is mapped at once.
+     */
+    private static final long MAX_MAPPED_REGION_SIZE = Integer.MAX_VALUE;
+
     /**
      * File to read.
      */
@@ -56,15 +80,41 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
      */
     private final int chunkSizeInBytes;
 
+    /**
+     * Position in the file of the first byte to read.
+     */
+    private final long offset;
+
+    /**
+     * Number of bytes to read, or null to read up to the end of the file.
+     */
+    private final Long length;
+
+    private final int maxOutstandingReads;
+
+    private final boolean memoryMapped;
+
     private FileAsyncRequestBody(DefaultBuilder builder) {
-        this.path = builder.path;
+        this.path = Validate.paramNotNull(builder.path, "path");
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.offset = builder.offset == null ? 0 : builder.offset;
+        this.length = builder.length;
+        this.maxOutstandingReads = builder.maxOutstandingReads == null ? DEFAULT_MAX_OUTSTANDING_READS
+                                                                       : builder.maxOutstandingReads;
+        this.memoryMapped = builder.memoryMapped != null && builder.memoryMapped;
+        Validate.isPositive(chunkSizeInBytes, "chunkSizeInBytes");
+        Validate.isPositive(maxOutstandingReads, "maxOutstandingReads");
+        Validate.isTrue(offset >= 0, "offset must not be negative.");
+        Validate.isTrue(length == null || length >= 0, "length must not be negative.");
     }
 
     @Override
     public Optional<Long> contentLength() {
+        if (length != null) {
+            return Optional.of(length);
+        }
         try {
-            return Optional.of(Files.size(path));
+            return Optional.of(Math.max(Files.size(path) - offset, 0));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -72,22 +122,22 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
 
     @Override
     public void subscribe(Subscriber<? super ByteBuffer> s) {
+        Validate.paramNotNull(s, "subscriber");
+        FileSubscription subscription;
         try {
-            AsynchronousFileChannel channel = openInputChannel(this.path);
-
-            // We need to synchronize here because the subscriber could call
-            // request() from within onSubscribe which would potentially
-            // trigger onNext before onSubscribe is finished.
-            Subscription subscription = new FileSubscription(channel, s, chunkSizeInBytes);
-            synchronized (subscription) {
-                s.onSubscribe(subscription);
-            }
+            subscription = memoryMapped ? new FileSubscription(FileChannel.open(path, StandardOpenOption.READ), s)
+                                        : new FileSubscription(openInputChannel(this.path), s);
         } catch (IOException e) {
             // subscribe() must return normally, so we need to signal the
             // failure to open via onError() once onSubscribe() is signaled.
             s.onSubscribe(new NoopSubscription(s));
             s.onError(e);
+            return;
         }
+
+        s.onSubscribe(subscription);
+        // Completes an empty body without waiting for demand.
+        subscription.drain();
     }
 
     /**
@@ -122,12 +172,63 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the position in the file of the first byte to send. Together with {@link #length(Long)} this allows segments of
+         * one file to be sent as separate requests, e.g. the parts of a multipart upload.
+         *
+         * <p>Defaults to 0.</p>
+         *
+         * @param offset Position of the first byte to send.
+         * @return This builder for method chaining.
+         */
+        Builder offset(Long offset);
+
+        /**
+         * Sets the number of bytes to send. The body fails if the file ends before that many bytes have been read.
+         *
+         * <p>Defaults to the rest of the file after the {@link #offset(Long)}.</p>
+         *
+         * @param length Number of bytes to send.
+         * @return This builder for method chaining.
+         */
+        Builder length(Long length);
+
+        /**
+         * Sets the maximum number of chunks that are read ahead of the subscriber. Reads are only started for chunks that the
+         * subscriber has requested, so at most this many chunks are held in memory. Increasing this helps on storage that
+         * performs best with several concurrent reads, such as SSDs.
+         *
+         * <p>Defaults to {@value #DEFAULT_MAX_OUTSTANDING_READS}. Has no effect if the file is memory mapped.</p>
+         *
+         * @param maxOutstandingReads Maximum number of chunks read ahead.
+         * @return This builder for method chaining.
+         */
+        Builder maxOutstandingReads(Integer maxOutstandingReads);
+
+        /**
+         * Sets whether the file is memory mapped instead of read. The chunks are then read-only slices of the mapping, so no
+         * data is copied on the heap and no memory is allocated per chunk. The mapping is released when the chunks are
+         * garbage collected rather than when the body completes.
+         *
+         * <p>The file must not be truncated while it is being sent, as accessing a mapped region that is no longer part of the
+         * file fails with an unrecoverable error. Not supported by all file systems.</p>
+         *
+         * <p>Defaults to false.</p>
+         *
+         * @param memoryMapped True to memory map the file.
+         * @return This builder for method chaining.
+         */
+        Builder memoryMapped(Boolean memoryMapped);
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
         private Integer chunkSizeInBytes;
+        private Long offset;
+        private Long length;
+        private Integer maxOutstandingReads;
+        private Boolean memoryMapped;
 
         @Override
         public Builder path(Path path) {
@@ -149,6 +250,46 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder offset(Long offset) {
+            this.offset = offset;
+            return this;
+        }
+
+        public void setOffset(Long offset) {
+            offset(offset);
+        }
+
+        @Override
+        public Builder length(Long length) {
+            this.length = length;
+            return this;
+        }
+
+        public void setLength(Long length) {
+            length(length);
+        }
+
+        @Override
+        public Builder maxOutstandingReads(Integer maxOutstandingReads) {
+            this.maxOutstandingReads = maxOutstandingReads;
+            return this;
+        }
+
+        public void setMaxOutstandingReads(Integer maxOutstandingReads) {
+            maxOutstandingReads(maxOutstandingReads);
+        }
+
+        @Override
+        public Builder memoryMapped(Boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
+        public void setMemoryMapped(Boolean memoryMapped) {
+            memoryMapped(memoryMapped);
+        }
+
         @Override
         public FileAsyncRequestBody build() {
             return new FileAsyncRequestBody(this);
@@ -157,138 +298,242 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
 
     /**
      * Reads the file for one subscriber.
+     *
+     * <p>Reads may complete out of order, so completed chunks are kept by position until all chunks before them have been
+     * delivered. Signals to the subscriber are only made from {@link #drain()}, which is never run by more than one thread at a
+     * time: a thread that finds it running asks the running thread to go round again instead.</p>
      */
-    private static final class FileSubscription implements Subscription {
-        private final AsynchronousFileChannel inputChannel;
+    private final class FileSubscription implements Subscription {
         private final Subscriber<? super ByteBuffer> subscriber;
-        private final int chunkSize;
-
-        private long position = 0;
-        private AtomicLong outstandingDemand = new AtomicLong(0);
-        private boolean writeInProgress = false;
-        private volatile boolean done = false;
-
-        private FileSubscription(AsynchronousFileChannel inputChannel, Subscriber<? super ByteBuffer> subscriber, int chunkSize) {
+        private final AsynchronousFileChannel inputChannel;
+        private final FileChannel mappedChannel;
+
+        // All fields below are guarded by this.
+        private long end = -1;
+        private long readPosition = offset;
+        private long deliverPosition = offset;
+        private long outstandingDemand = 0;
+        private int outstandingReads = 0;
+        private final Map<Long, ByteBuffer> completedReads = new HashMap<>();
+        private MappedByteBuffer mappedRegion;
+        private Throwable error;
+        private boolean done = false;
+        private boolean draining = false;
+        private boolean drainAgain = false;
+
+        private FileSubscription(AsynchronousFileChannel inputChannel, Subscriber<? super ByteBuffer> subscriber) {
             this.inputChannel = inputChannel;
+            this.mappedChannel = null;
+            this.subscriber = subscriber;
+        }
+
+        private FileSubscription(FileChannel mappedChannel, Subscriber<? super ByteBuffer> subscriber) {
+            this.inputChannel = null;
+            this.mappedChannel = mappedChannel;
             this.subscriber = subscriber;
-            this.chunkSize = chunkSize;
         }
 
         @Override
         public void request(long n) {
-            if (done) {
-                return;
-            }
-
-            if (n < 1) {
-                IllegalArgumentException ex =
-                    new IllegalArgumentException(subscriber + " violated the Reactive Streams rule 3.9 by requesting a "
-                            + "non-positive number of elements.");
-                signalOnError(ex);
-            } else {
-                try {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (n < 1) {
+                    error = new IllegalArgumentException(subscriber + " violated the Reactive Streams rule 3.9 by requesting a "
+                                                         + "non-positive number of elements.");
+                } else if (Long.MAX_VALUE - outstandingDemand < n) {
                     // As governed by rule 3.17, when demand overflows `Long.MAX_VALUE` we treat the signalled demand as
                     // "effectively unbounded"
-                    outstandingDemand.getAndUpdate(initialDemand -> {
-                        if (Long.MAX_VALUE - initialDemand < n) {
-                            return Long.MAX_VALUE;
-                        } else {
-                            return initialDemand + n;
-                        }
-                    });
-
-                    synchronized (this) {
-                        if (!writeInProgress) {
-                            writeInProgress = true;
-                            readData();
-                        }
-                    }
-                } catch (Exception e) {
-                    signalOnError(e);
+                    outstandingDemand = Long.MAX_VALUE;
+                } else {
+                    outstandingDemand += n;
                 }
             }
+            drain();
         }
 
         @Override
         public void cancel() {
             synchronized (this) {
-                if (!done) {
-                    done = true;
-                    closeFile();
+                if (done) {
+                    return;
                 }
+                done = true;
+                completedReads.clear();
+                mappedRegion = null;
             }
+            closeFile();
         }
 
-        private void readData() {
-            // It's possible to have another request for data come in after we've closed the file.
-            if (!inputChannel.isOpen()) {
-                return;
+        private void drain() {
+            synchronized (this) {
+                if (draining) {
+                    drainAgain = true;
+                    return;
+                }
+                draining = true;
             }
 
-            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
-            inputChannel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
-                @Override
-                public void completed(Integer result, ByteBuffer attachment) {
-                    if (result > 0) {
-                        attachment.flip();
-                        position += attachment.remaining();
-                        signalOnNext(attachment);
-                        // If we have more permits, queue up another read.
-                        if (outstandingDemand.decrementAndGet() > 0) {
-                            readData();
-                            return;
+            boolean progress = true;
+            while (true) {
+                ByteBuffer chunk = null;
+                Throwable failure = null;
+                boolean complete = false;
+                List<Long> reads;
+
+                synchronized (this) {
+                    if (done || (!progress && !drainAgain)) {
+                        draining = false;
+                        return;
+                    }
+                    drainAgain = false;
+
+                    if (end < 0 && error == null) {
+                        try {
+                            long size = inputChannel != null ? inputChannel.size() : mappedChannel.size();
+                            end = length != null ? offset + length : Math.max(size, offset);
+                        } catch (IOException e) {
+                            error = e;
+                        }
+                    }
+
+                    if (error == null && outstandingDemand > 0 && deliverPosition < end) {
+                        chunk = nextChunk();
+                        if (chunk != null) {
+                            outstandingDemand--;
+                            deliverPosition += chunk.remaining();
                         }
-                    } else {
-                        // Reached the end of the file, notify the subscriber and cleanup
-                        signalOnComplete();
-                        closeFile();
                     }
 
-                    synchronized (FileSubscription.this) {
-                        writeInProgress = false;
+                    if (error != null) {
+                        failure = error;
+                        done = true;
+                    } else if (deliverPosition >= end) {
+                        complete = true;
+                        done = true;
                     }
+                    reads = done ? Collections.emptyList() : readsToStart();
                 }
 
-                @Override
-                public void failed(Throwable exc, ByteBuffer attachment) {
-                    signalOnError(exc);
+                reads.forEach(this::readChunk);
+                if (chunk != null) {
+                    subscriber.onNext(chunk);
+                }
+                if (failure != null) {
+                    closeFile();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (complete) {
                     closeFile();
+                    subscriber.onComplete();
+                    return;
                 }
-            });
+                progress = chunk != null || !reads.isEmpty();
+            }
         }
 
-        private void closeFile() {
+        /**
+         * @return The chunk at the delivery position if it is available. Called while holding the lock.
+         */
+        private ByteBuffer nextChunk() {
+            if (mappedChannel == null) {
+                return completedReads.remove(deliverPosition);
+            }
+
             try {
-                inputChannel.close();
-            } catch (IOException e) {
-                signalOnError(e);
+                if (mappedRegion == null || !mappedRegion.hasRemaining()) {
+                    long regionSize = Math.min(end - deliverPosition, MAX_MAPPED_REGION_SIZE);
+                    mappedRegion = mappedChannel.map(FileChannel.MapMode.READ_ONLY, deliverPosition, regionSize);
+                }
+            } catch (IOException | RuntimeException e) {
+                error = e;
+                return null;
             }
+            int chunkLength = Math.min(chunkSizeInBytes, mappedRegion.remaining());
+            ByteBuffer chunk = mappedRegion.slice();
+            chunk.limit(chunkLength);
+            mappedRegion.position(mappedRegion.position() + chunkLength);
+            return chunk;
         }
 
-        private void signalOnNext(ByteBuffer bb) {
-            synchronized (this) {
-                if (!done) {
-                    subscriber.onNext(bb);
+        /**
+         * @return The positions of the reads to start now, limited by the demand that is not yet covered by outstanding or
+         * completed reads. Called while holding the lock.
+         */
+        private List<Long> readsToStart() {
+            if (inputChannel == null) {
+                return Collections.emptyList();
+            }
+            List<Long> reads = new ArrayList<>();
+            while (readPosition < end) {
+                int inProgress = outstandingReads + completedReads.size();
+                if (inProgress >= maxOutstandingReads || inProgress >= outstandingDemand) {
+                    break;
                 }
+                reads.add(readPosition);
+                readPosition += Math.min(chunkSizeInBytes, end - readPosition);
+                outstandingReads++;
             }
+            return reads;
         }
 
-        private void signalOnComplete() {
+        private void readChunk(long position) {
+            long chunkLength;
             synchronized (this) {
-                if (!done) {
-                    subscriber.onComplete();
-                    done = true;
-                }
+                chunkLength = Math.min(chunkSizeInBytes, end - position);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) chunkLength);
+            read(position, buffer);
+        }
+
+        private void read(long chunkPosition, ByteBuffer buffer) {
+            long position = chunkPosition + buffer.position();
+            try {
+                inputChannel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                    @Override
+                    public void completed(Integer result, ByteBuffer attachment) {
+                        if (result < 0) {
+                            onReadFailed(new EOFException("Reached the end of " + path + " at " + position + ", before the "
+                                                          + "expected length of the body had been read."));
+                        } else if (attachment.hasRemaining()) {
+                            // Reads may return fewer bytes than requested, so keep reading until the chunk is full.
+                            read(chunkPosition, attachment);
+                        } else {
+                            attachment.flip();
+                            synchronized (FileSubscription.this) {
+                                outstandingReads--;
+                                if (!done) {
+                                    completedReads.put(chunkPosition, attachment);
+                                }
+                            }
+                            drain();
+                        }
+                    }
+
+                    @Override
+                    public void failed(Throwable exc, ByteBuffer attachment) {
+                        onReadFailed(exc);
+                    }
+                });
+            } catch (RuntimeException e) {
+                onReadFailed(e);
             }
         }
 
-        private void signalOnError(Throwable t) {
+        private void onReadFailed(Throwable t) {
             synchronized (this) {
-                if (!done) {
-                    subscriber.onError(t);
-                    done = true;
+                outstandingReads--;
+                if (error == null) {
+                    error = t;
                 }
             }
+            drain();
+        }
+
+        private void closeFile() {
+            IoUtils.closeQuietly(inputChannel != null ? inputChannel : mappedChannel, null);
         }
     }
 
@@ -26,6 +26,7 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -35,28 +36,57 @@ import software.amazon.awssdk.core.async.SdkPublisher;
 /**
  * {@link AsyncResponseTransformer} that writes the data to the specified file.
  *
+ * <p>It can also write into a region of a file that is already open, starting at a given position. This allows several
+ * responses, e.g. for different byte ranges of the same object, to be written into one file concurrently. In that case the
+ * channel is owned by the caller and is neither closed nor deleted by this transformer.</p>
+ *
  * @param <ResponseT> Response POJO type.
  */
 @SdkInternalApi
 public final class FileAsyncResponseTransformer<ResponseT> implements AsyncResponseTransformer<ResponseT, ResponseT> {
+    private static final LongConsumer NO_OP_POSITION_LISTENER = position -> { };
+
     private final Path path;
+    private final long position;
+    private final LongConsumer positionListener;
     private volatile AsynchronousFileChannel fileChannel;
     private volatile CompletableFuture<Void> cf;
     private volatile ResponseT response;
 
     public FileAsyncResponseTransformer(Path path) {
         this.path = path;
+        this.position = 0;
+        this.positionListener = NO_OP_POSITION_LISTENER;
+    }
+
+    /**
+     * Creates a transformer that writes the content into the given channel, starting at the given position.
+     *
+     * @param fileChannel The channel to write to. It is not closed by the transformer.
+     * @param position The file position to write the first byte of the content to.
+     * @param positionListener Called after each write with the file position up to which the content has been written. If
+     * the content is streamed more than once, e.g. because the request was retried, the position starts over.
+     */
+    public FileAsyncResponseTransformer(AsynchronousFileChannel fileChannel, long position, LongConsumer positionListener) {
+        this.path = null;
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.positionListener = positionListener;
     }
 
     private AsynchronousFileChannel createChannel(Path path) throws IOException {
         return AsynchronousFileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
     }
 
+    private boolean ownsChannel() {
+        return path != null;
+    }
+
     @Override
     public CompletableFuture<ResponseT> prepare() {
         cf = new CompletableFuture<>();
         cf.whenComplete((r, t) -> {
-            if (t != null && fileChannel != null) {
+            if (t != null && fileChannel != null && ownsChannel()) {
                 invokeSafely(fileChannel::close);
             }
         });
@@ -70,38 +100,56 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
 
     @Override
     public void onStream(SdkPublisher<ByteBuffer> publisher) {
-        // onStream may be called multiple times so reset the file channel every time
-        this.fileChannel = invokeSafely(() -> createChannel(path));
-        publisher.subscribe(new FileSubscriber(this.fileChannel, path, cf));
+        if (ownsChannel()) {
+            // onStream may be called multiple times so reset the file channel every time
+            this.fileChannel = invokeSafely(() -> createChannel(path));
+        }
+        publisher.subscribe(new FileSubscriber(this.fileChannel, position, ownsChannel(), positionListener,
+                                               String.valueOf(path), cf));
     }
 
     @Override
     public void exceptionOccurred(Throwable throwable) {
-        try {
-            invokeSafely(fileChannel::close);
-        } finally {
-            invokeSafely(() -> Files.delete(path));
+        if (ownsChannel()) {
+            try {
+                if (fileChannel != null) {
+                    invokeSafely(fileChannel::close);
+                }
+            } finally {
+                invokeSafely(() -> Files.deleteIfExists(path));
+            }
         }
         cf.completeExceptionally(throwable);
     }
 
     /**
-     * {@link Subscriber} implementation that writes chunks to a file.
+     * {@link Subscriber} implementation that writes chunks to a file. Only one chunk is requested and written at a time, so
+     * at most one chunk per subscriber is held in memory. The future is completed once the last chunk has been written.
      */
     static class FileSubscriber implements Subscriber<ByteBuffer> {
-        private final AtomicLong position = new AtomicLong();
+        private final AtomicLong position;
 
         private final AsynchronousFileChannel fileChannel;
-        private final Path path;
+        private final boolean closeOnComplete;
+        private final LongConsumer positionListener;
+        private final String description;
         private final CompletableFuture<Void> future;
 
-        private volatile boolean writeInProgress = false;
-        private volatile boolean closeOnLastWrite = false;
+        private boolean writeInProgress = false;
+        private boolean complete = false;
         private Subscription subscription;
 
         FileSubscriber(AsynchronousFileChannel fileChannel, Path path, CompletableFuture<Void> future) {
+            this(fileChannel, 0, true, NO_OP_POSITION_LISTENER, path.toString(), future);
+        }
+
+        FileSubscriber(AsynchronousFileChannel fileChannel, long position, boolean closeOnComplete,
+                       LongConsumer positionListener, String description, CompletableFuture<Void> future) {
             this.fileChannel = fileChannel;
-            this.path = path;
+            this.position = new AtomicLong(position);
+            this.closeOnComplete = closeOnComplete;
+            this.positionListener = positionListener;
+            this.description = description;
             this.future = future;
         }
 
@@ -122,20 +170,32 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
                 throw new NullPointerException("Element must not be null");
             }
 
-            writeInProgress = true;
+            synchronized (this) {
+                writeInProgress = true;
+            }
+            write(byteBuffer);
+        }
+
+        private void write(ByteBuffer byteBuffer) {
             fileChannel.write(byteBuffer, position.get(), byteBuffer, new CompletionHandler<Integer, ByteBuffer>() {
                 @Override
                 public void completed(Integer result, ByteBuffer attachment) {
-                    if (result > 0) {
-                        position.addAndGet(result);
-                        synchronized (FileSubscriber.this) {
-                            if (closeOnLastWrite) {
-                                invokeSafely(fileChannel::close);
-                            } else {
-                                subscription.request(1);
-                            }
-                            writeInProgress = false;
-                        }
+                    positionListener.accept(position.addAndGet(result));
+                    if (attachment.hasRemaining()) {
+                        // Positional writes may be partial, so keep writing until the chunk is done.
+                        write(attachment);
+                        return;
+                    }
+
+                    boolean finish;
+                    synchronized (FileSubscriber.this) {
+                        writeInProgress = false;
+                        finish = complete;
+                    }
+                    if (finish) {
+                        finish();
+                    } else {
+                        subscription.request(1);
                     }
                 }
 
@@ -145,7 +205,6 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
                     future.completeExceptionally(exc);
                 }
             });
-
         }
 
         @Override
@@ -155,26 +214,27 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
 
         @Override
         public void onComplete() {
-            // if write in progress, tell write to close on finish.
+            // if write in progress, finish once it is done.
+            boolean finish;
             synchronized (this) {
-                if (writeInProgress) {
-                    closeOnLastWrite = true;
-                } else {
-                    close();
-                }
+                complete = true;
+                finish = !writeInProgress;
+            }
+            if (finish) {
+                finish();
             }
-            future.complete(null);
         }
 
-        private void close() {
-            if (fileChannel != null) {
+        private void finish() {
+            if (closeOnComplete && fileChannel != null) {
                 invokeSafely(fileChannel::close);
             }
+            future.complete(null);
         }
 
         @Override
         public String toString() {
-            return getClass() + ":" + path.toString();
+            return getClass() + ":" + description;
         }
     }
 }
@@ -0,0 +1,452 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Subscriber that inflates gzip content as it arrives and publishes the inflated content to the wrapped subscriber. This
+ * is the asynchronous counterpart of {@link java.util.zip.GZIPInputStream}: concatenated gzip members are inflated in turn,
+ * the CRC32 and size in each member's trailer are checked, and anything after a member that is not another gzip member is
+ * ignored. Content with no bytes at all is published as empty content.
+ *
+ * <p>A single {@link Inflater} is used for all members. Compressed content is only requested when the wrapped subscriber
+ * has demand that the already received content can't satisfy, and each inflated buffer holds at most
+ * {@value #OUTPUT_BUFFER_SIZE} bytes, so a highly compressed buffer is published as several buffers as demand allows.</p>
+ */
+@SdkInternalApi
+public final class GzipDecompressingSubscriber implements Subscriber<ByteBuffer> {
+
+    private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+    private static final int INPUT_COPY_BUFFER_SIZE = 16 * 1024;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private enum State {
+        HEADER, INFLATE, TRAILER, MEMBER_END, IGNORE_REST
+    }
+
+    private enum HeaderField {
+        FIXED, EXTRA_LENGTH, EXTRA, NAME, COMMENT, HEADER_CRC
+    }
+
+    private final Object lock = new Object();
+    private final Subscriber<? super ByteBuffer> subscriber;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc32 = new CRC32();
+
+    private Subscription subscription;
+    private ByteBuffer input;
+    private byte[] inputCopy;
+    private byte[] output;
+    private long demand;
+    private boolean inputRequested;
+    private boolean upstreamDone;
+    private boolean draining;
+    private boolean done;
+    private long bytesReceived;
+    private int membersInflated;
+
+    private State state = State.HEADER;
+    private HeaderField headerField = HeaderField.FIXED;
+    private int headerBytes;
+    private int flags;
+    private int fieldRemaining;
+    private long memberSize;
+    private final byte[] trailer = new byte[8];
+    private int trailerBytes;
+
+    public GzipDecompressingSubscriber(Subscriber<? super ByteBuffer> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (subscription != null) {
+            s.cancel();
+            return;
+        }
+        subscription = s;
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                synchronized (lock) {
+                    if (done) {
+                        return;
+                    }
+                    if (n <= 0) {
+                        fail(new IllegalArgumentException("Demand must be positive"));
+                        subscription.cancel();
+                        return;
+                    }
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    drain();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                synchronized (lock) {
+                    if (!done) {
+                        done = true;
+                        end();
+                    }
+                }
+                subscription.cancel();
+            }
+        });
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            input = byteBuffer.duplicate();
+            inputRequested = false;
+            bytesReceived += byteBuffer.remaining();
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        synchronized (lock) {
+            if (!done) {
+                fail(t);
+            }
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            upstreamDone = true;
+            drain();
+        }
+    }
+
+    /**
+     * Publishes inflated content while there is demand for it, requesting more compressed content when the received
+     * content is used up. Calls made while draining, e.g. from the wrapped subscriber's onNext, just update the state that
+     * the active loop reads.
+     */
+    private void drain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            while (!done) {
+                if (inputExhausted()) {
+                    if (upstreamDone) {
+                        finish();
+                        return;
+                    }
+                    if (inputRequested || demand == 0) {
+                        return;
+                    }
+                    inputRequested = true;
+                    subscription.request(1);
+                    continue;
+                }
+                if (demand == 0) {
+                    return;
+                }
+                ByteBuffer inflated = process();
+                if (inflated != null) {
+                    demand--;
+                    subscriber.onNext(inflated);
+                }
+            }
+        } catch (ZipException | DataFormatException e) {
+            subscription.cancel();
+            fail(e);
+        } finally {
+            draining = false;
+            if (done) {
+                inflater.end();
+            }
+        }
+    }
+
+    private boolean inputExhausted() {
+        boolean noInput = input == null || !input.hasRemaining();
+        return noInput && (state != State.INFLATE || inflater.needsInput());
+    }
+
+    /**
+     * Makes progress on the received content: consumes header or trailer bytes, or inflates some content.
+     *
+     * @return Inflated content, or null if none was inflated this time.
+     */
+    private ByteBuffer process() throws ZipException, DataFormatException {
+        switch (state) {
+            case HEADER:
+                if (readHeader()) {
+                    inflater.reset();
+                    crc32.reset();
+                    memberSize = 0;
+                    state = State.INFLATE;
+                }
+                return null;
+            case INFLATE:
+                return inflate();
+            case TRAILER:
+                readTrailer();
+                return null;
+            case MEMBER_END:
+                // More content follows a complete member, which is either another member or ignored.
+                headerField = HeaderField.FIXED;
+                headerBytes = 0;
+                state = State.HEADER;
+                return null;
+            case IGNORE_REST:
+                input.position(input.limit());
+                return null;
+            default:
+                throw new IllegalStateException("Unknown state " + state);
+        }
+    }
+
+    private ByteBuffer inflate() throws ZipException, DataFormatException {
+        if (inflater.needsInput()) {
+            setInflaterInput();
+        }
+        if (output == null) {
+            output = new byte[OUTPUT_BUFFER_SIZE];
+        }
+        int length = inflater.inflate(output);
+        ByteBuffer inflated = null;
+        if (length > 0) {
+            crc32.update(output, 0, length);
+            memberSize += length;
+            inflated = ByteBuffer.wrap(output, 0, length);
+            output = null;
+        }
+        if (inflater.finished()) {
+            // Give back the bytes after the end of the deflate data, they belong to the trailer.
+            input.position(input.position() - inflater.getRemaining());
+            trailerBytes = 0;
+            state = State.TRAILER;
+        } else if (length == 0 && inflater.needsDictionary()) {
+            throw new ZipException("Unexpected preset dictionary in GZIP content");
+        }
+        return inflated;
+    }
+
+    /**
+     * Passes the rest of the current input buffer to the inflater. The buffer is advanced past all of it, and the bytes
+     * the inflater does not use are given back once the member ends.
+     */
+    private void setInflaterInput() {
+        int length;
+        if (input.hasArray()) {
+            length = input.remaining();
+            inflater.setInput(input.array(), input.arrayOffset() + input.position(), length);
+        } else {
+            if (inputCopy == null) {
+                inputCopy = new byte[INPUT_COPY_BUFFER_SIZE];
+            }
+            length = Math.min(input.remaining(), inputCopy.length);
+            input.duplicate().get(inputCopy, 0, length);
+            inflater.setInput(inputCopy, 0, length);
+        }
+        input.position(input.position() + length);
+    }
+
+    /**
+     * Reads header bytes from the current input buffer.
+     *
+     * @return True if the header is complete.
+     */
+    private boolean readHeader() throws ZipException {
+        while (input.hasRemaining()) {
+            int b = input.get() & 0xFF;
+            if (headerField != HeaderField.HEADER_CRC) {
+                if (headerField == HeaderField.FIXED && headerBytes == 0) {
+                    crc32.reset();
+                }
+                crc32.update(b);
+            }
+            switch (headerField) {
+                case FIXED:
+                    if (!readFixedHeaderByte(b)) {
+                        return false;
+                    }
+                    if (++headerBytes == 10 && nextHeaderField(HeaderField.FIXED)) {
+                        return true;
+                    }
+                    break;
+                case EXTRA_LENGTH:
+                    fieldRemaining |= b << (8 * headerBytes);
+                    if (++headerBytes == 2 && (fieldRemaining > 0 ? startExtra() : nextHeaderField(HeaderField.EXTRA))) {
+                        return true;
+                    }
+                    break;
+                case EXTRA:
+                    if (--fieldRemaining == 0 && nextHeaderField(HeaderField.EXTRA)) {
+                        return true;
+                    }
+                    break;
+                case NAME:
+                case COMMENT:
+                    if (b == 0 && nextHeaderField(headerField)) {
+                        return true;
+                    }
+                    break;
+                case HEADER_CRC:
+                    fieldRemaining |= b << (8 * headerBytes);
+                    if (++headerBytes == 2) {
+                        if (fieldRemaining != ((int) crc32.getValue() & 0xFFFF)) {
+                            throw new ZipException("Corrupt GZIP header");
+                        }
+                        return true;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown header field " + headerField);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return False if the header is not a gzip header, but follows a complete member and is ignored.
+     */
+    private boolean readFixedHeaderByte(int b) throws ZipException {
+        if ((headerBytes == 0 && b != 0x1F) || (headerBytes == 1 && b != 0x8B)) {
+            if (membersInflated > 0) {
+                state = State.IGNORE_REST;
+                input.position(input.limit());
+                return false;
+            }
+            throw new ZipException("Not in GZIP format");
+        }
+        if (headerBytes == 2 && b != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        if (headerBytes == 3) {
+            flags = b;
+        }
+        return true;
+    }
+
+    private boolean startExtra() {
+        headerField = HeaderField.EXTRA;
+        return false;
+    }
+
+    /**
+     * Moves on to the next header field that is present after the given one.
+     *
+     * @return True if there are no more fields, so the header is complete.
+     */
+    private boolean nextHeaderField(HeaderField previous) {
+        headerBytes = 0;
+        fieldRemaining = 0;
+        HeaderField[] fields = HeaderField.values();
+        for (int i = previous.ordinal() + 1; i < fields.length; i++) {
+            HeaderField field = fields[i];
+            if (isPresent(field)) {
+                headerField = field;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isPresent(HeaderField field) {
+        switch (field) {
+            case EXTRA_LENGTH:
+                return (flags & FEXTRA) != 0;
+            case NAME:
+                return (flags & FNAME) != 0;
+            case COMMENT:
+                return (flags & FCOMMENT) != 0;
+            case HEADER_CRC:
+                return (flags & FHCRC) != 0;
+            default:
+                return false;
+        }
+    }
+
+    private void readTrailer() throws ZipException {
+        int length = Math.min(input.remaining(), trailer.length - trailerBytes);
+        input.get(trailer, trailerBytes, length);
+        trailerBytes += length;
+        if (trailerBytes < trailer.length) {
+            return;
+        }
+        if (littleEndianInt(0) != crc32.getValue() || littleEndianInt(4) != (memberSize & 0xFFFF_FFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        membersInflated++;
+        state = State.MEMBER_END;
+    }
+
+    private long littleEndianInt(int offset) {
+        return (trailer[offset] & 0xFFL)
+               | (trailer[offset + 1] & 0xFFL) << 8
+               | (trailer[offset + 2] & 0xFFL) << 16
+               | (trailer[offset + 3] & 0xFFL) << 24;
+    }
+
+    /**
+     * Called when all compressed content has been received and used.
+     */
+    private void finish() {
+        boolean complete = state == State.MEMBER_END
+                           || state == State.IGNORE_REST
+                           || (bytesReceived == 0 && state == State.HEADER && headerBytes == 0);
+        if (!complete) {
+            fail(new EOFException("Unexpected end of ZLIB input stream"));
+            return;
+        }
+        done = true;
+        end();
+        subscriber.onComplete();
+    }
+
+    private void fail(Throwable t) {
+        done = true;
+        end();
+        subscriber.onError(t);
+    }
+
+    /**
+     * Releases the inflater, or leaves that to the drain loop if it is running, as it may still be using the inflater.
+     */
+    private void end() {
+        input = null;
+        if (!draining) {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Implementation of {@link AsyncRequestBody} that reads data from an {@link InputStream} on an {@link Executor}.
+ *
+ * <p>The stream is only read while the subscriber has outstanding demand, one chunk per requested element, so at most the
+ * requested chunks are held in memory whatever the size of the stream. No thread is used while there is no demand.</p>
+ *
+ * <p>A stream can only be read once, so the body can only be subscribed to once. Requests using it are not retried after
+ * the body has been sent.</p>
+ *
+ * @see AsyncRequestBody#fromInputStream(InputStream, Long, Executor)
+ */
+@SdkInternalApi
+public final class InputStreamAsyncRequestBody implements AsyncRequestBody {
+
+    /**
+     * Size (in bytes) of ByteBuffer chunks read from the stream and delivered to the subscriber.
+     */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final InputStream inputStream;
+    private final Long contentLength;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public InputStreamAsyncRequestBody(InputStream inputStream, Long contentLength, Executor executor) {
+        this.inputStream = Validate.paramNotNull(inputStream, "inputStream");
+        this.executor = Validate.paramNotNull(executor, "executor");
+        Validate.isTrue(contentLength == null || contentLength >= 0, "contentLength must not be negative.");
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.ofNullable(contentLength);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        Validate.paramNotNull(s, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            s.onSubscribe(new NoopSubscription(s));
+            s.onError(new IllegalStateException("An input stream request body can only be subscribed to once."));
+            return;
+        }
+        s.onSubscribe(new InputStreamSubscription(s));
+    }
+
+    /**
+     * Reads the stream for the subscriber. At most one read task is running or queued on the executor at a time, and it
+     * keeps reading for as long as there is demand.
+     */
+    private final class InputStreamSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        // Guarded by this.
+        private long outstandingDemand = 0;
+        private boolean reading = false;
+        private boolean done = false;
+
+        // Only accessed by the read task.
+        private long remaining = contentLength == null ? Long.MAX_VALUE : contentLength;
+
+        private InputStreamSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (n < 1) {
+                    done = true;
+                } else {
+                    // As governed by rule 3.17, when demand overflows `Long.MAX_VALUE` we treat the signalled demand as
+                    // "effectively unbounded"
+                    outstandingDemand = Long.MAX_VALUE - outstandingDemand < n ? Long.MAX_VALUE : outstandingDemand + n;
+                    if (reading) {
+                        return;
+                    }
+                    reading = true;
+                }
+            }
+
+            if (n < 1) {
+                subscriber.onError(new IllegalArgumentException(subscriber + " violated the Reactive Streams rule 3.9 by "
+                                                                + "requesting a non-positive number of elements."));
+                return;
+            }
+
+            try {
+                executor.execute(this::readWhileRequested);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+            }
+        }
+
+        private void readWhileRequested() {
+            while (true) {
+                synchronized (this) {
+                    if (done || outstandingDemand == 0) {
+                        reading = false;
+                        return;
+                    }
+                }
+
+                ByteBuffer chunk;
+                try {
+                    chunk = readChunk();
+                } catch (Exception e) {
+                    fail(e);
+                    return;
+                }
+
+                if (chunk == null) {
+                    synchronized (this) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                    }
+                    subscriber.onComplete();
+                    return;
+                }
+
+                synchronized (this) {
+                    if (done) {
+                        return;
+                    }
+                    outstandingDemand--;
+                }
+                subscriber.onNext(chunk);
+            }
+        }
+
+        /**
+         * @return The next chunk of the stream, or null if the whole body has been read.
+         */
+        private ByteBuffer readChunk() throws Exception {
+            if (remaining == 0) {
+                return null;
+            }
+            byte[] buffer = new byte[(int) Math.min(CHUNK_SIZE, remaining)];
+            int read;
+            do {
+                read = inputStream.read(buffer);
+            } while (read == 0);
+
+            if (read < 0) {
+                if (contentLength != null) {
+                    throw new EOFException("The input stream ended " + remaining + " bytes before the content length of "
+                                           + contentLength + " bytes.");
+                }
+                return null;
+            }
+            remaining -= read;
+            return ByteBuffer.wrap(buffer, 0, read);
+        }
+
+        private void fail(Throwable t) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            subscriber.onError(t);
+        }
+    }
+}
@@ -17,15 +17,21 @@ package software.amazon.awssdk.core.internal.http;
 
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.zip.GZIPInputStream;
+import org.reactivestreams.Publisher;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.internal.async.Crc32ValidatingSubscriber;
+import software.amazon.awssdk.core.internal.async.GzipDecompressingSubscriber;
 import software.amazon.awssdk.core.internal.util.Crc32ChecksumValidatingInputStream;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpResponse;
 
 /**
- * Validate and decompress input data if necessary.
+ * Validate and decompress input data if necessary, either from a stream or, for asynchronous responses, as the content is
+ * published.
  */
 @SdkInternalApi
 public final class Crc32Validation {
@@ -50,7 +56,7 @@ public final class Crc32Validation {
                                                 AbortableInputStream content) {
         Optional<Long> crc32Checksum = getCrc32Checksum(httpResponse);
 
-        if (shouldDecompress(httpResponse)) {
+        if (isGzipEncoded(httpResponse)) {
             if (calculateCrc32FromCompressedData && crc32Checksum.isPresent()) {
                 return decompressing(crc32Validating(content, crc32Checksum.get()));
             }
@@ -66,21 +72,70 @@ public final class Crc32Validation {
         return crc32Checksum.map(aLong -> crc32Validating(content, aLong)).orElse(content);
     }
 
-    private static AbortableInputStream crc32Validating(AbortableInputStream source, long expectedChecksum) {
-        return AbortableInputStream.create(new Crc32ChecksumValidatingInputStream(source, expectedChecksum), source);
+    /**
+     * Validates and decompresses asynchronous response content as it is published, in the same way as
+     * {@link #validate(boolean, SdkHttpFullResponse)}. A CRC32 mismatch is signalled through
+     * {@link org.reactivestreams.Subscriber#onError(Throwable)} at the end of the content.
+     */
+    public static Publisher<ByteBuffer> validate(boolean calculateCrc32FromCompressedData,
+                                                 SdkHttpResponse httpResponse,
+                                                 Publisher<ByteBuffer> content) {
+        Optional<Long> crc32Checksum = getCrc32Checksum(httpResponse);
+
+        if (isGzipEncoded(httpResponse)) {
+            if (calculateCrc32FromCompressedData && crc32Checksum.isPresent()) {
+                return decompressing(crc32Validating(content, crc32Checksum.get()));
+            }
+
+            if (crc32Checksum.isPresent()) {
+                return crc32Validating(decompressing(content), crc32Checksum.get());
+            }
+
+            return decompressing(content);
+        }
+
+        return crc32Checksum.map(aLong -> crc32Validating(content, aLong)).orElse(content);
     }
 
-    private static Optional<Long> getCrc32Checksum(SdkHttpFullResponse httpResponse) {
-        return httpResponse.firstMatchingHeader("x-amz-crc32")
-                           .map(Long::valueOf);
+    /**
+     * Validates streaming asynchronous response content as it is published, if the checksum covers the content as it is
+     * received. Streaming content is passed on as it was received, so it is never decompressed.
+     */
+    public static Publisher<ByteBuffer> validateStreaming(boolean calculateCrc32FromCompressedData,
+                                                          SdkHttpResponse httpResponse,
+                                                          Publisher<ByteBuffer> content) {
+        if (isGzipEncoded(httpResponse) && !calculateCrc32FromCompressedData) {
+            return content;
+        }
+        return getCrc32Checksum(httpResponse).map(aLong -> crc32Validating(content, aLong)).orElse(content);
     }
 
-    private static boolean shouldDecompress(SdkHttpFullResponse httpResponse) {
+    /**
+     * @return True if the response content is gzip encoded, so it is decompressed by this class.
+     */
+    public static boolean isGzipEncoded(SdkHttpResponse httpResponse) {
         return httpResponse.firstMatchingHeader("Content-Encoding")
                            .filter(e -> e.equals("gzip"))
                            .isPresent();
     }
 
+    private static Publisher<ByteBuffer> crc32Validating(Publisher<ByteBuffer> source, long expectedChecksum) {
+        return s -> source.subscribe(new Crc32ValidatingSubscriber(s, expectedChecksum));
+    }
+
+    private static Publisher<ByteBuffer> decompressing(Publisher<ByteBuffer> source) {
+        return s -> source.subscribe(new GzipDecompressingSubscriber(s));
+    }
+
+    private static AbortableInputStream crc32Validating(AbortableInputStream source, long expectedChecksum) {
+        return AbortableInputStream.create(new Crc32ChecksumValidatingInputStream(source, expectedChecksum), source);
+    }
+
+    private static Optional<Long> getCrc32Checksum(SdkHttpResponse httpResponse) {
+        return httpResponse.firstMatchingHeader("x-amz-crc32")
+                           .map(Long::valueOf);
+    }
+
     private static AbortableInputStream decompressing(AbortableInputStream source) {
         return AbortableInputStream.create(invokeSafely(() -> new GZIPInputStream(source)), source);
     }
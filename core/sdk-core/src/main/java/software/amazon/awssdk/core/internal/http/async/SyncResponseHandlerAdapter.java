@@ -15,47 +15,67 @@
 
 package software.amazon.awssdk.core.internal.http.async;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.async.ByteBufferAggregator;
+import software.amazon.awssdk.core.internal.http.Crc32Validation;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
-import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 /**
  * Adapts an {@link HttpResponseHandler} to the asynchronous {@link SdkHttpResponseHandler}. Buffers
- * all content into a {@link ByteArrayInputStream} then invokes the {@link HttpResponseHandler#handle}
- * method.
+ * all content with a {@link ByteBufferAggregator} then invokes the {@link HttpResponseHandler#handle}
+ * method with a stream over the buffered content.
+ *
+ * <p>The content validator is applied to the content as it is published, so e.g. CRC32 validation and gzip decompression
+ * happen as the content arrives, and only the decompressed content is buffered.</p>
+ *
+ * <p>Responses up to the inline threshold are unmarshalled on the thread that delivered the end of the content, usually the
+ * async HTTP client's event loop. Larger responses are unmarshalled on the unmarshalling executor, so they don't hold up
+ * other requests on the event loop.</p>
  *
  * @param <T> Type that the response handler produces.
  */
 @SdkInternalApi
 public final class SyncResponseHandlerAdapter<T> implements TransformingAsyncResponseHandler<T> {
-    private volatile CompletableFuture<ByteArrayOutputStream> streamFuture;
+    private volatile CompletableFuture<ByteBufferAggregator> streamFuture;
     private final HttpResponseHandler<T> responseHandler;
     private final ExecutionAttributes executionAttributes;
-    private final Function<SdkHttpFullResponse, SdkHttpFullResponse> crc32Validator;
+    private final BiFunction<SdkHttpResponse, Publisher<ByteBuffer>, Publisher<ByteBuffer>> contentValidator;
+    private final Executor unmarshallingExecutor;
+    private final int inlineThreshold;
     private SdkHttpFullResponse.Builder httpResponse;
 
+    /**
+     * @param contentValidator Wraps the published content of a response, e.g. with
+     * {@link Crc32Validation#validate(boolean, SdkHttpResponse, Publisher)}.
+     * @param unmarshallingExecutor The executor for unmarshalling responses larger than the inline threshold. If null, all
+     * responses are unmarshalled inline.
+     * @param inlineThreshold The size in bytes up to which responses are unmarshalled inline.
+     */
     public SyncResponseHandlerAdapter(HttpResponseHandler<T> responseHandler,
-                                      Function<SdkHttpFullResponse, SdkHttpFullResponse> crc32Validator,
-                                      ExecutionAttributes executionAttributes) {
+                                      BiFunction<SdkHttpResponse, Publisher<ByteBuffer>, Publisher<ByteBuffer>>
+                                          contentValidator,
+                                      ExecutionAttributes executionAttributes,
+                                      Executor unmarshallingExecutor,
+                                      int inlineThreshold) {
         this.responseHandler = responseHandler;
         this.executionAttributes = executionAttributes;
-        this.crc32Validator = crc32Validator;
+        this.contentValidator = contentValidator;
+        this.unmarshallingExecutor = unmarshallingExecutor;
+        this.inlineThreshold = inlineThreshold;
     }
 
     @Override
@@ -65,7 +85,19 @@ public final class SyncResponseHandlerAdapter<T> implements TransformingAsyncRes
 
     @Override
     public void onStream(Publisher<ByteBuffer> publisher) {
-        publisher.subscribe(new BaosSubscriber(streamFuture));
+        SdkHttpFullResponse response = httpResponse.build();
+        // The Content-Length of gzip encoded content is the compressed length, so it can't be used to presize the buffer.
+        ByteBufferAggregator aggregator = Crc32Validation.isGzipEncoded(response)
+                                          ? ByteBufferAggregator.withExpectedLength(-1)
+                                          : ByteBufferAggregator.forResponse(response);
+        aggregator.result().whenComplete((r, t) -> {
+            if (t != null) {
+                streamFuture.completeExceptionally(t);
+            } else {
+                streamFuture.complete(r);
+            }
+        });
+        contentValidator.apply(response, publisher).subscribe(aggregator);
     }
 
     @Override
@@ -76,55 +108,29 @@ public final class SyncResponseHandlerAdapter<T> implements TransformingAsyncRes
     @Override
     public CompletableFuture<T> prepare() {
         streamFuture = new CompletableFuture<>();
-        return streamFuture.thenComposeAsync(baos -> {
-            ByteArrayInputStream content = new ByteArrayInputStream(baos.toByteArray());
-            // Ignore aborts - we already have all of the content.
-            AbortableInputStream abortableContent = AbortableInputStream.create(content);
-            httpResponse.content(abortableContent);
+        return streamFuture.thenCompose(aggregator -> {
+            if (unmarshallingExecutor == null || aggregator.length() <= inlineThreshold) {
+                return unmarshall(aggregator);
+            }
             try {
-                return CompletableFuture.completedFuture(responseHandler.handle(crc32Validator
-                        .apply(httpResponse.build()),
-                        executionAttributes));
-            } catch (Exception e) {
-                return CompletableFutureUtils.failedFuture(e);
+                return CompletableFuture.<ByteBufferAggregator>supplyAsync(() -> aggregator, unmarshallingExecutor)
+                                        .thenCompose(this::unmarshall);
+            } catch (RejectedExecutionException e) {
+                return CompletableFutureUtils.failedFuture(
+                    SdkClientException.create("The response could not be unmarshalled because the unmarshalling executor "
+                                              + "rejected it.", e));
             }
         });
     }
 
-    private static class BaosSubscriber implements Subscriber<ByteBuffer> {
-        private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        private final CompletableFuture<ByteArrayOutputStream> streamFuture;
-        private Subscription subscription;
-
-        private BaosSubscriber(CompletableFuture<ByteArrayOutputStream> streamFuture) {
-            this.streamFuture = streamFuture;
-        }
-
-        @Override
-        public void onSubscribe(Subscription subscription) {
-            this.subscription = subscription;
-            subscription.request(Long.MAX_VALUE);
-        }
-
-        @Override
-        public void onNext(ByteBuffer byteBuffer) {
-            try {
-                baos.write(BinaryUtils.copyBytesFrom(byteBuffer));
-                this.subscription.request(Long.MAX_VALUE);
-            } catch (IOException e) {
-                // Should never happen
-                streamFuture.completeExceptionally(e);
-            }
-        }
-
-        @Override
-        public void onError(Throwable throwable) {
-            streamFuture.completeExceptionally(throwable);
-        }
-
-        @Override
-        public void onComplete() {
-            streamFuture.complete(baos);
+    private CompletableFuture<T> unmarshall(ByteBufferAggregator aggregator) {
+        // Ignore aborts - we already have all of the content.
+        AbortableInputStream abortableContent = AbortableInputStream.create(aggregator.toInputStream());
+        httpResponse.content(abortableContent);
+        try {
+            return CompletableFuture.completedFuture(responseHandler.handle(httpResponse.build(), executionAttributes));
+        } catch (Exception e) {
+            return CompletableFutureUtils.failedFuture(e);
         }
     }
 }
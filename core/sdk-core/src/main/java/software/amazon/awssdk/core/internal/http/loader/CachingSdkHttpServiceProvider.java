@@ -19,9 +19,12 @@ import static software.amazon.awssdk.utils.Validate.notNull;
 
 import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.internal.util.ClassLoaderCache;
+import software.amazon.awssdk.core.internal.util.ClassLoaderHelper;
 
 /**
- * Decorator of {@link SdkHttpServiceProvider} to provide lazy initialized caching.
+ * Decorator of {@link SdkHttpServiceProvider} to provide lazy initialized caching. The service is cached separately for each
+ * context class loader, because that is the class loader the {@link java.util.ServiceLoader} searches.
  */
 @SdkInternalApi
 final class CachingSdkHttpServiceProvider<T> implements SdkHttpServiceProvider<T> {
@@ -29,10 +32,10 @@ final class CachingSdkHttpServiceProvider<T> implements SdkHttpServiceProvider<T
     private final SdkHttpServiceProvider<T> delegate;
 
     /**
-     * We assume that the service obtained from the provider chain will always be the same (even if it's an empty optional) so
-     * we cache it as a field.
+     * We assume that the service obtained from the provider chain will always be the same for a class loader (even if it's an
+     * empty optional) so we cache it.
      */
-    private volatile Optional<T> factory;
+    private final ClassLoaderCache<SdkHttpServiceProvider<T>, Optional<T>> factories = new ClassLoaderCache<>();
 
     CachingSdkHttpServiceProvider(SdkHttpServiceProvider<T> delegate) {
         this.delegate = notNull(delegate, "Delegate service provider cannot be null");
@@ -40,13 +43,6 @@ final class CachingSdkHttpServiceProvider<T> implements SdkHttpServiceProvider<T
 
     @Override
     public Optional<T> loadService() {
-        if (factory == null) {
-            synchronized (this) {
-                if (factory == null) {
-                    this.factory = delegate.loadService();
-                }
-            }
-        }
-        return factory;
+        return factories.get(ClassLoaderHelper.classLoader(), delegate, SdkHttpServiceProvider::loadService);
     }
 }
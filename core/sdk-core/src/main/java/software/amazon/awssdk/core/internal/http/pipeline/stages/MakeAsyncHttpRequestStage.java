@@ -111,6 +111,7 @@ public final class MakeAsyncHttpRequestStage<OutputT>
                                                                 .requestContentPublisher(requestProvider)
                                                                 .responseHandler(handler)
                                                                 .fullDuplex(isFullDuplex(context.executionAttributes()))
+                                                                .priority(context.requestConfig().priority().orElse(null))
                                                                 .build();
 
         CompletableFuture<Void> httpClientFuture = sdkAsyncHttpClient.execute(executeRequest);
@@ -272,7 +273,7 @@ public final class MakeAsyncHttpRequestStage<OutputT>
     private static SdkHttpFullResponse toFullResponse(SdkHttpResponse response) {
         SdkHttpFullResponse.Builder builder = SdkHttpFullResponse.builder()
                                                                  .statusCode(response.statusCode())
-                                                                 .headers(response.headers());
+                                                                 .headers(response);
         response.statusText().ifPresent(builder::statusText);
         return builder.build();
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A cache of values that are resolved from a class loader, such as classes listed in classpath resources or service
+ * implementations found with {@link java.util.ServiceLoader}. Values are cached separately for each class loader, so
+ * applications that load the SDK from different class loaders see their own results.
+ *
+ * <p>Class loaders are held weakly. Cached values usually reference classes from the class loader they were resolved from,
+ * so values are held softly to allow the class loader to be collected, e.g. when an application is redeployed.</p>
+ *
+ * <p>Values are loaded without holding a lock, so two threads that miss at the same time may both load the value. Only one
+ * of the values is kept. A value that fails to load is not cached.</p>
+ *
+ * @param <K> The type of key that identifies a value within a class loader.
+ * @param <V> The type of cached value.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ClassLoaderCache<K, V> {
+
+    private final Map<ClassLoader, Map<K, SoftReference<V>>> cache = new WeakHashMap<>();
+
+    /**
+     * Get the value for the given key and class loader, loading it with the provided function if it is not cached.
+     */
+    public V get(ClassLoader classLoader, K key, Function<? super K, ? extends V> valueLoader) {
+        V value = cached(classLoader, key);
+        if (value != null) {
+            return value;
+        }
+
+        V loaded = Validate.notNull(valueLoader.apply(key), "Loaded value must not be null.");
+        synchronized (cache) {
+            Map<K, SoftReference<V>> values = cache.computeIfAbsent(classLoader, c -> new HashMap<>());
+            SoftReference<V> existing = values.get(key);
+            value = existing == null ? null : existing.get();
+            if (value != null) {
+                return value;
+            }
+            values.put(key, new SoftReference<>(loaded));
+            return loaded;
+        }
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private V cached(ClassLoader classLoader, K key) {
+        synchronized (cache) {
+            Map<K, SoftReference<V>> values = cache.get(classLoader);
+            SoftReference<V> reference = values == null ? null : values.get(key);
+            return reference == null ? null : reference.get();
+        }
+    }
+}
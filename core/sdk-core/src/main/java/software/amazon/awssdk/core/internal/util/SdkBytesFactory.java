@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Creates {@link SdkBytes} from arrays that the SDK owns, without copying them. {@link SdkBytes} registers its constructor here
+ * when it is initialized, so that a non-copying factory is not part of its public API.
+ */
+@SdkInternalApi
+public final class SdkBytesFactory {
+    private static volatile Function<byte[], SdkBytes> constructor;
+
+    private SdkBytesFactory() {
+    }
+
+    /**
+     * Create {@link SdkBytes} from a Byte array <b>without</b> copying the contents of the byte array. This must only be used
+     * when the SDK owns the array, e.g. when it has just decoded it, and the array must not be modified afterwards.
+     */
+    public static SdkBytes fromByteArrayUnsafe(byte[] bytes) {
+        Validate.paramNotNull(bytes, "bytes");
+        return constructor().apply(bytes);
+    }
+
+    /**
+     * Called by {@link SdkBytes} when it is initialized.
+     */
+    public static void registerConstructor(Function<byte[], SdkBytes> sdkBytesConstructor) {
+        Validate.validState(constructor == null, "The SdkBytes constructor has already been registered.");
+        constructor = sdkBytesConstructor;
+    }
+
+    private static Function<byte[], SdkBytes> constructor() {
+        if (constructor == null) {
+            // Using SdkBytes initializes it, which registers its constructor.
+            SdkBytes.fromByteArray(new byte[0]);
+        }
+        return constructor;
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.SdkSharedRuntime;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Provides access and manages the executors of the {@link SdkSharedRuntime}. Uses reference counting to keep track of how many
+ * clients are using the executors and shuts them down when that count reaches zero. The executors are lazily created for the
+ * first client and for the first client after the count reaches zero.
+ *
+ * <p>Each executor that is handed out holds one reference, which is released when it is closed or shut down. Clients close
+ * the executors in their configuration when they are closed.</p>
+ */
+@SdkInternalApi
+public final class SharedSdkRuntime {
+
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Lazily initialized shared executors.
+     */
+    private static Executors executors;
+
+    /**
+     * Reference count of executors handed out to clients.
+     */
+    private static int referenceCount = 0;
+
+    private SharedSdkRuntime() {
+    }
+
+    /**
+     * @return The shared scheduled executor, used for timeouts and retries. Shutting down or closing the returned executor
+     * releases it, without shutting down the shared executor.
+     */
+    public static synchronized ScheduledExecutorService scheduledExecutorService() {
+        return new ReferenceCountingScheduledExecutorService(acquire().scheduledExecutor);
+    }
+
+    /**
+     * @return The shared executor for completing futures returned by async clients. Closing the returned executor releases it.
+     */
+    public static synchronized Executor futureCompletionExecutor() {
+        return new ReferenceCountingExecutor(acquire().futureCompletion.executor);
+    }
+
+    /**
+     * @return The shared executor for unmarshalling large responses of async clients. It rejects tasks when it is saturated.
+     * Closing the returned executor releases it.
+     */
+    public static synchronized Executor unmarshallingExecutor() {
+        return new ReferenceCountingExecutor(acquire().unmarshalling.executor);
+    }
+
+    /**
+     * @return A snapshot of each shared executor, created by the given function, or an empty list if they are not in use.
+     */
+    public static synchronized <T> List<T> snapshotExecutors(ExecutorSnapshotFunction<T> snapshotFunction) {
+        if (executors == null) {
+            return Collections.emptyList();
+        }
+        return executors.pools().stream().map(p -> p.snapshot(snapshotFunction)).collect(Collectors.toList());
+    }
+
+    private static Executors acquire() {
+        if (executors == null) {
+            executors = new Executors();
+        }
+        referenceCount++;
+        return executors;
+    }
+
+    /**
+     * Decrement the reference count and shut down the executors if necessary.
+     */
+    private static synchronized void decrementReference() {
+        referenceCount--;
+        if (referenceCount == 0) {
+            executors.pools().forEach(p -> p.executor.shutdown());
+            executors = null;
+        }
+    }
+
+    @SdkTestInternalApi
+    static synchronized int referenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * The shared executors. All threads are daemon threads, so that clients that are never closed do not keep the JVM
+     * running.
+     */
+    private static final class Executors {
+        private final ScheduledThreadPoolExecutor scheduledExecutor;
+        private final Pool scheduler;
+        private final Pool futureCompletion;
+        private final Pool unmarshalling;
+
+        private Executors() {
+            LongAdder schedulerRejections = new LongAdder();
+            this.scheduledExecutor =
+                    new ScheduledThreadPoolExecutor(Math.max(2, PROCESSORS / 2),
+                                                    threadFactory("sdk-shared-scheduled"),
+                                                    countingPolicy(schedulerRejections, new ThreadPoolExecutor.AbortPolicy()));
+            // Most scheduled tasks are timeouts that are cancelled when the request completes. Remove them right away
+            // rather than keeping them queued until they would have run.
+            scheduledExecutor.setRemoveOnCancelPolicy(true);
+            scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.scheduler = new Pool("sdk-shared-scheduled", scheduledExecutor, schedulerRejections);
+
+            this.futureCompletion = pool("sdk-shared-async-response", Math.max(8, PROCESSORS * 2), 10_000,
+                                         new ThreadPoolExecutor.AbortPolicy());
+            this.unmarshalling = pool("sdk-shared-async-unmarshalling", PROCESSORS, 1_000,
+                                      new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        private List<Pool> pools() {
+            return Arrays.asList(scheduler, futureCompletion, unmarshalling);
+        }
+
+        private static Pool pool(String name, int threads, int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+            LongAdder rejections = new LongAdder();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                                                                 10, TimeUnit.SECONDS,
+                                                                 new LinkedBlockingQueue<>(queueCapacity),
+                                                                 threadFactory(name),
+                                                                 countingPolicy(rejections, rejectionPolicy));
+            // Unlike a pool with no core threads, this starts a new thread for each task until all threads are busy, and
+            // only then queues tasks. Idle threads still time out.
+            executor.allowCoreThreadTimeOut(true);
+            return new Pool(name, executor, rejections);
+        }
+
+        private static ThreadFactory threadFactory(String name) {
+            return new ThreadFactoryBuilder().threadNamePrefix(name).daemonThreads(true).build();
+        }
+
+        private static RejectedExecutionHandler countingPolicy(LongAdder rejections, RejectedExecutionHandler delegate) {
+            return (task, executor) -> {
+                rejections.increment();
+                delegate.rejectedExecution(task, executor);
+            };
+        }
+    }
+
+    private static final class Pool {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder rejections;
+
+        private Pool(String name, ThreadPoolExecutor executor, LongAdder rejections) {
+            this.name = name;
+            this.executor = executor;
+            this.rejections = rejections;
+        }
+
+        private <T> T snapshot(ExecutorSnapshotFunction<T> snapshotFunction) {
+            return snapshotFunction.snapshot(name, executor, rejections.sum());
+        }
+    }
+
+    /**
+     * Creates a snapshot of one of the shared executors.
+     *
+     * @see #snapshotExecutors(ExecutorSnapshotFunction)
+     */
+    @FunctionalInterface
+    public interface ExecutorSnapshotFunction<T> {
+        /**
+         * @param name The name of the executor, which is also the prefix of its thread names.
+         * @param executor The executor.
+         * @param rejectedTaskCount The number of tasks that did not fit in the executor's queue.
+         */
+        T snapshot(String name, ThreadPoolExecutor executor, long rejectedTaskCount);
+    }
+
+    /**
+     * An executor that decrements the reference count the first time it is closed, without shutting down the shared executor.
+     */
+    private static final class ReferenceCountingExecutor implements Executor, SdkAutoCloseable {
+        private final Executor delegate;
+        private final AtomicBoolean hasBeenClosed = new AtomicBoolean(false);
+
+        private ReferenceCountingExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void close() {
+            if (hasBeenClosed.compareAndSet(false, true)) {
+                decrementReference();
+            }
+        }
+    }
+
+    /**
+     * A scheduled executor that decrements the reference count the first time it is shut down or closed, without shutting down
+     * the shared executor.
+     */
+    private static final class ReferenceCountingScheduledExecutorService implements ScheduledExecutorService, SdkAutoCloseable {
+        private final ScheduledExecutorService delegate;
+        private final AtomicBoolean hasBeenClosed = new AtomicBoolean(false);
+
+        private ReferenceCountingScheduledExecutorService(ScheduledExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void close() {
+            if (hasBeenClosed.compareAndSet(false, true)) {
+                decrementReference();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            close();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            close();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return hasBeenClosed.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return hasBeenClosed.get();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return hasBeenClosed.get();
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return delegate.schedule(command, delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return delegate.schedule(callable, delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(task, result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(tasks);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return delegate.invokeAll(tasks, timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(tasks);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(tasks, timeout, unit);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+    }
+}
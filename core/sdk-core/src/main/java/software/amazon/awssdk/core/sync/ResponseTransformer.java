@@ -26,6 +26,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseBytesFactory;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -172,7 +173,7 @@ public interface ResponseTransformer<ResponseT, ReturnT> {
         return (response, inputStream) -> {
             try {
                 InterruptMonitor.checkInterrupted();
-                return ResponseBytes.fromByteArray(response, IoUtils.toByteArray(inputStream));
+                return ResponseBytesFactory.fromByteArrayUnsafe(response, IoUtils.toByteArray(inputStream));
             } catch (IOException e) {
                 throw RetryableException.builder().message("Failed to read response.").cause(e).build();
             }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class BlockingOutputStreamAsyncRequestBodyTest {
+
+    @Test
+    public void writtenContent_isDeliveredAsRequested() throws Exception {
+        byte[] content = new byte[1024 * 1024 + 7];
+        new Random(5).nextBytes(content);
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream((long) content.length);
+        ContentCollector collector = new ContentCollector();
+        body.subscribe(collector);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try (OutputStream outputStream = body.outputStream()) {
+                outputStream.write(content, 0, 10);
+                outputStream.write(content[10]);
+                outputStream.write(content, 11, content.length - 11);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        assertThat(body.contentLength()).hasValue((long) content.length);
+        assertThat(collector.result.get(10, TimeUnit.SECONDS)).isEqualTo(content);
+        writer.join();
+    }
+
+    @Test
+    public void write_withoutDemand_blocks() throws Exception {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(null);
+        ContentCollector collector = new ContentCollector(false);
+        body.subscribe(collector);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try (OutputStream outputStream = body.outputStream()) {
+                outputStream.write(new byte[64 * 1024]);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        assertThatThrownBy(() -> writer.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        collector.subscription.request(Long.MAX_VALUE);
+        writer.get(10, TimeUnit.SECONDS);
+        assertThat(collector.result.get(10, TimeUnit.SECONDS)).hasSize(64 * 1024);
+    }
+
+    @Test
+    public void cancel_failsSubscriberAndWriter() throws Exception {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(null);
+        ContentCollector collector = new ContentCollector();
+        body.subscribe(collector);
+        OutputStream outputStream = body.outputStream();
+        outputStream.write(new byte[100]);
+        outputStream.flush();
+
+        body.cancel();
+
+        assertThatThrownBy(() -> collector.result.join()).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(() -> outputStream.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void writeBeyondContentLength_failsWriteAndSubscriber() throws Exception {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(10L);
+        ContentCollector collector = new ContentCollector();
+        body.subscribe(collector);
+        OutputStream outputStream = body.outputStream();
+        outputStream.write(new byte[6]);
+
+        assertThatThrownBy(() -> outputStream.write(new byte[5])).isInstanceOf(IOException.class)
+                                                                .hasMessageContaining("content length");
+        assertThatThrownBy(() -> collector.result.join()).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> outputStream.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void closeBeforeContentLength_failsCloseAndSubscriber() throws Exception {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(10L);
+        ContentCollector collector = new ContentCollector();
+        body.subscribe(collector);
+        OutputStream outputStream = body.outputStream();
+        outputStream.write(new byte[9]);
+
+        assertThatThrownBy(outputStream::close).isInstanceOf(IOException.class)
+                                               .hasMessageContaining("content length");
+        assertThatThrownBy(() -> collector.result.join()).hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void subscriptionCancelled_writeFails() throws Exception {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(null);
+        ContentCollector collector = new ContentCollector(false);
+        body.subscribe(collector);
+        collector.subscription.cancel();
+
+        assertThatThrownBy(() -> body.outputStream().write(new byte[100_000])).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void notSubscribed_writeTimesOut() {
+        BlockingOutputStreamAsyncRequestBody body = new BlockingOutputStreamAsyncRequestBody(null, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> body.outputStream().close()).isInstanceOf(IOException.class)
+                                                             .hasMessageContaining("subscribed");
+    }
+
+    @Test
+    public void secondSubscriber_fails() {
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(null);
+        body.subscribe(new ContentCollector());
+        ContentCollector second = new ContentCollector();
+        body.subscribe(second);
+
+        assertThatThrownBy(() -> second.result.join()).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static final class ContentCollector implements Subscriber<ByteBuffer> {
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final boolean requestOnSubscribe;
+        private volatile Subscription subscription;
+
+        private ContentCollector() {
+            this(true);
+        }
+
+        private ContentCollector(boolean requestOnSubscribe) {
+            this.requestOnSubscribe = requestOnSubscribe;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+            if (requestOnSubscribe) {
+                s.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            byte[] chunk = new byte[byteBuffer.remaining()];
+            byteBuffer.get(chunk);
+            bytes.write(chunk, 0, chunk.length);
+            if (requestOnSubscribe) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import software.amazon.awssdk.core.internal.async.InputStreamAsyncRequestBody;
+
+/**
+ * TCK verification test for {@link InputStreamAsyncRequestBody}.
+ */
+public class InputStreamAsyncRequestBodyTckTest extends org.reactivestreams.tck.PublisherVerification<ByteBuffer> {
+
+    // same as `InputStreamAsyncRequestBody.CHUNK_SIZE`:
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_ELEMENTS = 1000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public InputStreamAsyncRequestBodyTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @AfterClass
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return MAX_ELEMENTS;
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createPublisher(long elements) {
+        byte[] content = new byte[(int) elements * CHUNK_SIZE];
+        return AsyncRequestBody.fromInputStream(new ByteArrayInputStream(content), (long) content.length, executor);
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createFailedPublisher() {
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(new ByteArrayInputStream(new byte[0]), 0L, executor);
+        // An input stream body can only be subscribed to once, so the next subscriber is failed.
+        body.subscribe(new DrainingSubscriber<>());
+        return body;
+    }
+}
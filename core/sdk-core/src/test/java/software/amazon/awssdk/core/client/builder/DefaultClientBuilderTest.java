@@ -32,13 +32,19 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.core.SdkSharedRuntime;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
@@ -152,6 +158,46 @@ public class DefaultClientBuilderTest {
         verify(defaultAsyncHttpClientFactory, never()).buildWithDefaults(any());
     }
 
+    @Test
+    public void sharedRuntimeEnabled_AsyncClientUsesSharedExecutorsUntilClosed() throws Exception {
+        System.setProperty(SdkSystemSetting.AWS_SHARED_RUNTIME_ENABLED.property(), "true");
+        try {
+            SdkClientConfiguration config = testAsyncClientBuilder().build().clientConfiguration;
+            assertThat(SdkSharedRuntime.executorMetrics()).hasSize(3);
+
+            assertThat(threadName(config.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE)))
+                    .startsWith("sdk-shared-scheduled");
+            assertThat(threadName(config.option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR)))
+                    .startsWith("sdk-shared-async-response");
+            assertThat(threadName(config.option(SdkAdvancedAsyncClientOption.UNMARSHALLING_EXECUTOR)))
+                    .startsWith("sdk-shared-async-unmarshalling");
+
+            config.close();
+            assertThat(SdkSharedRuntime.executorMetrics()).isEmpty();
+        } finally {
+            System.clearProperty(SdkSystemSetting.AWS_SHARED_RUNTIME_ENABLED.property());
+        }
+    }
+
+    @Test
+    public void sharedRuntimeEnabled_ClientsReleaseSharedExecutorsWhenClosed() {
+        System.setProperty(SdkSystemSetting.AWS_SHARED_RUNTIME_ENABLED.property(), "true");
+        try {
+            SdkClientConfiguration config1 = testClientBuilder().build().clientConfiguration;
+            SdkClientConfiguration config2 = testClientBuilder().build().clientConfiguration;
+            assertThat(SdkSharedRuntime.executorMetrics()).isNotEmpty();
+
+            config1.close();
+            assertThat(config2.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE).isShutdown()).isFalse();
+            assertThat(SdkSharedRuntime.executorMetrics()).isNotEmpty();
+
+            config2.close();
+            assertThat(SdkSharedRuntime.executorMetrics()).isEmpty();
+        } finally {
+            System.clearProperty(SdkSystemSetting.AWS_SHARED_RUNTIME_ENABLED.property());
+        }
+    }
+
     @Test
     public void clientBuilderFieldsHaveBeanEquivalents() throws Exception {
         SdkClientBuilder<TestClientBuilder, TestClient> builder = testClientBuilder();
@@ -175,6 +221,10 @@ public class DefaultClientBuilderTest {
 
     }
 
+    private static String threadName(Executor executor) throws Exception {
+        return CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).get(5, TimeUnit.SECONDS);
+    }
+
     private SdkDefaultClientBuilder<TestClientBuilder, TestClient> testClientBuilder() {
         ClientOverrideConfiguration overrideConfig =
                 ClientOverrideConfiguration.builder()
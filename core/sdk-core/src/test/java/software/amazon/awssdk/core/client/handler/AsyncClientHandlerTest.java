@@ -18,7 +18,10 @@ package software.amazon.awssdk.core.client.handler;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -27,7 +30,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,9 +43,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.EmptyPublisher;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.protocol.VoidSdkResponse;
 import software.amazon.awssdk.core.retry.RetryPolicy;
@@ -49,6 +58,7 @@ import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import utils.HttpTestUtils;
 import utils.ValidSdkObjects;
 
@@ -129,6 +139,93 @@ public class AsyncClientHandlerTest {
         verifyNoMoreInteractions(responseHandler); // Response handler is not called
     }
 
+    @Test
+    public void requestIsSentOnceExecutionContextIsAvailable() throws Exception {
+        // Given
+        CompletableFuture<Void> contextAvailable = new CompletableFuture<>();
+        SdkAsyncClientHandler handler = handlerWithAsyncExecutionContext(contextAvailable);
+        ArgumentCaptor<AsyncExecuteRequest> executeRequest = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+
+        expectRetrievalFromMocks();
+        when(httpClient.execute(executeRequest.capture())).thenReturn(httpClientFuture);
+        when(responseHandler.handle(any(), any())).thenReturn(VoidSdkResponse.builder().build());
+
+        // When
+        CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+
+        // Then
+        verifyZeroInteractions(httpClient);
+        contextAvailable.complete(null);
+        verify(httpClient).execute(any());
+
+        SdkAsyncHttpResponseHandler capturedHandler = executeRequest.getValue().responseHandler();
+        capturedHandler.onHeaders(SdkHttpFullResponse.builder().statusCode(200).build());
+        capturedHandler.onStream(new EmptyPublisher<>());
+        assertThat(responseFuture.get(1, TimeUnit.SECONDS).sdkHttpResponse().statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void failureToCreateExecutionContextFailsFuture() {
+        CompletableFuture<Void> contextAvailable = new CompletableFuture<>();
+        SdkAsyncClientHandler handler = handlerWithAsyncExecutionContext(contextAvailable);
+
+        CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+        contextAvailable.completeExceptionally(new IllegalStateException("No credentials"));
+
+        assertThatThrownBy(() -> responseFuture.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(SdkClientException.class);
+        verifyZeroInteractions(httpClient);
+    }
+
+    @Test
+    public void requestIsMarshalledOnFutureCompletionExecutorWhenExecutionContextIsLate() throws Exception {
+        ExecutorService futureCompletionExecutor =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().threadNamePrefix("test-future-completion").build());
+        try {
+            // Given
+            CompletableFuture<Void> contextAvailable = new CompletableFuture<>();
+            SdkClientConfiguration configuration =
+                clientConfiguration().toBuilder()
+                                     .option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, futureCompletionExecutor)
+                                     .build();
+            SdkAsyncClientHandler handler = handlerWithAsyncExecutionContext(configuration, contextAvailable);
+            AtomicReference<String> marshallingThread = new AtomicReference<>();
+
+            when(marshaller.marshall(request)).thenAnswer(invocation -> {
+                marshallingThread.set(Thread.currentThread().getName());
+                return marshalledRequest;
+            });
+            when(httpClient.execute(any())).thenReturn(httpClientFuture);
+
+            // When
+            CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+            Thread credentialRefresh = new Thread(() -> contextAvailable.complete(null), "sdk-cache-refresh");
+            credentialRefresh.start();
+            credentialRefresh.join();
+
+            // Then
+            verify(httpClient, timeout(1000)).execute(any());
+            assertThat(marshallingThread.get()).startsWith("test-future-completion");
+            responseFuture.cancel(true);
+        } finally {
+            futureCompletionExecutor.shutdown();
+        }
+    }
+
+    private SdkAsyncClientHandler handlerWithAsyncExecutionContext(CompletableFuture<Void> contextAvailable) {
+        return handlerWithAsyncExecutionContext(clientConfiguration(), contextAvailable);
+    }
+
+    private SdkAsyncClientHandler handlerWithAsyncExecutionContext(SdkClientConfiguration configuration,
+                                                                   CompletableFuture<Void> contextAvailable) {
+        return new SdkAsyncClientHandler(configuration) {
+            @Override
+            protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+                createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams) {
+                return contextAvailable.thenApply(ignored -> createExecutionContext(executionParams));
+            }
+        };
+    }
+
     private void expectRetrievalFromMocks() {
         when(marshaller.marshall(request)).thenReturn(marshalledRequest);
     }
@@ -16,21 +16,31 @@
 package software.amazon.awssdk.core.http;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.reactivestreams.Publisher;
 import org.unitils.util.ReflectionUtils;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.Crc32MismatchException;
+import software.amazon.awssdk.core.internal.async.ByteBufferAggregator;
 import software.amazon.awssdk.core.internal.http.Crc32Validation;
 import software.amazon.awssdk.core.internal.util.Crc32ChecksumValidatingInputStream;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.StringInputStream;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -131,6 +141,82 @@ public class Crc32ValidationTest {
         assertThat(adapted.content().isPresent()).isFalse();
     }
 
+    @Test
+    public void validatePublisher_GzipWithCrc32OfInflatedContent_InflatesAndValidates() throws IOException {
+        byte[] compressed = compressedJsonBody();
+        byte[] inflated = IoUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed)));
+        SdkHttpFullResponse httpResponse = gzipResponse(crc32(inflated));
+
+        byte[] content = collect(Crc32Validation.validate(false, httpResponse, AsyncRequestBody.fromBytes(compressed)));
+
+        assertThat(content).isEqualTo(inflated);
+    }
+
+    @Test
+    public void validatePublisher_CalculateCrcFromCompressed_ValidatesCompressedContent() throws IOException {
+        byte[] compressed = compressedJsonBody();
+        SdkHttpFullResponse httpResponse = gzipResponse(crc32(compressed));
+
+        byte[] content = collect(Crc32Validation.validate(true, httpResponse, AsyncRequestBody.fromBytes(compressed)));
+
+        assertThat(content).isEqualTo(IoUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void validatePublisher_Crc32Mismatch_SignalsCrc32MismatchException() throws IOException {
+        SdkHttpFullResponse httpResponse = gzipResponse(1234);
+
+        assertThatThrownBy(() -> collect(Crc32Validation.validate(false, httpResponse,
+                                                                  AsyncRequestBody.fromBytes(compressedJsonBody()))))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(Crc32MismatchException.class);
+    }
+
+    @Test
+    public void validateStreaming_GzipWithCrc32OfInflatedContent_NotWrapped() {
+        Publisher<ByteBuffer> content = AsyncRequestBody.fromBytes(new byte[0]);
+
+        assertThat(Crc32Validation.validateStreaming(false, gzipResponse(1234), content)).isSameAs(content);
+    }
+
+    @Test
+    public void validateStreaming_Crc32Mismatch_SignalsCrc32MismatchException() {
+        SdkHttpFullResponse httpResponse = SdkHttpFullResponse.builder()
+                                                              .statusCode(200)
+                                                              .putHeader("x-amz-crc32", "1234")
+                                                              .build();
+
+        assertThatThrownBy(() -> collect(Crc32Validation.validateStreaming(false, httpResponse,
+                                                                           AsyncRequestBody.fromString("content"))))
+            .hasCauseInstanceOf(Crc32MismatchException.class);
+    }
+
+    private byte[] compressedJsonBody() throws IOException {
+        try (InputStream content = getClass().getResourceAsStream("/resources/compressed_json_body.gz")) {
+            return IoUtils.toByteArray(content);
+        }
+    }
+
+    private static SdkHttpFullResponse gzipResponse(long crc32) {
+        return SdkHttpFullResponse.builder()
+                                  .statusCode(200)
+                                  .putHeader("Content-Encoding", "gzip")
+                                  .putHeader("x-amz-crc32", Long.toString(crc32))
+                                  .build();
+    }
+
+    private static long crc32(byte[] bytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return crc32.getValue();
+    }
+
+    private static byte[] collect(Publisher<ByteBuffer> content) {
+        ByteBufferAggregator aggregator = ByteBufferAggregator.withExpectedLength(-1);
+        content.subscribe(aggregator);
+        return aggregator.result().join().toByteArray();
+    }
+
     private SdkHttpFullResponse adapt(SdkHttpFullResponse httpResponse) {
         return Crc32Validation.validate(false, httpResponse);
     }
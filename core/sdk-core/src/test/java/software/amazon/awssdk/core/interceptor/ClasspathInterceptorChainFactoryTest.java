@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+public class ClasspathInterceptorChainFactoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ClasspathInterceptorChainFactory factory = new ClasspathInterceptorChainFactory();
+
+    private ClassLoader originalClassLoader;
+
+    @Before
+    public void setup() {
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    @After
+    public void teardown() {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+    }
+
+    @Test
+    public void interceptorsAreCreatedForEachCall() throws IOException {
+        useResource("interceptors-each-call", TestInterceptor.class.getName());
+
+        List<ExecutionInterceptor> first = factory.getInterceptors("interceptors-each-call");
+        List<ExecutionInterceptor> second = factory.getInterceptors("interceptors-each-call");
+
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0)).isInstanceOf(TestInterceptor.class);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0)).isInstanceOf(TestInterceptor.class);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+    }
+
+    @Test
+    public void resourceIsOnlyReadOncePerClassLoader() throws IOException {
+        Path resource = useResource("interceptors-read-once", TestInterceptor.class.getName());
+        assertThat(factory.getInterceptors("interceptors-read-once")).hasSize(1);
+
+        Files.write(resource, "".getBytes(StandardCharsets.UTF_8));
+        assertThat(new ClasspathInterceptorChainFactory().getInterceptors("interceptors-read-once")).hasSize(1);
+
+        useResource("interceptors-read-once", "");
+        assertThat(factory.getInterceptors("interceptors-read-once")).isEmpty();
+    }
+
+    @Test
+    public void classThatIsNotAnInterceptor_ThrowsException() throws IOException {
+        useResource("interceptors-invalid", String.class.getName());
+
+        assertThatThrownBy(() -> factory.getInterceptors("interceptors-invalid"))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("does not implement");
+    }
+
+    /**
+     * Write the resource to a new directory, and make a class loader for that directory the context class loader.
+     */
+    private Path useResource(String name, String content) throws IOException {
+        Path directory = temporaryFolder.newFolder().toPath();
+        Path resource = directory.resolve(name);
+        Files.write(resource, content.getBytes(StandardCharsets.UTF_8));
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, originalClassLoader);
+        Thread.currentThread().setContextClassLoader(classLoader);
+        return resource;
+    }
+
+    public static class TestInterceptor implements ExecutionInterceptor {
+    }
+}
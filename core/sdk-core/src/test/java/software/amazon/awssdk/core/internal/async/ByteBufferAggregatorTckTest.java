@@ -16,31 +16,29 @@
 package software.amazon.awssdk.core.internal.async;
 
 import java.nio.ByteBuffer;
-import java.util.concurrent.CompletableFuture;
-
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.reactivestreams.tck.SubscriberWhiteboxVerification;
 import org.reactivestreams.tck.TestEnvironment;
-import software.amazon.awssdk.core.internal.async.ByteArrayAsyncResponseTransformer.BaosSubscriber;
 
 /**
- * TCK verification test for {@link BaosSubscriber}.
+ * TCK verification test for {@link ByteBufferAggregator}.
  */
-public class BaosSubscriberTckTest extends SubscriberWhiteboxVerification<ByteBuffer> {
+public class ByteBufferAggregatorTckTest extends SubscriberWhiteboxVerification<ByteBuffer> {
     private static final byte[] CONTENT = new byte[16];
 
-    public BaosSubscriberTckTest() {
+    public ByteBufferAggregatorTckTest() {
         super(new TestEnvironment());
     }
 
     @Override
     public Subscriber<ByteBuffer> createSubscriber(WhiteboxSubscriberProbe<ByteBuffer> whiteboxSubscriberProbe) {
-        return new BaosSubscriber(new CompletableFuture<>()) {
+        ByteBufferAggregator aggregator = ByteBufferAggregator.withExpectedLength(-1);
+        return new Subscriber<ByteBuffer>() {
 
             @Override
             public void onSubscribe(Subscription s) {
-                super.onSubscribe(s);
+                aggregator.onSubscribe(s);
                 whiteboxSubscriberProbe.registerOnSubscribe(new SubscriberPuppet() {
 
                     @Override
@@ -57,19 +55,19 @@ public class BaosSubscriberTckTest extends SubscriberWhiteboxVerification<ByteBu
 
             @Override
             public void onNext(ByteBuffer bb) {
-                super.onNext(bb);
+                aggregator.onNext(bb);
                 whiteboxSubscriberProbe.registerOnNext(bb);
             }
 
             @Override
             public void onError(Throwable t) {
-                super.onError(t);
+                aggregator.onError(t);
                 whiteboxSubscriberProbe.registerOnError(t);
             }
 
             @Override
             public void onComplete() {
-                super.onComplete();
+                aggregator.onComplete();
                 whiteboxSubscriberProbe.registerOnComplete();
             }
         };
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class ByteBufferAggregatorTest {
+
+    @Test
+    public void contentMatchingContentLength_returnsPresizedArray() throws Exception {
+        ByteBufferAggregator aggregator = aggregatorForContentLength("11");
+
+        aggregator.onNext(ByteBuffer.wrap("hello ".getBytes(UTF_8)));
+        aggregator.onNext(ByteBuffer.wrap("world".getBytes(UTF_8)));
+        aggregator.onComplete();
+
+        byte[] bytes = aggregator.result().join().toByteArray();
+        assertThat(bytes).isEqualTo("hello world".getBytes(UTF_8));
+        assertThat(aggregator.toByteArray()).isSameAs(bytes);
+        assertThat(IoUtils.toUtf8String(aggregator.toInputStream())).isEqualTo("hello world");
+    }
+
+    @Test
+    public void noContentLength_collectsChunks() throws Exception {
+        ByteBufferAggregator aggregator = ByteBufferAggregator.withExpectedLength(-1);
+
+        aggregator.onNext(ByteBuffer.wrap("hello ".getBytes(UTF_8)));
+        aggregator.onNext(ByteBuffer.wrap("world".getBytes(UTF_8)));
+        aggregator.onComplete();
+
+        assertThat(aggregator.length()).isEqualTo(11);
+        assertThat(IoUtils.toUtf8String(aggregator.toInputStream())).isEqualTo("hello world");
+        assertThat(aggregator.toByteArray()).isEqualTo("hello world".getBytes(UTF_8));
+    }
+
+    @Test
+    public void contentLongerThanContentLength_isNotTruncated() throws Exception {
+        ByteBufferAggregator aggregator = aggregatorForContentLength("6");
+
+        aggregator.onNext(ByteBuffer.wrap("hello ".getBytes(UTF_8)));
+        aggregator.onNext(ByteBuffer.wrap("world".getBytes(UTF_8)));
+        aggregator.onComplete();
+
+        assertThat(IoUtils.toUtf8String(aggregator.toInputStream())).isEqualTo("hello world");
+        assertThat(aggregator.toByteArray()).isEqualTo("hello world".getBytes(UTF_8));
+    }
+
+    @Test
+    public void contentShorterThanContentLength_onlyReturnsReceivedContent() throws Exception {
+        ByteBufferAggregator aggregator = aggregatorForContentLength("20");
+
+        aggregator.onNext(ByteBuffer.wrap("hello".getBytes(UTF_8)));
+        aggregator.onComplete();
+
+        assertThat(aggregator.toByteArray()).isEqualTo("hello".getBytes(UTF_8));
+        assertThat(IoUtils.toUtf8String(aggregator.toInputStream())).isEqualTo("hello");
+    }
+
+    @Test
+    public void noContent_returnsEmptyContent() throws Exception {
+        ByteBufferAggregator aggregator = aggregatorForContentLength("1073741824");
+
+        aggregator.onComplete();
+
+        assertThat(aggregator.toByteArray()).isEmpty();
+        assertThat(aggregator.toInputStream().read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void largeContentLength_presizesUpToCapAndGrowsBeyondIt() throws Exception {
+        int length = 5 * 1024 * 1024;
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        ByteBufferAggregator aggregator = aggregatorForContentLength(String.valueOf(length));
+
+        int chunkSize = 1024 * 1024 - 1;
+        for (int position = 0; position < length; position += chunkSize) {
+            aggregator.onNext(ByteBuffer.wrap(content, position, Math.min(chunkSize, length - position)));
+        }
+        aggregator.onComplete();
+
+        assertThat(aggregator.length()).isEqualTo(length);
+        assertThat(aggregator.toByteArray()).isEqualTo(content);
+        assertThat(IoUtils.toByteArray(aggregator.toInputStream())).isEqualTo(content);
+    }
+
+    @Test
+    public void contentFillingPresizedArrayExactly_returnsPresizedArray() throws Exception {
+        ByteBufferAggregator aggregator = aggregatorForContentLength("5");
+
+        aggregator.onNext(ByteBuffer.wrap("hello".getBytes(UTF_8)));
+        aggregator.onComplete();
+
+        byte[] bytes = aggregator.toByteArray();
+        assertThat(bytes).isEqualTo("hello".getBytes(UTF_8));
+        assertThat(aggregator.toByteArray()).isSameAs(bytes);
+    }
+
+    @Test
+    public void bufferPositionIsNotChanged() {
+        ByteBufferAggregator aggregator = ByteBufferAggregator.withExpectedLength(-1);
+        ByteBuffer buffer = ByteBuffer.wrap("hello".getBytes(UTF_8));
+
+        aggregator.onNext(buffer);
+
+        assertThat(buffer.remaining()).isEqualTo(5);
+    }
+
+    private static ByteBufferAggregator aggregatorForContentLength(String contentLength) {
+        return ByteBufferAggregator.forResponse(SdkHttpFullResponse.builder()
+                                                                   .statusCode(200)
+                                                                   .putHeader("Content-Length", contentLength)
+                                                                   .build());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+public class FileAsyncRequestBodyTest {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final byte[] content = new byte[10 * CHUNK_SIZE + 123];
+
+    private Path file;
+
+    @Before
+    public void setup() throws Exception {
+        new Random(3).nextBytes(content);
+        file = temporaryFolder.newFile().toPath();
+        Files.write(file, content);
+    }
+
+    @Test
+    public void multipleOutstandingReads_deliversChunksInOrder() {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .chunkSizeInBytes(CHUNK_SIZE)
+                                                        .maxOutstandingReads(8)
+                                                        .build();
+
+        assertThat(body.contentLength()).hasValue((long) content.length);
+        assertThat(ContentCollector.collect(body, Long.MAX_VALUE).join()).isEqualTo(content);
+    }
+
+    @Test
+    public void singleOutstandingRead_requestingOneAtATime_deliversWholeFile() {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .chunkSizeInBytes(1000)
+                                                        .maxOutstandingReads(1)
+                                                        .build();
+
+        assertThat(ContentCollector.collect(body, 1).join()).isEqualTo(content);
+    }
+
+    @Test
+    public void fromFileSegment_deliversOnlyThatSegment() {
+        AsyncRequestBody body = AsyncRequestBody.fromFile(file, 5000, 40000);
+
+        assertThat(body.contentLength()).hasValue(40000L);
+        assertThat(ContentCollector.collect(body, 1).join()).isEqualTo(Arrays.copyOfRange(content, 5000, 45000));
+    }
+
+    @Test
+    public void memoryMapped_deliversReadOnlySlices() {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .offset(100L)
+                                                        .chunkSizeInBytes(CHUNK_SIZE)
+                                                        .memoryMapped(true)
+                                                        .build();
+        ContentCollector collector = new ContentCollector(Long.MAX_VALUE);
+        body.subscribe(collector);
+
+        assertThat(collector.result.join()).isEqualTo(Arrays.copyOfRange(content, 100, content.length));
+        assertThat(collector.chunks).allMatch(ByteBuffer::isReadOnly).allMatch(ByteBuffer::isDirect);
+    }
+
+    @Test
+    public void demand_limitsDeliveredChunks() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .chunkSizeInBytes(CHUNK_SIZE)
+                                                        .maxOutstandingReads(8)
+                                                        .build();
+        ContentCollector collector = new ContentCollector(0);
+        body.subscribe(collector);
+        collector.subscription.request(3);
+
+        Thread.sleep(100);
+        assertThat(collector.chunks).hasSize(3);
+        collector.subscription.cancel();
+    }
+
+    @Test
+    public void lengthBeyondEndOfFile_fails() {
+        AsyncRequestBody body = AsyncRequestBody.fromFile(file, content.length - 10, 20);
+
+        assertThatThrownBy(() -> ContentCollector.collect(body, Long.MAX_VALUE).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void emptySegment_completesWithoutDemand() throws Exception {
+        ContentCollector collector = new ContentCollector(0);
+        AsyncRequestBody.fromFile(file, 10, 0).subscribe(collector);
+
+        assertThat(collector.result.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    private static final class ContentCollector implements Subscriber<ByteBuffer> {
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final List<ByteBuffer> chunks = Collections.synchronizedList(new ArrayList<>());
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final long demand;
+        private volatile Subscription subscription;
+
+        private ContentCollector(long demand) {
+            this.demand = demand;
+        }
+
+        private static CompletableFuture<byte[]> collect(AsyncRequestBody body, long demand) {
+            ContentCollector collector = new ContentCollector(demand);
+            body.subscribe(collector);
+            return collector.result;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+            if (demand > 0) {
+                s.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            chunks.add(byteBuffer);
+            byte[] chunk = new byte[byteBuffer.remaining()];
+            byteBuffer.duplicate().get(chunk);
+            bytes.write(chunk, 0, chunk.length);
+            if (demand == 1) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+public class FileAsyncResponseTransformerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void channelAndPosition_writesEachResponseAtItsOffset() throws Exception {
+        byte[] content = new byte[64 * 1024];
+        new Random(7).nextBytes(content);
+        int half = content.length / 2;
+        Path path = temporaryFolder.getRoot().toPath().resolve("file");
+
+        List<Long> positions = new ArrayList<>();
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE,
+                                                                            StandardOpenOption.CREATE_NEW)) {
+            CompletableFuture<String> second = transform(new FileAsyncResponseTransformer<>(channel, half, positions::add),
+                                                         Arrays.copyOfRange(content, half, content.length));
+            CompletableFuture<String> first = transform(new FileAsyncResponseTransformer<>(channel, 0, p -> { }),
+                                                        Arrays.copyOf(content, half));
+
+            assertThat(first.join()).isEqualTo("response");
+            assertThat(second.join()).isEqualTo("response");
+            assertThat(channel.isOpen()).isTrue();
+        }
+
+        assertThat(Files.readAllBytes(path)).isEqualTo(content);
+        assertThat(positions).isNotEmpty();
+        assertThat(positions.get(positions.size() - 1)).isEqualTo((long) content.length);
+    }
+
+    @Test
+    public void channelAndPosition_exceptionOccurred_keepsFile() throws Exception {
+        Path path = temporaryFolder.newFile().toPath();
+
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE)) {
+            FileAsyncResponseTransformer<String> transformer = new FileAsyncResponseTransformer<>(channel, 0, p -> { });
+            CompletableFuture<String> result = transformer.prepare();
+            transformer.exceptionOccurred(new RuntimeException("failed"));
+
+            assertThat(result).isCompletedExceptionally();
+            assertThat(channel.isOpen()).isTrue();
+        }
+        assertThat(path).exists();
+    }
+
+    private static CompletableFuture<String> transform(FileAsyncResponseTransformer<String> transformer, byte[] content) {
+        CompletableFuture<String> result = transformer.prepare();
+        transformer.onResponse("response");
+        transformer.onStream(AsyncRequestBody.fromBytes(content));
+        return result;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class GzipDecompressingSubscriberTest {
+
+    @Test
+    public void singleMember_inflatedInChunksOfAnySize() throws IOException {
+        byte[] content = randomText(100_000);
+        byte[] gzip = gzip(content);
+
+        for (int chunkSize : new int[] {1, 7, 1024, gzip.length}) {
+            RecordingSubscriber subscriber = inflate(chunks(gzip, chunkSize, false), Long.MAX_VALUE);
+            assertThat(subscriber.completed).isTrue();
+            assertThat(subscriber.content()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void directBuffers_inflated() throws IOException {
+        byte[] content = randomText(100_000);
+
+        RecordingSubscriber subscriber = inflate(chunks(gzip(content), 40_000, true), Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.content()).isEqualTo(content);
+    }
+
+    @Test
+    public void concatenatedMembers_inflatedInTurn() throws IOException {
+        byte[] first = "hello ".getBytes(UTF_8);
+        byte[] second = "world".getBytes(UTF_8);
+
+        RecordingSubscriber subscriber = inflate(chunks(concat(gzip(first), gzip(second)), 5, false), Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(new String(subscriber.content(), UTF_8)).isEqualTo("hello world");
+    }
+
+    @Test
+    public void optionalHeaderFields_skipped() throws IOException {
+        byte[] content = "hello world".getBytes(UTF_8);
+        byte[] gzip = gzip(content);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(new byte[] {0x1F, (byte) 0x8B, 8, 2 | 4 | 8 | 16, 0, 0, 0, 0, 0, (byte) 0xFF});
+        header.write(new byte[] {3, 0, 'a', 'b', 'c'});
+        header.write("name\0comment\0".getBytes(UTF_8));
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(header.toByteArray());
+        header.write((int) headerCrc.getValue());
+        header.write((int) headerCrc.getValue() >>> 8);
+        byte[] withFields = concat(header.toByteArray(), Arrays.copyOfRange(gzip, 10, gzip.length));
+
+        RecordingSubscriber subscriber = inflate(chunks(withFields, 1, false), Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.content()).isEqualTo(content);
+    }
+
+    @Test
+    public void inflatedContent_publishedOnlyOnDemand() throws IOException {
+        byte[] content = new byte[1024 * 1024];
+        byte[] gzip = gzip(content);
+
+        RecordingSubscriber subscriber = inflate(chunks(gzip, gzip.length, false), 2);
+
+        assertThat(subscriber.received).hasSize(2);
+        assertThat(subscriber.received).allMatch(b -> b.remaining() <= 16 * 1024);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.content()).isEqualTo(content);
+    }
+
+    @Test
+    public void trailingGarbage_ignored() throws IOException {
+        byte[] content = "hello".getBytes(UTF_8);
+
+        RecordingSubscriber subscriber = inflate(chunks(concat(gzip(content), "garbage".getBytes(UTF_8)), 3, false),
+                                                 Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.content()).isEqualTo(content);
+    }
+
+    @Test
+    public void noContent_completesEmpty() {
+        RecordingSubscriber subscriber = inflate(new ArrayList<>(), Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.content()).isEmpty();
+    }
+
+    @Test
+    public void notGzip_signalsZipException() {
+        RecordingSubscriber subscriber = inflate(chunks("this isn't GZIP".getBytes(UTF_8), 4, false), Long.MAX_VALUE);
+
+        assertThat(subscriber.error).isInstanceOf(ZipException.class).hasMessage("Not in GZIP format");
+    }
+
+    @Test
+    public void truncatedContent_signalsEofException() throws IOException {
+        byte[] gzip = gzip(randomText(10_000));
+
+        RecordingSubscriber subscriber = inflate(chunks(Arrays.copyOf(gzip, gzip.length - 3), 100, false), Long.MAX_VALUE);
+
+        assertThat(subscriber.error).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void corruptTrailer_signalsZipException() throws IOException {
+        byte[] gzip = gzip(randomText(10_000));
+        gzip[gzip.length - 8] ^= 1;
+
+        RecordingSubscriber subscriber = inflate(chunks(gzip, 100, false), Long.MAX_VALUE);
+
+        assertThat(subscriber.error).isInstanceOf(ZipException.class).hasMessage("Corrupt GZIP trailer");
+    }
+
+    @Test
+    public void cancel_cancelsUpstream() throws IOException {
+        ListPublisher publisher = new ListPublisher(chunks(gzip(new byte[1024 * 1024]), 1024, false));
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(new GzipDecompressingSubscriber(subscriber));
+
+        subscriber.subscription.cancel();
+
+        assertThat(publisher.cancelled).isTrue();
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    private static RecordingSubscriber inflate(List<ByteBuffer> chunks, long initialDemand) {
+        RecordingSubscriber subscriber = new RecordingSubscriber(initialDemand);
+        new ListPublisher(chunks).subscribe(new GzipDecompressingSubscriber(subscriber));
+        return subscriber;
+    }
+
+    private static byte[] randomText(int length) {
+        Random random = new Random(length);
+        byte[] text = new byte[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return text;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static List<ByteBuffer> chunks(byte[] bytes, int chunkSize, boolean direct) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - i);
+            ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            chunk.put(bytes, i, length);
+            chunk.flip();
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static final class ListPublisher implements Publisher<ByteBuffer> {
+        private final List<ByteBuffer> chunks;
+        private boolean cancelled;
+
+        private ListPublisher(List<ByteBuffer> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int next;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && next < chunks.size() && !cancelled; i++) {
+                        subscriber.onNext(chunks.get(next++));
+                    }
+                    if (next == chunks.size() && !cancelled && !completed) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        private final long initialDemand;
+        private final List<ByteBuffer> received = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        private RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            received.add(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        private byte[] content() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (ByteBuffer buffer : received) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+public class InputStreamAsyncRequestBodyTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void contentLength_readsOnlyThatManyBytes() {
+        byte[] content = new byte[100_000];
+        new Random(9).nextBytes(content);
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(new ByteArrayInputStream(content), 60_000L, executor);
+
+        assertThat(body.contentLength()).hasValue(60_000L);
+        assertThat(collect(body).join()).isEqualTo(Arrays.copyOf(content, 60_000));
+    }
+
+    @Test
+    public void unknownLength_readsToEndOfStream() {
+        byte[] content = new byte[100_000];
+        new Random(9).nextBytes(content);
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(new ByteArrayInputStream(content), null, executor);
+
+        assertThat(body.contentLength()).isEmpty();
+        assertThat(collect(body).join()).isEqualTo(content);
+    }
+
+    @Test
+    public void streamShorterThanContentLength_fails() {
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(new ByteArrayInputStream(new byte[10]), 20L, executor);
+
+        assertThatThrownBy(() -> collect(body).join()).hasCauseInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void streamIsOnlyReadWhenRequested() throws Exception {
+        AtomicLong bytesRead = new AtomicLong();
+        InputStream inputStream = new ByteArrayInputStream(new byte[1024 * 1024]) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+        };
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(inputStream, null, executor);
+        CompletableFuture<Subscription> subscription = new CompletableFuture<>();
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(2);
+                subscription.complete(s);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        subscription.get(1, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertThat(bytesRead.get()).isEqualTo(2 * 16 * 1024);
+    }
+
+    private static CompletableFuture<byte[]> collect(AsyncRequestBody body) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                byte[] chunk = new byte[byteBuffer.remaining()];
+                byteBuffer.get(chunk);
+                bytes.write(chunk, 0, chunk.length);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(bytes.toByteArray());
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ClassLoaderCacheTest {
+
+    private final ClassLoaderCache<String, String> cache = new ClassLoaderCache<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void valueIsLoadedOncePerKey() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertThat(cache.get(classLoader, "a", this::load)).isEqualTo("a1");
+        assertThat(cache.get(classLoader, "a", this::load)).isEqualTo("a1");
+        assertThat(cache.get(classLoader, "b", this::load)).isEqualTo("b2");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void valuesAreCachedPerClassLoader() {
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0], null);
+        assertThat(cache.get(getClass().getClassLoader(), "a", this::load)).isEqualTo("a1");
+        assertThat(cache.get(otherClassLoader, "a", this::load)).isEqualTo("a2");
+        assertThat(cache.get(otherClassLoader, "a", this::load)).isEqualTo("a2");
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertThatThrownBy(() -> cache.get(classLoader, "a", k -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(classLoader, "a", this::load)).isEqualTo("a1");
+    }
+
+    @Test
+    public void clearRemovesCachedValues() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        cache.get(classLoader, "a", this::load);
+        cache.clear();
+        assertThat(cache.get(classLoader, "a", this::load)).isEqualTo("a2");
+    }
+
+    private String load(String key) {
+        return key + loads.incrementAndGet();
+    }
+}
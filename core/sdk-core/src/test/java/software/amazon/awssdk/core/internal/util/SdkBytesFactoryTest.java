@@ -0,0 +1,43 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+public class SdkBytesFactoryTest {
+
+    @Test
+    public void fromByteArrayUnsafeDoesNotCopyArray() {
+        byte[] bytes = {1, 2, 3};
+        SdkBytes sdkBytes = SdkBytesFactory.fromByteArrayUnsafe(bytes);
+
+        bytes[0] = 4;
+
+        assertThat(sdkBytes.asByteBuffer().get(0)).isEqualTo((byte) 4);
+    }
+
+    @Test
+    public void constructorCannotBeReplaced() {
+        SdkBytes.fromByteArray(new byte[0]);
+
+        assertThatThrownBy(() -> SdkBytesFactory.registerConstructor(bytes -> null))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkSharedRuntime;
+import software.amazon.awssdk.core.SdkSharedRuntime.ExecutorMetrics;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class SharedSdkRuntimeTest {
+
+    @Test
+    public void referenceCountIsInitiallyZero() {
+        assertThat(SharedSdkRuntime.referenceCount()).isEqualTo(0);
+        assertThat(SdkSharedRuntime.executorMetrics()).isEmpty();
+    }
+
+    @Test
+    public void referenceCountIsIncrementedForEachExecutor() {
+        ScheduledExecutorService scheduler = SharedSdkRuntime.scheduledExecutorService();
+        Executor executor = SharedSdkRuntime.futureCompletionExecutor();
+        assertThat(SharedSdkRuntime.referenceCount()).isEqualTo(2);
+
+        scheduler.shutdown();
+        IoUtils.closeIfCloseable(executor, null);
+        assertThat(SharedSdkRuntime.referenceCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void referenceCountIsOnceDecrementedOnClose() {
+        ScheduledExecutorService scheduler = SharedSdkRuntime.scheduledExecutorService();
+        IoUtils.closeIfCloseable(scheduler, null);
+        scheduler.shutdown();
+        scheduler.shutdownNow();
+        assertThat(scheduler.isShutdown()).isTrue();
+        assertThat(SharedSdkRuntime.referenceCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void executorsRunTasksUntilLastReferenceIsReleased() throws Exception {
+        ScheduledExecutorService scheduler1 = SharedSdkRuntime.scheduledExecutorService();
+        ScheduledExecutorService scheduler2 = SharedSdkRuntime.scheduledExecutorService();
+        Executor executor = SharedSdkRuntime.unmarshallingExecutor();
+
+        scheduler1.shutdown();
+        assertThat(scheduler2.schedule(() -> "done", 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).get(5, TimeUnit.SECONDS)
+                                    .startsWith("sdk-shared-async-unmarshalling")).isTrue();
+
+        scheduler2.shutdown();
+        IoUtils.closeIfCloseable(executor, null);
+        assertThat(SdkSharedRuntime.executorMetrics()).isEmpty();
+    }
+
+    @Test
+    public void metricsDescribeEachExecutor() throws Exception {
+        Executor executor = SharedSdkRuntime.futureCompletionExecutor();
+        CompletableFuture.runAsync(() -> { }, executor).get(5, TimeUnit.SECONDS);
+
+        ExecutorMetrics metrics = SdkSharedRuntime.executorMetrics()
+                                                  .stream()
+                                                  .filter(m -> m.name().equals("sdk-shared-async-response"))
+                                                  .findFirst()
+                                                  .get();
+        assertThat(metrics.largestPoolSize()).isEqualTo(1);
+        assertThat(metrics.maximumPoolSize() >= 8).isTrue();
+        assertThat(metrics.rejectedTaskCount()).isEqualTo(0L);
+        assertThat(SdkSharedRuntime.executorMetrics()).hasSize(3);
+
+        IoUtils.closeIfCloseable(executor, null);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.eventstream;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of heap buffers, shared by decoders, for assembling messages that arrive split across several fed buffers.
+ * Buffers are grouped in power-of-two size classes. Released buffers are kept for reuse up to a total retained size, and
+ * dropped for garbage collection beyond that. This class is thread-safe.
+ */
+final class BufferPool {
+    static final BufferPool SHARED = new BufferPool(16 * 1024 * 1024);
+
+    private static final int MIN_SIZE_CLASS_SHIFT = 13;
+    private static final int MAX_SIZE_CLASS_SHIFT = 25;
+
+    private final ConcurrentLinkedDeque<ByteBuffer>[] sizeClasses;
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final long maxRetainedBytes;
+
+    BufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.sizeClasses = newDeques(MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1);
+    }
+
+    /**
+     * Java has no generic array creation, so the array is created raw. Every element is a deque of buffers.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ConcurrentLinkedDeque<ByteBuffer>[] newDeques(int count) {
+        ConcurrentLinkedDeque<ByteBuffer>[] deques = new ConcurrentLinkedDeque[count];
+        for (int i = 0; i < count; i++) {
+            deques[i] = new ConcurrentLinkedDeque<>();
+        }
+        return deques;
+    }
+
+    /**
+     * @return A cleared buffer with a capacity of at least {@code minCapacity}.
+     */
+    ByteBuffer acquire(int minCapacity) {
+        int sizeClass = sizeClass(minCapacity);
+        if (sizeClass >= sizeClasses.length) {
+            return ByteBuffer.allocate(minCapacity);
+        }
+        ByteBuffer buffer = sizeClasses[sizeClass].pollFirst();
+        if (buffer == null) {
+            return ByteBuffer.allocate(1 << (sizeClass + MIN_SIZE_CLASS_SHIFT));
+        }
+        retainedBytes.addAndGet(-buffer.capacity());
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)} to the pool. The buffer must not be used afterwards.
+     */
+    void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        int sizeClass = sizeClass(capacity);
+        if (sizeClass >= sizeClasses.length || capacity != 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT)) {
+            return;
+        }
+        if (retainedBytes.addAndGet(capacity) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-capacity);
+            return;
+        }
+        sizeClasses[sizeClass].offerFirst(buffer);
+    }
+
+    long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private static int sizeClass(int capacity) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+        return Math.max(shift - MIN_SIZE_CLASS_SHIFT, 0);
+    }
+}
@@ -15,6 +15,7 @@
 package software.amazon.eventstream;
 
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
 final class Checksums {
@@ -28,6 +29,8 @@ final class Checksums {
             int rem = limit - pos;
             checksum.update(buffer.array(), pos + off, rem);
             buffer.position(limit);
+        } else if (checksum instanceof CRC32) {
+            ((CRC32) checksum).update(buffer);
         } else {
             int length = buffer.remaining();
             byte[] b = new byte[length];
@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,11 +39,19 @@ public class Message {
     static final int MESSAGE_OVERHEAD = Prelude.LENGTH_WITH_CRC + TRAILING_CRC_LENGTH;
 
     private final Map<String, HeaderValue> headers;
-    private final byte[] payload;
+
+    /**
+     * The payload between position 0 and the limit. It is never modified, only read through duplicates.
+     */
+    private final ByteBuffer payload;
 
     public Message(Map<String, HeaderValue> headers, byte[] payload) {
+        this(headers, ByteBuffer.wrap(payload.clone()));
+    }
+
+    private Message(Map<String, HeaderValue> headers, ByteBuffer payload) {
         this.headers = headers;
-        this.payload = payload.clone();
+        this.payload = payload;
     }
 
     public Map<String, HeaderValue> getHeaders() {
@@ -52,11 +59,25 @@ public class Message {
     }
 
     public byte[] getPayload() {
-        return payload.clone();
+        byte[] copy = new byte[payload.remaining()];
+        payload.duplicate().get(copy);
+        return copy;
+    }
+
+    /**
+     * Returns a read-only view of the payload, without copying it.
+     *
+     * <p>For messages decoded by a decoder created with {@link MessageDecoder#forTransientMessages}, the view shares the
+     * decoder's buffers and is only valid while the message is being consumed.</p>
+     *
+     * @return a read-only view of the payload
+     */
+    public ByteBuffer getPayloadAsByteBuffer() {
+        return payload.asReadOnlyBuffer();
     }
 
     public static Message decode(ByteBuffer buf) {
-        return decode(Prelude.decode(buf), buf);
+        return decode(Prelude.decode(buf), buf, true);
     }
 
     /**
@@ -67,17 +88,38 @@ public class Message {
      * @return Decoded message
      */
     static Message decode(Prelude prelude, ByteBuffer buf) {
+        return decode(prelude, buf, true);
+    }
+
+    /**
+     * Decodes a message in place. The headers are parsed straight from {@code buf}, and the payload is either copied or
+     * a view of {@code buf}.
+     *
+     * @param prelude Decoded prelude of message.
+     * @param buf Data of message (including prelude which will be skipped over).
+     * @param copyPayload Whether to copy the payload, or to return a message whose payload is a view of {@code buf}.
+     * @return Decoded message
+     */
+    static Message decode(Prelude prelude, ByteBuffer buf, boolean copyPayload) {
         int totalLength = prelude.getTotalLength();
         validateMessageCrc(buf, totalLength);
         buf.position(buf.position() + Prelude.LENGTH_WITH_CRC);
 
-        long headersLength = prelude.getHeadersLength();
-        byte[] headerBytes = new byte[Math.toIntExact(headersLength)];
-        buf.get(headerBytes);
-        Map<String, HeaderValue> headers = decodeHeaders(ByteBuffer.wrap(headerBytes));
-
-        byte[] payload = new byte[Math.toIntExact(totalLength - MESSAGE_OVERHEAD - headersLength)];
-        buf.get(payload);
+        int headersLength = Math.toIntExact(prelude.getHeadersLength());
+        ByteBuffer headerView = buf.duplicate();
+        headerView.limit(buf.position() + headersLength);
+        Map<String, HeaderValue> headers = decodeHeaders(headerView);
+        buf.position(buf.position() + headersLength);
+
+        int payloadLength = totalLength - MESSAGE_OVERHEAD - headersLength;
+        ByteBuffer payload = buf.slice();
+        payload.limit(payloadLength);
+        if (copyPayload) {
+            byte[] payloadBytes = new byte[payloadLength];
+            payload.get(payloadBytes);
+            payload = ByteBuffer.wrap(payloadBytes);
+        }
+        buf.position(buf.position() + payloadLength);
         buf.getInt(); // skip past the message CRC
 
         return new Message(headers, payload);
@@ -158,7 +200,7 @@ public class Message {
     private void encodeOrThrow(OutputStream os) throws IOException {
         ByteArrayOutputStream headersAndPayload = new ByteArrayOutputStream();
         headersAndPayload.write(encodeHeaders(headers.entrySet()));
-        headersAndPayload.write(payload);
+        headersAndPayload.write(getPayload());
 
         int totalLength = Prelude.LENGTH_WITH_CRC + headersAndPayload.size() + 4;
 
@@ -182,7 +224,7 @@ public class Message {
         ByteArrayOutputStream baos = new ByteArrayOutputStream(8);
         DataOutputStream dos = new DataOutputStream(baos);
 
-        int headerLength = totalLength - Message.MESSAGE_OVERHEAD - payload.length;
+        int headerLength = totalLength - Message.MESSAGE_OVERHEAD - payload.remaining();
         dos.writeInt(totalLength);
         dos.writeInt(headerLength);
 
@@ -198,13 +240,13 @@ public class Message {
         Message message = (Message) o;
 
         if (!headers.equals(message.headers)) return false;
-        return Arrays.equals(payload, message.payload);
+        return payload.equals(message.payload);
     }
 
     @Override
     public int hashCode() {
         int result = headers.hashCode();
-        result = 31 * result + Arrays.hashCode(payload);
+        result = 31 * result + payload.hashCode();
         return result;
     }
 
@@ -223,9 +265,9 @@ public class Message {
         String contentType = headers.getOrDefault(":content-type", HeaderValue.fromString("application/octet-stream"))
             .getString();
         if (contentType.contains("json") || contentType.contains("text")) {
-            ret.append(new String(payload, StandardCharsets.UTF_8));
+            ret.append(new String(getPayload(), StandardCharsets.UTF_8));
         } else {
-            ret.append(Base64.getEncoder().encodeToString(payload));
+            ret.append(Base64.getEncoder().encodeToString(getPayload()));
         }
         ret.append('\n');
         return ret.toString();
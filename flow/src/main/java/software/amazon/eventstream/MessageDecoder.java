@@ -9,15 +9,23 @@ import java.util.function.Consumer;
 /**
  * A simple decoder that accumulates chunks of bytes and emits eventstream
  * messages. Instances of this class are not thread-safe.
+ *
+ * <p>Messages that are contained in a single fed buffer are decoded in place. Only messages that are split across fed
+ * buffers are copied, into a buffer that is borrowed from a pool shared by all decoders for as long as the message is
+ * incomplete.</p>
  */
 public final class MessageDecoder {
 
     /**
-     * Initial buffer size is 2MB. Will grow as needed to accommodate larger messages.
+     * The smallest buffer borrowed to assemble a message that is split across fed buffers.
      */
-    private static final int INITIAL_BUFFER_SIZE = 2048 * 1024;
+    private static final int MIN_BUFFER_SIZE = 8 * 1024;
 
     private final Consumer<Message> messageConsumer;
+    private final boolean transientMessages;
+    private final int minBufferSize;
+    private final BufferPool bufferPool = BufferPool.SHARED;
+    private final ByteBuffer preludeBuf = ByteBuffer.allocate(Prelude.LENGTH_WITH_CRC);
     private List<Message> bufferedOutput;
     private ByteBuffer buf;
     private Prelude currentPrelude;
@@ -29,7 +37,8 @@ public final class MessageDecoder {
     public MessageDecoder() {
         this.messageConsumer = message -> this.bufferedOutput.add(message);
         this.bufferedOutput = new ArrayList<>();
-        this.buf = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.transientMessages = false;
+        this.minBufferSize = MIN_BUFFER_SIZE;
     }
 
     /**
@@ -40,18 +49,36 @@ public final class MessageDecoder {
      * @param messageConsumer a function that consumes {@link Message} instances
      */
     public MessageDecoder(Consumer<Message> messageConsumer) {
-        this(messageConsumer, INITIAL_BUFFER_SIZE);
+        this(messageConsumer, MIN_BUFFER_SIZE);
     }
 
     /**
      * To be used by tests only.
      */
     MessageDecoder(Consumer<Message> messageConsumer, int initialBufferSize) {
+        this(messageConsumer, initialBufferSize, false);
+    }
+
+    private MessageDecoder(Consumer<Message> messageConsumer, int minBufferSize, boolean transientMessages) {
         this.messageConsumer = messageConsumer;
-        this.buf = ByteBuffer.allocate(initialBufferSize);
+        this.minBufferSize = minBufferSize;
+        this.transientMessages = transientMessages;
         this.bufferedOutput = null;
     }
 
+    /**
+     * Creates a {@code MessageDecoder} instance that publishes messages to the supplied {@code messageConsumer} without
+     * copying their payloads. The payload of each message is a view of the fed buffer, or of a pooled buffer if the message
+     * was split across fed buffers, so it is only valid until {@code messageConsumer} returns. The consumer must copy any
+     * part of the payload that it needs afterwards, and fed buffers must not be modified while they are being decoded.
+     *
+     * @param messageConsumer a function that consumes {@link Message} instances before returning
+     * @return a decoder that publishes transient messages
+     */
+    public static MessageDecoder forTransientMessages(Consumer<Message> messageConsumer) {
+        return new MessageDecoder(messageConsumer, MIN_BUFFER_SIZE, true);
+    }
+
     /**
      * Returns {@link Message} instances that have been decoded since this method was last invoked. Note that this
      * method is only supported if this decoder was not configured to use a custom message consumer.
@@ -79,70 +106,84 @@ public final class MessageDecoder {
      * Feed the contents of the given {@link ByteBuffer} into this decoder. Messages will be incrementally decoded and
      * buffered or published to the message consumer (depending on configuration).
      *
-     * @param byteBuffer a {@link ByteBuffer} whose entire contents will be read into the decoder's internal buffer
+     * @param byteBuffer a {@link ByteBuffer} whose entire contents will be consumed by the decoder
      * @return this {@code MessageDecoder} instance
      */
     public MessageDecoder feed(ByteBuffer byteBuffer) {
-        int bytesToRead = byteBuffer.remaining();
-        int bytesConsumed = 0;
-        while (bytesConsumed < bytesToRead) {
-            ByteBuffer readView = updateReadView();
+        while (byteBuffer.hasRemaining()) {
             if (currentPrelude == null) {
-                // Put only 15 bytes into buffer and compute prelude.
-                int numBytesToWrite = Math.min(15 - readView.remaining(),
-                    bytesToRead - bytesConsumed);
-
-                feedBuf(byteBuffer, numBytesToWrite);
-
-                bytesConsumed += numBytesToWrite;
-                readView = updateReadView();
-
-                // Have enough data to decode the prelude
-                if (readView.remaining() >= 15) {
-                    currentPrelude = Prelude.decode(readView.duplicate());
-                    if (buf.capacity() < currentPrelude.getTotalLength()) {
-                        // Don't have enough capacity to hold this message, grow the buffer
-                        buf = ByteBuffer.allocate(currentPrelude.getTotalLength());
-                        buf.put(readView);
-                        readView = updateReadView();
+                if (preludeBuf.position() == 0 && byteBuffer.remaining() >= Prelude.LENGTH_WITH_CRC) {
+                    Prelude prelude = Prelude.decode(byteBuffer);
+                    if (byteBuffer.remaining() >= prelude.getTotalLength()) {
+                        // The whole message is in this buffer, so decode it in place.
+                        ByteBuffer messageView = byteBuffer.duplicate();
+                        messageView.limit(byteBuffer.position() + prelude.getTotalLength());
+                        byteBuffer.position(messageView.limit());
+                        messageConsumer.accept(Message.decode(prelude, messageView, !transientMessages));
+                        continue;
+                    }
+                    startMessage(prelude);
+                } else {
+                    // Not even the prelude is in this buffer, so collect it first.
+                    transfer(byteBuffer, preludeBuf, Prelude.LENGTH_WITH_CRC - preludeBuf.position());
+                    if (preludeBuf.position() < Prelude.LENGTH_WITH_CRC) {
+                        break;
                     }
+                    preludeBuf.flip();
+                    startMessage(Prelude.decode(preludeBuf));
+                    buf.put(preludeBuf);
+                    preludeBuf.clear();
+                    continue;
                 }
             }
-            // We might not have received enough data to decode the prelude so check for null again
-            if (currentPrelude != null) {
-                // Only write up to what we need to decode the next message
-                int numBytesToWrite = Math.min(currentPrelude.getTotalLength() - readView.remaining(),
-                    bytesToRead - bytesConsumed);
-
-                feedBuf(byteBuffer, numBytesToWrite);
-                bytesConsumed += numBytesToWrite;
-                readView = updateReadView();
-
-                // If we have enough data to decode the message do so and reset the buffer for the next message
-                if (readView.remaining() >= currentPrelude.getTotalLength()) {
-                    messageConsumer.accept(Message.decode(currentPrelude, readView));
-                    buf.clear();
-                    currentPrelude = null;
-                }
+
+            transfer(byteBuffer, buf, currentPrelude.getTotalLength() - buf.position());
+            if (buf.position() == currentPrelude.getTotalLength()) {
+                finishMessage();
             }
         }
 
         return this;
     }
 
-    private void feedBuf(ByteBuffer byteBuffer, int numBytesToWrite) {
-        buf.put((ByteBuffer) byteBuffer.duplicate().limit(byteBuffer.position() + numBytesToWrite));
-        byteBuffer.position(byteBuffer.position() + numBytesToWrite);
+    private void startMessage(Prelude prelude) {
+        currentPrelude = prelude;
+        buf = bufferPool.acquire(Math.max(minBufferSize, prelude.getTotalLength()));
+    }
+
+    private void finishMessage() {
+        Prelude prelude = currentPrelude;
+        ByteBuffer messageBuf = buf;
+        currentPrelude = null;
+        buf = null;
+        try {
+            messageBuf.flip();
+            Message message = Message.decode(prelude, messageBuf, !transientMessages);
+            if (!transientMessages) {
+                bufferPool.release(messageBuf);
+                messageBuf = null;
+            }
+            messageConsumer.accept(message);
+        } finally {
+            if (messageBuf != null) {
+                bufferPool.release(messageBuf);
+            }
+        }
     }
 
-    private ByteBuffer updateReadView() {
-        return (ByteBuffer) buf.duplicate().flip();
+    private static void transfer(ByteBuffer from, ByteBuffer to, int maxBytes) {
+        int length = Math.min(maxBytes, from.remaining());
+        ByteBuffer source = from.duplicate();
+        source.limit(from.position() + length);
+        to.put(source);
+        from.position(from.position() + length);
     }
 
     /**
-     * To be used by tests only.
+     * To be used by tests only. Returns the capacity of the buffer that holds an incomplete message, or 0 if there is
+     * none.
      */
     int currentBufferSize() {
-        return buf.capacity();
+        return buf == null ? 0 : buf.capacity();
     }
 }
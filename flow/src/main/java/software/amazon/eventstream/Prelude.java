@@ -59,11 +59,11 @@ final class Prelude {
     }
 
     private static long computePreludeCrc(ByteBuffer buf) {
-        byte[] prelude = new byte[Prelude.LENGTH];
-        buf.duplicate().get(prelude);
+        ByteBuffer prelude = buf.duplicate();
+        prelude.limit(prelude.position() + Prelude.LENGTH);
 
         Checksum crc = new CRC32();
-        crc.update(prelude, 0, prelude.length);
+        Checksums.update(crc, prelude);
         return crc.getValue();
     }
 
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.eventstream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+    @Test
+    public void acquire_RoundsUpToSizeClass() {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        assertEquals(8192, pool.acquire(1).capacity());
+        assertEquals(8192, pool.acquire(8192).capacity());
+        assertEquals(16384, pool.acquire(8193).capacity());
+    }
+
+    @Test
+    public void release_BufferIsReusedClearedForSameSizeClass() {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        ByteBuffer buffer = pool.acquire(10_000);
+        buffer.putInt(42);
+        pool.release(buffer);
+        assertEquals(16384, pool.retainedBytes());
+
+        ByteBuffer reused = pool.acquire(9_000);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(reused.capacity(), reused.limit());
+        assertEquals(0, pool.retainedBytes());
+
+        assertNotSame(buffer, pool.acquire(9_000));
+    }
+
+    @Test
+    public void release_BeyondMaxRetainedBytes_IsDropped() {
+        BufferPool pool = new BufferPool(8192);
+        ByteBuffer first = pool.acquire(8192);
+        ByteBuffer second = pool.acquire(8192);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(8192, pool.retainedBytes());
+        assertSame(first, pool.acquire(8192));
+        assertNotSame(second, pool.acquire(8192));
+    }
+
+    @Test
+    public void buffersLargerThanLargestSizeClass_AreNotPooled() {
+        BufferPool pool = new BufferPool(Long.MAX_VALUE);
+        ByteBuffer buffer = pool.acquire(64 * 1024 * 1024 + 1);
+        assertEquals(64 * 1024 * 1024 + 1, buffer.capacity());
+        pool.release(buffer);
+        assertEquals(0, pool.retainedBytes());
+    }
+}
@@ -161,7 +161,7 @@ public class MessageDecoderTest {
     }
 
     @Test
-    public void multipleMessagesDoesNotGrowBuffer() {
+    public void multipleMessagesFedAtOnce_AreDecodedInPlace() {
         TestUtils utils = new TestUtils(SEED);
         Message message = utils.randomMessage(4096);
         List<Message> expected = IntStream.range(0, 100)
@@ -181,11 +181,11 @@ public class MessageDecoderTest {
         decoder.feed(bs);
 
         assertEquals(expected, actual);
-        assertEquals(8192, decoder.currentBufferSize());
+        assertEquals(0, decoder.currentBufferSize());
     }
 
     @Test
-    public void multipleLargeMessages_GrowsBufferAsNeeded() {
+    public void largeMessageSplitAcrossFeeds_BorrowsBufferUntilComplete() {
         TestUtils utils = new TestUtils(SEED);
         Message message = utils.randomMessage(9001);
         List<Message> expected = IntStream.range(0, 100)
@@ -194,18 +194,71 @@ public class MessageDecoderTest {
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         expected.forEach(x -> x.encode(baos));
-        ByteBuffer buf = ByteBuffer.wrap(baos.toByteArray());
+        byte[] data = baos.toByteArray();
+        int messageSize = data.length / expected.size();
 
         List<Message> actual = new ArrayList<>();
         MessageDecoder decoder = new MessageDecoder(actual::add, 8192);
 
-        // Feed all at once
-        byte[] bs = new byte[buf.capacity()];
-        buf.get(bs);
-        decoder.feed(bs);
+        for (int offset = 0; offset < data.length; offset += messageSize) {
+            decoder.feed(data, offset, messageSize / 2);
+            assertThat(decoder.currentBufferSize(), greaterThan(9001));
+            decoder.feed(data, offset + messageSize / 2, messageSize - messageSize / 2);
+            assertEquals(0, decoder.currentBufferSize());
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void transientMessages_PayloadIsViewOfFedBuffer() {
+        TestUtils utils = new TestUtils(SEED);
+        Message message = utils.randomMessage(1024);
+        byte[] data = message.toByteBuffer().array();
+
+        List<Message> actual = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        MessageDecoder decoder = MessageDecoder.forTransientMessages(m -> {
+            actual.add(m);
+            payloads.add(m.getPayload());
+        });
+        decoder.feed(data);
+
+        assertThat(actual, Matchers.hasSize(1));
+        Assert.assertArrayEquals(message.getPayload(), payloads.get(0));
+
+        // The decoded payload shares the fed buffer, so it changes with it.
+        ByteBuffer view = actual.get(0).getPayloadAsByteBuffer();
+        int payloadOffset = data.length - 4 - view.remaining();
+        data[payloadOffset] = (byte) ~data[payloadOffset];
+        assertEquals(data[payloadOffset], view.get(0));
+        Assert.assertTrue(view.isReadOnly());
+    }
+
+    @Test
+    public void transientMessages_DecodesMessagesSplitAcrossFeeds() {
+        TestUtils utils = new TestUtils(SEED);
+        Random rand = new Random(SEED);
+        List<Message> expected = IntStream.range(0, 1_000)
+                                          .mapToObj(x -> utils.randomMessage())
+                                          .collect(Collectors.toList());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        expected.forEach(x -> x.encode(baos));
+        ByteBuffer buf = ByteBuffer.wrap(baos.toByteArray());
+
+        // Copy each message while it is being consumed, as it is only valid until then.
+        List<Message> actual = new ArrayList<>();
+        MessageDecoder decoder = MessageDecoder.forTransientMessages(
+            m -> actual.add(new Message(m.getHeaders(), m.getPayload())));
+        while (buf.remaining() > 0) {
+            int bufSize = Math.min(1 + rand.nextInt(8192), buf.remaining());
+            ByteBuffer chunk = buf.duplicate();
+            chunk.limit(buf.position() + bufSize);
+            buf.position(buf.position() + bufSize);
+            decoder.feed(chunk);
+        }
 
         assertEquals(expected, actual);
-        assertThat(decoder.currentBufferSize(), greaterThan(9001));
     }
 
 }
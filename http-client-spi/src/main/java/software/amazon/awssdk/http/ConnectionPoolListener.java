@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Receives connection pool events from an HTTP client, so that the time spent waiting for a connection can be told apart
+ * from the time spent waiting for the service. {@link ConnectionPoolMetrics} is an implementation that aggregates the events
+ * into per-route statistics.
+ *
+ * <p>A route identifies the pool that a connection belongs to, in the form {@code scheme://host:port}. Events are delivered on
+ * the HTTP client's I/O threads, so implementations must be thread safe and must not block. All methods do nothing by
+ * default.</p>
+ */
+@SdkPublicApi
+public interface ConnectionPoolListener {
+
+    /**
+     * Called when a request starts waiting for a connection to the given route.
+     */
+    default void leaseRequested(String route) {
+    }
+
+    /**
+     * Called when a request has been given a connection to the given route.
+     *
+     * @param route The route of the connection.
+     * @param leaseWaitTime The time since the matching {@link #leaseRequested(String)}.
+     */
+    default void leaseAcquired(String route, Duration leaseWaitTime) {
+    }
+
+    /**
+     * Called when a request gave up waiting for a connection to the given route, e.g. because the acquire timed out or too
+     * many requests were already waiting.
+     *
+     * @param route The route of the connection.
+     * @param leaseWaitTime The time since the matching {@link #leaseRequested(String)}.
+     * @param cause The reason the lease failed.
+     */
+    default void leaseFailed(String route, Duration leaseWaitTime, Throwable cause) {
+    }
+
+    /**
+     * Called when a connection acquired via {@link #leaseAcquired(String, Duration)} is given back to the pool.
+     */
+    default void leaseReleased(String route) {
+    }
+
+    /**
+     * Called when a new connection to the given route is opened.
+     */
+    default void connectionCreated(String route) {
+    }
+
+    /**
+     * Called when a connection reported via {@link #connectionCreated(String)} is closed.
+     */
+    default void connectionClosed(String route) {
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * A {@link ConnectionPoolListener} that aggregates the events of an HTTP client into per-route {@link ConnectionPoolStats}.
+ * Recording an event only updates a few counters, so this can be left enabled in production.
+ *
+ * <pre class="brush: java">
+ * ConnectionPoolMetrics metrics = ConnectionPoolMetrics.create();
+ * SdkHttpClient httpClient = ApacheHttpClient.builder()
+ *                                            .connectionPoolListener(metrics)
+ *                                            .build();
+ * ...
+ * metrics.stats().forEach(stats -> publish(stats));
+ * </pre>
+ */
+@SdkPublicApi
+public final class ConnectionPoolMetrics implements ConnectionPoolListener {
+
+    /**
+     * Inclusive upper bounds of the lease wait histogram buckets, in milliseconds.
+     */
+    private static final long[] LEASE_WAIT_BUCKETS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    private ConnectionPoolMetrics() {
+    }
+
+    public static ConnectionPoolMetrics create() {
+        return new ConnectionPoolMetrics();
+    }
+
+    /**
+     * @return Statistics for the given route, or empty if no events have been recorded for it.
+     */
+    public Optional<ConnectionPoolStats> stats(String route) {
+        return Optional.ofNullable(routes.get(route)).map(metrics -> metrics.snapshot(route));
+    }
+
+    /**
+     * @return Statistics for every route that events have been recorded for.
+     */
+    public List<ConnectionPoolStats> stats() {
+        List<ConnectionPoolStats> stats = new ArrayList<>(routes.size());
+        routes.forEach((route, metrics) -> stats.add(metrics.snapshot(route)));
+        return stats;
+    }
+
+    @Override
+    public void leaseRequested(String route) {
+        route(route).requested.increment();
+    }
+
+    @Override
+    public void leaseAcquired(String route, Duration leaseWaitTime) {
+        RouteMetrics metrics = route(route);
+        metrics.acquired.increment();
+        metrics.recordLeaseWait(leaseWaitTime);
+    }
+
+    @Override
+    public void leaseFailed(String route, Duration leaseWaitTime, Throwable cause) {
+        route(route).failed.increment();
+    }
+
+    @Override
+    public void leaseReleased(String route) {
+        route(route).released.increment();
+    }
+
+    @Override
+    public void connectionCreated(String route) {
+        route(route).created.increment();
+    }
+
+    @Override
+    public void connectionClosed(String route) {
+        route(route).closed.increment();
+    }
+
+    private RouteMetrics route(String route) {
+        RouteMetrics metrics = routes.get(route);
+        return metrics != null ? metrics : routes.computeIfAbsent(route, r -> new RouteMetrics());
+    }
+
+    private static final class RouteMetrics {
+        private final LongAdder requested = new LongAdder();
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder released = new LongAdder();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder closed = new LongAdder();
+        private final LongAdder leaseWaitNanos = new LongAdder();
+        private final LongAdder[] leaseWaitBuckets = new LongAdder[LEASE_WAIT_BUCKETS_MILLIS.length + 1];
+
+        private RouteMetrics() {
+            for (int i = 0; i < leaseWaitBuckets.length; i++) {
+                leaseWaitBuckets[i] = new LongAdder();
+            }
+        }
+
+        private void recordLeaseWait(Duration leaseWaitTime) {
+            long nanos = leaseWaitTime.toNanos();
+            leaseWaitNanos.add(nanos);
+            int bucket = 0;
+            while (bucket < LEASE_WAIT_BUCKETS_MILLIS.length
+                   && nanos > TimeUnit.MILLISECONDS.toNanos(LEASE_WAIT_BUCKETS_MILLIS[bucket])) {
+                bucket++;
+            }
+            leaseWaitBuckets[bucket].increment();
+        }
+
+        private ConnectionPoolStats snapshot(String route) {
+            // The counters are read one at a time while events are still being recorded, so the derived gauges are
+            // clamped to stay meaningful.
+            long releasedCount = released.sum();
+            long closedCount = closed.sum();
+            long failedCount = failed.sum();
+            long acquiredCount = acquired.sum();
+            long createdCount = created.sum();
+            long requestedCount = requested.sum();
+
+            Map<Duration, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < LEASE_WAIT_BUCKETS_MILLIS.length; i++) {
+                histogram.put(Duration.ofMillis(LEASE_WAIT_BUCKETS_MILLIS[i]), leaseWaitBuckets[i].sum());
+            }
+            histogram.put(ChronoUnit.FOREVER.getDuration(), leaseWaitBuckets[LEASE_WAIT_BUCKETS_MILLIS.length].sum());
+
+            return new ConnectionPoolStats(route,
+                                           Math.max(0, acquiredCount - releasedCount),
+                                           Math.max(0, requestedCount - acquiredCount - failedCount),
+                                           Math.max(0, createdCount - closedCount),
+                                           acquiredCount,
+                                           failedCount,
+                                           createdCount,
+                                           closedCount,
+                                           Duration.ofNanos(leaseWaitNanos.sum()),
+                                           Collections.unmodifiableMap(histogram));
+        }
+    }
+}
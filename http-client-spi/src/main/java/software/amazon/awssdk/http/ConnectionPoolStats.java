@@ -0,0 +1,151 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.time.Duration;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A point in time snapshot of the connection pool statistics for one route, created by {@link ConnectionPoolMetrics}.
+ *
+ * <p>The counts ending in "Count" only ever increase, so rates such as connections created per second can be calculated by
+ * comparing two snapshots. The other values are gauges of the state of the pool when the snapshot was taken.</p>
+ */
+@SdkPublicApi
+public final class ConnectionPoolStats {
+    private final String route;
+    private final long leased;
+    private final long pending;
+    private final long open;
+    private final long leaseCount;
+    private final long leaseFailureCount;
+    private final long connectionCreatedCount;
+    private final long connectionClosedCount;
+    private final Duration totalLeaseWaitTime;
+    private final Map<Duration, Long> leaseWaitHistogram;
+
+    ConnectionPoolStats(String route, long leased, long pending, long open, long leaseCount, long leaseFailureCount,
+                        long connectionCreatedCount, long connectionClosedCount, Duration totalLeaseWaitTime,
+                        Map<Duration, Long> leaseWaitHistogram) {
+        this.route = route;
+        this.leased = leased;
+        this.pending = pending;
+        this.open = open;
+        this.leaseCount = leaseCount;
+        this.leaseFailureCount = leaseFailureCount;
+        this.connectionCreatedCount = connectionCreatedCount;
+        this.connectionClosedCount = connectionClosedCount;
+        this.totalLeaseWaitTime = totalLeaseWaitTime;
+        this.leaseWaitHistogram = leaseWaitHistogram;
+    }
+
+    /**
+     * @return The route these statistics are for, in the form {@code scheme://host:port}.
+     */
+    public String route() {
+        return route;
+    }
+
+    /**
+     * @return The number of connections currently leased to requests. For HTTP/2 this is the number of leased streams.
+     */
+    public long leased() {
+        return leased;
+    }
+
+    /**
+     * @return The number of requests currently waiting for a connection.
+     */
+    public long pending() {
+        return pending;
+    }
+
+    /**
+     * @return The number of connections currently open.
+     */
+    public long open() {
+        return open;
+    }
+
+    /**
+     * @return The number of open connections that are not leased. Only meaningful for HTTP/1.1, where each leased
+     * connection serves a single request.
+     */
+    public long available() {
+        return Math.max(0, open - leased);
+    }
+
+    /**
+     * @return The number of connections that have been leased.
+     */
+    public long leaseCount() {
+        return leaseCount;
+    }
+
+    /**
+     * @return The number of requests that gave up waiting for a connection.
+     */
+    public long leaseFailureCount() {
+        return leaseFailureCount;
+    }
+
+    /**
+     * @return The number of connections that have been opened.
+     */
+    public long connectionCreatedCount() {
+        return connectionCreatedCount;
+    }
+
+    /**
+     * @return The number of connections that have been closed.
+     */
+    public long connectionClosedCount() {
+        return connectionClosedCount;
+    }
+
+    /**
+     * @return The sum of the wait times of all successful leases. Divide by {@link #leaseCount()} for the mean.
+     */
+    public Duration totalLeaseWaitTime() {
+        return totalLeaseWaitTime;
+    }
+
+    /**
+     * @return The number of successful leases per wait time bucket, in ascending order. Each key is the inclusive upper bound
+     * of its bucket and the last bucket, keyed by {@link java.time.temporal.ChronoUnit#FOREVER}'s duration, holds all
+     * longer waits.
+     */
+    public Map<Duration, Long> leaseWaitHistogram() {
+        return leaseWaitHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ConnectionPoolStats")
+                       .add("route", route)
+                       .add("leased", leased)
+                       .add("pending", pending)
+                       .add("open", open)
+                       .add("leaseCount", leaseCount)
+                       .add("leaseFailureCount", leaseFailureCount)
+                       .add("connectionCreatedCount", connectionCreatedCount)
+                       .add("connectionClosedCount", connectionClosedCount)
+                       .add("totalLeaseWaitTime", totalLeaseWaitTime)
+                       .build();
+    }
+}
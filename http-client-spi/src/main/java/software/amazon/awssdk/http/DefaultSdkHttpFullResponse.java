@@ -28,6 +28,7 @@ import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
  * Internal implementation of {@link SdkHttpFullResponse}, buildable via {@link SdkHttpFullResponse#builder()}. Returned by HTTP
@@ -42,18 +43,30 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
     private final String statusText;
     private final int statusCode;
     private final Map<String, List<String>> headers;
+    private final transient SdkHttpHeaders headerView;
     private final transient AbortableInputStream content;
 
     private DefaultSdkHttpFullResponse(Builder builder) {
         this.statusCode = Validate.isPositive(builder.statusCode, "Status code must be positive.");
         this.statusText = builder.statusText;
-        this.headers = deepUnmodifiableMap(builder.headers, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        if (builder.headerView != null) {
+            this.headerView = builder.headerView;
+            this.headers = null;
+        } else {
+            this.headerView = null;
+            this.headers = deepUnmodifiableMap(builder.headers, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        }
         this.content = builder.content;
     }
 
     @Override
     public Map<String, List<String>> headers() {
-        return headers;
+        return headerView != null ? headerView.headers() : headers;
+    }
+
+    @Override
+    public Optional<String> firstMatchingHeader(String header) {
+        return headerView != null ? headerView.firstMatchingHeader(header) : SdkHttpUtils.firstMatchingHeader(headers, header);
     }
 
     @Override
@@ -76,6 +89,18 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
         return new Builder(this);
     }
 
+    /**
+     * Header views are not serializable, so serialize a copy of this response with the headers materialized.
+     */
+    private Object writeReplace() {
+        if (headerView == null) {
+            return this;
+        }
+        Builder builder = new Builder(this);
+        builder.materializeHeaderView();
+        return builder.build();
+    }
+
     /**
      * Builder for a {@link DefaultSdkHttpFullResponse}.
      */
@@ -84,6 +109,7 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
         private int statusCode;
         private AbortableInputStream content;
         private Map<String, List<String>> headers = new LinkedHashMap<>();
+        private SdkHttpHeaders headerView;
 
         Builder() {
         }
@@ -92,7 +118,11 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
             this.statusText = defaultSdkHttpFullResponse.statusText;
             this.statusCode = defaultSdkHttpFullResponse.statusCode;
             this.content = defaultSdkHttpFullResponse.content;
-            this.headers = CollectionUtils.deepCopyMap(defaultSdkHttpFullResponse.headers);
+            if (defaultSdkHttpFullResponse.headerView != null) {
+                this.headerView = defaultSdkHttpFullResponse.headerView;
+            } else {
+                this.headers = CollectionUtils.deepCopyMap(defaultSdkHttpFullResponse.headers);
+            }
         }
 
         @Override
@@ -132,6 +162,7 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
         public Builder putHeader(String headerName, List<String> headerValues) {
             Validate.paramNotNull(headerName, "headerName");
             Validate.paramNotNull(headerValues, "headerValues");
+            materializeHeaderView();
             this.headers.put(headerName, new ArrayList<>(headerValues));
             return this;
         }
@@ -140,6 +171,7 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
         public SdkHttpFullResponse.Builder appendHeader(String headerName, String headerValue) {
             Validate.paramNotNull(headerName, "headerName");
             Validate.paramNotNull(headerValue, "headerValue");
+            materializeHeaderView();
             this.headers.computeIfAbsent(headerName, k -> new ArrayList<>()).add(headerValue);
             return this;
         }
@@ -148,24 +180,51 @@ class DefaultSdkHttpFullResponse implements SdkHttpFullResponse, Serializable {
         public Builder headers(Map<String, List<String>> headers) {
             Validate.paramNotNull(headers, "headers");
             this.headers = CollectionUtils.deepCopyMap(headers);
+            this.headerView = null;
+            return this;
+        }
+
+        @Override
+        public Builder headers(SdkHttpHeaders headers) {
+            Validate.paramNotNull(headers, "headers");
+            this.headers = new LinkedHashMap<>();
+            this.headerView = headers;
             return this;
         }
 
         @Override
         public Builder removeHeader(String headerName) {
+            materializeHeaderView();
             this.headers.remove(headerName);
             return this;
         }
 
         @Override
         public Builder clearHeaders() {
+            this.headerView = null;
             this.headers.clear();
             return this;
         }
 
         @Override
         public Map<String, List<String>> headers() {
-            return deepUnmodifiableMap(this.headers);
+            return headerView != null ? headerView.headers() : deepUnmodifiableMap(this.headers);
+        }
+
+        @Override
+        public Optional<String> firstMatchingHeader(String header) {
+            return headerView != null ? headerView.firstMatchingHeader(header)
+                                      : SdkHttpUtils.firstMatchingHeader(headers, header);
+        }
+
+        /**
+         * Copy the headers out of the header view, if there is one, so that they can be modified.
+         */
+        private void materializeHeaderView() {
+            if (headerView != null) {
+                this.headers = CollectionUtils.deepCopyMap(headerView.headers());
+                this.headerView = null;
+            }
         }
 
         /**
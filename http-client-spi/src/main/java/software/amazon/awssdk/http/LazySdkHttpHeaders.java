@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A read-only {@link SdkHttpHeaders} view over the header structure of an HTTP client's own response object.
+ *
+ * <p>Header lookups via {@link #firstMatchingHeader(String)} and {@link #matchingHeaders(String)} go straight to the
+ * underlying structure without copying it. The sorted, case-insensitive map returned by {@link #headers()} is only built the
+ * first time it is requested, and then cached.</p>
+ *
+ * <p>The underlying header structure must not be modified once the view has been created.</p>
+ */
+@SdkProtectedApi
+@ThreadSafe
+public abstract class LazySdkHttpHeaders implements SdkHttpHeaders {
+
+    private volatile Map<String, List<String>> headers;
+
+    /**
+     * Perform a case-insensitive search for all values of a particular header in the underlying header structure.
+     *
+     * @param header The header to search for (case insensitively).
+     * @return The values of the header, in the order they were received, or an empty list if it was not present.
+     */
+    public abstract List<String> matchingHeaders(String header);
+
+    /**
+     * Invoke the consumer with each header name and value in the underlying header structure, in the order they were
+     * received. Headers with multiple values are visited once per value.
+     */
+    protected abstract void forEachHeader(BiConsumer<String, String> consumer);
+
+    @Override
+    public final Map<String, List<String>> headers() {
+        Map<String, List<String>> result = headers;
+        if (result == null) {
+            result = materialize();
+            headers = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<String> firstMatchingHeader(String header) {
+        List<String> values = matchingHeaders(header);
+        return values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+    }
+
+    private Map<String, List<String>> materialize() {
+        Map<String, List<String>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        forEachHeader((name, value) -> result.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value));
+        result.replaceAll((name, values) -> Collections.unmodifiableList(values));
+        return Collections.unmodifiableMap(result);
+    }
+}
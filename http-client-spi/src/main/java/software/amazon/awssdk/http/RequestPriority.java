@@ -0,0 +1,41 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Relative priority of a request. HTTP client implementations may use this when requests have to wait for a connection,
+ * serving pending higher priority requests more often than lower priority ones. Implementations are free to ignore it.
+ */
+@SdkPublicApi
+public enum RequestPriority {
+
+    /**
+     * Latency sensitive requests that should be served ahead of other traffic.
+     */
+    HIGH,
+
+    /**
+     * The default priority.
+     */
+    NORMAL,
+
+    /**
+     * Bulk or background requests that can tolerate waiting behind other traffic.
+     */
+    LOW
+}
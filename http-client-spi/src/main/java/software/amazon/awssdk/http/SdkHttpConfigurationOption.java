@@ -53,6 +53,20 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final SdkHttpConfigurationOption<Duration> CONNECTION_ACQUIRE_TIMEOUT =
             new SdkHttpConfigurationOption<>("ConnectionAcquireTimeout", Duration.class);
 
+    /**
+     * Maximum amount of time a pooled connection may sit idle before it is closed. A value of zero disables idle
+     * expiry.
+     */
+    public static final SdkHttpConfigurationOption<Duration> CONNECTION_MAX_IDLE_TIMEOUT =
+            new SdkHttpConfigurationOption<>("ConnectionMaxIdleTimeout", Duration.class);
+
+    /**
+     * Maximum amount of time a connection may remain open, regardless of how often it is used. A value of zero means
+     * connections may be kept open indefinitely.
+     */
+    public static final SdkHttpConfigurationOption<Duration> CONNECTION_TIME_TO_LIVE =
+            new SdkHttpConfigurationOption<>("ConnectionTimeToLive", Duration.class);
+
     /**
      * Maximum number of connections allowed in a connection pool.
      */
@@ -81,6 +95,8 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
     private static final Duration DEFAULT_SOCKET_WRITE_TIMEOUT = Duration.ofSeconds(30);
     private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
     private static final Duration DEFAULT_CONNECTION_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_CONNECTION_MAX_IDLE_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration DEFAULT_CONNECTION_TIME_TO_LIVE = Duration.ZERO;
     private static final int DEFAULT_MAX_CONNECTIONS = 50;
     private static final int DEFAULT_MAX_CONNECTION_ACQUIRES = 10_000;
     private static final Boolean DEFAULT_TRUST_ALL_CERTIFICATES = Boolean.FALSE;
@@ -93,6 +109,8 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
             .put(WRITE_TIMEOUT, DEFAULT_SOCKET_WRITE_TIMEOUT)
             .put(CONNECTION_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT)
             .put(CONNECTION_ACQUIRE_TIMEOUT, DEFAULT_CONNECTION_ACQUIRE_TIMEOUT)
+            .put(CONNECTION_MAX_IDLE_TIMEOUT, DEFAULT_CONNECTION_MAX_IDLE_TIMEOUT)
+            .put(CONNECTION_TIME_TO_LIVE, DEFAULT_CONNECTION_TIME_TO_LIVE)
             .put(MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS)
             .put(MAX_PENDING_CONNECTION_ACQUIRES, DEFAULT_MAX_CONNECTION_ACQUIRES)
             .put(PROTOCOL, DEFAULT_PROTOCOL)
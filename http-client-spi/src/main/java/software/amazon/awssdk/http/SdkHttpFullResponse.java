@@ -143,6 +143,16 @@ public interface SdkHttpFullResponse
          */
         Builder headers(Map<String, List<String>> headers);
 
+        /**
+         * Configure the {@link SdkHttpResponse#headers()} to be used in the created HTTP response as a read-only view over
+         * the provided headers, for example a {@link LazySdkHttpHeaders} backed by an HTTP client's own response object. The
+         * headers are not copied unless the builder's headers are subsequently modified. This overrides any values currently
+         * configured in the builder.
+         */
+        default Builder headers(SdkHttpHeaders headers) {
+            return headers(headers.headers());
+        }
+
         /**
          * Remove all values for the requested header from this builder.
          */
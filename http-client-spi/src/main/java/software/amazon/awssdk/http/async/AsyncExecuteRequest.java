@@ -16,6 +16,7 @@
 package software.amazon.awssdk.http.async;
 
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.http.RequestPriority;
 import software.amazon.awssdk.http.SdkHttpRequest;
 
 /**
@@ -29,12 +30,14 @@ public final class AsyncExecuteRequest {
     private final SdkHttpContentPublisher requestContentPublisher;
     private final SdkAsyncHttpResponseHandler responseHandler;
     private final boolean isFullDuplex;
+    private final RequestPriority priority;
 
     private AsyncExecuteRequest(BuilderImpl builder) {
         this.request = builder.request;
         this.requestContentPublisher = builder.requestContentPublisher;
         this.responseHandler = builder.responseHandler;
         this.isFullDuplex = builder.isFullDuplex;
+        this.priority = builder.priority;
     }
 
     /**
@@ -65,6 +68,13 @@ public final class AsyncExecuteRequest {
         return isFullDuplex;
     }
 
+    /**
+     * @return The relative priority of the request. Never null, defaults to {@link RequestPriority#NORMAL}.
+     */
+    public RequestPriority priority() {
+        return priority;
+    }
+
     public static Builder builder() {
         return new BuilderImpl();
     }
@@ -105,6 +115,15 @@ public final class AsyncExecuteRequest {
          */
         Builder fullDuplex(boolean fullDuplex);
 
+        /**
+         * Set the relative priority of the request. HTTP clients that support it serve pending higher priority requests
+         * more often than lower priority ones when waiting for a connection.
+         *
+         * @param priority The priority. Null is treated as {@link RequestPriority#NORMAL}.
+         * @return This builder for method chaining.
+         */
+        Builder priority(RequestPriority priority);
+
         AsyncExecuteRequest build();
     }
 
@@ -113,6 +132,7 @@ public final class AsyncExecuteRequest {
         private SdkHttpContentPublisher requestContentPublisher;
         private SdkAsyncHttpResponseHandler responseHandler;
         private boolean isFullDuplex;
+        private RequestPriority priority = RequestPriority.NORMAL;
 
         @Override
         public Builder request(SdkHttpRequest request) {
@@ -138,6 +158,12 @@ public final class AsyncExecuteRequest {
             return this;
         }
 
+        @Override
+        public Builder priority(RequestPriority priority) {
+            this.priority = priority == null ? RequestPriority.NORMAL : priority;
+            return this;
+        }
+
         @Override
         public AsyncExecuteRequest build() {
             return new AsyncExecuteRequest(this);
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+
+public class ConnectionPoolMetricsTest {
+    private static final String ROUTE = "https://localhost:443";
+
+    private final ConnectionPoolMetrics metrics = ConnectionPoolMetrics.create();
+
+    @Test
+    public void noEvents_hasNoStats() {
+        assertThat(metrics.stats()).isEmpty();
+        assertThat(metrics.stats(ROUTE)).isEmpty();
+    }
+
+    @Test
+    public void leaseEvents_updateGauges() {
+        metrics.leaseRequested(ROUTE);
+        metrics.leaseRequested(ROUTE);
+        metrics.leaseRequested(ROUTE);
+        metrics.connectionCreated(ROUTE);
+        metrics.leaseAcquired(ROUTE, Duration.ofMillis(3));
+
+        ConnectionPoolStats stats = metrics.stats(ROUTE).get();
+        assertThat(stats.leased()).isEqualTo(1);
+        assertThat(stats.pending()).isEqualTo(2);
+        assertThat(stats.open()).isEqualTo(1);
+        assertThat(stats.available()).isZero();
+
+        metrics.leaseFailed(ROUTE, Duration.ofSeconds(1), new IOException());
+        metrics.leaseReleased(ROUTE);
+
+        stats = metrics.stats(ROUTE).get();
+        assertThat(stats.leased()).isZero();
+        assertThat(stats.pending()).isEqualTo(1);
+        assertThat(stats.available()).isEqualTo(1);
+        assertThat(stats.leaseCount()).isEqualTo(1);
+        assertThat(stats.leaseFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void connectionEvents_areCounted() {
+        metrics.connectionCreated(ROUTE);
+        metrics.connectionCreated(ROUTE);
+        metrics.connectionClosed(ROUTE);
+
+        ConnectionPoolStats stats = metrics.stats(ROUTE).get();
+        assertThat(stats.connectionCreatedCount()).isEqualTo(2);
+        assertThat(stats.connectionClosedCount()).isEqualTo(1);
+        assertThat(stats.open()).isEqualTo(1);
+    }
+
+    @Test
+    public void leaseWaitTimes_areBucketed() {
+        metrics.leaseAcquired(ROUTE, Duration.ZERO);
+        metrics.leaseAcquired(ROUTE, Duration.ofMillis(1));
+        metrics.leaseAcquired(ROUTE, Duration.ofMillis(30));
+        metrics.leaseAcquired(ROUTE, Duration.ofMinutes(1));
+
+        ConnectionPoolStats stats = metrics.stats(ROUTE).get();
+        assertThat(stats.leaseWaitHistogram().get(Duration.ofMillis(1))).isEqualTo(2);
+        assertThat(stats.leaseWaitHistogram().get(Duration.ofMillis(50))).isEqualTo(1);
+        assertThat(stats.leaseWaitHistogram().get(ChronoUnit.FOREVER.getDuration())).isEqualTo(1);
+        assertThat(stats.totalLeaseWaitTime()).isEqualTo(Duration.ofMinutes(1).plusMillis(31));
+    }
+
+    @Test
+    public void routes_areTrackedSeparately() {
+        metrics.leaseRequested(ROUTE);
+        metrics.leaseRequested("http://localhost:80");
+
+        assertThat(metrics.stats()).extracting(ConnectionPoolStats::route)
+                                   .containsExactlyInAnyOrder(ROUTE, "http://localhost:80");
+    }
+}
@@ -20,11 +20,17 @@ import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.junit.Test;
@@ -297,6 +303,72 @@ public class SdkHttpRequestResponseTest {
         });
     }
 
+    @Test
+    public void responseHeaderViewIsOnlyMaterializedOnDemand() {
+        CountingHeaders view = new CountingHeaders();
+        SdkHttpFullResponse response = validResponseBuilder().headers(view).build();
+
+        assertThat(response.firstMatchingHeader("content-type")).hasValue("application/json");
+        assertThat(response.firstMatchingHeader("X-Missing")).isNotPresent();
+        assertThat(view.materializations).isZero();
+
+        assertThat(response.headers().get("X-AMZ-ID")).containsExactly("a", "b");
+        assertThat(response.headers()).containsOnlyKeys("Content-Type", "x-amz-id");
+        assertThat(view.materializations).isEqualTo(1);
+    }
+
+    @Test
+    public void modifyingResponseBuilderCopiesHeaderView() {
+        CountingHeaders view = new CountingHeaders();
+        SdkHttpFullResponse response = validResponseBuilder().headers(view).build();
+
+        SdkHttpFullResponse modified = response.toBuilder().appendHeader("x-amz-id", "c").build();
+
+        assertThat(modified.headers().get("x-amz-id")).containsExactly("a", "b", "c");
+        assertThat(response.headers().get("x-amz-id")).containsExactly("a", "b");
+        assertThat(response.toBuilder().clearHeaders().build().headers()).isEmpty();
+    }
+
+    @Test
+    public void responseWithHeaderViewIsSerializable() throws Exception {
+        SdkHttpFullResponse response = validResponseBuilder().headers(new CountingHeaders()).build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(response);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SdkHttpFullResponse deserialized = (SdkHttpFullResponse) in.readObject();
+            assertThat(deserialized.headers()).isEqualTo(response.headers());
+            assertThat(deserialized.firstMatchingHeader("CONTENT-TYPE")).hasValue("application/json");
+        }
+    }
+
+    private static final class CountingHeaders extends LazySdkHttpHeaders {
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+        private int materializations;
+
+        private CountingHeaders() {
+            headers.put("Content-Type", singletonList("application/json"));
+            headers.put("x-amz-id", Arrays.asList("a", "b"));
+        }
+
+        @Override
+        public List<String> matchingHeaders(String header) {
+            return headers.entrySet().stream()
+                          .filter(e -> e.getKey().equalsIgnoreCase(header))
+                          .map(Map.Entry::getValue)
+                          .findFirst()
+                          .orElse(Collections.emptyList());
+        }
+
+        @Override
+        protected void forEachHeader(BiConsumer<String, String> consumer) {
+            materializations++;
+            headers.forEach((name, values) -> values.forEach(value -> consumer.accept(name, value)));
+        }
+    }
+
     private interface BuilderProxy {
         BuilderProxy setValue(String key, String value);
         BuilderProxy appendValue(String key, String value);
@@ -15,9 +15,6 @@
 
 package software.amazon.awssdk.http.apache;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toList;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS;
@@ -27,21 +24,20 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
-import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
@@ -63,6 +59,7 @@ import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.AbortableCallable;
 import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ConnectionPoolListener;
 import software.amazon.awssdk.http.ExecuteRequest;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
@@ -72,13 +69,16 @@ import software.amazon.awssdk.http.apache.internal.DefaultConfiguration;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
 import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
+import software.amazon.awssdk.http.apache.internal.conn.ListeningConnectionFactory;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
+import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpHeaders;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpRequestFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
 import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.Validate;
 
 /**
@@ -126,7 +126,8 @@ public final class ApacheHttpClient implements SdkHttpClient {
                .disableRedirectHandling()
                .disableAutomaticRetries()
                .setUserAgent("") // SDK will set the user agent header in the pipeline. Don't let Apache waste time
-               .setConnectionManager(ClientConnectionManagerFactory.wrap(cm));
+               .setConnectionManager(ClientConnectionManagerFactory.wrap(cm, configuration.connectionPoolListener,
+                                                                          configuration.maxConnectionsPerRouteOverrides));
 
         addProxyConfig(builder, configuration.proxyConfiguration);
 
@@ -226,7 +227,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
                                   .statusText(apacheHttpResponse.getStatusLine().getReasonPhrase())
                                   .content(apacheHttpResponse.getEntity() != null ?
                                                    toAbortableInputStream(apacheHttpResponse, apacheRequest) : null)
-                                  .headers(transformHeaders(apacheHttpResponse))
+                                  .headers(new ApacheHttpHeaders(apacheHttpResponse))
                                   .build();
 
     }
@@ -236,11 +237,6 @@ public final class ApacheHttpClient implements SdkHttpClient {
         return AbortableInputStream.create(apacheHttpResponse.getEntity().getContent(), apacheRequest::abort);
     }
 
-    private Map<String, List<String>> transformHeaders(HttpResponse apacheHttpResponse) {
-        return Stream.of(apacheHttpResponse.getAllHeaders())
-                     .collect(groupingBy(Header::getName, mapping(Header::getValue, toList())));
-    }
-
     private ApacheHttpRequestConfig createRequestConfig(DefaultBuilder builder,
                                                         AttributeMap resolvedOptions) {
         return ApacheHttpRequestConfig.builder()
@@ -293,6 +289,29 @@ public final class ApacheHttpClient implements SdkHttpClient {
          */
         Builder maxConnections(Integer maxConnections);
 
+        /**
+         * The maximum number of connections to a single route, i.e. a single target host when no proxy is used. Defaults to
+         * {@link #maxConnections(Integer)}, so a single route can use the whole pool.
+         */
+        Builder maxConnectionsPerRoute(Integer maxConnectionsPerRoute);
+
+        /**
+         * The maximum number of connections to the given endpoint, overriding {@link #maxConnectionsPerRoute(Integer)} for it.
+         * Only the scheme, host and port of the endpoint are used.
+         *
+         * @param endpoint The endpoint the limit applies to, e.g. {@code https://s3.us-west-2.amazonaws.com}.
+         * @param maxConnections The maximum number of connections to the endpoint, or null to remove the limit.
+         * @return This builder for method chaining.
+         */
+        Builder maxConnectionsPerRoute(URI endpoint, Integer maxConnections);
+
+        /**
+         * Sets a listener that is notified of connection pool events, such as how long each request waited to lease a
+         * connection. See {@link software.amazon.awssdk.http.ConnectionPoolMetrics} for a listener that aggregates the events
+         * into per-route statistics.
+         */
+        Builder connectionPoolListener(ConnectionPoolListener connectionPoolListener);
+
         /**
          * Configuration that defines how to communicate via an HTTP proxy.
          */
@@ -335,6 +354,9 @@ public final class ApacheHttpClient implements SdkHttpClient {
         private Duration connectionTimeToLive;
         private Duration connectionMaxIdleTime;
         private Boolean useIdleConnectionReaper;
+        private Integer maxConnectionsPerRoute;
+        private final Map<String, Integer> maxConnectionsPerRouteOverrides = new HashMap<>();
+        private ConnectionPoolListener connectionPoolListener;
 
         private DefaultBuilder() {
         }
@@ -385,6 +407,48 @@ public final class ApacheHttpClient implements SdkHttpClient {
             maxConnections(maxConnections);
         }
 
+        @Override
+        public Builder maxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+            if (maxConnectionsPerRoute != null) {
+                Validate.isPositive(maxConnectionsPerRoute, "maxConnectionsPerRoute");
+            }
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+            maxConnectionsPerRoute(maxConnectionsPerRoute);
+        }
+
+        @Override
+        public Builder maxConnectionsPerRoute(URI endpoint, Integer maxConnections) {
+            Validate.paramNotNull(endpoint, "endpoint");
+            String route = routeName(endpoint);
+            if (maxConnections == null) {
+                maxConnectionsPerRouteOverrides.remove(route);
+            } else {
+                Validate.isPositive(maxConnections, "maxConnections");
+                maxConnectionsPerRouteOverrides.put(route, maxConnections);
+            }
+            return this;
+        }
+
+        private static String routeName(URI endpoint) {
+            String scheme = StringUtils.lowerCase(Validate.paramNotNull(endpoint.getScheme(), "endpoint scheme"));
+            int port = endpoint.getPort() > 0 ? endpoint.getPort() : "https".equals(scheme) ? 443 : 80;
+            return scheme + "://" + endpoint.getHost() + ":" + port;
+        }
+
+        @Override
+        public Builder connectionPoolListener(ConnectionPoolListener connectionPoolListener) {
+            this.connectionPoolListener = connectionPoolListener;
+            return this;
+        }
+
+        public void setConnectionPoolListener(ConnectionPoolListener connectionPoolListener) {
+            connectionPoolListener(connectionPoolListener);
+        }
+
         @Override
         public Builder proxyConfiguration(ProxyConfiguration proxyConfiguration) {
             this.proxyConfiguration = proxyConfiguration;
@@ -461,7 +525,9 @@ public final class ApacheHttpClient implements SdkHttpClient {
             PoolingHttpClientConnectionManager cm = new
                     PoolingHttpClientConnectionManager(
                     createSocketFactoryRegistry(sslsf),
-                    null,
+                    configuration.connectionPoolListener == null
+                    ? null
+                    : new ListeningConnectionFactory(configuration.connectionPoolListener),
                     DefaultSchemePortResolver.INSTANCE,
                     null,
                     Optional.ofNullable(configuration.connectionTimeToLive)
@@ -469,7 +535,8 @@ public final class ApacheHttpClient implements SdkHttpClient {
                             .toMillis(),
                     TimeUnit.MILLISECONDS);
 
-            cm.setDefaultMaxPerRoute(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
+            cm.setDefaultMaxPerRoute(Optional.ofNullable(configuration.maxConnectionsPerRoute)
+                                             .orElseGet(() -> standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS)));
             cm.setMaxTotal(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
             cm.setDefaultSocketConfig(buildSocketConfig(standardOptions));
 
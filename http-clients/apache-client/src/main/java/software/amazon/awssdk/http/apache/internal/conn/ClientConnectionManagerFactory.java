@@ -19,12 +19,18 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.http.HttpHost;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.pool.ConnPoolControl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolListener;
 
 @SdkInternalApi
 public final class ClientConnectionManagerFactory {
@@ -40,6 +46,20 @@ public final class ClientConnectionManagerFactory {
      * @param orig the target instance to be wrapped
      */
     public static HttpClientConnectionManager wrap(HttpClientConnectionManager orig) {
+        return wrap(orig, null, Collections.emptyMap());
+    }
+
+    /**
+     * Returns a wrapped instance of {@link HttpClientConnectionManager} that reports connection leases to the given listener
+     * and applies per-route connection limits as routes are first used.
+     *
+     * @param orig the target instance to be wrapped
+     * @param listener the listener to report leases to, or null
+     * @param maxConnectionsPerRoute the maximum number of connections keyed by {@link #routeName(HttpRoute)}
+     */
+    public static HttpClientConnectionManager wrap(HttpClientConnectionManager orig,
+                                                   ConnectionPoolListener listener,
+                                                   Map<String, Integer> maxConnectionsPerRoute) {
         if (orig instanceof Wrapped) {
             throw new IllegalArgumentException();
         }
@@ -59,7 +79,16 @@ public final class ClientConnectionManagerFactory {
                 // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
                 ClientConnectionManagerFactory.class.getClassLoader(),
                 interfaces,
-                new Handler(orig));
+                new Handler(orig, listener, maxConnectionsPerRoute));
+    }
+
+    /**
+     * @return The name of the given route as reported to a {@link ConnectionPoolListener}, in the form
+     * {@code scheme://host:port}.
+     */
+    public static String routeName(HttpRoute route) {
+        HttpHost target = route.getTargetHost();
+        return target.getSchemeName() + "://" + target.getHostName() + ":" + target.getPort();
     }
 
     /**
@@ -69,17 +98,41 @@ public final class ClientConnectionManagerFactory {
      */
     private static class Handler implements InvocationHandler {
         private final HttpClientConnectionManager orig;
+        private final ConnectionPoolListener listener;
+        private final Map<String, Integer> maxConnectionsPerRoute;
+        private final Map<Object, String> leasedConnectionRoutes = new ConcurrentHashMap<>();
 
-        Handler(HttpClientConnectionManager real) {
+        Handler(HttpClientConnectionManager real,
+                ConnectionPoolListener listener,
+                Map<String, Integer> maxConnectionsPerRoute) {
             this.orig = real;
+            this.listener = listener;
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
             try {
+                String routeName = null;
+                if ("requestConnection".equals(method.getName())
+                    && (listener != null || !maxConnectionsPerRoute.isEmpty())) {
+                    HttpRoute route = (HttpRoute) args[0];
+                    routeName = routeName(route);
+                    applyMaxConnections(route, routeName);
+                    if (listener != null) {
+                        listener.leaseRequested(routeName);
+                    }
+                } else if ("releaseConnection".equals(method.getName()) && listener != null) {
+                    String releasedRoute = leasedConnectionRoutes.remove(args[0]);
+                    if (releasedRoute != null) {
+                        listener.leaseReleased(releasedRoute);
+                    }
+                }
+
                 Object ret = method.invoke(orig, args);
                 return ret instanceof ConnectionRequest
-                        ? ClientConnectionRequestFactory.wrap((ConnectionRequest) ret)
+                        ? ClientConnectionRequestFactory.wrap((ConnectionRequest) ret, routeName, listener,
+                                                              leasedConnectionRoutes)
                         : ret
                         ;
             } catch (InvocationTargetException e) {
@@ -87,5 +140,20 @@ public final class ClientConnectionManagerFactory {
                 throw e.getCause();
             }
         }
+
+        /**
+         * Routes are only known once they are requested, because they depend on the proxy and local address settings, so
+         * per-route limits are applied to the pool when a route is first used.
+         */
+        @SuppressWarnings("unchecked")
+        private void applyMaxConnections(HttpRoute route, String routeName) {
+            Integer maxConnections = maxConnectionsPerRoute.get(routeName);
+            if (maxConnections != null && orig instanceof ConnPoolControl) {
+                ConnPoolControl<HttpRoute> pool = (ConnPoolControl<HttpRoute>) orig;
+                if (pool.getMaxPerRoute(route) != maxConnections) {
+                    pool.setMaxPerRoute(route, maxConnections);
+                }
+            }
+        }
     }
 }
@@ -20,10 +20,15 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.http.conn.ConnectionRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolListener;
 
 @SdkInternalApi
 final class ClientConnectionRequestFactory {
@@ -41,8 +46,14 @@ final class ClientConnectionRequestFactory {
      * to capture the necessary performance metrics.
      *
      * @param orig the target instance to be wrapped
+     * @param route the name of the route the connection is requested for
+     * @param listener the listener to report the lease to, or null
+     * @param leasedConnectionRoutes the routes of leased connections, which a successful lease is added to
      */
-    static ConnectionRequest wrap(ConnectionRequest orig) {
+    static ConnectionRequest wrap(ConnectionRequest orig,
+                                  String route,
+                                  ConnectionPoolListener listener,
+                                  Map<Object, String> leasedConnectionRoutes) {
         if (orig instanceof Wrapped) {
             throw new IllegalArgumentException();
         }
@@ -50,7 +61,7 @@ final class ClientConnectionRequestFactory {
                 // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
                 ClientConnectionRequestFactory.class.getClassLoader(),
                 INTERFACES,
-                new Handler(orig));
+                new Handler(orig, route, listener, leasedConnectionRoutes));
     }
 
     /**
@@ -61,30 +72,54 @@ final class ClientConnectionRequestFactory {
      */
     private static class Handler implements InvocationHandler {
         private final ConnectionRequest orig;
+        private final String route;
+        private final ConnectionPoolListener listener;
+        private final Map<Object, String> leasedConnectionRoutes;
+        private final long requestedNanos = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
 
-        Handler(ConnectionRequest orig) {
+        Handler(ConnectionRequest orig,
+                String route,
+                ConnectionPoolListener listener,
+                Map<Object, String> leasedConnectionRoutes) {
             this.orig = orig;
+            this.route = route;
+            this.listener = listener;
+            this.leasedConnectionRoutes = leasedConnectionRoutes;
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
             try {
-                // TODO v2 service metrics
-                //                if ("get".equals(method.getName())) {
-                //                    ServiceLatencyProvider latencyProvider = new ServiceLatencyProvider(
-                //                            AWSServiceMetrics.HttpClientGetConnectionTime);
-                //                    try {
-                //                        return method.invoke(orig, args);
-                //                    } finally {
-                //                        AwsSdkMetrics.getServiceMetricCollector()
-                //                                .collectLatency(latencyProvider.endTiming());
-                //                    }
-                //                }
-                return method.invoke(orig, args);
+                Object ret = method.invoke(orig, args);
+                if (listener != null) {
+                    if ("get".equals(method.getName())) {
+                        leaseAcquired(ret);
+                    } else if ("cancel".equals(method.getName()) && Boolean.TRUE.equals(ret)) {
+                        leaseFailed(new CancellationException("The connection request was cancelled."));
+                    }
+                }
+                return ret;
             } catch (InvocationTargetException e) {
                 log.debug("", e);
+                if (listener != null && "get".equals(method.getName())) {
+                    leaseFailed(e.getCause());
+                }
                 throw e.getCause();
             }
         }
+
+        private void leaseAcquired(Object connection) {
+            if (completed.compareAndSet(false, true)) {
+                leasedConnectionRoutes.put(connection, route);
+                listener.leaseAcquired(route, Duration.ofNanos(System.nanoTime() - requestedNanos));
+            }
+        }
+
+        private void leaseFailed(Throwable cause) {
+            if (completed.compareAndSet(false, true)) {
+                listener.leaseFailed(route, Duration.ofNanos(System.nanoTime() - requestedNanos), cause);
+            }
+        }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolListener;
+
+/**
+ * Creates connections with the default {@link ManagedHttpClientConnectionFactory} and reports their creation and closure to a
+ * {@link ConnectionPoolListener}.
+ */
+@SdkInternalApi
+public final class ListeningConnectionFactory implements HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> {
+    private static final Class<?>[] INTERFACES = {
+            ManagedHttpClientConnection.class,
+            Wrapped.class
+    };
+    private static final Class<?>[] CONTEXT_INTERFACES = {
+            ManagedHttpClientConnection.class,
+            HttpContext.class,
+            Wrapped.class
+    };
+
+    private final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> delegate =
+            ManagedHttpClientConnectionFactory.INSTANCE;
+    private final ConnectionPoolListener listener;
+
+    public ListeningConnectionFactory(ConnectionPoolListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public ManagedHttpClientConnection create(HttpRoute route, ConnectionConfig config) {
+        ManagedHttpClientConnection connection = delegate.create(route, config);
+        String routeName = ClientConnectionManagerFactory.routeName(route);
+        listener.connectionCreated(routeName);
+        return (ManagedHttpClientConnection) Proxy.newProxyInstance(
+                ListeningConnectionFactory.class.getClassLoader(),
+                // The pool exposes the connection's attributes if it is an HttpContext.
+                connection instanceof HttpContext ? CONTEXT_INTERFACES : INTERFACES,
+                new Handler(connection, routeName));
+    }
+
+    /**
+     * Reports the first call to {@link ManagedHttpClientConnection#close()} or
+     * {@link ManagedHttpClientConnection#shutdown()}, which is how the pool closes a connection.
+     */
+    private final class Handler implements InvocationHandler {
+        private final ManagedHttpClientConnection connection;
+        private final String route;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Handler(ManagedHttpClientConnection connection, String route) {
+            this.connection = connection;
+            this.route = route;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (("close".equals(method.getName()) || "shutdown".equals(method.getName()))
+                    && closed.compareAndSet(false, true)) {
+                    listener.connectionClosed(route);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.apache.http.Header;
+import org.apache.http.HttpMessage;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.LazySdkHttpHeaders;
+
+/**
+ * {@link LazySdkHttpHeaders} backed by the headers of an Apache {@link HttpMessage}, which are already looked up
+ * case-insensitively.
+ */
+@SdkInternalApi
+public final class ApacheHttpHeaders extends LazySdkHttpHeaders {
+
+    private final HttpMessage message;
+
+    public ApacheHttpHeaders(HttpMessage message) {
+        this.message = message;
+    }
+
+    @Override
+    public List<String> matchingHeaders(String header) {
+        Header[] matching = message.getHeaders(header);
+        if (matching.length == 0) {
+            return Collections.emptyList();
+        }
+        if (matching.length == 1) {
+            return Collections.singletonList(matching[0].getValue());
+        }
+        List<String> values = new ArrayList<>(matching.length);
+        for (Header h : matching) {
+            values.add(h.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    protected void forEachHeader(BiConsumer<String, String> consumer) {
+        for (Header header : message.getAllHeaders()) {
+            consumer.accept(header.getName(), header.getValue());
+        }
+    }
+}
@@ -15,12 +15,15 @@
 
 package software.amazon.awssdk.http.apache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 
 import java.net.HttpURLConnection;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.http.ConnectionPoolMetrics;
+import software.amazon.awssdk.http.ConnectionPoolStats;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
 import software.amazon.awssdk.utils.AttributeMap;
@@ -41,4 +44,29 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
 
         testForResponseCodeUsingHttps(client, HttpURLConnection.HTTP_OK);
     }
+
+    @Test
+    public void connectionPoolListener_reportsLeasesAndConnections() throws Exception {
+        ConnectionPoolMetrics metrics = ConnectionPoolMetrics.create();
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .connectionPoolListener(metrics)
+                                               .buildWithDefaults(AttributeMap.builder()
+                                                                              .put(TRUST_ALL_CERTIFICATES, Boolean.TRUE)
+                                                                              .build());
+
+        testForResponseCodeUsingHttps(client, HttpURLConnection.HTTP_OK);
+
+        assertThat(metrics.stats()).hasSize(1);
+        ConnectionPoolStats stats = metrics.stats().get(0);
+        assertThat(stats.route()).startsWith("https://localhost:");
+        assertThat(stats.leaseCount()).isEqualTo(1);
+        assertThat(stats.leased()).isZero();
+        assertThat(stats.pending()).isZero();
+        assertThat(stats.open()).isEqualTo(1);
+        assertThat(stats.leaseWaitHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1);
+
+        client.close();
+
+        assertThat(metrics.stats().get(0).connectionClosedCount()).isEqualTo(1);
+    }
 }
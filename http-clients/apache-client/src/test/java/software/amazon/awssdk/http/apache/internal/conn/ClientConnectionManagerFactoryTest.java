@@ -15,16 +15,22 @@
 
 package software.amazon.awssdk.http.apache.internal.conn;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HttpContext;
 import org.junit.Test;
+import software.amazon.awssdk.http.ConnectionPoolMetrics;
+import software.amazon.awssdk.http.ConnectionPoolStats;
 
 public class ClientConnectionManagerFactoryTest {
     HttpClientConnectionManager noop = new HttpClientConnectionManager() {
@@ -81,4 +87,53 @@ public class ClientConnectionManagerFactoryTest {
         HttpClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(noop);
         ClientConnectionManagerFactory.wrap(wrapped);
     }
+
+    @Test
+    public void maxConnectionsPerRoute_isAppliedWhenRouteIsRequested() {
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+        HttpRoute otherRoute = new HttpRoute(new HttpHost("localhost", 8081, "http"));
+        HttpClientConnectionManager wrapped =
+                ClientConnectionManagerFactory.wrap(cm, null, Collections.singletonMap("http://localhost:8080", 7));
+
+        wrapped.requestConnection(route, null).cancel();
+        wrapped.requestConnection(otherRoute, null).cancel();
+
+        assertThat(cm.getMaxPerRoute(route)).isEqualTo(7);
+        assertThat(cm.getMaxPerRoute(otherRoute)).isEqualTo(cm.getDefaultMaxPerRoute());
+        cm.shutdown();
+    }
+
+    @Test
+    public void connectionPoolListener_isNotifiedOfLeaseAndRelease() throws Exception {
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        ConnectionPoolMetrics metrics = ConnectionPoolMetrics.create();
+        HttpClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(cm, metrics, Collections.emptyMap());
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+
+        HttpClientConnection connection = wrapped.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+        ConnectionPoolStats leasedStats = metrics.stats("http://localhost:8080").get();
+        assertThat(leasedStats.leased()).isEqualTo(1);
+        assertThat(leasedStats.leaseCount()).isEqualTo(1);
+        assertThat(leasedStats.pending()).isZero();
+
+        wrapped.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        assertThat(metrics.stats("http://localhost:8080").get().leased()).isZero();
+        cm.shutdown();
+    }
+
+    @Test
+    public void listeningConnectionFactory_reportsConnectionsOnce() throws Exception {
+        ConnectionPoolMetrics metrics = ConnectionPoolMetrics.create();
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+
+        HttpClientConnection connection = new ListeningConnectionFactory(metrics).create(route, null);
+        connection.close();
+        connection.shutdown();
+
+        ConnectionPoolStats stats = metrics.stats("http://localhost:8080").get();
+        assertThat(stats.connectionCreatedCount()).isEqualTo(1);
+        assertThat(stats.connectionClosedCount()).isEqualTo(1);
+        assertThat(stats.open()).isZero();
+    }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.javanet.internal.FlowPublisherAdapter;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpFactory;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpHeaders;
+import software.amazon.awssdk.http.javanet.internal.ResponseBodyPublisher;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * An implementation of {@link SdkAsyncHttpClient} that uses the {@link HttpClient} included in Java 11 and later. It supports
+ * HTTP/1.1 and HTTP/2 without any dependencies outside of the JDK, which keeps startup latency and deployment size low.
+ *
+ * <p>Request content is streamed from the {@link SdkHttpContentPublisher} as the HTTP client writes it, and response content
+ * is only read from the connection as fast as the subscriber to the response body requests it.</p>
+ *
+ * <p>See software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient for an alternative implementation.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JavaAsyncHttpClient implements SdkAsyncHttpClient {
+
+    private final JavaNetHttpFactory factory;
+    private final HttpClient httpClient;
+    private final ExecutorService defaultExecutor;
+
+    private JavaAsyncHttpClient(AttributeMap options, Executor executor) {
+        this.factory = new JavaNetHttpFactory(options);
+        this.defaultExecutor = executor == null ? factory.createDefaultExecutor() : null;
+        this.httpClient = factory.createHttpClient(executor == null ? defaultExecutor : executor);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+        SdkAsyncHttpResponseHandler handler = request.responseHandler();
+        HttpRequest httpRequest;
+        try {
+            httpRequest = createRequest(request.request(), request.requestContentPublisher());
+        } catch (RuntimeException e) {
+            handler.onError(e);
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<ResponseBodyPublisher> responseBody = new AtomicReference<>();
+        CompletableFuture<HttpResponse<Void>> responseFuture = httpClient.sendAsync(httpRequest, responseInfo -> {
+            handler.onHeaders(SdkHttpFullResponse.builder()
+                                                 .statusCode(responseInfo.statusCode())
+                                                 .headers(new JavaNetHttpHeaders(responseInfo.headers()))
+                                                 .build());
+            ResponseBodyPublisher body = new ResponseBodyPublisher();
+            responseBody.set(body);
+            handler.onStream(body);
+            if (cancelled.get()) {
+                body.abort(new SdkCancellationException("The request was cancelled"));
+            }
+            return body;
+        });
+
+        CompletableFuture<Void> executeFuture = responseFuture.handle((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                handler.onError(cause);
+                throw new CompletionException(cause);
+            }
+            return null;
+        });
+
+        // Cancelling the returned future abandons the exchange. Cancelling the HTTP client's future only stops the exchange on
+        // Java 16 and later, so the response body is also aborted, which closes the connection or resets the HTTP/2 stream.
+        // On earlier versions a request that is still being sent continues until the response headers arrive, and its body
+        // is aborted then.
+        executeFuture.whenComplete((r, t) -> {
+            if (executeFuture.isCancelled()) {
+                cancelled.set(true);
+                responseFuture.cancel(true);
+                ResponseBodyPublisher body = responseBody.get();
+                if (body != null) {
+                    body.abort(new SdkCancellationException("The request was cancelled"));
+                }
+            }
+        });
+        return executeFuture;
+    }
+
+    private HttpRequest createRequest(SdkHttpRequest request, SdkHttpContentPublisher contentPublisher) {
+        HttpRequest.Builder builder = factory.requestBuilder(request);
+        if (contentPublisher == null) {
+            return builder.method(request.method().name(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        long contentLength = JavaNetHttpFactory.contentLength(request, contentPublisher.contentLength());
+        FlowPublisherAdapter content = new FlowPublisherAdapter(contentPublisher);
+        HttpRequest.BodyPublisher bodyPublisher;
+        if (contentLength == 0) {
+            bodyPublisher = HttpRequest.BodyPublishers.noBody();
+        } else if (contentLength > 0) {
+            bodyPublisher = HttpRequest.BodyPublishers.fromPublisher(content, contentLength);
+        } else {
+            bodyPublisher = HttpRequest.BodyPublishers.fromPublisher(content);
+        }
+        return builder.method(request.method().name(), bodyPublisher).build();
+    }
+
+    /**
+     * Shuts down the executor this client created if none was provided via {@link Builder#executor(Executor)}. A provided
+     * executor is left for the caller to shut down. The JDK HTTP client releases its connections once it is no longer
+     * referenced.
+     */
+    @Override
+    public void close() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Builder that allows configuration of the Java HTTP implementation. Use {@link #builder()} to configure and construct
+     * a Java HTTP client.
+     *
+     * <pre class="brush: java">
+     * SdkAsyncHttpClient httpClient = JavaAsyncHttpClient.builder()
+     * .protocol(Protocol.HTTP2)
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkAsyncHttpClient.Builder<JavaAsyncHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers after the request has been sent. The timeout does not cover
+         * reading the response body. A duration of 0 means infinity, and is not recommended.
+         */
+        Builder readTimeout(Duration readTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * Sets the HTTP protocol to use. HTTP/2 is negotiated with the server and the client falls back to HTTP/1.1 if the
+         * server does not support it. Defaults to HTTP/1.1.
+         */
+        Builder protocol(Protocol protocol);
+
+        /**
+         * The executor used by the JDK HTTP client for asynchronous tasks, including calls to the response handler. If not
+         * provided, the HTTP client creates its own thread pool.
+         *
+         * <p>The executor is not shut down when the SDK HTTP client is closed.</p>
+         */
+        Builder executor(Executor executor);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+        private Executor executor;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(READ_TIMEOUT, readTimeout);
+            return this;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            readTimeout(readTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public void setExecutor(Executor executor) {
+            executor(executor);
+        }
+
+        @Override
+        public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaAsyncHttpClient(standardOptions.build()
+                                                          .merge(serviceDefaults)
+                                                          .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS),
+                                           executor);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.AbortableCallable;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecuteRequest;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpFactory;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpHeaders;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * An implementation of {@link SdkHttpClient} that uses the {@link HttpClient} included in Java 11 and later. Unlike
+ * software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient it supports HTTP/2, while still having no dependencies
+ * outside of the JDK.
+ *
+ * <p>See software.amazon.awssdk.http.apache.ApacheHttpClient for an alternative implementation.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JavaHttpClient implements SdkHttpClient {
+
+    private final JavaNetHttpFactory factory;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+
+    private JavaHttpClient(AttributeMap options) {
+        this.factory = new JavaNetHttpFactory(options);
+        this.executor = factory.createDefaultExecutor();
+        this.httpClient = factory.createHttpClient(executor);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public AbortableCallable<SdkHttpFullResponse> prepareRequest(ExecuteRequest request) {
+        return new RequestCallable(createRequest(request.httpRequest()));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private HttpRequest createRequest(SdkHttpFullRequest request) {
+        HttpRequest.Builder builder = factory.requestBuilder(request);
+        HttpRequest.BodyPublisher bodyPublisher = request.contentStreamProvider().map(provider -> {
+            HttpRequest.BodyPublisher content = HttpRequest.BodyPublishers.ofInputStream(provider::newStream);
+            long contentLength = JavaNetHttpFactory.contentLength(request, Optional.empty());
+            return contentLength < 0 ? content : HttpRequest.BodyPublishers.fromPublisher(content, contentLength);
+        }).orElseGet(HttpRequest.BodyPublishers::noBody);
+        return builder.method(request.method().name(), bodyPublisher).build();
+    }
+
+    private final class RequestCallable implements AbortableCallable<SdkHttpFullResponse> {
+
+        private final HttpRequest request;
+        private volatile CompletableFuture<HttpResponse<InputStream>> responseFuture;
+        private volatile boolean aborted;
+
+        private RequestCallable(HttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public SdkHttpFullResponse call() throws Exception {
+            responseFuture = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (aborted) {
+                abort();
+            }
+
+            HttpResponse<InputStream> response;
+            try {
+                response = responseFuture.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+
+            return SdkHttpFullResponse.builder()
+                                      .statusCode(response.statusCode())
+                                      .content(AbortableInputStream.create(response.body(),
+                                                                           () -> IoUtils.closeQuietly(response.body(), null)))
+                                      .headers(new JavaNetHttpHeaders(response.headers()))
+                                      .build();
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            CompletableFuture<HttpResponse<InputStream>> future = responseFuture;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A builder for an instance of {@link SdkHttpClient} that uses the JDK's {@link HttpClient}. A builder can be created via
+     * {@link #builder()}.
+     *
+     * <pre class="brush: java">
+     * SdkHttpClient httpClient = JavaHttpClient.builder()
+     * .socketTimeout(Duration.ofSeconds(10))
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkHttpClient.Builder<JavaHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers after the request has been sent. The timeout does not cover
+         * reading the response body. A duration of 0 means infinity, and is not recommended.
+         */
+        Builder socketTimeout(Duration socketTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * Sets the HTTP protocol to use. HTTP/2 is negotiated with the server and the client falls back to HTTP/1.1 if the
+         * server does not support it. Defaults to HTTP/1.1.
+         */
+        Builder protocol(Protocol protocol);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder socketTimeout(Duration socketTimeout) {
+            standardOptions.put(READ_TIMEOUT, socketTimeout);
+            return this;
+        }
+
+        public void setSocketTimeout(Duration socketTimeout) {
+            socketTimeout(socketTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        /**
+         * Used by the SDK to create a {@link SdkHttpClient} with service-default values if no other values have been configured
+         *
+         * @param serviceDefaults Service specific defaults. Keys will be one of the constants defined in
+         * {@link SdkHttpConfigurationOption}.
+         * @return an instance of {@link SdkHttpClient}
+         */
+        @Override
+        public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaHttpClient(standardOptions.build()
+                                                     .merge(serviceDefaults)
+                                                     .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
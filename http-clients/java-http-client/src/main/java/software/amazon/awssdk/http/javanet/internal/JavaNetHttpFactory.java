@@ -0,0 +1,180 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
+
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Creates the {@link HttpClient} and {@link HttpRequest}s shared by the sync and async java.net.http based clients.
+ */
+@SdkInternalApi
+public final class JavaNetHttpFactory {
+
+    private static final Logger log = Logger.loggerFor(JavaNetHttpFactory.class);
+
+    /**
+     * Headers that {@link HttpRequest.Builder} refuses to set because the HTTP client manages them itself.
+     */
+    private static final Set<String> RESTRICTED_HEADERS;
+
+    static {
+        Set<String> restricted = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Collections.addAll(restricted, "Connection", "Content-Length", "Date", "Expect", "From", "Host", "Upgrade", "Via",
+                           "Warning");
+        RESTRICTED_HEADERS = Collections.unmodifiableSet(restricted);
+    }
+
+    private final AttributeMap options;
+
+    public JavaNetHttpFactory(AttributeMap options) {
+        this.options = options;
+    }
+
+    /**
+     * Creates the executor for an HTTP client that is not given one. Like the executor the JDK HTTP client would otherwise
+     * create, it is a cached pool of daemon threads, but the SDK client that owns it shuts it down when it is closed.
+     */
+    public ExecutorService createDefaultExecutor() {
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder().threadNamePrefix("sdk-java-http-client")
+                                                                       .daemonThreads(true)
+                                                                       .build());
+    }
+
+    public HttpClient createHttpClient(Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                               .followRedirects(HttpClient.Redirect.NEVER)
+                                               .version(options.get(PROTOCOL) == Protocol.HTTP2 ? HttpClient.Version.HTTP_2
+                                                                                                : HttpClient.Version.HTTP_1_1);
+        Duration connectionTimeout = options.get(CONNECTION_TIMEOUT);
+        if (!connectionTimeout.isZero()) {
+            builder.connectTimeout(connectionTimeout);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        if (options.get(TRUST_ALL_CERTIFICATES)) {
+            log.warn(() -> "SSL Certificate verification is disabled. This is not a safe setting and should only be "
+                           + "used for testing.");
+            builder.sslContext(trustAllSslContext());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a request builder with the URI, timeout and headers of the given request. The caller sets the method and body.
+     *
+     * <p>Headers the HTTP client manages itself are not copied. An {@code Expect: 100-continue} header is mapped to
+     * {@link HttpRequest.Builder#expectContinue(boolean)}.</p>
+     */
+    public HttpRequest.Builder requestBuilder(SdkHttpRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+        Duration readTimeout = options.get(READ_TIMEOUT);
+        if (!readTimeout.isZero()) {
+            builder.timeout(readTimeout);
+        }
+        request.headers().forEach((name, values) -> {
+            if ("Expect".equalsIgnoreCase(name)) {
+                builder.expectContinue(values.stream().anyMatch("100-continue"::equalsIgnoreCase));
+            } else if (!RESTRICTED_HEADERS.contains(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder;
+    }
+
+    /**
+     * @return The length of the request content, from the Content-Length header if there is one, or else from the content
+     * itself. -1 if the length is unknown.
+     */
+    public static long contentLength(SdkHttpRequest request, Optional<Long> contentLength) {
+        return request.firstMatchingHeader("Content-Length")
+                      .map(Long::parseLong)
+                      .orElseGet(() -> contentLength.orElse(-1L));
+    }
+
+    private static SSLContext trustAllSslContext() {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[] {new TrustAllManager()}, null);
+            return sslContext;
+        } catch (NoSuchAlgorithmException | KeyManagementException e) {
+            throw new IllegalStateException("Unable to create an SSL context that trusts all certificates.", e);
+        }
+    }
+
+    /**
+     * Insecure trust manager to trust all certs. Should only be used for testing. This is an
+     * {@link X509ExtendedTrustManager} because the JDK would otherwise wrap it and still verify the host name.
+     */
+    private static class TrustAllManager extends X509ExtendedTrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.function.BiConsumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.LazySdkHttpHeaders;
+
+/**
+ * {@link LazySdkHttpHeaders} backed by the {@link HttpHeaders} of a {@link java.net.http.HttpResponse}, which are already
+ * looked up case-insensitively.
+ */
+@SdkInternalApi
+public final class JavaNetHttpHeaders extends LazySdkHttpHeaders {
+
+    private final HttpHeaders headers;
+
+    public JavaNetHttpHeaders(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public List<String> matchingHeaders(String header) {
+        return headers.allValues(header);
+    }
+
+    @Override
+    protected void forEachHeader(BiConsumer<String, String> consumer) {
+        headers.map().forEach((name, values) -> values.forEach(value -> consumer.accept(name, value)));
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkCancellationException;
+
+/**
+ * Bridges the response body of a {@link java.net.http.HttpClient} exchange to the Reactive Streams {@link Publisher} handed
+ * to {@link software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler#onStream(Publisher)}.
+ *
+ * <p>The HTTP client delivers the body as lists of buffers. Only one list is requested from the HTTP client at a time, and
+ * only once the downstream subscriber has outstanding demand that can't be met from the buffers already received, so the
+ * body is read from the connection no faster than it is consumed.</p>
+ *
+ * <p>{@link #getBody()} completes once the body has been fully delivered to the downstream subscriber, or fails if the
+ * exchange fails or the subscriber cancels.</p>
+ *
+ * <p>{@link #abort(Throwable)} abandons the body from outside, e.g. when the request is cancelled.</p>
+ */
+@SdkInternalApi
+public final class ResponseBodyPublisher implements BodySubscriber<Void>, Publisher<ByteBuffer> {
+
+    private final CompletableFuture<Void> body = new CompletableFuture<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger drainWip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Subscriber<? super ByteBuffer> downstream;
+    private volatile boolean upstreamRequested;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+    private volatile Throwable downstreamError;
+    private volatile Throwable abortCause;
+
+    /**
+     * Only accessed from {@link #drain()}, which is never run concurrently.
+     */
+    private boolean terminated;
+    private boolean upstreamCancelled;
+    private Throwable terminalCause;
+
+    @Override
+    public CompletionStage<Void> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        buffers.addAll(items);
+        upstreamRequested = false;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The response body can only be subscribed to once."));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    downstreamError = new IllegalArgumentException("Demand must be positive, but was " + n);
+                } else {
+                    demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        drain();
+    }
+
+    /**
+     * Abandons the body unless it has already been fully delivered. The downstream subscriber is failed with the given cause,
+     * now or as soon as it subscribes, and the HTTP client's subscription is cancelled, which closes the HTTP/1.1 connection
+     * or resets the HTTP/2 stream.
+     */
+    public void abort(Throwable cause) {
+        abortCause = cause;
+        drain();
+    }
+
+    private void drain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (!terminated) {
+                drainOnce();
+            }
+            if (terminated) {
+                failLateSubscriber();
+                cancelUpstreamIfIncomplete();
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        Subscriber<? super ByteBuffer> subscriber = downstream;
+        Throwable abort = abortCause;
+        if (abort != null) {
+            // The subscriber, which may not have subscribed yet, is failed by failLateSubscriber.
+            terminated = true;
+            terminalCause = abort;
+            buffers.clear();
+            body.completeExceptionally(abort);
+            return;
+        }
+        if (cancelled) {
+            terminate(new SdkCancellationException("Subscriber cancelled before all events were delivered"));
+            return;
+        }
+        if (subscriber == null) {
+            return;
+        }
+        if (downstreamError != null) {
+            terminate(downstreamError);
+            subscriber.onError(downstreamError);
+            return;
+        }
+        while (demand.get() > 0 && !buffers.isEmpty()) {
+            demand.decrementAndGet();
+            subscriber.onNext(buffers.poll());
+            if (cancelled || downstreamError != null) {
+                // Handled on the next pass
+                return;
+            }
+        }
+        if (buffers.isEmpty()) {
+            if (upstreamDone) {
+                terminated = true;
+                if (upstreamError != null) {
+                    body.completeExceptionally(upstreamError);
+                    subscriber.onError(upstreamError);
+                } else {
+                    body.complete(null);
+                    subscriber.onComplete();
+                }
+            } else if (demand.get() > 0 && upstream != null && !upstreamRequested) {
+                upstreamRequested = true;
+                upstream.request(1);
+            }
+        }
+    }
+
+    private void terminate(Throwable cause) {
+        terminated = true;
+        downstream = null;
+        buffers.clear();
+        body.completeExceptionally(cause);
+    }
+
+    /**
+     * Fails the subscriber of an aborted body, including one that only subscribes after the abort. Subscribers of a body
+     * that terminated in any other way have already been signalled or have cancelled.
+     */
+    private void failLateSubscriber() {
+        Subscriber<? super ByteBuffer> subscriber = downstream;
+        if (terminalCause != null && subscriber != null) {
+            downstream = null;
+            subscriber.onError(terminalCause);
+        }
+    }
+
+    /**
+     * Cancels the HTTP client's subscription if the body was abandoned before it was fully received. The subscription may
+     * arrive after the downstream subscriber has already cancelled, so this is checked on every drain once terminated.
+     */
+    private void cancelUpstreamIfIncomplete() {
+        Flow.Subscription subscription = upstream;
+        if (!upstreamCancelled && subscription != null && !upstreamDone) {
+            upstreamCancelled = true;
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+/**
+ * Compares the {@link JavaAsyncHttpClient} against the {@link NettyNioAsyncHttpClient} when making requests to a local
+ * server with a 4 KB response body.
+ *
+ * <ul>
+ *     <li>{@link #coldStart()} measures creating a client in a fresh JVM and making its first request. Run it with many
+ *     forks, e.g. {@code -f 20}.</li>
+ *     <li>{@link #throughput()} measures requests per second over a warmed up client.</li>
+ * </ul>
+ *
+ * <p>The benchmarks are in the test sources, so they can be run with the JMH runner on the test classpath:</p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="AsyncHttpClientBenchmark -f 1"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+public class AsyncHttpClientBenchmark {
+
+    private static final String BODY = new String(new char[4 * 1024]).replace('\0', 'a');
+
+    @Param({"java", "netty"})
+    private String client;
+
+    private WireMockServer server;
+    private SdkHttpFullRequest request;
+    private SdkAsyncHttpClient warmClient;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+        server.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(BODY)));
+        request = SdkHttpFullRequest.builder()
+                                    .uri(URI.create("http://localhost:" + server.port()))
+                                    .method(SdkHttpMethod.GET)
+                                    .build();
+        warmClient = createClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        warmClient.close();
+        server.stop();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void coldStart() {
+        SdkAsyncHttpClient coldClient = createClient();
+        try {
+            makeRequest(coldClient);
+        } finally {
+            coldClient.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput() {
+        makeRequest(warmClient);
+    }
+
+    private SdkAsyncHttpClient createClient() {
+        return "java".equals(client) ? JavaAsyncHttpClient.builder().build() : NettyNioAsyncHttpClient.builder().build();
+    }
+
+    private void makeRequest(SdkAsyncHttpClient httpClient) {
+        CompletableFuture<Void> bodyFuture = new CompletableFuture<>();
+        httpClient.execute(AsyncExecuteRequest.builder()
+                                              .request(request)
+                                              .requestContentPublisher(new EmptyContentPublisher())
+                                              .responseHandler(new DiscardingResponseHandler(bodyFuture))
+                                              .build());
+        bodyFuture.join();
+    }
+
+    private static final class EmptyContentPublisher implements SdkHttpContentPublisher {
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of(0L);
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onComplete();
+        }
+    }
+
+    private static final class DiscardingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<Void> bodyFuture;
+
+        private DiscardingResponseHandler(CompletableFuture<Void> bodyFuture) {
+            this.bodyFuture = bodyFuture;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new SimpleSubscriber(buffer -> { }) {
+                @Override
+                public void onError(Throwable t) {
+                    bodyFuture.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    bodyFuture.complete(null);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            bodyFuture.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+public class JavaAsyncHttpClientWireMockTest {
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private static SdkAsyncHttpClient client = JavaAsyncHttpClient.builder().build();
+
+    @AfterClass
+    public static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void canSendContentWithKnownLength() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200)
+                                                               .withHeader("Some-Header", "With Value")
+                                                               .withBody("hello")));
+
+        RecordingResponseHandler handler = execute(client, "Body", Optional.of(4L));
+
+        assertThat(handler.completeFuture.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(handler.response.statusCode()).isEqualTo(200);
+        assertThat(handler.response.firstMatchingHeader("some-header")).contains("With Value");
+        assertThat(handler.body.toString()).isEqualTo("hello");
+        verify(postRequestedFor(urlPathEqualTo("/")).withHeader("Content-Length", equalTo("4"))
+                                                    .withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void canSendContentWithUnknownLength() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("hello")));
+
+        RecordingResponseHandler handler = execute(client, "Body", Optional.empty());
+
+        handler.completeFuture.get(5, TimeUnit.SECONDS);
+        assertThat(handler.body.toString()).isEqualTo("hello");
+        verify(postRequestedFor(urlPathEqualTo("/")).withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void errorResponseBodyIsDelivered() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(500).withBody("oops")));
+
+        RecordingResponseHandler handler = execute(client, "Body", Optional.of(4L));
+
+        handler.completeFuture.get(5, TimeUnit.SECONDS);
+        assertThat(handler.response.statusCode()).isEqualTo(500);
+        assertThat(handler.body.toString()).isEqualTo("oops");
+    }
+
+    @Test
+    public void readTimeoutFailsRequest() throws Exception {
+        SdkAsyncHttpClient timingOutClient = JavaAsyncHttpClient.builder()
+                                                                .readTimeout(Duration.ofMillis(100))
+                                                                .build();
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withFixedDelay(2_000)));
+
+        RecordingResponseHandler handler = execute(timingOutClient, "Body", Optional.of(4L));
+
+        assertThatThrownBy(() -> handler.completeFuture.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(HttpTimeoutException.class);
+        timingOutClient.close();
+    }
+
+    @Test
+    public void cancellingBodySubscriptionFailsExecution() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(new String(new char[64 * 1024]))));
+
+        CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+        SdkAsyncHttpResponseHandler handler = new SdkAsyncHttpResponseHandler() {
+            @Override
+            public void onHeaders(SdkHttpResponse headers) {
+            }
+
+            @Override
+            public void onStream(Publisher<ByteBuffer> stream) {
+                stream.subscribe(new Subscriber<ByteBuffer>() {
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        s.cancel();
+                    }
+
+                    @Override
+                    public void onNext(ByteBuffer byteBuffer) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                executeFuture.completeExceptionally(error);
+            }
+        };
+
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(createRequest(Optional.empty()))
+                                          .requestContentPublisher(createProvider("", Optional.of(0L)))
+                                          .responseHandler(handler)
+                                          .build());
+
+        assertThatThrownBy(() -> executeFuture.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(SdkCancellationException.class);
+    }
+
+    private RecordingResponseHandler execute(SdkAsyncHttpClient client, String body, Optional<Long> contentLength) {
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(createRequest(contentLength))
+                                          .requestContentPublisher(createProvider(body, contentLength))
+                                          .responseHandler(handler)
+                                          .build());
+        return handler;
+    }
+
+    private SdkHttpFullRequest createRequest(Optional<Long> contentLength) {
+        SdkHttpFullRequest.Builder builder = SdkHttpFullRequest.builder()
+                                                               .uri(URI.create("http://localhost:" + mockServer.port()))
+                                                               .method(SdkHttpMethod.POST);
+        contentLength.ifPresent(length -> builder.putHeader("Content-Length", String.valueOf(length)));
+        return builder.build();
+    }
+
+    /**
+     * Publishes the body one byte at a time, so the request body is only complete if demand is passed through correctly.
+     */
+    private static SdkHttpContentPublisher createProvider(String body, Optional<Long> contentLength) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (byte b : body.getBytes(UTF_8)) {
+            chunks.add(ByteBuffer.wrap(new byte[] {b}));
+        }
+        return new SdkHttpContentPublisher() {
+            @Override
+            public Optional<Long> contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> s) {
+                s.onSubscribe(new Subscription() {
+                    private int next = 0;
+                    private boolean done = false;
+
+                    @Override
+                    public synchronized void request(long n) {
+                        for (long i = 0; i < n && next < chunks.size(); i++) {
+                            s.onNext(chunks.get(next++).duplicate());
+                        }
+                        if (next == chunks.size() && !done) {
+                            done = true;
+                            s.onComplete();
+                        }
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+            }
+        };
+    }
+
+    private static final class RecordingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<Void> completeFuture = new CompletableFuture<>();
+        private final StringBuffer body = new StringBuffer();
+        private volatile SdkHttpResponse response;
+
+        @Override
+        public void onHeaders(SdkHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new SimpleSubscriber(buffer -> body.append(UTF_8.decode(buffer))) {
+                @Override
+                public void onError(Throwable t) {
+                    completeFuture.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    completeFuture.complete(null);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            completeFuture.completeExceptionally(error);
+        }
+    }
+}
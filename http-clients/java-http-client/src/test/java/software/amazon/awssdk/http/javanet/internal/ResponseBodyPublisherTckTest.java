@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.Flow;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+
+/**
+ * TCK verification test for {@link ResponseBodyPublisher}.
+ */
+public class ResponseBodyPublisherTckTest extends PublisherVerification<ByteBuffer> {
+
+    public ResponseBodyPublisherTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1024;
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createPublisher(long elements) {
+        ResponseBodyPublisher publisher = new ResponseBodyPublisher();
+        publisher.onSubscribe(new Flow.Subscription() {
+            private long delivered = 0;
+            private boolean done = false;
+
+            @Override
+            public synchronized void request(long n) {
+                // The HTTP client delivers each body chunk as a list of buffers.
+                if (delivered < elements) {
+                    delivered++;
+                    publisher.onNext(Collections.singletonList(ByteBuffer.allocate(1)));
+                }
+                if (delivered == elements && !done) {
+                    done = true;
+                    publisher.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        if (elements == 0) {
+            publisher.onComplete();
+        }
+        return publisher;
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createFailedPublisher() {
+        ResponseBodyPublisher publisher = new ResponseBodyPublisher();
+        publisher.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        publisher.onError(new RuntimeException("Connection reset"));
+        return publisher;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Strategy used by {@link NettyNioAsyncHttpClient} to choose which resolved IP address a new connection is opened to
+ * when a host resolves to more than one address.
+ *
+ * @see NettyNioAsyncHttpClient.Builder#connectionSpreadingStrategy(ConnectionSpreadingStrategy)
+ */
+@SdkPublicApi
+public enum ConnectionSpreadingStrategy {
+
+    /**
+     * Cycle through the resolved addresses in turn for each new connection.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Open each new connection to the resolved address that currently has the fewest open connections.
+     */
+    LEAST_LOADED
+}
@@ -16,7 +16,9 @@
 package software.amazon.awssdk.http.nio.netty;
 
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_CONNECTIONS;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
@@ -25,9 +27,10 @@ import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
-import io.netty.channel.pool.ChannelPoolMap;
+import io.netty.channel.pool.SimpleChannelPool;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -35,18 +38,24 @@ import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import java.net.URI;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.ConnectionPoolListener;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.RequestPriority;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.internal.ChannelPipelineInitializer;
+import software.amazon.awssdk.http.nio.netty.internal.ExpiringChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.HandlerRemovingChannelPool;
+import software.amazon.awssdk.http.nio.netty.internal.ListenerNotifyingChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.NettyRequestExecutor;
 import software.amazon.awssdk.http.nio.netty.internal.NonManagedEventLoopGroup;
@@ -55,9 +64,12 @@ import software.amazon.awssdk.http.nio.netty.internal.RequestContext;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelOptions;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
 import software.amazon.awssdk.http.nio.netty.internal.SharedSdkEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.internal.dns.CachingDnsResolver;
+import software.amazon.awssdk.http.nio.netty.internal.dns.DnsAwareChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpOrHttp2ChannelPool;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Either;
+import software.amazon.awssdk.utils.Lazy;
 import software.amazon.awssdk.utils.Validate;
 
 /**
@@ -67,18 +79,35 @@ import software.amazon.awssdk.utils.Validate;
  */
 @SdkPublicApi
 public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
+    private static final Duration DEFAULT_DNS_CACHE_TTL = Duration.ofSeconds(30);
+
     private final SdkEventLoopGroup sdkEventLoopGroup;
-    private final ChannelPoolMap<URI, ChannelPool> pools;
+    private final SdkChannelPoolMap<URI, ChannelPool> pools;
     private final SdkChannelOptions sdkChannelOptions;
     private final NettyConfiguration configuration;
+
+    /**
+     * SSL contexts are expensive to create, since they load the trust store, so this client only creates one when its first
+     * HTTPS connection pool needs it.
+     */
+    private final Lazy<SslContext> sslContext;
     private final long maxStreams;
+    private final CachingDnsResolver dnsResolver;
+    private final ConnectionSpreadingStrategy connectionSpreadingStrategy;
+    private final ConnectionPoolListener connectionPoolListener;
     private Protocol protocol;
 
     NettyNioAsyncHttpClient(DefaultBuilder builder, AttributeMap serviceDefaultsMap) {
-        this.configuration = new NettyConfiguration(serviceDefaultsMap);
+        this.configuration = new NettyConfiguration(serviceDefaultsMap, builder.maxPendingConnectionAcquiresPerPriority);
+        this.sslContext = new Lazy<>(() -> createSslContext(configuration.trustAllCertificates()
+                                                            ? InsecureTrustManagerFactory.INSTANCE
+                                                            : null));
         this.protocol = serviceDefaultsMap.get(SdkHttpConfigurationOption.PROTOCOL);
         this.maxStreams = builder.maxHttp2Streams == null ? Integer.MAX_VALUE : builder.maxHttp2Streams;
         this.sdkEventLoopGroup = eventLoopGroup(builder);
+        this.dnsResolver = dnsResolver(builder);
+        this.connectionSpreadingStrategy = connectionSpreadingStrategy(builder);
+        this.connectionPoolListener = builder.connectionPoolListener;
         this.pools = createChannelPoolMap();
         this.sdkChannelOptions = channelOptions(builder);
     }
@@ -99,7 +128,7 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
 
     private RequestContext createRequestContext(AsyncExecuteRequest request) {
         ChannelPool pool = pools.get(poolKey(request.request()));
-        return new RequestContext(pool, request, configuration);
+        return new RequestContext(pool, sdkEventLoopGroup.eventLoopGroup(), request, configuration);
     }
 
     private SdkEventLoopGroup eventLoopGroup(DefaultBuilder builder) {
@@ -110,6 +139,18 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                 .orElseGet(SharedSdkEventLoopGroup::get);
     }
 
+    private CachingDnsResolver dnsResolver(DefaultBuilder builder) {
+        if (builder.dnsResolver == null && builder.connectionSpreadingStrategy == null) {
+            return null;
+        }
+        return new CachingDnsResolver(Validate.getOrDefault(builder.dnsResolver, SdkDnsResolver::jvmResolver),
+                                      Validate.getOrDefault(builder.dnsCacheTtl, () -> DEFAULT_DNS_CACHE_TTL));
+    }
+
+    private ConnectionSpreadingStrategy connectionSpreadingStrategy(DefaultBuilder builder) {
+        return Validate.getOrDefault(builder.connectionSpreadingStrategy, () -> ConnectionSpreadingStrategy.ROUND_ROBIN);
+    }
+
     private static URI poolKey(SdkHttpRequest sdkRequest) {
         return invokeSafely(() -> new URI(sdkRequest.protocol(), null, sdkRequest.host(),
                                           sdkRequest.port(), null, null, null));
@@ -119,22 +160,22 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         if (!protocol.equalsIgnoreCase("https")) {
             return null;
         }
+        return sslContext.getValue();
+    }
+
+    private static SslContext createSslContext(TrustManagerFactory trustManagerFactory) {
         try {
             return SslContextBuilder.forClient()
                                     .sslProvider(SslContext.defaultClientProvider())
                                     .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
-                                    .trustManager(getTrustManager())
+                                    .trustManager(trustManagerFactory)
                                     .build();
         } catch (SSLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private TrustManagerFactory getTrustManager() {
-        return configuration.trustAllCertificates() ? InsecureTrustManagerFactory.INSTANCE : null;
-    }
-
-    private ChannelPoolMap<URI, ChannelPool> createChannelPoolMap() {
+    private SdkChannelPoolMap<URI, ChannelPool> createChannelPoolMap() {
         return new SdkChannelPoolMap<URI, ChannelPool>() {
             @Override
             protected ChannelPool newPool(URI key) {
@@ -150,15 +191,35 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                 AtomicReference<ChannelPool> channelPoolRef = new AtomicReference<>();
                 ChannelPipelineInitializer handler =
                     new ChannelPipelineInitializer(protocol, sslContext, maxStreams, channelPoolRef);
-                channelPoolRef.set(new ReleaseOnceChannelPool(
-                    new HandlerRemovingChannelPool(
-                        new HttpOrHttp2ChannelPool(bootstrap, handler,
-                                                   configuration.maxConnections(), configuration))));
+                EventLoop eventLoop = bootstrap.config().group().next();
+                ChannelPool pool = new HandlerRemovingChannelPool(
+                    new HttpOrHttp2ChannelPool(connectionPool(key, bootstrap, handler, eventLoop),
+                                               eventLoop,
+                                               configuration.maxConnections(), configuration));
+                if (connectionPoolListener != null) {
+                    pool = new ListenerNotifyingChannelPool(pool, key.toString(), connectionPoolListener);
+                }
+                channelPoolRef.set(new ReleaseOnceChannelPool(pool));
                 return channelPoolRef.get();
             }
         };
     }
 
+    private ChannelPool connectionPool(URI key,
+                                       Bootstrap bootstrap,
+                                       ChannelPipelineInitializer handler,
+                                       EventLoop eventLoop) {
+        SimpleChannelPool connectionPool;
+        if (dnsResolver == null) {
+            connectionPool = new SimpleChannelPool(bootstrap, handler);
+        } else {
+            connectionPool = new DnsAwareChannelPool(bootstrap, handler, key.getHost(), key.getPort(), dnsResolver,
+                                                     connectionSpreadingStrategy);
+        }
+        return new ExpiringChannelPool(connectionPool, eventLoop, configuration.idleTimeoutNanos(),
+                                       configuration.connectionTtlNanos());
+    }
+
     private SdkEventLoopGroup nonManagedEventLoopGroup(SdkEventLoopGroup eventLoopGroup) {
         return SdkEventLoopGroup.create(new NonManagedEventLoopGroup(eventLoopGroup.eventLoopGroup()),
                                         eventLoopGroup.channelFactory());
@@ -166,6 +227,8 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
 
     @Override
     public void close() {
+        // Closing the pools cancels their idle sweeps, which would otherwise outlive a shared event loop group.
+        pools.close();
         sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
     }
 
@@ -199,6 +262,18 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder maxPendingConnectionAcquires(Integer maxPendingAcquires);
 
+        /**
+         * The maximum number of pending acquires allowed for requests of the given {@link RequestPriority} (see
+         * {@link AsyncExecuteRequest#priority()}). Requests waiting for a connection are queued per priority and served
+         * in a weighted fair order, so a flood of low priority requests cannot fill the queue and delay high priority ones.
+         * Priorities without a limit of their own are only bounded by {@link #maxPendingConnectionAcquires(Integer)}.
+         *
+         * @param priority Priority the limit applies to.
+         * @param maxPendingAcquires Max number of pending acquires for that priority.
+         * @return This builder for method chaining.
+         */
+        Builder maxPendingConnectionAcquires(RequestPriority priority, Integer maxPendingAcquires);
+
         /**
          * The amount of time to wait for a read on a socket before an exception is thrown.
          *
@@ -230,6 +305,27 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout);
 
+        /**
+         * The maximum amount of time that a connection should be allowed to remain open while idle. Idle connections are
+         * closed when they are next acquired or by a periodic sweep on the event loop, whichever happens first. Defaults to
+         * 60 seconds. A value of zero disables idle expiry.
+         *
+         * @param maxIdleConnectionTimeout the timeout duration
+         * @return this builder for method chaining.
+         */
+        Builder connectionMaxIdleTime(Duration maxIdleConnectionTimeout);
+
+        /**
+         * The maximum amount of time that a connection should be allowed to remain open, regardless of usage frequency.
+         * Connections that exceed this age are closed when they are returned to the pool rather than reused, which lets
+         * traffic to a load balanced endpoint rebalance over time. Defaults to zero, meaning connections have no maximum
+         * age.
+         *
+         * @param connectionTimeToLive the time to live duration
+         * @return this builder for method chaining.
+         */
+        Builder connectionTimeToLive(Duration connectionTimeToLive);
+
         /**
          * Sets the {@link SdkEventLoopGroup} to use for the Netty HTTP client. This event loop group may be shared
          * across multiple HTTP clients for better resource and thread utilization. The preferred way to create
@@ -297,6 +393,52 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          * @return This builder for method chaining.
          */
         Builder maxHttp2Streams(Integer maxHttp2Streams);
+
+        /**
+         * Sets the {@link SdkDnsResolver} used to resolve service host names. Resolved addresses are cached for
+         * {@link #dnsCacheTtl(Duration)} and new connections are spread across all of them according to
+         * {@link #connectionSpreadingStrategy(ConnectionSpreadingStrategy)}. Connections to addresses that are no longer
+         * returned by the resolver are closed gradually as they are returned to the connection pool.
+         *
+         * <p>By default the client lets Netty connect to the first address returned by the JVM. Setting either this or
+         * {@link #connectionSpreadingStrategy(ConnectionSpreadingStrategy)} enables DNS-aware connection spreading, using
+         * {@link SdkDnsResolver#jvmResolver()} if no resolver is configured.</p>
+         *
+         * @param dnsResolver Resolver to use.
+         * @return This builder for method chaining.
+         */
+        Builder dnsResolver(SdkDnsResolver dnsResolver);
+
+        /**
+         * Sets how long resolved addresses are cached before the {@link #dnsResolver(SdkDnsResolver)} is consulted again.
+         * Stale addresses continue to be used while the refresh is in progress. Defaults to 30 seconds. Only used when
+         * DNS-aware connection spreading is enabled.
+         *
+         * @param dnsCacheTtl Time to cache resolved addresses for.
+         * @return This builder for method chaining.
+         */
+        Builder dnsCacheTtl(Duration dnsCacheTtl);
+
+        /**
+         * Sets the {@link ConnectionSpreadingStrategy} used to choose the address a new connection is opened to when a host
+         * resolves to several addresses. Setting a strategy enables DNS-aware connection spreading (see
+         * {@link #dnsResolver(SdkDnsResolver)}). Defaults to {@link ConnectionSpreadingStrategy#ROUND_ROBIN} when DNS-aware
+         * connection spreading is enabled.
+         *
+         * @param connectionSpreadingStrategy Strategy to use.
+         * @return This builder for method chaining.
+         */
+        Builder connectionSpreadingStrategy(ConnectionSpreadingStrategy connectionSpreadingStrategy);
+
+        /**
+         * Sets a listener that is notified of connection pool events, such as how long each request waited to acquire a
+         * connection. See {@link software.amazon.awssdk.http.ConnectionPoolMetrics} for a listener that aggregates the events
+         * into per-route statistics. Events are delivered on the event loop and the listener must not block.
+         *
+         * @param connectionPoolListener Listener to notify.
+         * @return This builder for method chaining.
+         */
+        Builder connectionPoolListener(ConnectionPoolListener connectionPoolListener);
     }
 
     /**
@@ -312,6 +454,12 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         private SdkEventLoopGroup eventLoopGroup;
         private SdkEventLoopGroup.Builder eventLoopGroupBuilder;
         private Integer maxHttp2Streams;
+        private SdkDnsResolver dnsResolver;
+        private Duration dnsCacheTtl;
+        private ConnectionSpreadingStrategy connectionSpreadingStrategy;
+        private ConnectionPoolListener connectionPoolListener;
+        private final Map<RequestPriority, Integer> maxPendingConnectionAcquiresPerPriority =
+            new EnumMap<>(RequestPriority.class);
 
         private DefaultBuilder() {
         }
@@ -348,6 +496,18 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             maxPendingConnectionAcquires(maxPendingAcquires);
         }
 
+        @Override
+        public Builder maxPendingConnectionAcquires(RequestPriority priority, Integer maxPendingAcquires) {
+            Validate.paramNotNull(priority, "priority");
+            if (maxPendingAcquires == null) {
+                maxPendingConnectionAcquiresPerPriority.remove(priority);
+            } else {
+                Validate.isPositive(maxPendingAcquires, "maxPendingAcquires");
+                maxPendingConnectionAcquiresPerPriority.put(priority, maxPendingAcquires);
+            }
+            return this;
+        }
+
         /**
          * The amount of time to wait for a read on a socket before an exception is thrown.
          *
@@ -415,6 +575,28 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             connectionAcquisitionTimeout(connectionAcquisitionTimeout);
         }
 
+        @Override
+        public Builder connectionMaxIdleTime(Duration maxIdleConnectionTimeout) {
+            Validate.isNotNegative(maxIdleConnectionTimeout, "connectionMaxIdleTime");
+            standardOptions.put(CONNECTION_MAX_IDLE_TIMEOUT, maxIdleConnectionTimeout);
+            return this;
+        }
+
+        public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) {
+            connectionMaxIdleTime(connectionMaxIdleTime);
+        }
+
+        @Override
+        public Builder connectionTimeToLive(Duration connectionTimeToLive) {
+            Validate.isNotNegative(connectionTimeToLive, "connectionTimeToLive");
+            standardOptions.put(CONNECTION_TIME_TO_LIVE, connectionTimeToLive);
+            return this;
+        }
+
+        public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+            connectionTimeToLive(connectionTimeToLive);
+        }
+
         @Override
         public Builder eventLoopGroup(SdkEventLoopGroup eventLoopGroup) {
             this.eventLoopGroup = eventLoopGroup;
@@ -461,6 +643,47 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             maxHttp2Streams(maxHttp2Streams);
         }
 
+        @Override
+        public Builder dnsResolver(SdkDnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
+        public void setDnsResolver(SdkDnsResolver dnsResolver) {
+            dnsResolver(dnsResolver);
+        }
+
+        @Override
+        public Builder dnsCacheTtl(Duration dnsCacheTtl) {
+            Validate.isNotNegative(dnsCacheTtl, "dnsCacheTtl");
+            this.dnsCacheTtl = dnsCacheTtl;
+            return this;
+        }
+
+        public void setDnsCacheTtl(Duration dnsCacheTtl) {
+            dnsCacheTtl(dnsCacheTtl);
+        }
+
+        @Override
+        public Builder connectionSpreadingStrategy(ConnectionSpreadingStrategy connectionSpreadingStrategy) {
+            this.connectionSpreadingStrategy = connectionSpreadingStrategy;
+            return this;
+        }
+
+        public void setConnectionSpreadingStrategy(ConnectionSpreadingStrategy connectionSpreadingStrategy) {
+            connectionSpreadingStrategy(connectionSpreadingStrategy);
+        }
+
+        @Override
+        public Builder connectionPoolListener(ConnectionPoolListener connectionPoolListener) {
+            this.connectionPoolListener = connectionPoolListener;
+            return this;
+        }
+
+        public void setConnectionPoolListener(ConnectionPoolListener connectionPoolListener) {
+            connectionPoolListener(connectionPoolListener);
+        }
+
         @Override
         public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             return new NettyNioAsyncHttpClient(this, standardOptions.build()
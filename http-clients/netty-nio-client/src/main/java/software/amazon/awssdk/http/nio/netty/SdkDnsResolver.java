@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Resolves a host name to all of its IP addresses for {@link NettyNioAsyncHttpClient}.
+ *
+ * <p>When configured via {@link NettyNioAsyncHttpClient.Builder#dnsResolver(SdkDnsResolver)}, the client caches the
+ * resolved addresses for {@link NettyNioAsyncHttpClient.Builder#dnsCacheTtl(java.time.Duration)} and spreads new
+ * connections across every returned address according to the configured {@link ConnectionSpreadingStrategy}.</p>
+ *
+ * <p>Implementations should not block the calling thread, which may be an event loop thread. Use
+ * {@link #jvmResolver()} to resolve through the JVM's {@link InetAddress} machinery.</p>
+ */
+@SdkPublicApi
+@FunctionalInterface
+public interface SdkDnsResolver {
+
+    /**
+     * Resolve all IP addresses for the given host.
+     *
+     * @param host Host name to resolve.
+     * @return Future completed with the non-empty list of addresses for the host, or completed exceptionally if the host
+     * could not be resolved.
+     */
+    CompletableFuture<List<InetAddress>> resolve(String host);
+
+    /**
+     * A resolver that uses {@link InetAddress#getAllByName(String)}. Like Netty's default resolver, this resolves
+     * synchronously on the calling thread and is subject to the JVM's own DNS cache (see the
+     * {@code networkaddress.cache.ttl} security property).
+     *
+     * @return A resolver backed by the JVM's name service.
+     */
+    static SdkDnsResolver jvmResolver() {
+        return host -> {
+            CompletableFuture<List<InetAddress>> future = new CompletableFuture<>();
+            try {
+                future.complete(Arrays.asList(InetAddress.getAllByName(host)));
+            } catch (UnknownHostException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        };
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Wrapper around the pool of socket channels that enforces a maximum idle time and a maximum lifetime for connections.
+ *
+ * <p>Expiry is checked at acquire time, when an expired idle channel is closed and another one acquired in its place,
+ * and at release time, when a channel that has outlived its time to live is closed instead of being returned to the
+ * pool. A periodic sweep scheduled on the pool's event loop closes idle channels that expire while nobody is
+ * acquiring, so sockets are not left open for NAT gateways and load balancers to silently drop.</p>
+ */
+@SdkInternalApi
+public class ExpiringChannelPool implements ChannelPool {
+
+    private static final AttributeKey<Long> CREATED_NANOS = AttributeKey.newInstance("connectionCreatedNanos");
+
+    private final ChannelPool delegate;
+    private final EventLoop eventLoop;
+    private final long idleTimeoutNanos;
+    private final long timeToLiveNanos;
+
+    /**
+     * Channels currently sitting idle in the delegate pool, mapped to the time they were released.
+     */
+    private final ConcurrentMap<Channel, Long> idleChannels = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> sweepTask;
+
+    /**
+     * @param delegate Pool of socket channels.
+     * @param eventLoop Event loop to run the idle sweep in.
+     * @param idleTimeoutNanos Max time a channel may sit idle, or zero to disable.
+     * @param timeToLiveNanos Max time a channel may remain open, or zero to disable.
+     */
+    public ExpiringChannelPool(ChannelPool delegate, EventLoop eventLoop, long idleTimeoutNanos, long timeToLiveNanos) {
+        this.delegate = delegate;
+        this.eventLoop = eventLoop;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.sweepTask = scheduleSweep();
+    }
+
+    private ScheduledFuture<?> scheduleSweep() {
+        long period = idleTimeoutNanos <= 0 ? timeToLiveNanos
+                                            : timeToLiveNanos <= 0 ? idleTimeoutNanos
+                                                                   : Math.min(idleTimeoutNanos, timeToLiveNanos);
+        if (period <= 0) {
+            return null;
+        }
+        return eventLoop.scheduleAtFixedRate(this::closeExpiredIdleChannels, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(eventLoop.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        // Complete the delegate's promise on our event loop so this never interleaves with the idle sweep.
+        delegate.acquire(eventLoop.newPromise()).addListener((GenericFutureListener<Future<Channel>>) future -> {
+            if (!future.isSuccess()) {
+                promise.tryFailure(future.cause());
+                return;
+            }
+            Channel channel = future.getNow();
+            long now = System.nanoTime();
+            Long idleSince = idleChannels.remove(channel);
+            if (isExpired(channel, idleSince, now)) {
+                // Acquire again, the delegate will hand out the next idle channel or establish a new connection.
+                closeAndRelease(channel);
+                acquire(promise);
+                return;
+            }
+            trackIfNew(channel, now);
+            if (!promise.trySuccess(channel)) {
+                // Acquire was cancelled, give the channel back.
+                release(channel);
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, channel.eventLoop().newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        long now = System.nanoTime();
+        if (isExpired(channel, null, now)) {
+            channel.close().addListener(f -> delegate.release(channel, promise));
+            return promise;
+        }
+        // Track the channel as idle before it's handed back, otherwise it could be acquired again before we get to it.
+        if (channel.isActive()) {
+            idleChannels.put(channel, now);
+        }
+        delegate.release(channel).addListener(future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess(null);
+            } else {
+                idleChannels.remove(channel);
+                promise.tryFailure(future.cause());
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        if (sweepTask != null) {
+            sweepTask.cancel(false);
+        }
+        idleChannels.clear();
+        delegate.close();
+    }
+
+    /**
+     * @return The number of channels currently idle in the pool. Visible for testing.
+     */
+    int idleChannelCount() {
+        return idleChannels.size();
+    }
+
+    private void closeExpiredIdleChannels() {
+        long now = System.nanoTime();
+        for (Map.Entry<Channel, Long> idle : idleChannels.entrySet()) {
+            // The entry is removed when the close completes. Closed channels left in the delegate are discarded by its
+            // health check when they are next polled.
+            if (isExpired(idle.getKey(), idle.getValue(), now)) {
+                idle.getKey().close();
+            }
+        }
+    }
+
+    private boolean isExpired(Channel channel, Long idleSince, long now) {
+        if (idleSince != null && idleTimeoutNanos > 0 && now - idleSince > idleTimeoutNanos) {
+            return true;
+        }
+        Long createdNanos = channel.attr(CREATED_NANOS).get();
+        return createdNanos != null && timeToLiveNanos > 0 && now - createdNanos > timeToLiveNanos;
+    }
+
+    private void trackIfNew(Channel channel, long now) {
+        if (channel.attr(CREATED_NANOS).setIfAbsent(now) == null) {
+            channel.closeFuture().addListener(f -> idleChannels.remove(channel));
+        }
+    }
+
+    private void closeAndRelease(Channel channel) {
+        channel.close().addListener(f -> delegate.release(channel));
+    }
+}
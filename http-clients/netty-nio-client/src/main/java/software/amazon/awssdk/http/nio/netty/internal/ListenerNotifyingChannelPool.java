@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolListener;
+
+/**
+ * Wrapper around a {@link ChannelPool} that reports leases and connections to a {@link ConnectionPoolListener}.
+ *
+ * <p>Acquires are timed from the call to {@link #acquire(Promise)}, so for a new connection the lease wait time includes
+ * establishing the connection. A connection is reported as created when it is first leased, and as closed when its channel
+ * closes. For HTTP/2 each leased stream is reported as a lease of its parent connection.</p>
+ */
+@SdkInternalApi
+public class ListenerNotifyingChannelPool implements ChannelPool {
+
+    private static final AttributeKey<Boolean> LEASED = AttributeKey.newInstance("connectionPoolListenerLeased");
+    private static final AttributeKey<Boolean> CONNECTION_REPORTED =
+        AttributeKey.newInstance("connectionPoolListenerConnectionReported");
+
+    private final ChannelPool delegate;
+    private final String route;
+    private final ConnectionPoolListener listener;
+
+    public ListenerNotifyingChannelPool(ChannelPool delegate, String route, ConnectionPoolListener listener) {
+        this.delegate = delegate;
+        this.route = route;
+        this.listener = listener;
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        long start = leaseRequested();
+        return delegate.acquire().addListener(future -> onAcquire(future, start));
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        long start = leaseRequested();
+        return delegate.acquire(promise).addListener(future -> onAcquire(future, start));
+    }
+
+    private long leaseRequested() {
+        listener.leaseRequested(route);
+        return System.nanoTime();
+    }
+
+    private void onAcquire(Future<?> future, long start) {
+        Duration leaseWaitTime = Duration.ofNanos(System.nanoTime() - start);
+        if (!future.isSuccess()) {
+            listener.leaseFailed(route, leaseWaitTime, future.cause());
+            return;
+        }
+        Channel channel = (Channel) future.getNow();
+        reportConnection(channel.parent() == null ? channel : channel.parent());
+        channel.attr(LEASED).set(Boolean.TRUE);
+        listener.leaseAcquired(route, leaseWaitTime);
+    }
+
+    private void reportConnection(Channel connection) {
+        if (connection.attr(CONNECTION_REPORTED).setIfAbsent(Boolean.TRUE) == null) {
+            listener.connectionCreated(route);
+            connection.closeFuture().addListener(f -> listener.connectionClosed(route));
+        }
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        leaseReleased(channel);
+        return delegate.release(channel);
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        leaseReleased(channel);
+        return delegate.release(channel, promise);
+    }
+
+    private void leaseReleased(Channel channel) {
+        // Channels that were not leased through this pool, e.g. an HTTP/2 parent connection, are not reported.
+        if (channel.attr(LEASED).getAndSet(null) != null) {
+            listener.leaseReleased(route);
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -16,13 +16,19 @@
 package software.amazon.awssdk.http.nio.netty.internal;
 
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_CONNECTIONS;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.RequestPriority;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.utils.AttributeMap;
 
@@ -32,9 +38,19 @@ import software.amazon.awssdk.utils.AttributeMap;
 @SdkInternalApi
 public final class NettyConfiguration {
     private final AttributeMap configuration;
+    private final Map<RequestPriority, Integer> maxPendingConnectionAcquiresPerPriority;
 
     public NettyConfiguration(AttributeMap configuration) {
+        this(configuration, Collections.emptyMap());
+    }
+
+    public NettyConfiguration(AttributeMap configuration,
+                              Map<RequestPriority, Integer> maxPendingConnectionAcquiresPerPriority) {
         this.configuration = configuration;
+        this.maxPendingConnectionAcquiresPerPriority = maxPendingConnectionAcquiresPerPriority.isEmpty()
+                                                       ? Collections.emptyMap()
+                                                       : Collections.unmodifiableMap(
+                                                           new EnumMap<>(maxPendingConnectionAcquiresPerPriority));
     }
 
     public <T> T attribute(AttributeMap.Key<T> key) {
@@ -49,6 +65,14 @@ public final class NettyConfiguration {
         return saturatedCast(configuration.get(CONNECTION_ACQUIRE_TIMEOUT).toMillis());
     }
 
+    public long idleTimeoutNanos() {
+        return configuration.get(CONNECTION_MAX_IDLE_TIMEOUT).toNanos();
+    }
+
+    public long connectionTtlNanos() {
+        return configuration.get(CONNECTION_TIME_TO_LIVE).toNanos();
+    }
+
     public int maxConnections() {
         return configuration.get(MAX_CONNECTIONS);
     }
@@ -57,6 +81,14 @@ public final class NettyConfiguration {
         return configuration.get(MAX_PENDING_CONNECTION_ACQUIRES);
     }
 
+    /**
+     * @return Pending acquire limits for individual priority lanes. Lanes without an entry are only bounded by
+     * {@link #maxPendingConnectionAcquires()}.
+     */
+    public Map<RequestPriority, Integer> maxPendingConnectionAcquiresPerPriority() {
+        return maxPendingConnectionAcquiresPerPriority;
+    }
+
     public boolean trustAllCertificates() {
         return configuration.get(TRUST_ALL_CERTIFICATES);
     }
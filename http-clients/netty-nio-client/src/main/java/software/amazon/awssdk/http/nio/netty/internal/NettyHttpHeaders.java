@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.LazySdkHttpHeaders;
+
+/**
+ * {@link LazySdkHttpHeaders} backed by the {@link HttpHeaders} of a Netty response. Netty's header lookups are already
+ * case-insensitive, so probing for a header doesn't allocate anything beyond the returned list.
+ */
+@SdkInternalApi
+public final class NettyHttpHeaders extends LazySdkHttpHeaders {
+
+    private final HttpHeaders headers;
+
+    public NettyHttpHeaders(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public List<String> matchingHeaders(String header) {
+        return headers.getAll(header);
+    }
+
+    @Override
+    protected void forEachHeader(BiConsumer<String, String> consumer) {
+        Iterator<Map.Entry<String, String>> iterator = headers.iteratorAsString();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> header = iterator.next();
+            consumer.accept(header.getKey(), header.getValue());
+        }
+    }
+}
@@ -61,6 +61,7 @@ import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2ToHttpInboundAdapter;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpToHttp2OutboundAdapter;
 import software.amazon.awssdk.http.nio.netty.internal.utils.ChannelUtils;
+import software.amazon.awssdk.http.nio.netty.internal.utils.PrioritizedAcquirePromise;
 
 @SdkInternalApi
 public final class NettyRequestExecutor {
@@ -78,7 +79,8 @@ public final class NettyRequestExecutor {
 
     @SuppressWarnings("unchecked")
     public CompletableFuture<Void> execute() {
-        Future<Channel> channelFuture = context.channelPool().acquire();
+        Future<Channel> channelFuture = context.channelPool().acquire(
+            new PrioritizedAcquirePromise(context.eventLoopGroup().next(), context.executeRequest().priority()));
         executeFuture = createExecuteFuture(channelFuture);
         channelFuture.addListener((GenericFutureListener) this::makeRequestListener);
         return executeFuture;
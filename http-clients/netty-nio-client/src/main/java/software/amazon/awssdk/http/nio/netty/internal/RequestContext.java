@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.http.nio.netty.internal;
 
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
@@ -26,9 +27,14 @@ public final class RequestContext {
     private final ChannelPool channelPool;
     private final AsyncExecuteRequest executeRequest;
     private final NettyConfiguration configuration;
+    private final EventLoopGroup eventLoopGroup;
 
-    public RequestContext(ChannelPool channelPool, AsyncExecuteRequest executeRequest, NettyConfiguration configuration) {
+    public RequestContext(ChannelPool channelPool,
+                          EventLoopGroup eventLoopGroup,
+                          AsyncExecuteRequest executeRequest,
+                          NettyConfiguration configuration) {
         this.channelPool = channelPool;
+        this.eventLoopGroup = eventLoopGroup;
         this.executeRequest = executeRequest;
         this.configuration = configuration;
     }
@@ -37,6 +43,10 @@ public final class RequestContext {
         return channelPool;
     }
 
+    public EventLoopGroup eventLoopGroup() {
+        return eventLoopGroup;
+    }
+
     public AsyncExecuteRequest executeRequest() {
         return executeRequest;
     }
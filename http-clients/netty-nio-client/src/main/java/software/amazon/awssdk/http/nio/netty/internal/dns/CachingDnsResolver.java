@@ -0,0 +1,125 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.SdkDnsResolver;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * {@link SdkDnsResolver} that caches the results of a delegate resolver for a fixed time to live, independent of any
+ * caching the JVM may do.
+ *
+ * <p>Once an entry expires the stale addresses continue to be served while a single refresh is performed in the
+ * background. Callers only wait on the delegate when a host has never been resolved successfully.</p>
+ */
+@SdkInternalApi
+public final class CachingDnsResolver implements SdkDnsResolver {
+
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final SdkDnsResolver delegate;
+    private final long ttlNanos;
+
+    public CachingDnsResolver(SdkDnsResolver delegate, Duration ttl) {
+        this.delegate = Validate.paramNotNull(delegate, "delegate");
+        this.ttlNanos = Validate.isNotNegative(ttl, "ttl").toNanos();
+    }
+
+    @Override
+    public CompletableFuture<List<InetAddress>> resolve(String host) {
+        CacheEntry entry = cache.computeIfAbsent(host, h -> new CacheEntry());
+        synchronized (entry) {
+            if (entry.addresses != null) {
+                if (System.nanoTime() - entry.expiresAtNanos >= 0 && entry.refresh == null) {
+                    refresh(host, entry);
+                }
+                return CompletableFuture.completedFuture(entry.addresses);
+            }
+            return entry.refresh != null ? entry.refresh : refresh(host, entry);
+        }
+    }
+
+    /**
+     * Returns the most recently resolved addresses for the host without triggering a lookup, or an empty list if the
+     * host has not been resolved yet.
+     */
+    public List<InetAddress> cachedAddresses(String host) {
+        CacheEntry entry = cache.get(host);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        synchronized (entry) {
+            return entry.addresses == null ? Collections.emptyList() : entry.addresses;
+        }
+    }
+
+    private CompletableFuture<List<InetAddress>> refresh(String host, CacheEntry entry) {
+        CompletableFuture<List<InetAddress>> refresh = new CompletableFuture<>();
+        entry.refresh = refresh;
+        CompletableFuture<List<InetAddress>> lookup;
+        try {
+            lookup = delegate.resolve(host);
+        } catch (RuntimeException e) {
+            lookup = new CompletableFuture<>();
+            lookup.completeExceptionally(e);
+        }
+        lookup.whenComplete((addresses, error) -> {
+            if (error != null) {
+                refreshFailed(entry);
+                refresh.completeExceptionally(error);
+            } else if (addresses == null || addresses.isEmpty()) {
+                refreshFailed(entry);
+                refresh.completeExceptionally(new UnknownHostException("No addresses were resolved for " + host));
+            } else {
+                List<InetAddress> resolved = Collections.unmodifiableList(addresses);
+                synchronized (entry) {
+                    entry.refresh = null;
+                    entry.addresses = resolved;
+                    entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+                }
+                refresh.complete(resolved);
+            }
+        });
+        return refresh;
+    }
+
+    /**
+     * Keep serving any previously resolved addresses and wait another TTL before retrying, so a failing name server is
+     * not queried on every connection.
+     */
+    private void refreshFailed(CacheEntry entry) {
+        synchronized (entry) {
+            entry.refresh = null;
+            if (entry.addresses != null) {
+                entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private List<InetAddress> addresses;
+        private long expiresAtNanos;
+        private CompletableFuture<List<InetAddress>> refresh;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.ConnectionSpreadingStrategy;
+
+/**
+ * {@link SimpleChannelPool} that resolves the remote host through a {@link CachingDnsResolver} and spreads new
+ * connections across all of the resolved addresses instead of letting {@link Bootstrap} connect to the first one.
+ *
+ * <p>Connections to an address that is no longer returned by DNS are drained gradually: they are closed by the health
+ * check the next time they pass through the pool (i.e. when they are released or picked up from the idle queue) rather
+ * than all at once, so in-flight requests are unaffected.</p>
+ */
+@SdkInternalApi
+public final class DnsAwareChannelPool extends SimpleChannelPool {
+
+    private static final AttributeKey<InetAddress> CONNECTED_ADDRESS = AttributeKey.newInstance("dnsConnectedAddress");
+
+    private final String host;
+    private final int port;
+    private final CachingDnsResolver resolver;
+    private final ConnectionSpreadingStrategy strategy;
+    private final ConcurrentMap<InetAddress, Integer> openConnections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    public DnsAwareChannelPool(Bootstrap bootstrap,
+                               ChannelPoolHandler handler,
+                               String host,
+                               int port,
+                               CachingDnsResolver resolver,
+                               ConnectionSpreadingStrategy strategy) {
+        super(bootstrap, handler, new StaleAddressHealthChecker(host, resolver), true);
+        this.host = host;
+        this.port = port;
+        this.resolver = resolver;
+        this.strategy = strategy;
+    }
+
+    @Override
+    protected ChannelFuture connectChannel(Bootstrap bs) {
+        ChannelFuture registerFuture = bs.register();
+        Channel channel = registerFuture.channel();
+        ChannelPromise connectPromise = channel.newPromise();
+        connectPromise.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        registerFuture.addListener(f -> {
+            if (!f.isSuccess()) {
+                connectPromise.tryFailure(f.cause());
+                return;
+            }
+            resolver.resolve(host).whenComplete((addresses, error) -> {
+                if (error != null) {
+                    connectPromise.tryFailure(error);
+                    return;
+                }
+                InetAddress address = selectAddress(addresses);
+                trackConnection(channel, address);
+                channel.connect(new InetSocketAddress(address, port), connectPromise);
+            });
+        });
+        return connectPromise;
+    }
+
+    /**
+     * @return The number of open connections to each resolved address. Visible for testing.
+     */
+    int openConnections(InetAddress address) {
+        return openConnections.getOrDefault(address, 0);
+    }
+
+    private InetAddress selectAddress(List<InetAddress> addresses) {
+        int size = addresses.size();
+        if (size == 1) {
+            return addresses.get(0);
+        }
+        int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        if (strategy == ConnectionSpreadingStrategy.ROUND_ROBIN) {
+            return addresses.get(start);
+        }
+        // Least loaded. Start the scan at the round robin position so ties are still spread evenly.
+        InetAddress leastLoaded = null;
+        int fewestConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            InetAddress candidate = addresses.get((start + i) % size);
+            int connections = openConnections(candidate);
+            if (connections < fewestConnections) {
+                leastLoaded = candidate;
+                fewestConnections = connections;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private void trackConnection(Channel channel, InetAddress address) {
+        channel.attr(CONNECTED_ADDRESS).set(address);
+        openConnections.merge(address, 1, Integer::sum);
+        channel.closeFuture().addListener(f -> openConnections.computeIfPresent(address, (a, c) -> c == 1 ? null : c - 1));
+    }
+
+    /**
+     * Treats a channel as unhealthy, and closes it, if the address it is connected to has dropped out of DNS.
+     */
+    private static final class StaleAddressHealthChecker implements ChannelHealthChecker {
+        private final String host;
+        private final CachingDnsResolver resolver;
+
+        private StaleAddressHealthChecker(String host, CachingDnsResolver resolver) {
+            this.host = host;
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Future<Boolean> isHealthy(Channel channel) {
+            if (!channel.isActive()) {
+                return channel.eventLoop().newSucceededFuture(Boolean.FALSE);
+            }
+            InetAddress connectedAddress = channel.attr(CONNECTED_ADDRESS).get();
+            if (connectedAddress != null) {
+                // Kicks off a background refresh if the cached entry has expired.
+                resolver.resolve(host);
+                List<InetAddress> current = resolver.cachedAddresses(host);
+                if (!current.isEmpty() && !current.contains(connectedAddress)) {
+                    // The pool does not close channels that fail the health check on release so do it here.
+                    channel.close();
+                    return channel.eventLoop().newSucceededFuture(Boolean.FALSE);
+                }
+            }
+            return channel.eventLoop().newSucceededFuture(Boolean.TRUE);
+        }
+    }
+}
@@ -54,9 +54,22 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
                                   ChannelPoolHandler handler,
                                   int maxConcurrency,
                                   NettyConfiguration configuration) {
-        this.simpleChannelPool = new SimpleChannelPool(bootstrap, handler);
+        this(new SimpleChannelPool(bootstrap, handler), bootstrap.config().group().next(), maxConcurrency, configuration);
+    }
+
+    /**
+     * @param connectionPool Pool of socket channels that new connections are acquired from.
+     * @param eventLoop Event loop to run all tasks in.
+     * @param maxConcurrency Max concurrent requests.
+     * @param configuration Netty configuration.
+     */
+    public HttpOrHttp2ChannelPool(ChannelPool connectionPool,
+                                  EventLoop eventLoop,
+                                  int maxConcurrency,
+                                  NettyConfiguration configuration) {
+        this.simpleChannelPool = connectionPool;
         this.maxConcurrency = maxConcurrency;
-        this.eventLoop = bootstrap.config().group().next();
+        this.eventLoop = eventLoop;
         this.configuration = configuration;
     }
 
@@ -133,6 +146,7 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
                                                  .acquireTimeoutMillis(configuration.connectionAcquireTimeoutMillis())
                                                  .maxConnections(maxConcurrency)
                                                  .maxPendingAcquires(configuration.maxPendingConnectionAcquires())
+                                                 .maxPendingAcquires(configuration.maxPendingConnectionAcquiresPerPriority())
                                                  .build();
         } else {
             ChannelPool h2Pool = new Http2MultiplexedChannelPool(
@@ -144,6 +158,7 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
                                                  .acquireTimeoutMillis(configuration.connectionAcquireTimeoutMillis())
                                                  .maxConnections(maxConcurrency)
                                                  .maxPendingAcquires(configuration.maxPendingConnectionAcquires())
+                                                 .maxPendingAcquires(configuration.maxPendingConnectionAcquiresPerPriority())
                                                  .build();
         }
         // Give the channel back so it can be acquired again by protocolImpl
@@ -176,7 +191,13 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
 
     @Override
     public void close() {
-        doInEventLoop(eventLoop, protocolImpl::close);
+        doInEventLoop(eventLoop, () -> {
+            if (protocolImpl == null) {
+                simpleChannelPool.close();
+            } else {
+                protocolImpl.close();
+            }
+        });
     }
 
 }
@@ -26,15 +26,23 @@ import io.netty.util.internal.ObjectUtil;
 import io.netty.util.internal.ThrowableUtil;
 import java.nio.channels.ClosedChannelException;
 import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
+import software.amazon.awssdk.http.RequestPriority;
 
 /**
  * {@link ChannelPool} implementation that takes another {@link ChannelPool} implementation and enforce a maximum
  * number of concurrent connections.
+ *
+ * <p>Acquires that have to wait for a connection are queued in one lane per {@link RequestPriority} (see
+ * {@link PrioritizedAcquirePromise}). Each lane has its own pending limit in addition to the overall one, and freed
+ * connections are handed to the lanes by smooth weighted round robin, so higher priority acquires are served more often
+ * but a lower priority lane that has pending acquires is still served at least once every sum-of-lane-weights
+ * hand-offs and is never starved.</p>
  */
 @ReviewBeforeRelease("Contribute me back to Netty")
 public class BetterFixedChannelPool implements ChannelPool {
@@ -51,6 +59,17 @@ public class BetterFixedChannelPool implements ChannelPool {
         new IllegalStateException("BetterFixedChannelPooled was closed"),
         BetterFixedChannelPool.class, "acquire0(...)");
 
+    /**
+     * Relative share of freed connections handed to each priority lane when all lanes have pending acquires.
+     */
+    private static final Map<RequestPriority, Integer> LANE_WEIGHTS = new EnumMap<>(RequestPriority.class);
+
+    static {
+        LANE_WEIGHTS.put(RequestPriority.HIGH, 8);
+        LANE_WEIGHTS.put(RequestPriority.NORMAL, 4);
+        LANE_WEIGHTS.put(RequestPriority.LOW, 1);
+    }
+
     public enum AcquireTimeoutAction {
         /**
          * Create a new connection when the timeout is detected.
@@ -70,7 +89,7 @@ public class BetterFixedChannelPool implements ChannelPool {
 
     // There is no need to worry about synchronization as everything that modified the queue or counts is done
     // by the above EventExecutor.
-    private final Queue<AcquireTask> pendingAcquireQueue = new ArrayDeque<AcquireTask>();
+    private final Map<RequestPriority, PendingAcquireLane> pendingAcquireLanes = new EnumMap<>(RequestPriority.class);
     private final int maxConnections;
     private final int maxPendingAcquires;
     private int acquiredChannelCount;
@@ -124,6 +143,14 @@ public class BetterFixedChannelPool implements ChannelPool {
         }
         this.maxConnections = builder.maxConnections;
         this.maxPendingAcquires = builder.maxPendingAcquires;
+        for (RequestPriority priority : RequestPriority.values()) {
+            int laneMaxPendingAcquires = builder.maxPendingAcquiresPerPriority.getOrDefault(priority, maxPendingAcquires);
+            if (laneMaxPendingAcquires < 1) {
+                throw new IllegalArgumentException("maxPendingAcquires for " + priority + ": " + laneMaxPendingAcquires
+                                                   + " (expected: >= 1)");
+            }
+            pendingAcquireLanes.put(priority, new PendingAcquireLane(LANE_WEIGHTS.get(priority), laneMaxPendingAcquires));
+        }
     }
 
     @Override
@@ -168,11 +195,12 @@ public class BetterFixedChannelPool implements ChannelPool {
             p.addListener(l);
             delegateChannelPool.acquire(p);
         } else {
-            if (pendingAcquireCount >= maxPendingAcquires) {
+            PendingAcquireLane lane = pendingAcquireLanes.get(PrioritizedAcquirePromise.priorityOf(promise));
+            if (pendingAcquireCount >= maxPendingAcquires || lane.queue.size() >= lane.maxPendingAcquires) {
                 promise.setFailure(FULL_EXCEPTION);
             } else {
                 AcquireTask task = new AcquireTask(promise);
-                if (pendingAcquireQueue.offer(task)) {
+                if (lane.queue.offer(task)) {
                     ++pendingAcquireCount;
 
                     if (timeoutTask != null) {
@@ -240,7 +268,7 @@ public class BetterFixedChannelPool implements ChannelPool {
 
     private void runTaskQueue() {
         while (acquiredChannelCount < maxConnections) {
-            AcquireTask task = pendingAcquireQueue.poll();
+            AcquireTask task = pollPendingAcquire();
             if (task == null) {
                 break;
             }
@@ -262,6 +290,44 @@ public class BetterFixedChannelPool implements ChannelPool {
         assert acquiredChannelCount >= 0;
     }
 
+    /**
+     * Polls the next pending acquire using smooth weighted round robin over the lanes that have pending acquires.
+     */
+    private AcquireTask pollPendingAcquire() {
+        PendingAcquireLane selected = null;
+        int activeWeight = 0;
+        for (PendingAcquireLane lane : pendingAcquireLanes.values()) {
+            if (lane.queue.isEmpty()) {
+                continue;
+            }
+            lane.currentWeight += lane.weight;
+            activeWeight += lane.weight;
+            if (selected == null || lane.currentWeight > selected.currentWeight) {
+                selected = lane;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        selected.currentWeight -= activeWeight;
+        return selected.queue.poll();
+    }
+
+    /**
+     * FIFO queue of pending acquires for one {@link RequestPriority}.
+     */
+    private static final class PendingAcquireLane {
+        private final ArrayDeque<AcquireTask> queue = new ArrayDeque<>();
+        private final int weight;
+        private final int maxPendingAcquires;
+        private int currentWeight;
+
+        private PendingAcquireLane(int weight, int maxPendingAcquires) {
+            this.weight = weight;
+            this.maxPendingAcquires = maxPendingAcquires;
+        }
+    }
+
     // AcquireTask extends AcquireListener to reduce object creations and so GC pressure
     private final class AcquireTask extends AcquireListener {
         final Promise<Channel> promise;
@@ -281,19 +347,22 @@ public class BetterFixedChannelPool implements ChannelPool {
         public final void run() {
             assert executor.inEventLoop();
             long nanoTime = System.nanoTime();
-            for (; ; ) {
-                AcquireTask task = pendingAcquireQueue.peek();
-                // Compare nanoTime as descripted in the javadocs of System.nanoTime()
-                //
-                // See https://docs.oracle.com/javase/7/docs/api/java/lang/System.html#nanoTime()
-                // See https://github.com/netty/netty/issues/3705
-                if (task == null || nanoTime - task.expireNanoTime < 0) {
-                    break;
-                }
-                pendingAcquireQueue.remove();
+            // Each lane is FIFO so only the head of each lane needs to be checked.
+            for (PendingAcquireLane lane : pendingAcquireLanes.values()) {
+                for (; ; ) {
+                    AcquireTask task = lane.queue.peek();
+                    // Compare nanoTime as descripted in the javadocs of System.nanoTime()
+                    //
+                    // See https://docs.oracle.com/javase/7/docs/api/java/lang/System.html#nanoTime()
+                    // See https://github.com/netty/netty/issues/3705
+                    if (task == null || nanoTime - task.expireNanoTime < 0) {
+                        break;
+                    }
+                    lane.queue.remove();
 
-                --pendingAcquireCount;
-                onTimeout(task);
+                    --pendingAcquireCount;
+                    onTimeout(task);
+                }
             }
         }
 
@@ -350,16 +419,18 @@ public class BetterFixedChannelPool implements ChannelPool {
             public void run() {
                 if (!closed) {
                     closed = true;
-                    for (; ; ) {
-                        AcquireTask task = pendingAcquireQueue.poll();
-                        if (task == null) {
-                            break;
-                        }
-                        ScheduledFuture<?> f = task.timeoutFuture;
-                        if (f != null) {
-                            f.cancel(false);
+                    for (PendingAcquireLane lane : pendingAcquireLanes.values()) {
+                        for (; ; ) {
+                            AcquireTask task = lane.queue.poll();
+                            if (task == null) {
+                                break;
+                            }
+                            ScheduledFuture<?> f = task.timeoutFuture;
+                            if (f != null) {
+                                f.cancel(false);
+                            }
+                            task.promise.setFailure(new ClosedChannelException());
                         }
-                        task.promise.setFailure(new ClosedChannelException());
                     }
                     acquiredChannelCount = 0;
                     pendingAcquireCount = 0;
@@ -381,6 +452,7 @@ public class BetterFixedChannelPool implements ChannelPool {
         private long acquireTimeoutMillis;
         private int maxConnections;
         private int maxPendingAcquires;
+        private final Map<RequestPriority, Integer> maxPendingAcquiresPerPriority = new EnumMap<>(RequestPriority.class);
 
         private Builder() {
         }
@@ -415,6 +487,20 @@ public class BetterFixedChannelPool implements ChannelPool {
             return this;
         }
 
+        /**
+         * Limits the number of pending acquires for a single priority lane. Lanes without a limit are only bounded by
+         * {@link #maxPendingAcquires(int)}.
+         */
+        public Builder maxPendingAcquires(RequestPriority priority, int maxPendingAcquires) {
+            this.maxPendingAcquiresPerPriority.put(priority, maxPendingAcquires);
+            return this;
+        }
+
+        public Builder maxPendingAcquires(Map<RequestPriority, Integer> maxPendingAcquiresPerPriority) {
+            this.maxPendingAcquiresPerPriority.putAll(maxPendingAcquiresPerPriority);
+            return this;
+        }
+
         public BetterFixedChannelPool build() {
             return new BetterFixedChannelPool(this);
         }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.RequestPriority;
+
+/**
+ * Promise passed to {@link ChannelPool#acquire(Promise)} that carries the priority of the request the channel is
+ * acquired for. The wrapping pools pass the promise through unchanged so {@link BetterFixedChannelPool} can pick the
+ * pending acquire lane without changing the {@link ChannelPool} interface.
+ */
+@SdkInternalApi
+public final class PrioritizedAcquirePromise extends DefaultPromise<Channel> {
+
+    private final RequestPriority priority;
+
+    public PrioritizedAcquirePromise(EventExecutor executor, RequestPriority priority) {
+        super(executor);
+        this.priority = priority == null ? RequestPriority.NORMAL : priority;
+    }
+
+    public RequestPriority priority() {
+        return priority;
+    }
+
+    /**
+     * @return The priority carried by the promise, or {@link RequestPriority#NORMAL} if it is not a
+     * {@link PrioritizedAcquirePromise}.
+     */
+    public static RequestPriority priorityOf(Promise<Channel> promise) {
+        return promise instanceof PrioritizedAcquirePromise ? ((PrioritizedAcquirePromise) promise).priority
+                                                            : RequestPriority.NORMAL;
+    }
+}
@@ -49,6 +49,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.Socket;
 import java.net.URI;
 import java.nio.ByteBuffer;
@@ -193,6 +194,28 @@ public class NettyNioAsyncHttpClientWireMockTest {
         Mockito.verify(channelFactory, atLeastOnce()).newChannel();
     }
 
+    @Test
+    public void customDnsResolverIsUsed() throws Exception {
+        SdkDnsResolver dnsResolver = spy(new SdkDnsResolver() {
+            @Override
+            public CompletableFuture<List<InetAddress>> resolve(String host) {
+                return CompletableFuture.completedFuture(Collections.singletonList(InetAddress.getLoopbackAddress()));
+            }
+        });
+        SdkAsyncHttpClient customClient =
+            NettyNioAsyncHttpClient.builder()
+                                   .dnsResolver(dnsResolver)
+                                   .connectionSpreadingStrategy(ConnectionSpreadingStrategy.LEAST_LOADED)
+                                   .build();
+
+        makeSimpleRequest(customClient);
+        makeSimpleRequest(customClient);
+        customClient.close();
+
+        // The second request reuses the cached address
+        Mockito.verify(dnsResolver, times(1)).resolve("localhost");
+    }
+
     /**
      * Make a simple async request and wait for it to fiish.
      *
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ExpiringChannelPoolTest {
+
+    private static NioEventLoopGroup eventLoopGroup;
+    private static ServerSocket serverSocket;
+
+    private ExpiringChannelPool pool;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        serverSocket = new ServerSocket(0, 100, InetAddress.getLoopbackAddress());
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        serverSocket.close();
+        eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @After
+    public void methodTearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void acquire_withinLimits_reusesIdleChannel() throws Exception {
+        pool = pool(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        Channel first = acquire();
+        release(first);
+        assertThat(pool.idleChannelCount()).isEqualTo(1);
+
+        assertThat(acquire()).isSameAs(first);
+        assertThat(pool.idleChannelCount()).isZero();
+    }
+
+    @Test
+    public void acquire_idleTooLong_closesChannelAndConnectsNewOne() throws Exception {
+        // Idle timeout long enough that the sweep doesn't get to the channel first.
+        pool = pool(Duration.ofMillis(500), Duration.ZERO);
+
+        Channel first = acquire();
+        release(first);
+        Thread.sleep(600);
+        Channel second = acquire();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.closeFuture().await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void release_pastTimeToLive_closesChannel() throws Exception {
+        pool = pool(Duration.ZERO, Duration.ofMillis(100));
+
+        Channel channel = acquire();
+        Thread.sleep(200);
+        release(channel);
+
+        awaitClosed(channel);
+        assertThat(pool.idleChannelCount()).isZero();
+    }
+
+    @Test
+    public void sweep_closesExpiredIdleChannels() throws Exception {
+        pool = pool(Duration.ofMillis(100), Duration.ZERO);
+
+        Channel channel = acquire();
+        release(channel);
+
+        awaitClosed(channel);
+        assertThat(pool.idleChannelCount()).isZero();
+    }
+
+    @Test
+    public void sweep_doesNotCloseLeasedChannels() throws Exception {
+        pool = pool(Duration.ofMillis(50), Duration.ZERO);
+
+        Channel channel = acquire();
+        Thread.sleep(300);
+
+        assertThat(channel.isActive()).isTrue();
+        channel.close();
+    }
+
+    private ExpiringChannelPool pool(Duration idleTimeout, Duration timeToLive) {
+        Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
+                                             .channel(NioSocketChannel.class)
+                                             .remoteAddress(serverSocket.getLocalSocketAddress());
+        SimpleChannelPool delegate = new SimpleChannelPool(bootstrap, new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+            }
+        });
+        return new ExpiringChannelPool(delegate, eventLoopGroup.next(), idleTimeout.toNanos(), timeToLive.toNanos());
+    }
+
+    private Channel acquire() throws Exception {
+        return pool.acquire().get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitClosed(Channel channel) throws Exception {
+        assertThat(channel.closeFuture().await(5, TimeUnit.SECONDS)).isTrue();
+        // Waiters are woken before the close listeners run, flush the event loop so the pool has seen the close.
+        channel.eventLoop().submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void release(Channel channel) throws Exception {
+        pool.release(channel).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -61,6 +61,7 @@ public class FutureCancelHandlerTest {
     @Before
     public void methodSetup() {
         requestContext = new RequestContext(channelPool,
+                                            null,
                                             AsyncExecuteRequest.builder().responseHandler(responseHandler).build(),
                                 null);
 
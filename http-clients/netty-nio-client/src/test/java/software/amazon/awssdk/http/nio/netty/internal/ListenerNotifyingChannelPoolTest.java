@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.Future;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import software.amazon.awssdk.http.ConnectionPoolMetrics;
+import software.amazon.awssdk.http.ConnectionPoolStats;
+
+public class ListenerNotifyingChannelPoolTest {
+    private static final String ROUTE = "http://localhost:1234";
+
+    private static NioEventLoopGroup eventLoopGroup;
+    private static ServerSocket serverSocket;
+
+    private ConnectionPoolMetrics metrics;
+    private ListenerNotifyingChannelPool pool;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        serverSocket = new ServerSocket(0, 100, InetAddress.getLoopbackAddress());
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        serverSocket.close();
+        eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @Before
+    public void methodSetup() {
+        Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
+                                             .channel(NioSocketChannel.class)
+                                             .remoteAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+        metrics = ConnectionPoolMetrics.create();
+        pool = new ListenerNotifyingChannelPool(new SimpleChannelPool(bootstrap, new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+            }
+        }), ROUTE, metrics);
+    }
+
+    @After
+    public void methodTearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void acquire_reportsLeaseAndNewConnection() throws Exception {
+        acquire();
+
+        ConnectionPoolStats stats = stats();
+        assertThat(stats.leased()).isEqualTo(1);
+        assertThat(stats.pending()).isZero();
+        assertThat(stats.leaseCount()).isEqualTo(1);
+        assertThat(stats.open()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquire_reusedConnection_isOnlyReportedOnce() throws Exception {
+        Channel first = acquire();
+        release(first);
+        Channel second = acquire();
+
+        assertThat(second).isSameAs(first);
+        ConnectionPoolStats stats = stats();
+        assertThat(stats.leaseCount()).isEqualTo(2);
+        assertThat(stats.connectionCreatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void release_twice_isOnlyReportedOnce() throws Exception {
+        Channel channel = acquire();
+        release(channel);
+        release(channel);
+
+        assertThat(stats().leased()).isZero();
+        assertThat(stats().available()).isEqualTo(1);
+    }
+
+    @Test
+    public void channelClose_reportsConnectionClosed() throws Exception {
+        Channel channel = acquire();
+        release(channel);
+        channel.close();
+        awaitListeners(channel.closeFuture());
+
+        assertThat(stats().connectionClosedCount()).isEqualTo(1);
+        assertThat(stats().open()).isZero();
+    }
+
+    private Channel acquire() throws Exception {
+        return awaitListeners(pool.acquire());
+    }
+
+    private void release(Channel channel) throws Exception {
+        awaitListeners(pool.release(channel));
+    }
+
+    /**
+     * Waits for the listeners that were already added to the future, which includes the pool's, to be notified. Waiting on
+     * the future itself can return before they run.
+     */
+    private static <T> T awaitListeners(Future<T> future) throws Exception {
+        CompletableFuture<T> notified = new CompletableFuture<>();
+        future.addListener(f -> notified.complete(future.getNow()));
+        return notified.get(5, TimeUnit.SECONDS);
+    }
+
+    private ConnectionPoolStats stats() {
+        return metrics.stats(ROUTE).get();
+    }
+}
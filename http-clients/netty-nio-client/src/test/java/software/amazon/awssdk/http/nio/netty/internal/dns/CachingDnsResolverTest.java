@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import software.amazon.awssdk.http.nio.netty.SdkDnsResolver;
+
+public class CachingDnsResolverTest {
+
+    private static final String HOST = "service.amazonaws.com";
+
+    @Test
+    public void resolve_withinTtl_usesCachedAddresses() throws Exception {
+        StubResolver stub = new StubResolver(address("10.0.0.1"), address("10.0.0.2"));
+        CachingDnsResolver resolver = new CachingDnsResolver(stub, Duration.ofHours(1));
+
+        assertThat(resolver.resolve(HOST).join()).containsExactly(address("10.0.0.1"), address("10.0.0.2"));
+        assertThat(resolver.resolve(HOST).join()).containsExactly(address("10.0.0.1"), address("10.0.0.2"));
+        assertThat(stub.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolve_afterTtl_servesStaleAddressesWhileRefreshing() throws Exception {
+        StubResolver stub = new StubResolver(address("10.0.0.1"));
+        CachingDnsResolver resolver = new CachingDnsResolver(stub, Duration.ZERO);
+        resolver.resolve(HOST).join();
+
+        CompletableFuture<List<InetAddress>> pendingRefresh = new CompletableFuture<>();
+        stub.next = pendingRefresh;
+
+        assertThat(resolver.resolve(HOST).join()).containsExactly(address("10.0.0.1"));
+        // Only one refresh is in flight at a time
+        assertThat(resolver.resolve(HOST).join()).containsExactly(address("10.0.0.1"));
+        assertThat(stub.lookups.get()).isEqualTo(2);
+
+        pendingRefresh.complete(Collections.singletonList(address("10.0.0.2")));
+        assertThat(resolver.cachedAddresses(HOST)).containsExactly(address("10.0.0.2"));
+    }
+
+    @Test
+    public void resolve_failedRefresh_keepsPreviousAddresses() throws Exception {
+        StubResolver stub = new StubResolver(address("10.0.0.1"));
+        CachingDnsResolver resolver = new CachingDnsResolver(stub, Duration.ZERO);
+        resolver.resolve(HOST).join();
+
+        CompletableFuture<List<InetAddress>> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new UnknownHostException(HOST));
+        stub.next = failure;
+
+        assertThat(resolver.resolve(HOST).join()).containsExactly(address("10.0.0.1"));
+        assertThat(resolver.cachedAddresses(HOST)).containsExactly(address("10.0.0.1"));
+    }
+
+    @Test
+    public void resolve_neverResolved_propagatesFailure() {
+        CompletableFuture<List<InetAddress>> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new UnknownHostException(HOST));
+        CachingDnsResolver resolver = new CachingDnsResolver(h -> failure, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> resolver.resolve(HOST).join()).isInstanceOf(CompletionException.class)
+                                                              .hasCauseInstanceOf(UnknownHostException.class);
+        assertThat(resolver.cachedAddresses(HOST)).isEmpty();
+    }
+
+    @Test
+    public void resolve_emptyResult_isTreatedAsFailure() {
+        CachingDnsResolver resolver = new CachingDnsResolver(
+            h -> CompletableFuture.completedFuture(Collections.emptyList()), Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> resolver.resolve(HOST).join()).hasCauseInstanceOf(UnknownHostException.class);
+    }
+
+    static InetAddress address(String ip) throws UnknownHostException {
+        return InetAddress.getByName(ip);
+    }
+
+    private static final class StubResolver implements SdkDnsResolver {
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final List<InetAddress> addresses;
+        private CompletableFuture<List<InetAddress>> next;
+
+        private StubResolver(InetAddress... addresses) {
+            this.addresses = Arrays.asList(addresses);
+        }
+
+        @Override
+        public CompletableFuture<List<InetAddress>> resolve(String host) {
+            lookups.incrementAndGet();
+            return next != null ? next : CompletableFuture.completedFuture(addresses);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.dns.CachingDnsResolverTest.address;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import software.amazon.awssdk.http.nio.netty.ConnectionSpreadingStrategy;
+
+/**
+ * Spreads connections across loopback addresses, which all route to the same local server socket.
+ */
+public class DnsAwareChannelPoolTest {
+
+    private static final String HOST = "stub.amazonaws.com";
+
+    private static NioEventLoopGroup eventLoopGroup;
+    private static ServerSocket serverSocket;
+
+    private volatile List<InetAddress> dnsRecords;
+    private CachingDnsResolver resolver;
+    private final List<Channel> channels = new ArrayList<>();
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        eventLoopGroup = new NioEventLoopGroup(2);
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress("0.0.0.0", 0), 100);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        serverSocket.close();
+        eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @Before
+    public void methodSetup() throws Exception {
+        dnsRecords = Arrays.asList(address("127.0.0.1"), address("127.0.0.2"), address("127.0.0.3"));
+        resolver = new CachingDnsResolver(h -> CompletableFuture.completedFuture(dnsRecords), Duration.ZERO);
+    }
+
+    @After
+    public void methodTearDown() {
+        channels.forEach(Channel::close);
+    }
+
+    @Test
+    public void roundRobin_spreadsConnectionsAcrossAllAddresses() throws Exception {
+        DnsAwareChannelPool pool = pool(ConnectionSpreadingStrategy.ROUND_ROBIN);
+
+        for (int i = 0; i < 6; i++) {
+            acquire(pool);
+        }
+
+        for (InetAddress address : dnsRecords) {
+            assertThat(pool.openConnections(address)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void leastLoaded_prefersAddressWithFewestOpenConnections() throws Exception {
+        DnsAwareChannelPool pool = pool(ConnectionSpreadingStrategy.LEAST_LOADED);
+        for (int i = 0; i < 3; i++) {
+            acquire(pool);
+        }
+        Channel closed = channels.get(1);
+        InetAddress freedAddress = ((InetSocketAddress) closed.remoteAddress()).getAddress();
+        closed.close().await(5, TimeUnit.SECONDS);
+
+        Channel next = acquire(pool);
+
+        assertThat(((InetSocketAddress) next.remoteAddress()).getAddress()).isEqualTo(freedAddress);
+        for (InetAddress address : dnsRecords) {
+            assertThat(pool.openConnections(address)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void release_addressRemovedFromDns_closesChannel() throws Exception {
+        DnsAwareChannelPool pool = pool(ConnectionSpreadingStrategy.ROUND_ROBIN);
+        Channel first = acquire(pool);
+        Channel second = acquire(pool);
+
+        InetAddress removed = ((InetSocketAddress) first.remoteAddress()).getAddress();
+        List<InetAddress> remaining = new ArrayList<>(dnsRecords);
+        remaining.remove(removed);
+        dnsRecords = remaining;
+
+        pool.release(first).await(5, TimeUnit.SECONDS);
+        pool.release(second).await(5, TimeUnit.SECONDS);
+
+        assertThat(first.closeFuture().await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.isActive()).isTrue();
+        assertThat(pool.openConnections(removed)).isZero();
+    }
+
+    private DnsAwareChannelPool pool(ConnectionSpreadingStrategy strategy) {
+        Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
+                                             .channel(NioSocketChannel.class)
+                                             .remoteAddress(HOST, serverSocket.getLocalPort());
+        return new DnsAwareChannelPool(bootstrap, new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+            }
+        }, HOST, serverSocket.getLocalPort(), resolver, strategy);
+    }
+
+    private Channel acquire(DnsAwareChannelPool pool) throws Exception {
+        Channel channel = pool.acquire().get(5, TimeUnit.SECONDS);
+        channels.add(channel);
+        return channel;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.RequestPriority;
+
+public class BetterFixedChannelPoolTest {
+
+    private EventLoop eventLoop;
+    private BetterFixedChannelPool pool;
+
+    @Before
+    public void setup() {
+        eventLoop = new DefaultEventLoop();
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        eventLoop.shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @Test
+    public void pendingAcquires_servedByPriority() throws Exception {
+        pool = pool(BetterFixedChannelPool.builder().maxPendingAcquires(100));
+        Channel held = acquire(RequestPriority.NORMAL).sync().getNow();
+
+        List<PrioritizedAcquirePromise> pending = new ArrayList<>();
+        pending.add(acquire(RequestPriority.LOW));
+        pending.add(acquire(RequestPriority.NORMAL));
+        pending.add(acquire(RequestPriority.HIGH));
+
+        List<RequestPriority> served = serveAll(held, pending);
+
+        assertThat(served).containsExactly(RequestPriority.HIGH, RequestPriority.NORMAL, RequestPriority.LOW);
+    }
+
+    @Test
+    public void pendingAcquires_lowPriorityNotStarved() throws Exception {
+        pool = pool(BetterFixedChannelPool.builder().maxPendingAcquires(100));
+        Channel held = acquire(RequestPriority.HIGH).sync().getNow();
+
+        List<PrioritizedAcquirePromise> pending = new ArrayList<>();
+        pending.add(acquire(RequestPriority.LOW));
+        for (int i = 0; i < 50; i++) {
+            pending.add(acquire(RequestPriority.HIGH));
+        }
+
+        List<RequestPriority> served = serveAll(held, pending);
+
+        // With only HIGH (weight 8) and LOW (weight 1) pending, LOW gets one in every nine hand-offs.
+        assertThat(served.indexOf(RequestPriority.LOW)).isBetween(1, 8);
+    }
+
+    @Test
+    public void pendingAcquires_laneLimitReached_onlyThatLaneRejected() throws Exception {
+        pool = pool(BetterFixedChannelPool.builder()
+                                           .maxPendingAcquires(100)
+                                           .maxPendingAcquires(RequestPriority.LOW, 1));
+        acquire(RequestPriority.NORMAL).sync();
+
+        PrioritizedAcquirePromise firstLow = acquire(RequestPriority.LOW);
+        PrioritizedAcquirePromise secondLow = acquire(RequestPriority.LOW);
+        PrioritizedAcquirePromise high = acquire(RequestPriority.HIGH);
+
+        secondLow.await();
+        assertThat(secondLow.cause()).isInstanceOf(IllegalStateException.class);
+        assertThat(firstLow.isDone()).isFalse();
+        assertThat(high.isDone()).isFalse();
+    }
+
+    @Test
+    public void pendingAcquires_totalLimitStillApplies() throws Exception {
+        pool = pool(BetterFixedChannelPool.builder().maxPendingAcquires(2));
+        acquire(RequestPriority.NORMAL).sync();
+
+        acquire(RequestPriority.LOW);
+        acquire(RequestPriority.HIGH);
+        PrioritizedAcquirePromise rejected = acquire(RequestPriority.HIGH);
+
+        rejected.await();
+        assertThat(rejected.cause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Repeatedly releases the single pooled channel and records the priority of the acquire that receives it.
+     */
+    private List<RequestPriority> serveAll(Channel held, List<PrioritizedAcquirePromise> pending) throws Exception {
+        List<PrioritizedAcquirePromise> remaining = new ArrayList<>(pending);
+        List<RequestPriority> served = new ArrayList<>();
+        Channel channel = held;
+        while (!remaining.isEmpty()) {
+            pool.release(channel).sync();
+            PrioritizedAcquirePromise next = remaining.stream()
+                                                      .filter(Future::isSuccess)
+                                                      .findFirst()
+                                                      .orElseThrow(AssertionError::new);
+            remaining.remove(next);
+            served.add(next.priority());
+            channel = next.getNow();
+        }
+        return served;
+    }
+
+    private PrioritizedAcquirePromise acquire(RequestPriority priority) {
+        PrioritizedAcquirePromise promise = new PrioritizedAcquirePromise(eventLoop, priority);
+        pool.acquire(promise);
+        return promise;
+    }
+
+    private BetterFixedChannelPool pool(BetterFixedChannelPool.Builder builder) {
+        return builder.channelPool(new StubChannelPool())
+                      .executor(eventLoop)
+                      .acquireTimeoutAction(BetterFixedChannelPool.AcquireTimeoutAction.FAIL)
+                      .acquireTimeoutMillis(10_000)
+                      .maxConnections(1)
+                      .build();
+    }
+
+    /**
+     * Hands out a new channel for every acquire.
+     */
+    private static final class StubChannelPool implements ChannelPool {
+
+        @Override
+        public Future<Channel> acquire() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            return promise.setSuccess(new EmbeddedChannel());
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            return promise.setSuccess(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -22,23 +22,26 @@ import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOU
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.ProtocolException;
 import java.time.Duration;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.AbortableCallable;
 import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.http.ExecuteRequest;
 import software.amazon.awssdk.http.HttpStatusFamily;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.utils.AttributeMap;
-import software.amazon.awssdk.utils.IoUtils;
 
 /**
  * An implementation of {@link SdkHttpClient} that uses {@link HttpURLConnection} to communicate with the service. This is the
@@ -52,6 +55,12 @@ import software.amazon.awssdk.utils.IoUtils;
 @SdkPublicApi
 public final class UrlConnectionHttpClient implements SdkHttpClient {
 
+    /**
+     * The size of the buffer used to copy request content to the connection, and the chunk size when the length of the
+     * content is not known.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final AttributeMap options;
 
     private UrlConnectionHttpClient(AttributeMap options) {
@@ -79,6 +88,13 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         invokeSafely(() -> connection.setRequestMethod(request.method().name()));
         if (request.contentStreamProvider().isPresent()) {
             connection.setDoOutput(true);
+            // Stream the content rather than letting the connection buffer all of it to calculate the length.
+            Optional<Long> contentLength = contentLength(request);
+            if (contentLength.isPresent()) {
+                connection.setFixedLengthStreamingMode(contentLength.get());
+            } else {
+                connection.setChunkedStreamingMode(BUFFER_SIZE);
+            }
         }
 
         connection.setConnectTimeout(saturatedCast(options.get(CONNECTION_TIMEOUT).toMillis()));
@@ -87,10 +103,24 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         return connection;
     }
 
+    /**
+     * The length from the Content-Length header, or empty if the header is missing, malformed or negative, in which case the
+     * content is sent chunked.
+     */
+    private static Optional<Long> contentLength(SdkHttpRequest request) {
+        try {
+            return request.firstMatchingHeader("Content-Length").map(Long::parseLong).filter(length -> length >= 0);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
     private static class RequestCallable implements AbortableCallable<SdkHttpFullResponse> {
 
         private final HttpURLConnection connection;
         private final SdkHttpFullRequest request;
+        private volatile boolean aborted;
+        private boolean contentRejected;
 
         private RequestCallable(HttpURLConnection connection, SdkHttpFullRequest request) {
             this.connection = connection;
@@ -99,32 +129,71 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
 
         @Override
         public SdkHttpFullResponse call() throws Exception {
+            if (aborted) {
+                throw new IOException("The request was aborted before it was sent.");
+            }
             connection.connect();
 
-            request.contentStreamProvider().ifPresent(provider ->
-                    invokeSafely(() -> IoUtils.copy(provider.newStream(), connection.getOutputStream())));
+            request.contentStreamProvider().ifPresent(provider -> invokeSafely(() -> writeContent(provider)));
 
             int responseCode = connection.getResponseCode();
             boolean isErrorResponse = HttpStatusFamily.of(responseCode).isOneOf(CLIENT_ERROR, SERVER_ERROR);
-            InputStream content = !isErrorResponse ? connection.getInputStream() : connection.getErrorStream();
+            // The JDK does not read the response content of a streaming request whose content the server rejected, and has
+            // no error stream for an error response without content.
+            InputStream content = null;
+            if (!contentRejected) {
+                content = !isErrorResponse ? connection.getInputStream() : connection.getErrorStream();
+            }
+            if (content == null) {
+                content = new ByteArrayInputStream(new byte[0]);
+            }
 
             return SdkHttpFullResponse.builder()
                                       .statusCode(responseCode)
                                       .statusText(connection.getResponseMessage())
-                                      // TODO: Don't ignore abort?
-                                      .content(AbortableInputStream.create(content))
-                                      .headers(extractHeaders(connection))
+                                      .content(AbortableInputStream.create(content, this::abort))
+                                      .headers(new UrlConnectionHttpHeaders(connection))
                                       .build();
         }
 
-        private Map<String, List<String>> extractHeaders(HttpURLConnection response) {
-            return response.getHeaderFields().entrySet().stream()
-                           .filter(e -> e.getKey() != null)
-                           .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        private void writeContent(ContentStreamProvider provider) throws IOException {
+            OutputStream connectionStream;
+            try {
+                // With Expect: 100-continue this waits for the server to accept the request before the content is sent.
+                connectionStream = connection.getOutputStream();
+            } catch (ProtocolException e) {
+                if (expectsContinue()) {
+                    // The server rejected the request without reading the content. Its response is read by the caller.
+                    contentRejected = true;
+                    return;
+                }
+                throw e;
+            }
+
+            try (InputStream in = provider.newStream();
+                 OutputStream out = connectionStream) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (aborted) {
+                        throw new IOException("The request was aborted while its content was being sent.");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+
+        private boolean expectsContinue() {
+            return request.firstMatchingHeader("Expect").filter("100-continue"::equalsIgnoreCase).isPresent();
         }
 
+        /**
+         * Stops sending the request content, if it is still being sent, and closes the connection. A response content stream
+         * that is still being read will fail.
+         */
         @Override
         public void abort() {
+            aborted = true;
             connection.disconnect();
         }
     }
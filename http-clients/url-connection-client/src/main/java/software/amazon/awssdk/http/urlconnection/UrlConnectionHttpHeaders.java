@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.LazySdkHttpHeaders;
+
+/**
+ * {@link LazySdkHttpHeaders} backed by the header fields the JDK has already parsed for an {@link HttpURLConnection}. The
+ * status line, which the JDK stores under a null name, is skipped.
+ */
+@SdkInternalApi
+final class UrlConnectionHttpHeaders extends LazySdkHttpHeaders {
+
+    private final Map<String, List<String>> headerFields;
+
+    UrlConnectionHttpHeaders(HttpURLConnection connection) {
+        this.headerFields = connection.getHeaderFields();
+    }
+
+    /**
+     * The JDK keys the header fields by name as received, so a header sent with differently cased names appears under several
+     * keys. Their values are concatenated in the order the keys are iterated.
+     */
+    @Override
+    public List<String> matchingHeaders(String header) {
+        List<String> matching = null;
+        List<String> concatenated = null;
+        for (Map.Entry<String, List<String>> field : headerFields.entrySet()) {
+            if (field.getKey() == null || !field.getKey().equalsIgnoreCase(header)) {
+                continue;
+            }
+            if (matching == null) {
+                matching = field.getValue();
+            } else {
+                if (concatenated == null) {
+                    concatenated = new ArrayList<>(matching);
+                }
+                concatenated.addAll(field.getValue());
+            }
+        }
+        if (concatenated != null) {
+            return Collections.unmodifiableList(concatenated);
+        }
+        return matching == null ? Collections.emptyList() : matching;
+    }
+
+    @Override
+    protected void forEachHeader(BiConsumer<String, String> consumer) {
+        headerFields.forEach((name, values) -> {
+            if (name != null) {
+                values.forEach(value -> consumer.accept(name, value));
+            }
+        });
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.AbortableCallable;
+import software.amazon.awssdk.http.ExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Verifies that request content is streamed to the server as it is read, rather than being buffered in memory until all of
+ * it has been read. The content is larger than the data that fits in the socket buffers, so the server must have received most
+ * of it by the time the client reads the end of the content.
+ */
+public class UrlConnectionHttpClientStreamingTest {
+    private static final long CONTENT_LENGTH = 32 * 1024 * 1024;
+
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final AtomicReference<String> transferEncoding = new AtomicReference<>();
+
+    private HttpServer server;
+    private SdkHttpClient client;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            transferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            byte[] buffer = new byte[8192];
+            int read;
+            try (InputStream body = exchange.getRequestBody()) {
+                while ((read = body.read(buffer)) != -1) {
+                    receivedBytes.addAndGet(read);
+                }
+            }
+            byte[] response = String.valueOf(receivedBytes.get()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        client = UrlConnectionHttpClient.builder().build();
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void contentWithKnownLength_isStreamedWithFixedLength() throws Exception {
+        StreamingContent content = new StreamingContent();
+
+        SdkHttpFullResponse response = call(request(content).putHeader("Content-Length", String.valueOf(CONTENT_LENGTH)));
+
+        assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo(String.valueOf(CONTENT_LENGTH));
+        assertThat(transferEncoding.get()).isNull();
+        assertThat(content.receivedWhenFullyRead).isGreaterThan(CONTENT_LENGTH / 2);
+    }
+
+    @Test
+    public void contentWithUnknownLength_isStreamedChunked() throws Exception {
+        StreamingContent content = new StreamingContent();
+
+        SdkHttpFullResponse response = call(request(content));
+
+        assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo(String.valueOf(CONTENT_LENGTH));
+        assertThat(transferEncoding.get()).isEqualToIgnoringCase("chunked");
+        assertThat(content.receivedWhenFullyRead).isGreaterThan(CONTENT_LENGTH / 2);
+    }
+
+    @Test
+    public void contentWithNegativeLength_isStreamedChunked() throws Exception {
+        StreamingContent content = new StreamingContent();
+
+        SdkHttpFullResponse response = call(request(content).putHeader("Content-Length", "-1"));
+
+        assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo(String.valueOf(CONTENT_LENGTH));
+        assertThat(transferEncoding.get()).isEqualToIgnoringCase("chunked");
+    }
+
+    @Test
+    public void contentWithExpectContinue_isSentOnceAccepted() throws Exception {
+        StreamingContent content = new StreamingContent();
+
+        SdkHttpFullResponse response = call(request(content).putHeader("Content-Length", String.valueOf(CONTENT_LENGTH))
+                                                            .putHeader("Expect", "100-continue"));
+
+        assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo(String.valueOf(CONTENT_LENGTH));
+    }
+
+    @Test
+    public void contentWithExpectContinue_isNotSentWhenRejected() throws Exception {
+        // The JDK's HTTP server always accepts the content, so this server rejects it without reading it.
+        try (ServerSocket rejectingServer = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread serverThread = new Thread(() -> invokeSafely(() -> {
+                try (Socket socket = rejectingServer.accept()) {
+                    BufferedReader requestHead =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    String line;
+                    do {
+                        line = requestHead.readLine();
+                    } while (line != null && !line.isEmpty());
+                    OutputStream out = socket.getOutputStream();
+                    out.write(("HTTP/1.1 417 Expectation Failed\r\n"
+                               + "Content-Length: 8\r\n"
+                               + "Connection: close\r\n\r\n"
+                               + "rejected").getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                }
+            }));
+            serverThread.start();
+
+            StreamingContent content = new StreamingContent();
+            SdkHttpFullRequest request =
+                request(content).uri(URI.create("http://localhost:" + rejectingServer.getLocalPort()))
+                                .putHeader("Content-Length", String.valueOf(CONTENT_LENGTH))
+                                .putHeader("Expect", "100-continue")
+                                .build();
+            SdkHttpFullResponse response = client.prepareRequest(ExecuteRequest.builder().request(request).build()).call();
+
+            assertThat(response.statusCode()).isEqualTo(417);
+            assertThat(content.position).isEqualTo(0L);
+            serverThread.join();
+        }
+    }
+
+    @Test
+    public void abortWhileSendingContent_stopsUpload() {
+        AtomicReference<AbortableCallable<SdkHttpFullResponse>> callable = new AtomicReference<>();
+        StreamingContent content = new StreamingContent() {
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position > CONTENT_LENGTH / 4) {
+                    callable.get().abort();
+                }
+                return super.read(b, off, len);
+            }
+        };
+        SdkHttpFullRequest request = request(content).putHeader("Content-Length", String.valueOf(CONTENT_LENGTH)).build();
+        callable.set(client.prepareRequest(ExecuteRequest.builder().request(request).build()));
+
+        assertThatThrownBy(callable.get()::call).hasMessageContaining("aborted");
+        assertThat(content.position).isLessThan(CONTENT_LENGTH);
+    }
+
+    private SdkHttpFullResponse call(SdkHttpFullRequest.Builder request) throws Exception {
+        return client.prepareRequest(ExecuteRequest.builder().request(request.build()).build()).call();
+    }
+
+    private SdkHttpFullRequest.Builder request(InputStream content) {
+        return SdkHttpFullRequest.builder()
+                                 .uri(URI.create("http://localhost:" + server.getAddress().getPort()))
+                                 .method(SdkHttpMethod.PUT)
+                                 .contentStreamProvider(() -> content);
+    }
+
+    /**
+     * Generates {@link #CONTENT_LENGTH} bytes of content without holding them in memory, and records how much of it the
+     * server had received when the end of the content was reached.
+     */
+    private class StreamingContent extends InputStream {
+        protected long position;
+        private long receivedWhenFullyRead = -1;
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= CONTENT_LENGTH) {
+                if (receivedWhenFullyRead < 0) {
+                    receivedWhenFullyRead = receivedBytes.get();
+                }
+                return -1;
+            }
+            int read = (int) Math.min(len, CONTENT_LENGTH - position);
+            position += read;
+            return read;
+        }
+    }
+}
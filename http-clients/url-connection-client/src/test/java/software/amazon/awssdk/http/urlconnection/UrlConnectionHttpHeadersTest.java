@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class UrlConnectionHttpHeadersTest {
+
+    @Test
+    public void matchingHeaders_ignoresCase() throws MalformedURLException {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        fields.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+        fields.put("Content-Type", Collections.singletonList("text/plain"));
+        UrlConnectionHttpHeaders headers = new UrlConnectionHttpHeaders(connection(fields));
+
+        assertThat(headers.matchingHeaders("content-type")).isEqualTo(Collections.singletonList("text/plain"));
+        assertThat(headers.matchingHeaders("x-amz-missing")).isEmpty();
+    }
+
+    @Test
+    public void matchingHeaders_concatenatesValuesOfDifferentlyCasedNames() throws MalformedURLException {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        fields.put("x-amz-meta-tag", Arrays.asList("a", "b"));
+        fields.put("Content-Type", Collections.singletonList("text/plain"));
+        fields.put("X-Amz-Meta-Tag", Collections.singletonList("c"));
+        UrlConnectionHttpHeaders headers = new UrlConnectionHttpHeaders(connection(fields));
+
+        assertThat(headers.matchingHeaders("X-AMZ-META-TAG")).isEqualTo(Arrays.asList("a", "b", "c"));
+        assertThat(headers.firstMatchingHeader("x-amz-meta-tag")).hasValue("a");
+    }
+
+    private static HttpURLConnection connection(Map<String, List<String>> headerFields) throws MalformedURLException {
+        return new HttpURLConnection(new URL("http://localhost")) {
+            @Override
+            public Map<String, List<String>> getHeaderFields() {
+                return headerFields;
+            }
+
+            @Override
+            public void disconnect() {
+            }
+
+            @Override
+            public boolean usingProxy() {
+                return false;
+            }
+
+            @Override
+            public void connect() {
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * An object download started by {@link S3ParallelDownloader#download}. The progress methods can be called at any time to
+ * report how far the download has got.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface ParallelDownload {
+
+    /**
+     * @return A future that is completed with the response for the object once all of it has been written to the file. The
+     * response describes the whole object rather than any individual part. Cancelling the future stops the download and
+     * deletes the file.
+     */
+    CompletableFuture<GetObjectResponse> completionFuture();
+
+    /**
+     * @return The number of bytes of the object that have been written to the file.
+     */
+    long bytesTransferred();
+
+    /**
+     * @return The size of the object, once it is known from the first response.
+     */
+    OptionalLong totalBytes();
+
+    /**
+     * @return The number of parts that have been completely written to the file.
+     */
+    int partsCompleted();
+
+    /**
+     * @return The number of times a part was requested again after failing.
+     */
+    int partRetries();
+
+    /**
+     * @return The time since the download started, or the total time it took if it has finished.
+     */
+    Duration elapsedTime();
+
+    /**
+     * @return The average number of bytes written to the file per second since the download started.
+     */
+    default double throughputBytesPerSecond() {
+        long elapsedNanos = elapsedTime().toNanos();
+        return elapsedNanos == 0 ? 0 : bytesTransferred() * 1_000_000_000.0 / elapsedNanos;
+    }
+}
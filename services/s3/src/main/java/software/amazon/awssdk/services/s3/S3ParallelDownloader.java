@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.s3.internal.DefaultParallelDownload;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Downloads S3 objects into files using several concurrent ranged {@code GetObject} requests, which is faster than a single
+ * request for large objects because one HTTP stream cannot use all of the available network bandwidth.
+ *
+ * <p>The first part of the object is requested on its own, and the size of the object is taken from the {@code Content-Range}
+ * of its response. The remaining parts are then requested concurrently, conditional on the object's ETag so that a
+ * modification of the object during the download fails it rather than mixing two versions. Each part is written at its
+ * offset in the file as it is received, and only one buffer per part is held in memory at a time. A part that fails is
+ * requested again from the first byte that has not been written yet.</p>
+ *
+ * <pre class="brush: java">
+ * S3ParallelDownloader downloader = S3ParallelDownloader.builder()
+ *                                                       .s3Client(s3AsyncClient)
+ *                                                       .maxConcurrency(16)
+ *                                                       .build();
+ * ParallelDownload download = downloader.download(GetObjectRequest.builder().bucket(bucket).key(key).build(), path);
+ * download.completionFuture().join();
+ * </pre>
+ *
+ * <p>The downloader does not own the S3 client and does not need to be closed.</p>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class S3ParallelDownloader {
+    private static final long DEFAULT_PART_SIZE_IN_BYTES = 8L * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENCY = 8;
+    private static final int DEFAULT_MAX_PART_ATTEMPTS = 3;
+
+    private final S3AsyncClient s3Client;
+    private final long partSizeInBytes;
+    private final int maxConcurrency;
+    private final int maxPartAttempts;
+
+    private S3ParallelDownloader(Builder builder) {
+        this.s3Client = Validate.paramNotNull(builder.s3Client, "s3Client");
+        this.partSizeInBytes = Validate.getOrDefault(builder.partSizeInBytes, () -> DEFAULT_PART_SIZE_IN_BYTES);
+        this.maxConcurrency = Validate.getOrDefault(builder.maxConcurrency, () -> DEFAULT_MAX_CONCURRENCY);
+        this.maxPartAttempts = Validate.getOrDefault(builder.maxPartAttempts, () -> DEFAULT_MAX_PART_ATTEMPTS);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts downloading the object into the given file. The file must not exist yet, and is deleted if the download fails.
+     *
+     * @param getObjectRequest The object to download. It must not have a range, as the downloader requests the ranges
+     * itself.
+     * @param destination The file to write the object to.
+     * @return The download, which reports its progress and completion.
+     */
+    public ParallelDownload download(GetObjectRequest getObjectRequest, Path destination) {
+        Validate.paramNotNull(getObjectRequest, "getObjectRequest");
+        Validate.paramNotNull(destination, "destination");
+        Validate.isTrue(getObjectRequest.range() == null, "The request must not have a range.");
+        Validate.isTrue(getObjectRequest.partNumber() == null, "The request must not have a part number.");
+        return DefaultParallelDownload.start(s3Client, getObjectRequest, destination,
+                                             partSizeInBytes, maxConcurrency, maxPartAttempts);
+    }
+
+    /**
+     * Builder for a {@link S3ParallelDownloader}.
+     */
+    public static final class Builder {
+        private S3AsyncClient s3Client;
+        private Long partSizeInBytes;
+        private Integer maxConcurrency;
+        private Integer maxPartAttempts;
+
+        private Builder() {
+        }
+
+        /**
+         * The client used to download the parts. Its HTTP client should allow at least {@link #maxConcurrency(Integer)}
+         * concurrent connections. Required.
+         */
+        public Builder s3Client(S3AsyncClient s3Client) {
+            this.s3Client = s3Client;
+            return this;
+        }
+
+        /**
+         * The size of each ranged request. Defaults to 8 MiB.
+         */
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            if (partSizeInBytes != null) {
+                Validate.isTrue(partSizeInBytes > 0, "partSizeInBytes must be positive.");
+            }
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        /**
+         * The maximum number of parts of a single download that are requested at the same time. Defaults to 8.
+         */
+        public Builder maxConcurrency(Integer maxConcurrency) {
+            if (maxConcurrency != null) {
+                Validate.isPositive(maxConcurrency, "maxConcurrency");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * The maximum number of times each part is requested before the download fails, including the first attempt. This is
+         * in addition to the retries of the S3 client, which do not cover failures after the response has started. Defaults
+         * to 3.
+         */
+        public Builder maxPartAttempts(Integer maxPartAttempts) {
+            if (maxPartAttempts != null) {
+                Validate.isPositive(maxPartAttempts, "maxPartAttempts");
+            }
+            this.maxPartAttempts = maxPartAttempts;
+            return this;
+        }
+
+        public S3ParallelDownloader build() {
+            return new S3ParallelDownloader(this);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal;
+
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.NonRetryableException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.internal.async.FileAsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.ParallelDownload;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * Downloads an object into a file as a number of ranged {@code GetObject} requests that are written to the file at their
+ * offsets.
+ *
+ * <p>The first part is requested on its own to learn the size and ETag of the object. The remaining parts are queued and
+ * downloaded by up to {@code maxConcurrency} chains of requests, each of which takes the next part from the queue once its
+ * current part is written. A failed part is requested again from the first byte that was not written yet.</p>
+ */
+@SdkInternalApi
+public final class DefaultParallelDownload implements ParallelDownload {
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes \\d+-\\d+/(\\d+)");
+    private static final int REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+
+    private final CompletableFuture<GetObjectResponse> completionFuture = new CompletableFuture<>();
+    private final Set<CompletableFuture<GetObjectResponse>> inFlightRequests = ConcurrentHashMap.newKeySet();
+    private final Queue<Part> remainingParts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger partsOutstanding = new AtomicInteger();
+    private final AtomicLong bytesTransferred = new AtomicLong();
+    private final AtomicInteger partsCompleted = new AtomicInteger();
+    private final AtomicInteger partRetries = new AtomicInteger();
+
+    private final S3AsyncClient s3Client;
+    private final GetObjectRequest getObjectRequest;
+    private final Path destination;
+    private final long partSizeInBytes;
+    private final int maxConcurrency;
+    private final int maxPartAttempts;
+    private final long startNanos = System.nanoTime();
+
+    private volatile long endNanos;
+    private volatile long totalBytes = -1;
+    private volatile String eTag;
+    private volatile GetObjectResponse firstResponse;
+    private AsynchronousFileChannel fileChannel;
+
+    private DefaultParallelDownload(S3AsyncClient s3Client, GetObjectRequest getObjectRequest, Path destination,
+                                    long partSizeInBytes, int maxConcurrency, int maxPartAttempts) {
+        this.s3Client = s3Client;
+        this.getObjectRequest = getObjectRequest;
+        this.destination = destination;
+        this.partSizeInBytes = partSizeInBytes;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPartAttempts = maxPartAttempts;
+    }
+
+    public static ParallelDownload start(S3AsyncClient s3Client, GetObjectRequest getObjectRequest, Path destination,
+                                         long partSizeInBytes, int maxConcurrency, int maxPartAttempts) {
+        DefaultParallelDownload download = new DefaultParallelDownload(s3Client, getObjectRequest, destination,
+                                                                       partSizeInBytes, maxConcurrency, maxPartAttempts);
+        download.start();
+        return download;
+    }
+
+    @Override
+    public CompletableFuture<GetObjectResponse> completionFuture() {
+        return completionFuture;
+    }
+
+    @Override
+    public long bytesTransferred() {
+        return bytesTransferred.get();
+    }
+
+    @Override
+    public OptionalLong totalBytes() {
+        long total = totalBytes;
+        return total < 0 ? OptionalLong.empty() : OptionalLong.of(total);
+    }
+
+    @Override
+    public int partsCompleted() {
+        return partsCompleted.get();
+    }
+
+    @Override
+    public int partRetries() {
+        return partRetries.get();
+    }
+
+    @Override
+    public Duration elapsedTime() {
+        long end = endNanos;
+        return Duration.ofNanos((end != 0 ? end : System.nanoTime()) - startNanos);
+    }
+
+    private void start() {
+        completionFuture.whenComplete((r, t) -> {
+            endNanos = System.nanoTime();
+            if (t != null) {
+                cleanUp();
+            }
+        });
+
+        try {
+            fileChannel = AsynchronousFileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+        } catch (IOException e) {
+            completionFuture.completeExceptionally(SdkClientException.create("Unable to create file " + destination, e));
+            return;
+        }
+
+        downloadPart(new Part(0, partSizeInBytes - 1)).whenComplete((response, error) -> {
+            if (error == null) {
+                onFirstPart(response);
+            } else if (statusCode(error) == REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // The object is empty, so no range of it exists.
+                downloadPart(new Part(0, -1)).whenComplete(this::onWholeObject);
+            } else {
+                fail(error);
+            }
+        });
+    }
+
+    private void onFirstPart(GetObjectResponse response) {
+        if (response.contentRange() == null) {
+            // The range was ignored and the whole object was returned.
+            onWholeObject(response, null);
+            return;
+        }
+
+        long total;
+        try {
+            total = totalLength(response.contentRange());
+        } catch (SdkClientException e) {
+            fail(e);
+            return;
+        }
+
+        totalBytes = total;
+        eTag = response.eTag();
+        firstResponse = response;
+        partsCompleted.incrementAndGet();
+
+        for (long start = partSizeInBytes; start < total; start += partSizeInBytes) {
+            remainingParts.add(new Part(start, Math.min(start + partSizeInBytes, total) - 1));
+        }
+        if (remainingParts.isEmpty()) {
+            complete(response);
+            return;
+        }
+
+        partsOutstanding.set(remainingParts.size());
+        int chains = Math.min(maxConcurrency, remainingParts.size());
+        for (int i = 0; i < chains; i++) {
+            downloadNextPart();
+        }
+    }
+
+    private void onWholeObject(GetObjectResponse response, Throwable error) {
+        if (error != null) {
+            fail(error);
+            return;
+        }
+        totalBytes = bytesTransferred.get();
+        partsCompleted.incrementAndGet();
+        complete(response);
+    }
+
+    private void downloadNextPart() {
+        Part part = remainingParts.poll();
+        if (part == null || completionFuture.isDone()) {
+            return;
+        }
+        downloadPart(part).whenComplete((response, error) -> {
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            partsCompleted.incrementAndGet();
+            if (partsOutstanding.decrementAndGet() == 0) {
+                complete(firstResponse);
+            } else {
+                downloadNextPart();
+            }
+        });
+    }
+
+    private CompletableFuture<GetObjectResponse> downloadPart(Part part) {
+        CompletableFuture<GetObjectResponse> result = new CompletableFuture<>();
+        attempt(part, 1, result);
+        return result;
+    }
+
+    private void attempt(Part part, int attempt, CompletableFuture<GetObjectResponse> result) {
+        if (completionFuture.isDone()) {
+            result.completeExceptionally(new CancellationException("The download has already completed."));
+            return;
+        }
+
+        GetObjectRequest.Builder request = getObjectRequest.toBuilder().range(part.nextRange());
+        if (eTag != null && getObjectRequest.ifMatch() == null) {
+            request.ifMatch(eTag);
+        }
+        FileAsyncResponseTransformer<GetObjectResponse> transformer =
+            new FileAsyncResponseTransformer<>(fileChannel, part.nextPosition(), part::onPosition);
+
+        CompletableFuture<GetObjectResponse> requestFuture = s3Client.getObject(request.build(), transformer);
+        inFlightRequests.add(requestFuture);
+        if (completionFuture.isDone()) {
+            requestFuture.cancel(true);
+        }
+
+        requestFuture.whenComplete((response, error) -> {
+            inFlightRequests.remove(requestFuture);
+            if (error == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (attempt < maxPartAttempts && isRetryable(cause) && !completionFuture.isDone()) {
+                partRetries.incrementAndGet();
+                attempt(part, attempt + 1, result);
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private void complete(GetObjectResponse response) {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            fail(SdkClientException.create("Unable to close file " + destination, e));
+            return;
+        }
+        completionFuture.complete(response.toBuilder()
+                                          .contentLength(totalBytes)
+                                          .contentRange(null)
+                                          .build());
+    }
+
+    private void fail(Throwable error) {
+        completionFuture.completeExceptionally(unwrap(error));
+    }
+
+    private void cleanUp() {
+        inFlightRequests.forEach(f -> f.cancel(true));
+        if (fileChannel != null) {
+            invokeSafely(fileChannel::close);
+            invokeSafely(() -> Files.deleteIfExists(destination));
+        }
+    }
+
+    private static long totalLength(String contentRange) {
+        Matcher matcher = CONTENT_RANGE_PATTERN.matcher(contentRange);
+        if (!matcher.matches()) {
+            throw SdkClientException.create("Unable to determine the object size from Content-Range: " + contentRange);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof SdkServiceException) {
+            SdkServiceException e = (SdkServiceException) cause;
+            return e.statusCode() >= 500 || e.isThrottlingException();
+        }
+        return !(cause instanceof NonRetryableException) && !(cause instanceof CancellationException);
+    }
+
+    private static int statusCode(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof SdkServiceException ? ((SdkServiceException) cause).statusCode() : -1;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A byte range of the object and how much of it has been written to the file.
+     */
+    private final class Part {
+        private final long start;
+
+        /**
+         * The last byte of the range, inclusive, or -1 to request the whole object.
+         */
+        private final long end;
+        private long written;
+
+        private Part(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return The range to request, which starts after the bytes that have already been written.
+         */
+        private synchronized String nextRange() {
+            if (end < 0) {
+                return null;
+            }
+            return "bytes=" + (start + written) + "-" + end;
+        }
+
+        /**
+         * @return The file position of the first byte of the next response.
+         */
+        private long nextPosition() {
+            if (end < 0) {
+                // A response without a range can't be resumed, so it is written from the start again.
+                onPosition(start);
+            }
+            synchronized (this) {
+                return start + written;
+            }
+        }
+
+        private void onPosition(long position) {
+            long delta;
+            synchronized (this) {
+                long nowWritten = position - start;
+                delta = nowWritten - written;
+                written = nowWritten;
+            }
+            bytesTransferred.addAndGet(delta);
+        }
+    }
+}
@@ -15,10 +15,7 @@
 
 package software.amazon.awssdk.services.s3.internal.handlers;
 
-import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
-
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
@@ -36,13 +33,30 @@ import software.amazon.awssdk.services.s3.internal.BucketUtils;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.DeleteBucketRequest;
 import software.amazon.awssdk.services.s3.model.ListBucketsRequest;
+import software.amazon.awssdk.utils.cache.BoundedCache;
 
+/**
+ * Points requests at the accelerate or dualstack endpoint when they are enabled, and moves the bucket name from the path to
+ * the host for buckets that support virtual hosted style addressing.
+ *
+ * <p>A new instance is created for each client. Each instance caches the endpoints it resolves and whether the buckets it
+ * has seen support virtual hosted style addressing, so requests for the same bucket do not repeat those checks.</p>
+ */
 @SdkProtectedApi
 public final class EndpointAddressInterceptor implements ExecutionInterceptor {
 
     private static final List<Class<?>> ACCELERATE_DISABLED_OPERATIONS = Arrays.asList(
             ListBucketsRequest.class, CreateBucketRequest.class, DeleteBucketRequest.class);
 
+    private static final int MAX_CACHED_ENDPOINTS = 100;
+
+    private static final int MAX_CACHED_BUCKETS = 1000;
+
+    private final BoundedCache<String, URI> endpoints = new BoundedCache<>(MAX_CACHED_ENDPOINTS, URI::create);
+
+    private final BoundedCache<String, Boolean> virtualAddressingCompatibleBuckets =
+        new BoundedCache<>(MAX_CACHED_BUCKETS, b -> BucketUtils.isVirtualAddressingCompatibleBucketName(b, false));
+
     @Override
     public SdkHttpFullRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
         SdkHttpFullRequest request = context.httpRequest();
@@ -54,11 +68,13 @@ public final class EndpointAddressInterceptor implements ExecutionInterceptor {
 
         URI endpoint = resolveEndpoint(request, sdkRequest,
                                        executionAttributes, serviceConfiguration);
-        mutableRequest.uri(endpoint);
+        if (endpoint != null) {
+            mutableRequest.uri(endpoint);
+        }
 
         if (serviceConfiguration == null || !serviceConfiguration.pathStyleAccessEnabled()) {
             sdkRequest.getValueForField("Bucket", String.class).ifPresent(b -> {
-                if (BucketUtils.isVirtualAddressingCompatibleBucketName(b, false)) {
+                if (virtualAddressingCompatibleBuckets.get(b)) {
                     changeToDnsEndpoint(mutableRequest, b);
                 }
             });
@@ -71,29 +87,29 @@ public final class EndpointAddressInterceptor implements ExecutionInterceptor {
      * Determine which endpoint to use based on region and {@link S3Configuration}. Will either be a traditional
      * S3 endpoint (i.e. s3.us-east-1.amazonaws.com), the global S3 accelerate endpoint (i.e. s3-accelerate.amazonaws.com) or
      * a regional dualstack endpoint for IPV6 (i.e. s3.dualstack.us-east-1.amazonaws.com).
+     *
+     * @return The endpoint, or null if the request's current endpoint should be kept.
      */
     private URI resolveEndpoint(SdkHttpFullRequest request,
                                 SdkRequest originalRequest,
                                 ExecutionAttributes executionAttributes,
                                 S3Configuration serviceConfiguration) {
         Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
-        RegionMetadata regionMetadata = RegionMetadata.of(region);
         String protocol = request.protocol();
 
         if (isAccelerateEnabled(serviceConfiguration) && isAccelerateSupported(originalRequest)) {
-            return accelerateEndpoint(serviceConfiguration, regionMetadata, protocol);
+            return accelerateEndpoint(serviceConfiguration, RegionMetadata.of(region), protocol);
         }
 
         if (serviceConfiguration != null && serviceConfiguration.dualstackEnabled()) {
-            return dualstackEndpoint(regionMetadata, protocol);
+            return dualstackEndpoint(RegionMetadata.of(region), protocol);
         }
 
-        return invokeSafely(() -> new URI(request.protocol(), null, request.host(), request.port(), null, null, null));
+        return null;
     }
 
-    private static URI dualstackEndpoint(RegionMetadata metadata, String protocol) {
-        String serviceEndpoint = String.format("%s.%s.%s.%s", "s3", "dualstack", metadata.name(), metadata.domain());
-        return toUri(protocol, serviceEndpoint);
+    private URI dualstackEndpoint(RegionMetadata metadata, String protocol) {
+        return toUri(protocol, "s3.dualstack." + metadata.name() + "." + metadata.domain());
     }
 
     /**
@@ -114,19 +130,15 @@ public final class EndpointAddressInterceptor implements ExecutionInterceptor {
     /**
      * @return The endpoint for an S3 accelerate enabled operation. S3 accelerate has a single global endpoint.
      */
-    private static URI accelerateEndpoint(S3Configuration serviceConfiguration, RegionMetadata metadata, String protocol) {
+    private URI accelerateEndpoint(S3Configuration serviceConfiguration, RegionMetadata metadata, String protocol) {
         if (serviceConfiguration.dualstackEnabled()) {
             return toUri(protocol, "s3-accelerate.dualstack." + metadata.domain());
         }
         return toUri(protocol, "s3-accelerate." + metadata.domain());
     }
 
-    private static URI toUri(String protocol, String endpoint) {
-        try {
-            return new URI(String.format("%s://%s", protocol, endpoint));
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException(e);
-        }
+    private URI toUri(String protocol, String endpoint) {
+        return endpoints.get(protocol + "://" + endpoint);
     }
 
     /**
@@ -138,11 +150,15 @@ public final class EndpointAddressInterceptor implements ExecutionInterceptor {
      * @param bucketName     Bucket name for this particular operation.
      */
     private void changeToDnsEndpoint(SdkHttpFullRequest.Builder mutableRequest, String bucketName) {
-        if (mutableRequest.host().startsWith("s3")) {
-            String newHost = mutableRequest.host().replaceFirst("s3", bucketName + "." + "s3");
-            String newPath = mutableRequest.encodedPath().replaceFirst("/" + bucketName, "");
-
-            mutableRequest.host(newHost).encodedPath(newPath);
+        String host = mutableRequest.host();
+        if (host.startsWith("s3")) {
+            String path = mutableRequest.encodedPath();
+            String bucketPath = "/" + bucketName;
+            int bucketIndex = path.indexOf(bucketPath);
+            String newPath = bucketIndex < 0 ? path
+                                             : path.substring(0, bucketIndex) + path.substring(bucketIndex + bucketPath.length());
+
+            mutableRequest.host(bucketName + "." + host).encodedPath(newPath);
         }
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+public class S3ParallelDownloaderTest {
+    private static final String KEY_PATH = "/bucket/key";
+    private static final String ETAG = "\"etag\"";
+    private static final int OBJECT_SIZE = 10_000;
+    private static final int PART_SIZE = 1024;
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(0);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final byte[] content = new byte[OBJECT_SIZE];
+
+    private S3ParallelDownloader downloader;
+
+    private Path destination;
+
+    @Before
+    public void setup() throws IOException {
+        new Random(42).nextBytes(content);
+        S3AsyncClient s3AsyncClient =
+            S3AsyncClient.builder()
+                         .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid")))
+                         .region(Region.US_WEST_2)
+                         .endpointOverride(URI.create("http://localhost:" + mockServer.port()))
+                         .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                         .overrideConfiguration(c -> c.retryPolicy(RetryPolicy.none()))
+                         .build();
+        downloader = S3ParallelDownloader.builder()
+                                         .s3Client(s3AsyncClient)
+                                         .partSizeInBytes((long) PART_SIZE)
+                                         .maxConcurrency(4)
+                                         .build();
+        destination = temporaryFolder.getRoot().toPath().resolve("download");
+    }
+
+    @Test
+    public void download_writesAllPartsAtTheirOffsets() throws IOException {
+        stubAllParts();
+
+        ParallelDownload download = downloader.download(request(), destination);
+        GetObjectResponse response = download.completionFuture().join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(content);
+        assertThat(response.contentLength()).isEqualTo(OBJECT_SIZE);
+        assertThat(response.contentRange()).isNull();
+        assertThat(download.bytesTransferred()).isEqualTo(OBJECT_SIZE);
+        assertThat(download.totalBytes()).hasValue(OBJECT_SIZE);
+        assertThat(download.partsCompleted()).isEqualTo(10);
+        assertThat(download.partRetries()).isZero();
+        verify(10, getRequestedFor(urlEqualTo(KEY_PATH)));
+        verify(9, getRequestedFor(urlEqualTo(KEY_PATH)).withHeader("If-Match", equalTo(ETAG)));
+    }
+
+    @Test
+    public void download_failedPart_isRequestedAgain() throws IOException {
+        stubAllParts();
+        stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", equalTo(range(3 * PART_SIZE)))
+                                         .inScenario("retry")
+                                         .whenScenarioStateIs(Scenario.STARTED)
+                                         .willSetStateTo("failed")
+                                         .willReturn(aResponse().withStatus(500)
+                                                                .withBody("<Error><Code>InternalError</Code></Error>")));
+        stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", equalTo(range(3 * PART_SIZE)))
+                                         .inScenario("retry")
+                                         .whenScenarioStateIs("failed")
+                                         .willReturn(partResponse(3 * PART_SIZE)));
+
+        ParallelDownload download = downloader.download(request(), destination);
+        download.completionFuture().join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(content);
+        assertThat(download.partRetries()).isEqualTo(1);
+        assertThat(download.partsCompleted()).isEqualTo(10);
+    }
+
+    @Test
+    public void download_modifiedObject_failsAndDeletesFile() {
+        stubAllParts();
+        stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", equalTo(range(5 * PART_SIZE)))
+                                         .willReturn(aResponse().withStatus(412)
+                                                                .withBody("<Error><Code>PreconditionFailed</Code></Error>")));
+
+        ParallelDownload download = downloader.download(request(), destination);
+
+        assertThatThrownBy(() -> download.completionFuture().join()).isInstanceOf(CompletionException.class)
+                                                                    .hasCauseInstanceOf(S3Exception.class);
+        assertThat(download.partRetries()).isZero();
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    public void download_emptyObject_fallsBackToUnrangedRequest() throws IOException {
+        stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", equalTo("bytes=0-" + (PART_SIZE - 1)))
+                                         .willReturn(aResponse().withStatus(416)
+                                                                .withBody("<Error><Code>InvalidRange</Code></Error>")));
+        stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", absent())
+                                         .willReturn(aResponse().withStatus(200).withHeader("ETag", ETAG)));
+
+        ParallelDownload download = downloader.download(request(), destination);
+        GetObjectResponse response = download.completionFuture().join();
+
+        assertThat(destination).exists();
+        assertThat(Files.size(destination)).isZero();
+        assertThat(response.contentLength()).isZero();
+        assertThat(download.totalBytes()).hasValue(0);
+    }
+
+    @Test
+    public void download_existingFile_failsWithoutRequests() throws IOException {
+        Files.createFile(destination);
+
+        ParallelDownload download = downloader.download(request(), destination);
+
+        assertThatThrownBy(() -> download.completionFuture().join()).hasCauseInstanceOf(SdkClientException.class);
+        assertThat(destination).exists();
+        verify(0, getRequestedFor(urlEqualTo(KEY_PATH)));
+    }
+
+    private void stubAllParts() {
+        for (int start = 0; start < OBJECT_SIZE; start += PART_SIZE) {
+            stubFor(get(urlEqualTo(KEY_PATH)).withHeader("Range", equalTo(range(start)))
+                                             .willReturn(partResponse(start)));
+        }
+    }
+
+    private ResponseDefinitionBuilder partResponse(int start) {
+        int end = Math.min(start + PART_SIZE, OBJECT_SIZE) - 1;
+        return aResponse().withStatus(206)
+                          .withHeader("Content-Range", "bytes " + start + "-" + end + "/" + OBJECT_SIZE)
+                          .withHeader("ETag", ETAG)
+                          .withBody(Arrays.copyOfRange(content, start, end + 1));
+    }
+
+    private static String range(int start) {
+        return "bytes=" + start + "-" + (Math.min(start + PART_SIZE, OBJECT_SIZE) - 1);
+    }
+
+    private static GetObjectRequest request() {
+        return GetObjectRequest.builder().bucket("bucket").key("key").build();
+    }
+}
@@ -108,6 +108,36 @@ public class EndpointAddressInterceptorTest {
                        S3Configuration.builder().pathStyleAccessEnabled(true));
     }
 
+    @Test
+    public void virtualStyle_shouldMoveBucketFromPathToHost() {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .protocol("https")
+                                                       .host("s3.us-west-2.amazonaws.com")
+                                                       .encodedPath("/some-bucket/some-key")
+                                                       .method(SdkHttpMethod.GET)
+                                                       .build();
+        Context.ModifyHttpRequest ctx = new Context.ModifyHttpRequest() {
+            @Override
+            public SdkHttpFullRequest httpRequest() {
+                return request;
+            }
+
+            @Override
+            public SdkRequest request() {
+                return ListObjectsV2Request.builder().bucket("some-bucket").build();
+            }
+        };
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(AWS_REGION, Region.US_WEST_2);
+
+        // The second request for the same bucket is resolved from the interceptor's cache.
+        for (int i = 0; i < 2; i++) {
+            SdkHttpFullRequest modified = interceptor.modifyHttpRequest(ctx, executionAttributes);
+            assertThat(modified.host()).isEqualTo("some-bucket.s3.us-west-2.amazonaws.com");
+            assertThat(modified.encodedPath()).isEqualTo("/some-key");
+        }
+    }
+
     private void verifyVirtualStyleConvertDnsEndpoint(String protocol) {
         URI customUri = URI.create(String.format("%s://s3-test.com", protocol));
         String bucketName = "some-bucket";
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sts.auth;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.Credentials;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.CachedSupplier;
+import software.amazon.awssdk.utils.cache.NonBlocking;
+import software.amazon.awssdk.utils.cache.RefreshResult;
+
+/**
+ * A cache of assumed-role sessions that can be shared by many {@link StsAssumeRoleCredentialsProvider}s, so that providers
+ * for the same role reuse one session instead of each calling STS for their own.
+ *
+ * <p>Sessions are keyed by the {@link StsClient} of the provider, and by the role ARN, external ID, MFA serial number and token
+ * code, session policy and duration of the {@link AssumeRoleRequest}. The role session name is not part of the key, so
+ * providers that only differ in their session name share a session. Sessions are only shared by providers that use the same
+ * STS client instance, so a session is never returned to a provider whose own credentials could not have assumed the role.
+ * A session is always refreshed with the client and request of the provider that created it, so the STS clients of providers
+ * using the cache must not be closed while the cache is in use.</p>
+ *
+ * <p>Only one call to STS is made at a time for each session. Sessions are refreshed in the background five minutes before
+ * they expire, while the current session continues to be returned, and callers only wait for STS once a session is within a
+ * minute of expiring. When more than {@link Builder#maxSize(Integer)} sessions are cached, the least recently used session is
+ * evicted.</p>
+ *
+ * <p>Each provider remembers the session it last used, so it only looks its session up in the cache again when its request
+ * changes or the session is evicted. The cache is only locked to add or evict sessions.</p>
+ *
+ * <pre class="brush: java">
+ * StsAssumeRoleCredentialsCache cache = StsAssumeRoleCredentialsCache.create();
+ *
+ * StsAssumeRoleCredentialsProvider provider = StsAssumeRoleCredentialsProvider.builder()
+ *                                                                             .stsClient(stsClient)
+ *                                                                             .refreshRequest(assumeRoleRequest)
+ *                                                                             .credentialsCache(cache)
+ *                                                                             .build();
+ * </pre>
+ *
+ * <p>This is created using {@link #create()} or {@link #builder()}. Closing the cache stops the background refresh of all of
+ * its sessions.</p>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class StsAssumeRoleCredentialsCache implements SdkAutoCloseable {
+    private static final int DEFAULT_MAX_SIZE = 64;
+
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+
+    private StsAssumeRoleCredentialsCache(Builder builder) {
+        this.maxSize = builder.maxSize == null ? DEFAULT_MAX_SIZE : Validate.isPositive(builder.maxSize, "maxSize");
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a cache with the default configuration.
+     */
+    public static StsAssumeRoleCredentialsCache create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a builder for an {@link StsAssumeRoleCredentialsCache}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The number of times credentials were requested for a session that was already cached.
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * The number of times credentials were requested for a session that was not cached.
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * The number of sessions that were evicted because the cache was full.
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * The number of times STS was called to create or refresh a session.
+     */
+    public long loadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * The number of sessions currently cached.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Create the reference through which one provider gets its session from this cache.
+     */
+    SessionReference newSessionReference() {
+        return new SessionReference();
+    }
+
+    private Entry entry(Key key, StsClient stsClient, AssumeRoleRequest request) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            entry.lastUsed = System.nanoTime();
+            return entry;
+        }
+
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null) {
+                hitCount.increment();
+                entry.lastUsed = System.nanoTime();
+            } else {
+                missCount.increment();
+                entry = new Entry(stsClient, request);
+                entries.put(key, entry);
+
+                while (entries.size() > maxSize) {
+                    evicted.add(evictLeastRecentlyUsed());
+                }
+            }
+        }
+
+        evicted.forEach(e -> IoUtils.closeQuietly(e.session, null));
+        return entry;
+    }
+
+    /**
+     * Remove the session that was used the longest time ago. Must be called while holding the lock on {@link #entries}.
+     */
+    private Entry evictLeastRecentlyUsed() {
+        Map.Entry<Key, Entry> eldest = null;
+        for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+            if (eldest == null || candidate.getValue().lastUsed - eldest.getValue().lastUsed < 0) {
+                eldest = candidate;
+            }
+        }
+        entries.remove(eldest.getKey());
+        eldest.getValue().evicted = true;
+        evictionCount.increment();
+        return eldest.getValue();
+    }
+
+    /**
+     * Remove all sessions from the cache.
+     */
+    public void clear() {
+        List<Entry> removed;
+        synchronized (entries) {
+            removed = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        removed.forEach(e -> e.evicted = true);
+        removed.forEach(e -> IoUtils.closeQuietly(e.session, null));
+    }
+
+    /**
+     * Remove all sessions from the cache and stop refreshing them in the background.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("StsAssumeRoleCredentialsCache")
+                       .add("maxSize", maxSize)
+                       .add("size", size())
+                       .add("hitCount", hitCount())
+                       .add("missCount", missCount())
+                       .add("evictionCount", evictionCount())
+                       .add("loadCount", loadCount())
+                       .build();
+    }
+
+    /**
+     * The session of one provider. It remembers the client, request and key that the provider last looked its session up with,
+     * and the session that was found, so that the key is only computed again when the request changes.
+     */
+    final class SessionReference {
+        private volatile Lookup lastLookup;
+
+        private SessionReference() {
+        }
+
+        /**
+         * Get the credentials for the session described by the given client and request, calling STS if the session is not
+         * cached or is about to expire.
+         */
+        AwsCredentials resolveCredentials(StsClient stsClient, AssumeRoleRequest request) {
+            return entry(stsClient, request).session.get().getSessionCredentials();
+        }
+
+        /**
+         * The non-blocking variant of {@link #resolveCredentials(StsClient, AssumeRoleRequest)}.
+         */
+        CompletableFuture<AwsCredentials> resolveCredentialsAsync(StsClient stsClient, AssumeRoleRequest request) {
+            return entry(stsClient, request).session.getAsync().thenApply(SessionCredentialsHolder::getSessionCredentials);
+        }
+
+        private Entry entry(StsClient stsClient, AssumeRoleRequest request) {
+            Validate.notNull(stsClient, "STS client must not be null.");
+            Validate.notNull(request, "Assume role request must not be null.");
+
+            Lookup lookup = lastLookup;
+            if (lookup == null || !lookup.matches(stsClient, request)) {
+                lookup = new Lookup(stsClient, request, new Key(stsClient, request), null);
+            } else if (!lookup.entry.evicted) {
+                hitCount.increment();
+                lookup.entry.lastUsed = System.nanoTime();
+                return lookup.entry;
+            }
+
+            Entry entry = StsAssumeRoleCredentialsCache.this.entry(lookup.key, stsClient, request);
+            lastLookup = new Lookup(stsClient, request, lookup.key, entry);
+            return entry;
+        }
+    }
+
+    /**
+     * The session that a {@link SessionReference} found for a client and request.
+     */
+    private static final class Lookup {
+        private final StsClient stsClient;
+        private final AssumeRoleRequest request;
+        private final Key key;
+        private final Entry entry;
+
+        private Lookup(StsClient stsClient, AssumeRoleRequest request, Key key, Entry entry) {
+            this.stsClient = stsClient;
+            this.request = request;
+            this.key = key;
+            this.entry = entry;
+        }
+
+        private boolean matches(StsClient stsClient, AssumeRoleRequest request) {
+            return this.stsClient == stsClient && (this.request == request || this.request.equals(request));
+        }
+    }
+
+    /**
+     * A cached session, refreshed using the client and request that created it. Both are owned by the entry, so they stay the
+     * same for as long as the session is cached, whichever provider asks for it.
+     */
+    private final class Entry {
+        private final CachedSupplier<SessionCredentialsHolder> session =
+                CachedSupplier.builder(this::refresh).prefetchStrategy(new NonBlocking()).build();
+
+        private final StsClient stsClient;
+        private final AssumeRoleRequest request;
+
+        private volatile long lastUsed = System.nanoTime();
+        private volatile boolean evicted;
+
+        private Entry(StsClient stsClient, AssumeRoleRequest request) {
+            this.stsClient = stsClient;
+            this.request = request;
+        }
+
+        private RefreshResult<SessionCredentialsHolder> refresh() {
+            loadCount.increment();
+            Credentials credentials = Validate.notNull(stsClient.assumeRole(request).credentials(),
+                                                       "STS returned no credentials.");
+            return StsCredentialsProvider.refreshResult(new SessionCredentialsHolder(credentials));
+        }
+    }
+
+    /**
+     * The STS client, and the parts of an {@link AssumeRoleRequest} that determine the permissions and lifetime of the session.
+     * The client is compared by identity, because it is what holds the credentials that the role is assumed with. The session
+     * policy is only kept as a hash, because it can be several kilobytes long.
+     */
+    private static final class Key {
+        private final StsClient stsClient;
+        private final String roleArn;
+        private final String externalId;
+        private final String serialNumber;
+        private final String tokenCode;
+        private final String policyHash;
+        private final Integer durationSeconds;
+
+        private Key(StsClient stsClient, AssumeRoleRequest request) {
+            this.stsClient = stsClient;
+            this.roleArn = request.roleArn();
+            this.externalId = request.externalId();
+            this.serialNumber = request.serialNumber();
+            this.tokenCode = request.tokenCode();
+            this.policyHash = request.policy() == null ? null : sha256(request.policy());
+            this.durationSeconds = request.durationSeconds();
+        }
+
+        private static String sha256(String value) {
+            try {
+                return BinaryUtils.toBase64(MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return stsClient == key.stsClient &&
+                   Objects.equals(roleArn, key.roleArn) &&
+                   Objects.equals(externalId, key.externalId) &&
+                   Objects.equals(serialNumber, key.serialNumber) &&
+                   Objects.equals(tokenCode, key.tokenCode) &&
+                   Objects.equals(policyHash, key.policyHash) &&
+                   Objects.equals(durationSeconds, key.durationSeconds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(stsClient), roleArn, externalId, serialNumber, tokenCode, policyHash,
+                                durationSeconds);
+        }
+    }
+
+    /**
+     * A builder (created by {@link StsAssumeRoleCredentialsCache#builder()}) for creating a
+     * {@link StsAssumeRoleCredentialsCache}.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+        private Integer maxSize;
+
+        private Builder() {
+        }
+
+        /**
+         * Configure the maximum number of sessions to cache. When more sessions are added, the least recently used session is
+         * evicted.
+         *
+         * <p>By default, 64 sessions are cached.</p>
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Build the cache using the configuration applied to this builder.
+         */
+        public StsAssumeRoleCredentialsCache build() {
+            return new StsAssumeRoleCredentialsCache(this);
+        }
+    }
+}
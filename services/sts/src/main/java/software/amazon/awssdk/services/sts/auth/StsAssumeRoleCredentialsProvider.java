@@ -15,12 +15,14 @@
 
 package software.amazon.awssdk.services.sts.auth;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
@@ -37,21 +39,28 @@ import software.amazon.awssdk.utils.Validate;
  * This provider creates a thread in the background to periodically update credentials. If this provider is no longer needed,
  * the background thread can be shut down using {@link #close()}.
  *
+ * Providers for the same role can share their sessions by configuring the same {@link StsAssumeRoleCredentialsCache} using
+ * {@link Builder#credentialsCache(StsAssumeRoleCredentialsCache)}.
+ *
  * This is created using {@link StsAssumeRoleCredentialsProvider#builder()}.
  */
 @SdkPublicApi
 @ThreadSafe
 public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvider {
     private Supplier<AssumeRoleRequest> assumeRoleRequestSupplier;
+    private final StsAssumeRoleCredentialsCache credentialsCache;
+    private final StsAssumeRoleCredentialsCache.SessionReference cachedSession;
 
     /**
      * @see #builder()
      */
     private StsAssumeRoleCredentialsProvider(Builder builder) {
-        super(builder, "sts-assume-role-credentials-provider");
+        super(builder);
         Validate.notNull(builder.assumeRoleRequestSupplier, "Assume role request must not be null.");
 
         this.assumeRoleRequestSupplier = builder.assumeRoleRequestSupplier;
+        this.credentialsCache = builder.credentialsCache;
+        this.cachedSession = credentialsCache == null ? null : credentialsCache.newSessionReference();
     }
 
     /**
@@ -61,17 +70,36 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
         return new Builder();
     }
 
+    @Override
+    public AwsCredentials resolveCredentials() {
+        if (cachedSession == null) {
+            return super.resolveCredentials();
+        }
+        return cachedSession.resolveCredentials(stsClient(), assumeRoleRequest());
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (cachedSession == null) {
+            return super.resolveCredentialsAsync();
+        }
+        return cachedSession.resolveCredentialsAsync(stsClient(), assumeRoleRequest());
+    }
+
     @Override
     protected Credentials getUpdatedCredentials(StsClient stsClient) {
-        AssumeRoleRequest assumeRoleRequest = assumeRoleRequestSupplier.get();
-        Validate.notNull(assumeRoleRequest, "Assume role request must not be null.");
-        return stsClient.assumeRole(assumeRoleRequest).credentials();
+        return stsClient.assumeRole(assumeRoleRequest()).credentials();
+    }
+
+    private AssumeRoleRequest assumeRoleRequest() {
+        return Validate.notNull(assumeRoleRequestSupplier.get(), "Assume role request must not be null.");
     }
 
     @Override
     public String toString() {
         return ToString.builder("StsAssumeRoleCredentialsProvider")
                        .add("refreshRequest", assumeRoleRequestSupplier)
+                       .add("credentialsCache", credentialsCache)
                        .build();
     }
 
@@ -82,6 +110,7 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
     @NotThreadSafe
     public static final class Builder extends BaseBuilder<Builder, StsAssumeRoleCredentialsProvider> {
         private Supplier<AssumeRoleRequest> assumeRoleRequestSupplier;
+        private StsAssumeRoleCredentialsCache credentialsCache;
 
         private Builder() {
             super(StsAssumeRoleCredentialsProvider::new);
@@ -118,5 +147,19 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
         public Builder refreshRequest(Consumer<AssumeRoleRequest.Builder> assumeRoleRequest) {
             return refreshRequest(AssumeRoleRequest.builder().applyMutation(assumeRoleRequest).build());
         }
+
+        /**
+         * Configure a {@link StsAssumeRoleCredentialsCache} that is shared with other providers, so that providers assuming the
+         * same role reuse one session instead of each calling STS. The cache is not closed when this provider is closed.
+         *
+         * <p>By default, sessions are not shared and each provider calls STS for its own session.</p>
+         *
+         * @param credentialsCache The cache that sessions should be stored in.
+         * @return This object for chained calls.
+         */
+        public Builder credentialsCache(StsAssumeRoleCredentialsCache credentialsCache) {
+            this.credentialsCache = credentialsCache;
+            return this;
+        }
     }
 }
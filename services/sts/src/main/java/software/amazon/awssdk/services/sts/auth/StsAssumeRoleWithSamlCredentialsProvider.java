@@ -49,7 +49,7 @@ public final class StsAssumeRoleWithSamlCredentialsProvider extends StsCredentia
      * @see #builder()
      */
     private StsAssumeRoleWithSamlCredentialsProvider(Builder builder) {
-        super(builder, "sts-assume-role-with-saml-credentials-provider");
+        super(builder);
         Validate.notNull(builder.assumeRoleWithSamlRequestSupplier, "Assume role with SAML request must not be null.");
 
         this.assumeRoleWithSamlRequestSupplier = builder.assumeRoleWithSamlRequestSupplier;
@@ -47,7 +47,7 @@ public final class StsAssumeRoleWithWebIdentityCredentialsProvider extends StsCr
      * @see #builder()
      */
     private StsAssumeRoleWithWebIdentityCredentialsProvider(Builder builder) {
-        super(builder, "sts-assume-role-with-web-identity-credentials-provider");
+        super(builder);
         Validate.notNull(builder.assumeRoleWithWebIdentityRequest, "Assume role with web identity request must not be null.");
 
         this.assumeRoleWithWebIdentityRequest = builder.assumeRoleWithWebIdentityRequest;
@@ -17,10 +17,12 @@ package software.amazon.awssdk.services.sts.auth;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.services.sts.StsClient;
@@ -35,11 +37,12 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
  * An implementation of {@link AwsCredentialsProvider} that is extended within this package to provide support for periodically-
  * updating session credentials. When credentials get close to expiration, this class will attempt to update them asynchronously
  * using {@link #getUpdatedCredentials(StsClient)}. If the credentials end up expiring, this class will block all calls to
- * {@link #resolveCredentials()} until the credentials can be updated.
+ * {@link #resolveCredentials()} until the credentials can be updated. Calls to {@link #resolveCredentialsAsync()} are never
+ * blocked, the returned future is completed once the credentials have been updated.
  */
 @ThreadSafe
 @SdkInternalApi
-abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+abstract class StsCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     /**
      * The STS client that should be used for periodically updating the session credentials in the background.
      */
@@ -50,12 +53,12 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
      */
     private final CachedSupplier<SessionCredentialsHolder> sessionCache;
 
-    protected StsCredentialsProvider(BaseBuilder<?, ?> builder, String asyncThreadName) {
+    protected StsCredentialsProvider(BaseBuilder<?, ?> builder) {
         this.stsClient = Validate.notNull(builder.stsClient, "STS client must not be null.");
 
         CachedSupplier.Builder<SessionCredentialsHolder> cacheBuilder = CachedSupplier.builder(this::updateSessionCredentials);
         if (builder.asyncCredentialUpdateEnabled) {
-            cacheBuilder.prefetchStrategy(new NonBlocking(asyncThreadName));
+            cacheBuilder.prefetchStrategy(new NonBlocking());
         }
         this.sessionCache = cacheBuilder.build();
     }
@@ -65,7 +68,14 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
      * expiring.
      */
     private RefreshResult<SessionCredentialsHolder> updateSessionCredentials() {
-        SessionCredentialsHolder credentials = new SessionCredentialsHolder(getUpdatedCredentials(stsClient));
+        return refreshResult(new SessionCredentialsHolder(getUpdatedCredentials(stsClient)));
+    }
+
+    /**
+     * Wrap session credentials so that they become stale a minute before they expire, and are prefetched five minutes before
+     * they expire.
+     */
+    static RefreshResult<SessionCredentialsHolder> refreshResult(SessionCredentialsHolder credentials) {
         Instant actualTokenExpiration = credentials.getSessionCredentialsExpiration().toInstant();
         return RefreshResult.builder(credentials)
                             .staleTime(actualTokenExpiration.minus(Duration.ofMinutes(1)))
@@ -73,11 +83,23 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
                             .build();
     }
 
+    /**
+     * The STS client that was configured for this provider.
+     */
+    StsClient stsClient() {
+        return stsClient;
+    }
+
     @Override
     public AwsCredentials resolveCredentials() {
         return sessionCache.get().getSessionCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return sessionCache.getAsync().thenApply(SessionCredentialsHolder::getSessionCredentials);
+    }
+
     @Override
     public void close() {
         sessionCache.close();
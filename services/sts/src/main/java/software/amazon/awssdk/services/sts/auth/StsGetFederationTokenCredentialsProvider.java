@@ -47,7 +47,7 @@ public class StsGetFederationTokenCredentialsProvider extends StsCredentialsProv
      * @see #builder()
      */
     private StsGetFederationTokenCredentialsProvider(Builder builder) {
-        super(builder, "sts-get-federation-token-credentials-provider");
+        super(builder);
         Validate.notNull(builder.getFederationTokenRequest, "Get session token request must not be null.");
 
         this.getFederationTokenRequest = builder.getFederationTokenRequest;
@@ -46,7 +46,7 @@ public class StsGetSessionTokenCredentialsProvider extends StsCredentialsProvide
      * @see #builder()
      */
     private StsGetSessionTokenCredentialsProvider(Builder builder) {
-        super(builder, "sts-get-token-credentials-provider");
+        super(builder);
         Validate.notNull(builder.getSessionTokenRequest, "Get session token request must not be null.");
 
         this.getSessionTokenRequest = builder.getSessionTokenRequest;
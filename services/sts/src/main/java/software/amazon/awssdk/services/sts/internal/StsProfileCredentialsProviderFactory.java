@@ -15,7 +15,9 @@
 
 package software.amazon.awssdk.services.sts.internal;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.ChildProfileCredentialsProviderFactory;
@@ -49,7 +51,7 @@ public final class StsProfileCredentialsProviderFactory implements ChildProfileC
      * {@link #create(AwsCredentialsProvider, Profile)} is invoked. This wrapper is important because it ensures the parent
      * credentials provider is closed when the assume-role credentials provider is no longer needed.
      */
-    private static final class StsProfileCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+    private static final class StsProfileCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
         private final StsClient stsClient;
         private final AwsCredentialsProvider parentCredentialsProvider;
         private final StsAssumeRoleCredentialsProvider credentialsProvider;
@@ -93,6 +95,11 @@ public final class StsProfileCredentialsProviderFactory implements ChildProfileC
             return this.credentialsProvider.resolveCredentials();
         }
 
+        @Override
+        public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+            return this.credentialsProvider.resolveCredentialsAsync();
+        }
+
         @Override
         public void close() {
             IoUtils.closeIfCloseable(parentCredentialsProvider, null);
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sts.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+/**
+ * Validate the functionality of {@link StsAssumeRoleCredentialsCache}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StsAssumeRoleCredentialsCacheTest {
+    @Mock
+    private StsClient stsClient;
+
+    private final StsAssumeRoleCredentialsCache cache = StsAssumeRoleCredentialsCache.builder().maxSize(2).build();
+
+    @After
+    public void closeCache() {
+        cache.close();
+    }
+
+    @Test
+    public void providersForSameRoleShareSession() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").roleSessionName("session-1").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").roleSessionName("session-2").build());
+
+        verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void differentSessionPoliciesDoNotShareSession() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").policy("policy-1").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").policy("policy-2").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").policy("policy-1").build());
+
+        verify(stsClient, times(2)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.missCount()).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void differentStsClientsDoNotShareSession() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+        StsClient otherStsClient = Mockito.mock(StsClient.class);
+        when(otherStsClient.assumeRole(any(AssumeRoleRequest.class)))
+            .thenReturn(AssumeRoleResponse.builder().credentials(credentials(Instant.now().plus(Duration.ofHours(1)))).build());
+        AssumeRoleRequest request = AssumeRoleRequest.builder().roleArn("role").build();
+
+        resolveCredentials(request);
+        try (StsAssumeRoleCredentialsProvider provider = provider(otherStsClient, request)) {
+            provider.resolveCredentials();
+        }
+
+        verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+        verify(otherStsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void differentMfaTokensDoNotShareSession() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").serialNumber("mfa").tokenCode("123456").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").serialNumber("mfa").tokenCode("654321").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role").build());
+
+        verify(stsClient, times(3)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.missCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void leastRecentlyUsedSessionIsEvicted() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-1").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-2").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-1").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-3").build());
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-1").build());
+
+        verify(stsClient, times(3)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+
+        resolveCredentials(AssumeRoleRequest.builder().roleArn("role-2").build());
+        verify(stsClient, times(4)).assumeRole(any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void providerLooksUpItsSessionAgainOnlyAfterItIsEvicted() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+
+        try (StsAssumeRoleCredentialsProvider provider = provider(AssumeRoleRequest.builder().roleArn("role-1").build())) {
+            provider.resolveCredentials();
+            provider.resolveCredentials();
+            assertThat(cache.missCount()).isEqualTo(1);
+            assertThat(cache.hitCount()).isEqualTo(1);
+
+            resolveCredentials(AssumeRoleRequest.builder().roleArn("role-2").build());
+            resolveCredentials(AssumeRoleRequest.builder().roleArn("role-3").build());
+            provider.resolveCredentials();
+        }
+
+        verify(stsClient, times(4)).assumeRole(any(AssumeRoleRequest.class));
+        assertThat(cache.missCount()).isEqualTo(4);
+        assertThat(cache.evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentCallersShareOneCall() throws Exception {
+        Credentials credentials = credentials(Instant.now().plus(Duration.ofHours(1)));
+        when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return AssumeRoleResponse.builder().credentials(credentials).build();
+        });
+
+        AssumeRoleRequest request = AssumeRoleRequest.builder().roleArn("role").build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<AwsCredentials>> results = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                results.add(CompletableFuture.supplyAsync(() -> resolveCredentials(request), executor));
+            }
+            results.forEach(CompletableFuture::join);
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void expiringSessionIsReturnedWhileRefreshedInBackground() throws InterruptedException {
+        stubAssumeRole(Instant.now().plus(Duration.ofMinutes(3)));
+        AssumeRoleRequest request = AssumeRoleRequest.builder().roleArn("role").build();
+
+        resolveCredentials(request);
+        resolveCredentials(request);
+
+        Instant endCheckTime = Instant.now().plus(Duration.ofSeconds(5));
+        while (Mockito.mockingDetails(stsClient).getInvocations().size() < 2 && endCheckTime.isAfter(Instant.now())) {
+            Thread.sleep(100);
+        }
+
+        verify(stsClient, times(2)).assumeRole(any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void sessionIsRefreshedWithTheRequestThatCreatedIt() throws InterruptedException {
+        stubAssumeRole(Instant.now().plus(Duration.ofMinutes(3)));
+        AssumeRoleRequest first = AssumeRoleRequest.builder().roleArn("role").roleSessionName("session-1").build();
+        AssumeRoleRequest second = AssumeRoleRequest.builder().roleArn("role").roleSessionName("session-2").build();
+
+        resolveCredentials(first);
+        resolveCredentials(second);
+
+        Instant endCheckTime = Instant.now().plus(Duration.ofSeconds(5));
+        while (Mockito.mockingDetails(stsClient).getInvocations().size() < 2 && endCheckTime.isAfter(Instant.now())) {
+            Thread.sleep(100);
+        }
+
+        verify(stsClient, times(2)).assumeRole(first);
+        verify(stsClient, times(0)).assumeRole(second);
+    }
+
+    @Test
+    public void asyncCallsUseSharedSession() {
+        stubAssumeRole(Instant.now().plus(Duration.ofHours(1)));
+        AssumeRoleRequest request = AssumeRoleRequest.builder().roleArn("role").build();
+
+        resolveCredentials(request);
+        AwsCredentials credentials = provider(request).resolveCredentialsAsync().join();
+
+        assertThat(credentials.accessKeyId()).isEqualTo("a");
+        verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+    }
+
+    private AwsCredentials resolveCredentials(AssumeRoleRequest request) {
+        try (StsAssumeRoleCredentialsProvider provider = provider(request)) {
+            AwsSessionCredentials credentials = (AwsSessionCredentials) provider.resolveCredentials();
+            assertThat(credentials.sessionToken()).isEqualTo("c");
+            return credentials;
+        }
+    }
+
+    private StsAssumeRoleCredentialsProvider provider(AssumeRoleRequest request) {
+        return provider(stsClient, request);
+    }
+
+    private StsAssumeRoleCredentialsProvider provider(StsClient client, AssumeRoleRequest request) {
+        return StsAssumeRoleCredentialsProvider.builder()
+                                               .stsClient(client)
+                                               .refreshRequest(request)
+                                               .credentialsCache(cache)
+                                               .build();
+    }
+
+    private void stubAssumeRole(Instant expiration) {
+        when(stsClient.assumeRole(any(AssumeRoleRequest.class)))
+            .thenReturn(AssumeRoleResponse.builder().credentials(credentials(expiration)).build());
+    }
+
+    private Credentials credentials(Instant expiration) {
+        return Credentials.builder().accessKeyId("a").secretAccessKey("b").sessionToken("c").expiration(expiration).build();
+    }
+}
@@ -19,22 +19,34 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.UNMARSHALLING_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.UNMARSHALLING_INLINE_THRESHOLD;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import java.net.URI;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mockito;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClientBuilder;
+import software.amazon.awssdk.services.protocolrestjson.model.AllTypesResponse;
 import software.amazon.awssdk.services.protocolrestjson.model.StreamingOutputOperationRequest;
 import software.amazon.awssdk.services.protocolrestjson.model.StreamingOutputOperationResponse;
 
@@ -43,6 +55,7 @@ public class AsyncResponseThreadingTest {
     public WireMockRule wireMock = new WireMockRule(0);
 
     private static final String STREAMING_OUTPUT_PATH = "/2016-03-11/streamingOutputOperation";
+    private static final String ALL_TYPES_PATH = "/2016-03-11/allTypes";
 
     @Test
     public void completionWithNioThreadWorksCorrectly() {
@@ -50,22 +63,113 @@ public class AsyncResponseThreadingTest {
 
         Executor mockExecutor = Mockito.spy(new SpyableExecutor());
 
-        ProtocolRestJsonAsyncClient client =
-                ProtocolRestJsonAsyncClient.builder()
-                                           .region(Region.US_WEST_1)
-                                           .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
-                                           .credentialsProvider(() -> AwsBasicCredentials.create("akid", "skid"))
-                                           .asyncConfiguration(c -> c.advancedOption(FUTURE_COMPLETION_EXECUTOR, mockExecutor))
-                                           .build();
+        try (ProtocolRestJsonAsyncClient client =
+                 ProtocolRestJsonAsyncClient.builder()
+                                            .region(Region.US_WEST_1)
+                                            .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                            .credentialsProvider(() -> AwsBasicCredentials.create("akid", "skid"))
+                                            .asyncConfiguration(c -> c.advancedOption(FUTURE_COMPLETION_EXECUTOR, mockExecutor))
+                                            .build()) {
 
-        ResponseBytes<StreamingOutputOperationResponse> response =
-                client.streamingOutputOperation(StreamingOutputOperationRequest.builder().build(),
-                                                AsyncResponseTransformer.toBytes()).join();
+            ResponseBytes<StreamingOutputOperationResponse> response =
+                    client.streamingOutputOperation(StreamingOutputOperationRequest.builder().build(),
+                                                    AsyncResponseTransformer.toBytes()).join();
 
-        verify(mockExecutor).execute(any());
+            verify(mockExecutor).execute(any());
 
-        byte[] arrayCopy = response.asByteArray();
-        assertThat(arrayCopy).containsExactly('t', 'e', 's', 't');
+            byte[] arrayCopy = response.asByteArray();
+            assertThat(arrayCopy).containsExactly('t', 'e', 's', 't');
+        }
+    }
+
+    @Test
+    public void smallResponseIsUnmarshalledWithoutUnmarshallingExecutor() {
+        stubFor(post(urlPathEqualTo(ALL_TYPES_PATH)).willReturn(aResponse().withStatus(200)
+                                                                           .withBody("{\"StringMember\":\"foo\"}")));
+
+        Executor mockExecutor = Mockito.spy(new SpyableExecutor());
+        AtomicReference<Thread> unmarshallingThread = new AtomicReference<>();
+
+        try (ProtocolRestJsonAsyncClient client = clientBuilder(unmarshallingThread)
+            .asyncConfiguration(c -> c.advancedOption(UNMARSHALLING_EXECUTOR, mockExecutor))
+            .build()) {
+
+            AllTypesResponse response = client.allTypes(r -> {}).join();
+
+            assertThat(response.stringMember()).isEqualTo("foo");
+            verify(mockExecutor, never()).execute(any());
+            assertThat(unmarshallingThread.get().getName()).doesNotContain("ForkJoinPool.commonPool");
+        }
+    }
+
+    @Test
+    public void responseOverThresholdIsUnmarshalledWithUnmarshallingExecutor() {
+        stubFor(post(urlPathEqualTo(ALL_TYPES_PATH)).willReturn(aResponse().withStatus(200)
+                                                                           .withBody("{\"StringMember\":\"foo\"}")));
+
+        Executor mockExecutor = Mockito.spy(new SpyableExecutor());
+
+        try (ProtocolRestJsonAsyncClient client = clientBuilder(new AtomicReference<>())
+            .asyncConfiguration(c -> c.advancedOption(UNMARSHALLING_EXECUTOR, mockExecutor)
+                                      .advancedOption(UNMARSHALLING_INLINE_THRESHOLD, 0))
+            .build()) {
+
+            AllTypesResponse response = client.allTypes(r -> {}).join();
+
+            assertThat(response.stringMember()).isEqualTo("foo");
+            verify(mockExecutor).execute(any());
+        }
+    }
+
+    @Test
+    public void rejectedUnmarshallingFailsRequest() {
+        stubFor(post(urlPathEqualTo(ALL_TYPES_PATH)).willReturn(aResponse().withStatus(200)
+                                                                           .withBody("{\"StringMember\":\"foo\"}")));
+
+        Executor rejectingExecutor = command -> {
+            throw new RejectedExecutionException("Saturated");
+        };
+
+        try (ProtocolRestJsonAsyncClient client = clientBuilder(new AtomicReference<>())
+            .asyncConfiguration(c -> c.advancedOption(UNMARSHALLING_EXECUTOR, rejectingExecutor)
+                                      .advancedOption(UNMARSHALLING_INLINE_THRESHOLD, 0))
+            .build()) {
+
+            assertThatThrownBy(() -> client.allTypes(r -> {}).join())
+                .hasCauseInstanceOf(SdkClientException.class)
+                .hasRootCauseInstanceOf(RejectedExecutionException.class);
+        }
+    }
+
+    @Test
+    public void defaultUnmarshallingExecutorIsNotCommonPool() {
+        stubFor(post(urlPathEqualTo(ALL_TYPES_PATH)).willReturn(aResponse().withStatus(200)
+                                                                           .withBody("{\"StringMember\":\"foo\"}")));
+
+        AtomicReference<Thread> unmarshallingThread = new AtomicReference<>();
+
+        try (ProtocolRestJsonAsyncClient client = clientBuilder(unmarshallingThread)
+            .asyncConfiguration(c -> c.advancedOption(UNMARSHALLING_INLINE_THRESHOLD, 0))
+            .build()) {
+
+            client.allTypes(r -> {}).join();
+
+            assertThat(unmarshallingThread.get().getName()).startsWith("sdk-async-unmarshalling");
+        }
+    }
+
+    private ProtocolRestJsonAsyncClientBuilder clientBuilder(AtomicReference<Thread> unmarshallingThread) {
+        ExecutionInterceptor threadRecorder = new ExecutionInterceptor() {
+            @Override
+            public void afterUnmarshalling(Context.AfterUnmarshalling context, ExecutionAttributes executionAttributes) {
+                unmarshallingThread.set(Thread.currentThread());
+            }
+        };
+        return ProtocolRestJsonAsyncClient.builder()
+                                          .region(Region.US_WEST_1)
+                                          .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                          .credentialsProvider(() -> AwsBasicCredentials.create("akid", "skid"))
+                                          .overrideConfiguration(o -> o.addExecutionInterceptor(threadRecorder));
     }
 
     private static class SpyableExecutor implements Executor {
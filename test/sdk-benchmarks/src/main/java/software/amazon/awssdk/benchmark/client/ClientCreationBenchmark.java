@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.client;
+
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Measures building a client, as done by applications that create a client per tenant or per region. The HTTP client and
+ * credentials are shared between clients, so the results cover the SDK's own setup, such as loading the execution
+ * interceptors listed on the classpath.
+ */
+@State(Scope.Benchmark)
+public class ClientCreationBenchmark {
+
+    private static final String S3_INTERCEPTOR_PATH = "software/amazon/awssdk/services/s3/execution.interceptors";
+
+    private SdkHttpClient httpClient;
+    private AwsCredentialsProvider credentialsProvider;
+
+    @Setup
+    public void setup() {
+        httpClient = UrlConnectionHttpClient.builder().build();
+        credentialsProvider = StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+    }
+
+    @Benchmark
+    public void dynamoDbClient() {
+        DynamoDbClient.builder()
+                      .region(Region.US_WEST_2)
+                      .credentialsProvider(credentialsProvider)
+                      .httpClient(httpClient)
+                      .build()
+                      .close();
+    }
+
+    @Benchmark
+    public void s3Client() {
+        S3Client.builder()
+                .region(Region.US_WEST_2)
+                .credentialsProvider(credentialsProvider)
+                .httpClient(httpClient)
+                .build()
+                .close();
+    }
+
+    @Benchmark
+    public List<ExecutionInterceptor> s3Interceptors() {
+        return new ClasspathInterceptorChainFactory().getInterceptors(S3_INTERCEPTOR_PATH);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.coldstart;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Measures the cold start of a client: building it and completing its first call in a freshly forked JVM, as seen by short
+ * lived processes such as serverless functions. Each fork runs a single invocation, so class loading, static initialization
+ * and the first use of the protocol marshallers and unmarshallers are all part of the result.
+ *
+ * <p>Calls are made against a local HTTP stub that returns an empty response for each protocol, so no network access or
+ * TLS handshake is involved.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+    private static final StaticCredentialsProvider CREDENTIALS =
+        StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid"));
+
+    private HttpServer server;
+    private URI endpoint;
+
+    @Setup
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", ColdStartBenchmark::respond);
+        server.start();
+        endpoint = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    /**
+     * aws-json protocol.
+     */
+    @Benchmark
+    public Object dynamoDb() {
+        try (DynamoDbClient client = DynamoDbClient.builder()
+                                                   .endpointOverride(endpoint)
+                                                   .region(Region.US_WEST_2)
+                                                   .credentialsProvider(CREDENTIALS)
+                                                   .httpClientBuilder(UrlConnectionHttpClient.builder())
+                                                   .build()) {
+            return client.listTables();
+        }
+    }
+
+    /**
+     * aws-json protocol, using the default asynchronous HTTP client.
+     */
+    @Benchmark
+    public Object dynamoDbAsync() {
+        try (DynamoDbAsyncClient client = DynamoDbAsyncClient.builder()
+                                                             .endpointOverride(endpoint)
+                                                             .region(Region.US_WEST_2)
+                                                             .credentialsProvider(CREDENTIALS)
+                                                             .build()) {
+            return client.listTables().join();
+        }
+    }
+
+    /**
+     * ec2 (query) protocol.
+     */
+    @Benchmark
+    public Object ec2() {
+        try (Ec2Client client = Ec2Client.builder()
+                                         .endpointOverride(endpoint)
+                                         .region(Region.US_WEST_2)
+                                         .credentialsProvider(CREDENTIALS)
+                                         .httpClientBuilder(UrlConnectionHttpClient.builder())
+                                         .build()) {
+            return client.describeRegions();
+        }
+    }
+
+    /**
+     * rest-json protocol.
+     */
+    @Benchmark
+    public Object lambda() {
+        try (LambdaClient client = LambdaClient.builder()
+                                               .endpointOverride(endpoint)
+                                               .region(Region.US_WEST_2)
+                                               .credentialsProvider(CREDENTIALS)
+                                               .httpClientBuilder(UrlConnectionHttpClient.builder())
+                                               .build()) {
+            return client.listFunctions();
+        }
+    }
+
+    /**
+     * rest-xml protocol.
+     */
+    @Benchmark
+    public Object s3() {
+        try (S3Client client = S3Client.builder()
+                                       .endpointOverride(endpoint)
+                                       .region(Region.US_WEST_2)
+                                       .credentialsProvider(CREDENTIALS)
+                                       .httpClientBuilder(UrlConnectionHttpClient.builder())
+                                       .build()) {
+            return client.listBuckets();
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        String contentType;
+        String body;
+        String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+        String path = exchange.getRequestURI().getPath();
+        if (target != null) {
+            contentType = "application/x-amz-json-1.0";
+            body = "{\"TableNames\":[]}";
+        } else if (path.startsWith("/2015-03-31/functions")) {
+            contentType = "application/json";
+            body = "{\"Functions\":[]}";
+        } else if ("POST".equals(exchange.getRequestMethod())) {
+            contentType = "text/xml";
+            body = "<DescribeRegionsResponse xmlns=\"http://ec2.amazonaws.com/doc/2016-11-15/\">"
+                   + "<requestId>request-id</requestId><regionInfo/></DescribeRegionsResponse>";
+        } else {
+            contentType = "application/xml";
+            body = "<ListAllMyBucketsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                   + "<Owner><ID>owner-id</ID></Owner><Buckets/></ListAllMyBucketsResult>";
+        }
+
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("x-amzn-RequestId", "request-id");
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.eventstream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.eventstream.HeaderValue;
+import software.amazon.eventstream.Message;
+import software.amazon.eventstream.MessageDecoder;
+
+/**
+ * Compares decoding an event stream the way the event stream response transformer used to, copying every received buffer
+ * into a retaining decoder, against decoding it in place with a transient decoder. Both copy the payload of each message
+ * once, as the transformer does. The stream is received in chunks of {@code chunkSize} bytes, so some messages are split
+ * across chunks. Run with {@code -prof gc} to see the allocation per stream.
+ */
+@State(Scope.Benchmark)
+public class MessageDecoderBenchmark {
+
+    private static final int MESSAGE_COUNT = 256;
+
+    @Param({"1024", "16384"})
+    private int payloadSize;
+
+    @Param({"8192", "65536"})
+    private int chunkSize;
+
+    private List<ByteBuffer> chunks;
+
+    @Setup
+    public void setup() {
+        Map<String, HeaderValue> headers = new HashMap<>();
+        headers.put(":message-type", HeaderValue.fromString("event"));
+        headers.put(":event-type", HeaderValue.fromString("Records"));
+        headers.put(":content-type", HeaderValue.fromString("application/octet-stream"));
+        byte[] payload = new byte[payloadSize];
+        byte[] text = "{\"Records\":{\"Payload\":\"0123456789\"}}".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = text[i % text.length];
+        }
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Message message = new Message(headers, payload);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            message.encode(stream);
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(stream.toByteArray());
+        chunks = new ArrayList<>();
+        while (data.hasRemaining()) {
+            ByteBuffer chunk = data.slice();
+            chunk.limit(Math.min(chunkSize, data.remaining()));
+            data.position(data.position() + chunk.remaining());
+            chunks.add(chunk);
+        }
+    }
+
+    @Benchmark
+    public void copyingDecoder(Blackhole blackhole) {
+        MessageDecoder decoder = new MessageDecoder(m -> blackhole.consume(m.getPayload()));
+        for (ByteBuffer chunk : chunks) {
+            decoder.feed(copy(chunk));
+        }
+    }
+
+    @Benchmark
+    public void transientDecoder(Blackhole blackhole) {
+        MessageDecoder decoder = MessageDecoder.forTransientMessages(m -> blackhole.consume(m.getPayload()));
+        for (ByteBuffer chunk : chunks) {
+            decoder.feed(chunk.duplicate());
+        }
+    }
+
+    private static byte[] copy(ByteBuffer chunk) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.http;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.nio.netty.internal.NettyHttpHeaders;
+
+/**
+ * Compares eagerly converting the headers of a small JSON response into a map against wrapping them in a lazy header view,
+ * when the SDK only probes a few of the headers. Run with {@code -prof gc} to see the per-response allocation.
+ */
+@State(Scope.Benchmark)
+public class ResponseHeadersBenchmark {
+
+    private final HttpHeaders nettyHeaders = new DefaultHttpHeaders()
+        .add("Date", "Fri, 12 Oct 2018 17:00:00 GMT")
+        .add("Content-Type", "application/x-amz-json-1.0")
+        .add("Content-Length", "142")
+        .add("Connection", "keep-alive")
+        .add("x-amzn-RequestId", "KJ2B4NGQ3H6L5P1NNTQH8BSEKVVV4KQNSO5AEMVJF66Q9ASUAAJG")
+        .add("x-amz-crc32", "2745614147");
+
+    @Benchmark
+    public void eagerMap(Blackhole blackhole) {
+        Map<String, List<String>> headers = nettyHeaders.entries().stream()
+                                                        .collect(groupingBy(Map.Entry::getKey,
+                                                                            mapping(Map.Entry::getValue, toList())));
+        probe(SdkHttpFullResponse.builder().statusCode(200).headers(headers).build(), blackhole);
+    }
+
+    @Benchmark
+    public void lazyView(Blackhole blackhole) {
+        probe(SdkHttpFullResponse.builder().statusCode(200).headers(new NettyHttpHeaders(nettyHeaders)).build(), blackhole);
+    }
+
+    private static void probe(SdkHttpFullResponse response, Blackhole blackhole) {
+        blackhole.consume(response.firstMatchingHeader("x-amzn-RequestId"));
+        blackhole.consume(response.firstMatchingHeader("x-amz-crc32"));
+        blackhole.consume(response.firstMatchingHeader("Content-Length"));
+        blackhole.consume(response.firstMatchingHeader("Content-Encoding"));
+    }
+}
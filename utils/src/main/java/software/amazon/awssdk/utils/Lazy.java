@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils;
+
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A value that is created the first time it is needed, rather than when its owner is created. This is useful for components
+ * that are expensive to create and are only used by some requests, such as the unmarshaller for error responses.
+ *
+ * <p>The initializer is called at most once, unless it throws an exception, in which case it is called again the next time
+ * the value is requested.</p>
+ *
+ * @param <T> The type of value.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class Lazy<T> {
+
+    private final Supplier<T> initializer;
+    private volatile T value;
+
+    public Lazy(Supplier<T> initializer) {
+        this.initializer = Validate.paramNotNull(initializer, "initializer");
+    }
+
+    /**
+     * @return The value, creating it if it has not been created yet.
+     */
+    public T getValue() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = Validate.notNull(initializer.get(), "Lazy initializer must not return null.");
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        T result = value;
+        return ToString.builder("Lazy")
+                       .add("value", result == null ? "Uninitialized" : result)
+                       .build();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A cache of values computed from a key, holding at most roughly a fixed number of entries. It is meant for results that are
+ * cheap to store but relatively expensive to compute, and that are requested repeatedly with a small set of keys, such as
+ * endpoints resolved for a region or host names derived from a bucket name.
+ *
+ * <p>Looking up a cached value does not lock. When the cache is full, an arbitrary entry is evicted to make room for a new one,
+ * so a workload with more distinct keys than the cache can hold still works, it just computes values more often.</p>
+ *
+ * <p>Values may be computed more than once for the same key when it is requested concurrently, in which case the first value
+ * stored is returned. A {@code null} value is returned to the caller but not cached.</p>
+ *
+ * @param <K> The type of key.
+ * @param <V> The type of value.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class BoundedCache<K, V> {
+
+    private final ConcurrentMap<K, V> cache = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> valueFunction;
+    private final int maxSize;
+
+    /**
+     * @param maxSize The number of entries above which entries are evicted.
+     * @param valueFunction Computes the value for a key that is not in the cache.
+     */
+    public BoundedCache(int maxSize, Function<? super K, ? extends V> valueFunction) {
+        this.maxSize = Validate.isPositive(maxSize, "maxSize");
+        this.valueFunction = Validate.paramNotNull(valueFunction, "valueFunction");
+    }
+
+    /**
+     * @return The value for the given key, computing it if it is not cached.
+     */
+    public V get(K key) {
+        V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = valueFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        if (cache.size() >= maxSize) {
+            Iterator<K> keys = cache.keySet().iterator();
+            if (keys.hasNext()) {
+                cache.remove(keys.next());
+            }
+        }
+
+        V previous = cache.putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+
+    /**
+     * @return The number of entries currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * The threads shared by all {@link CachedSupplier}s in the JVM, rather than each cache creating its own.
+ *
+ * <p>A bounded pool of daemon threads performs background refreshes for {@link NonBlocking} and
+ * {@link CachedSupplier#getAsync()}. Threads are only started when they are first needed, and stop again once they have been
+ * idle for a minute.</p>
+ */
+@SdkInternalApi
+final class CacheRefreshScheduler {
+    private static final int REFRESH_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    private CacheRefreshScheduler() {
+    }
+
+    /**
+     * The executor that should be used to refresh cached values in the background. Refreshes beyond the number of threads are
+     * queued, each cache only ever queues one refresh at a time.
+     */
+    static Executor refreshExecutor() {
+        return Holder.REFRESH_EXECUTOR;
+    }
+
+    /**
+     * Created on first use, so that applications that never cache a value do not pay for it.
+     */
+    private static final class Holder {
+        private static final ThreadPoolExecutor REFRESH_EXECUTOR = createRefreshExecutor();
+
+        private static ThreadPoolExecutor createRefreshExecutor() {
+            ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, IDLE_TIMEOUT_SECONDS, SECONDS,
+                                       new LinkedBlockingQueue<>(),
+                                       new ThreadFactoryBuilder().daemonThreads(true)
+                                                                 .threadNamePrefix("sdk-cache-refresh")
+                                                                 .build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
@@ -15,9 +15,14 @@
 
 package software.amazon.awssdk.utils.cache;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -32,7 +37,14 @@ import software.amazon.awssdk.utils.Validate;
  * value.
  *
  * For example, the {@link OneCallerBlocks} strategy will have a single caller block to update the value, and the
- * {@link NonBlocking} strategy maintains a thread pool for updating the value asynchronously in the background.
+ * {@link NonBlocking} strategy updates the value asynchronously in the background, using threads shared by all caches.
+ *
+ * Callers that must not block can use {@link #getAsync()}, which runs refreshes in the background and shares a single in-flight
+ * refresh between all callers.
+ *
+ * The prefetch time of each value is moved to a random point in the first half of the window between its
+ * {@link RefreshResult#prefetchTime()} and {@link RefreshResult#staleTime()}, so that many caches (or many hosts) that loaded
+ * their values at the same time do not all refresh them at the same time.
  *
  * This should be created using {@link #builder(Supplier)}.
  */
@@ -58,21 +70,29 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
     private final PrefetchStrategy prefetchStrategy;
 
     /**
-     * The value currently stored in this cache.
+     * The value currently stored in this cache, along with its prefetch and stale times.
+     */
+    private final AtomicReference<CachedValue<T>> cachedValue = new AtomicReference<>(CachedValue.uninitialized());
+
+    /**
+     * The refresh started by {@link #getAsync(Executor)} that has not completed yet, or null if there is none.
      */
-    private volatile RefreshResult<T> cachedValue = RefreshResult.builder((T) null)
-                                                                 .staleTime(Instant.MIN)
-                                                                 .prefetchTime(Instant.MIN)
-                                                                 .build();
+    private final AtomicReference<CompletableFuture<T>> pendingAsyncRefresh = new AtomicReference<>();
 
     /**
      * The "expensive" to call supplier that is used to refresh the {@link #cachedValue}.
      */
     private final Supplier<RefreshResult<T>> valueSupplier;
 
+    /**
+     * The clock that the prefetch and stale times are compared with.
+     */
+    private final Clock clock;
+
     private CachedSupplier(Builder<T> builder) {
         this.valueSupplier = Validate.notNull(builder.supplier, "builder.supplier");
         this.prefetchStrategy = Validate.notNull(builder.prefetchStrategy, "builder.prefetchStrategy");
+        this.clock = Validate.notNull(builder.clock, "builder.clock");
     }
 
     /**
@@ -86,28 +106,52 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
 
     @Override
     public T get() {
-        if (cacheIsStale()) {
+        CachedValue<T> currentValue = cachedValue.get();
+        State state = currentValue.stateAt(clock.instant());
+        if (state == State.FRESH) {
+            return currentValue.value;
+        }
+
+        if (state == State.STALE) {
             refreshCache();
-        } else if (shouldInitiateCachePrefetch()) {
+        } else {
             prefetchCache();
         }
 
-        return this.cachedValue.value();
+        return cachedValue.get().value;
     }
 
     /**
-     * Determines whether the value in this cache is stale, and all threads should block and wait for an updated value.
+     * Retrieve the value without blocking the calling thread, refreshing it on the threads shared by all caches if needed.
+     *
+     * @see #getAsync(Executor)
      */
-    private boolean cacheIsStale() {
-        return Instant.now().isAfter(cachedValue.staleTime());
+    public CompletableFuture<T> getAsync() {
+        return getAsync(CacheRefreshScheduler.refreshExecutor());
     }
 
     /**
-     * Determines whether the cached value's prefetch time has passed and we should initiate a pre-fetch on the value using the
-     * configured {@link #prefetchStrategy}.
+     * Retrieve the value without blocking the calling thread.
+     *
+     * <p>If the cached value is not stale, the returned future is already completed with it. If the prefetch time has passed, a
+     * refresh is also started on the provided executor, but the caller is not made to wait for it. If the cached value is stale,
+     * the returned future is completed once a refresh on the provided executor has updated it. Concurrent callers share the
+     * same refresh, so the underlying supplier is still only called once.</p>
+     *
+     * @param executor The executor that should call the underlying supplier if the value needs to be refreshed.
      */
-    private boolean shouldInitiateCachePrefetch() {
-        return Instant.now().isAfter(cachedValue.prefetchTime());
+    public CompletableFuture<T> getAsync(Executor executor) {
+        CachedValue<T> currentValue = cachedValue.get();
+        State state = currentValue.stateAt(clock.instant());
+        if (state == State.STALE) {
+            return refreshCacheAsync(executor);
+        }
+
+        if (state == State.PREFETCH) {
+            refreshCacheAsync(executor);
+        }
+
+        return CompletableFuture.completedFuture(currentValue.value);
     }
 
     /**
@@ -128,9 +172,9 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
 
             try {
                 // Make sure the value was not refreshed while we waited for the lock.
-                if (cacheIsStale() || shouldInitiateCachePrefetch()) {
+                if (cachedValue.get().stateAt(clock.instant()) != State.FRESH) {
                     // It wasn't, call the supplier to update it.
-                    cachedValue = valueSupplier.get();
+                    updateCachedValue(valueSupplier.get());
                 }
             } finally {
                 if (lockAcquired) {
@@ -142,6 +186,61 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         }
     }
 
+    /**
+     * Start a refresh of the cached value on the provided executor, or return the refresh that is already in progress.
+     */
+    private CompletableFuture<T> refreshCacheAsync(Executor executor) {
+        while (true) {
+            CompletableFuture<T> pendingRefresh = pendingAsyncRefresh.get();
+            if (pendingRefresh != null) {
+                return pendingRefresh;
+            }
+
+            CompletableFuture<T> refresh = new CompletableFuture<>();
+            if (!pendingAsyncRefresh.compareAndSet(null, refresh)) {
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        refreshCache();
+                        pendingAsyncRefresh.set(null);
+                        refresh.complete(cachedValue.get().value);
+                    } catch (Throwable t) {
+                        pendingAsyncRefresh.set(null);
+                        refresh.completeExceptionally(t);
+                    }
+                });
+            } catch (RuntimeException e) {
+                pendingAsyncRefresh.set(null);
+                refresh.completeExceptionally(e);
+            }
+            return refresh;
+        }
+    }
+
+    /**
+     * Store a value returned by the {@link #valueSupplier}, with its prefetch time jittered.
+     */
+    private void updateCachedValue(RefreshResult<T> refreshResult) {
+        Instant staleTime = refreshResult.staleTime() != null ? refreshResult.staleTime() : Instant.MAX;
+        Instant prefetchTime = refreshResult.prefetchTime() != null ? refreshResult.prefetchTime() : Instant.MAX;
+        cachedValue.set(new CachedValue<>(refreshResult.value(), staleTime, jitter(prefetchTime, staleTime)));
+    }
+
+    /**
+     * Move the prefetch time to a random point in the first half of the window before the stale time.
+     */
+    static Instant jitter(Instant prefetchTime, Instant staleTime) {
+        if (prefetchTime.equals(Instant.MAX) || staleTime.equals(Instant.MAX) || !prefetchTime.isBefore(staleTime)) {
+            return prefetchTime;
+        }
+        long windowMillis = Duration.between(prefetchTime, staleTime).toMillis() / 2;
+        return windowMillis <= 0 ? prefetchTime
+                                 : prefetchTime.plusMillis(ThreadLocalRandom.current().nextLong(windowMillis));
+    }
+
     @ReviewBeforeRelease("Should this throw a different exception, like AbortedException, from the core?")
     private void handleInterruptedException(String message, InterruptedException cause) {
         Thread.currentThread().interrupt();
@@ -156,12 +255,51 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         prefetchStrategy.close();
     }
 
+    /**
+     * Whether a cached value can be used as it is, should be pre-fetched, or must be refreshed before it is used.
+     */
+    private enum State {
+        FRESH,
+        PREFETCH,
+        STALE
+    }
+
+    /**
+     * An immutable cached value and the times at which it needs to be refreshed, so that {@link #get()} only needs to read
+     * {@link #cachedValue} and compare the clock with {@link #freshUntil}.
+     */
+    private static final class CachedValue<T> {
+        private final T value;
+        private final Instant staleTime;
+        private final Instant prefetchTime;
+        private final Instant freshUntil;
+
+        private CachedValue(T value, Instant staleTime, Instant prefetchTime) {
+            this.value = value;
+            this.staleTime = staleTime;
+            this.prefetchTime = prefetchTime;
+            this.freshUntil = prefetchTime.isBefore(staleTime) ? prefetchTime : staleTime;
+        }
+
+        private static <T> CachedValue<T> uninitialized() {
+            return new CachedValue<>(null, Instant.MIN, Instant.MIN);
+        }
+
+        private State stateAt(Instant now) {
+            if (!now.isAfter(freshUntil)) {
+                return State.FRESH;
+            }
+            return now.isAfter(staleTime) ? State.STALE : State.PREFETCH;
+        }
+    }
+
     /**
      * A Builder for {@link CachedSupplier}, created by {@link #builder(Supplier)}.
      */
     public static final class Builder<T> {
         private final Supplier<RefreshResult<T>> supplier;
         private PrefetchStrategy prefetchStrategy = new OneCallerBlocks();
+        private Clock clock = Clock.systemUTC();
 
         private Builder(Supplier<RefreshResult<T>> supplier) {
             this.supplier = supplier;
@@ -179,6 +317,14 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
             return this;
         }
 
+        /**
+         * Configure the clock that the prefetch and stale times are compared with. This is only intended for tests.
+         */
+        Builder<T> clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
         /**
          * Create a {@link CachedSupplier} using the current configuration of this builder.
          */
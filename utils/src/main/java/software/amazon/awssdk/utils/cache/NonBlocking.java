@@ -15,16 +15,16 @@
 
 package software.amazon.awssdk.utils.cache;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
-import software.amazon.awssdk.utils.ExecutorUtils;
 
 /**
- * A {@link CachedSupplier.PrefetchStrategy} that will run a single thread in the background to update the value. A call to
- * prefetch on this strategy will never return.
+ * A {@link CachedSupplier.PrefetchStrategy} that will update the value in the background. A call to prefetch on this strategy
+ * will never block.
  *
- * Multiple calls to {@link #prefetch(Runnable)} will still only result in one background task performing the update.
+ * Multiple calls to {@link #prefetch(Runnable)} will still only result in one background task performing the update. The update
+ * runs on a bounded pool of daemon threads that is shared by all {@link NonBlocking} strategies, so creating many caches that use
+ * this strategy does not create a thread for each of them.
  */
 @SdkProtectedApi
 public class NonBlocking implements CachedSupplier.PrefetchStrategy {
@@ -34,24 +34,33 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
     private final AtomicBoolean currentlyRefreshing = new AtomicBoolean(false);
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * Whether this strategy has been closed, after which no more updates are started.
      */
-    private final ExecutorService executor;
+    private volatile boolean closed;
 
     /**
-     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread that will be
-     * performing the update.
+     * Create a non-blocking prefetch strategy that updates the value on the shared background threads.
      */
+    public NonBlocking() {
+    }
+
+    /**
+     * Create a non-blocking prefetch strategy that updates the value on the shared background threads.
+     *
+     * @deprecated Updates run on threads that are shared by all {@link NonBlocking} strategies, so the thread name is no
+     * longer used. Use {@link #NonBlocking()}.
+     */
+    @Deprecated
     public NonBlocking(String asyncThreadName) {
-        this.executor = ExecutorUtils.newSingleDaemonThreadExecutor(1, asyncThreadName);
+        this();
     }
 
     @Override
     public void prefetch(Runnable valueUpdater) {
         // Only run one async refresh at a time.
-        if (currentlyRefreshing.compareAndSet(false, true)) {
+        if (!closed && currentlyRefreshing.compareAndSet(false, true)) {
             try {
-                executor.submit(() -> {
+                CacheRefreshScheduler.refreshExecutor().execute(() -> {
                     try {
                         valueUpdater.run();
                     } finally {
@@ -67,6 +76,6 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
 
     @Override
     public void close() {
-        executor.shutdown();
+        closed = true;
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class LazyTest {
+
+    private final AtomicInteger initializations = new AtomicInteger();
+
+    @Test
+    public void valueIsNotCreatedUntilRequested() {
+        Lazy<String> lazy = new Lazy<>(this::create);
+        assertThat(initializations.get()).isEqualTo(0);
+        assertThat(lazy.toString()).isEqualTo("Lazy(value=Uninitialized)");
+
+        assertThat(lazy.getValue()).isEqualTo("value-1");
+        assertThat(lazy.toString()).isEqualTo("Lazy(value=value-1)");
+    }
+
+    @Test
+    public void valueIsOnlyCreatedOnce() {
+        Lazy<String> lazy = new Lazy<>(this::create);
+        assertThat(lazy.getValue()).isEqualTo("value-1");
+        assertThat(lazy.getValue()).isEqualTo("value-1");
+        assertThat(initializations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedInitializationIsRetried() {
+        Lazy<String> lazy = new Lazy<>(() -> {
+            if (initializations.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return "value";
+        });
+
+        assertThatThrownBy(lazy::getValue).isInstanceOf(IllegalStateException.class);
+        assertThat(lazy.getValue()).isEqualTo("value");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullInitializer_ThrowsException() {
+        new Lazy<>(null);
+    }
+
+    private String create() {
+        return "value-" + initializations.incrementAndGet();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    public void valueIsComputedOncePerKey() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, this::compute);
+
+        assertThat(cache.get("a")).isEqualTo("a-1");
+        assertThat(cache.get("a")).isEqualTo("a-1");
+        assertThat(cache.get("b")).isEqualTo("b-2");
+        assertThat(computations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cacheDoesNotGrowBeyondMaxSize() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, this::compute);
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("c")).isEqualTo("c-3");
+        assertThat(computations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void nullValuesAreNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, key -> {
+            computations.incrementAndGet();
+            return null;
+        });
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(computations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void maxSizeMustBePositive() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(0, this::compute))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String compute(String key) {
+        return key + "-" + computations.incrementAndGet();
+    }
+}
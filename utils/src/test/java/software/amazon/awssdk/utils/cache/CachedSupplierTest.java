@@ -19,15 +19,23 @@ import static org.junit.Assert.fail;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.junit.After;
 import org.junit.Assert;
@@ -221,7 +229,7 @@ public class CachedSupplierTest {
     public void nonBlockingPrefetchStrategyWorks() {
         try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), past());
              CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier)
-                                                                   .prefetchStrategy(new NonBlocking("test-%s"))
+                                                                   .prefetchStrategy(new NonBlocking())
                                                                    .build()) {
             // Perform one successful "get" to prime the cache.
             waitingSupplier.permits.release(1);
@@ -238,6 +246,175 @@ public class CachedSupplierTest {
         }
     }
 
+    @Test
+    public void getAsyncDoesNotBlockCallersWhileRefreshing() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), future())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier).build();
+
+            // Both callers return straight away, sharing a single refresh on the executor.
+            CompletableFuture<String> first = cachedSupplier.getAsync(executorService);
+            CompletableFuture<String> second = cachedSupplier.getAsync(executorService);
+            waitingSupplier.waitForGetsToHaveStarted(1);
+            Assert.assertFalse(first.isDone());
+            Assert.assertFalse(second.isDone());
+
+            waitingSupplier.permits.release(1);
+            Assert.assertEquals("value", waitFor(first));
+            Assert.assertEquals("value", waitFor(second));
+
+            // The refreshed value is returned without going to the executor.
+            Assert.assertTrue(cachedSupplier.getAsync(executorService).isDone());
+            waitingSupplier.waitForGetsToHaveFinished(1);
+        }
+    }
+
+    @Test
+    public void getAsyncPrefetchReturnsCurrentValue() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), past())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier).build();
+
+            // Prime the cache.
+            waitingSupplier.permits.release(1);
+            waitFor(cachedSupplier.getAsync(executorService));
+
+            // The prefetch starts in the background, the caller gets the current value.
+            CompletableFuture<String> prefetching = cachedSupplier.getAsync(executorService);
+            Assert.assertTrue(prefetching.isDone());
+            Assert.assertEquals("value", prefetching.join());
+            waitingSupplier.waitForGetsToHaveStarted(2);
+            waitingSupplier.waitForGetsToHaveFinished(1);
+        }
+    }
+
+    @Test
+    public void getAsyncFailuresAreReportedAndRetried() {
+        RuntimeException failure = new RuntimeException("refresh failed");
+        boolean[] failRefresh = {true};
+        CachedSupplier<String> cachedSupplier = CachedSupplier.builder(() -> {
+            if (failRefresh[0]) {
+                throw failure;
+            }
+            return RefreshResult.builder("value").build();
+        }).build();
+
+        CompletableFuture<String> failed = cachedSupplier.getAsync(executorService);
+        try {
+            waitFor(failed);
+            fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(failed.isCompletedExceptionally());
+        }
+
+        failRefresh[0] = false;
+        Assert.assertEquals("value", waitFor(cachedSupplier.getAsync(executorService)));
+    }
+
+    @Test
+    public void valueBecomesStaleWhenStaleTimeArrives() {
+        AdjustableClock clock = new AdjustableClock();
+        AtomicInteger calls = new AtomicInteger(0);
+        CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(() -> RefreshResult.builder(calls.incrementAndGet())
+                                                                                 .staleTime(clock.instant().plusSeconds(60))
+                                                                                 .build())
+                                                               .clock(clock)
+                                                               .build();
+
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+
+        clock.advance(Duration.ofSeconds(61));
+        Assert.assertEquals(2, (int) cachedSupplier.get());
+        cachedSupplier.close();
+    }
+
+    @Test
+    public void valueIsPrefetchedWhenPrefetchTimeArrives() {
+        AdjustableClock clock = new AdjustableClock();
+        AtomicInteger calls = new AtomicInteger(0);
+        CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(() -> RefreshResult.builder(calls.incrementAndGet())
+                                                                                 .prefetchTime(clock.instant().plusSeconds(60))
+                                                                                 .build())
+                                                               .clock(clock)
+                                                               .build();
+
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+
+        // The default strategy has this caller prefetch the value.
+        clock.advance(Duration.ofSeconds(61));
+        Assert.assertEquals(2, (int) cachedSupplier.get());
+        cachedSupplier.close();
+    }
+
+    @Test
+    public void valueThatWasNotPrefetchedBecomesStaleWhenStaleTimeArrives() {
+        AdjustableClock clock = new AdjustableClock();
+        CachedSupplier<Integer> cachedSupplier = prefetchingNothing(clock);
+
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+
+        // Past the jittered prefetch time, but the prefetch strategy does not refresh the value.
+        clock.advance(Duration.ofSeconds(91));
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+
+        clock.advance(Duration.ofSeconds(30));
+        Assert.assertEquals(2, (int) cachedSupplier.get());
+        cachedSupplier.close();
+    }
+
+    @Test
+    public void getAsyncRefreshesValueThatWasNotPrefetchedWhenStaleTimeArrives() {
+        AdjustableClock clock = new AdjustableClock();
+        CachedSupplier<Integer> cachedSupplier = prefetchingNothing(clock);
+        Executor refusingExecutor = r -> {
+            throw new RejectedExecutionException();
+        };
+
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+
+        // Past the jittered prefetch time. The prefetch is rejected, so the value is still the first one.
+        clock.advance(Duration.ofSeconds(91));
+        Assert.assertEquals(1, (int) waitFor(cachedSupplier.getAsync(refusingExecutor)));
+
+        clock.advance(Duration.ofSeconds(30));
+        Assert.assertEquals(2, (int) waitFor(cachedSupplier.getAsync(Runnable::run)));
+        cachedSupplier.close();
+    }
+
+    /**
+     * A cache whose values have a prefetch time of 60 seconds and a stale time of 120 seconds from now, and whose prefetch
+     * strategy never refreshes them.
+     */
+    private CachedSupplier<Integer> prefetchingNothing(AdjustableClock clock) {
+        AtomicInteger calls = new AtomicInteger(0);
+        return CachedSupplier.builder(() -> RefreshResult.builder(calls.incrementAndGet())
+                                                         .prefetchTime(clock.instant().plusSeconds(60))
+                                                         .staleTime(clock.instant().plusSeconds(120))
+                                                         .build())
+                             .prefetchStrategy(valueUpdater -> { })
+                             .clock(clock)
+                             .build();
+    }
+
+    @Test
+    public void prefetchTimeIsJitteredWithinFirstHalfOfWindow() {
+        Instant prefetchTime = Instant.now();
+        Instant staleTime = prefetchTime.plus(Duration.ofMinutes(10));
+        Instant halfWindow = prefetchTime.plus(Duration.ofMinutes(5));
+
+        boolean jittered = false;
+        for (int i = 0; i < 100; ++i) {
+            Instant jitteredTime = CachedSupplier.jitter(prefetchTime, staleTime);
+            Assert.assertFalse(jitteredTime.isBefore(prefetchTime));
+            Assert.assertTrue(jitteredTime.isBefore(halfWindow));
+            jittered |= !jitteredTime.equals(prefetchTime);
+        }
+        Assert.assertTrue(jittered);
+
+        // Values without a stale time are prefetched when requested.
+        Assert.assertEquals(prefetchTime, CachedSupplier.jitter(prefetchTime, Instant.MAX));
+    }
+
     /**
      * Asynchronously perform a "get" on the provided supplier, returning the future that will be completed when the "get"
      * finishes.
@@ -266,6 +443,13 @@ public class CachedSupplierTest {
         invokeSafely(() -> future.get(10, TimeUnit.SECONDS));
     }
 
+    /**
+     * Wait for the provided future to complete, failing the test if it does not, and return its value.
+     */
+    private <T> T waitFor(CompletableFuture<T> future) {
+        return invokeSafely(() -> future.get(10, TimeUnit.SECONDS));
+    }
+
     /**
      * Wait for all futures in the provided collection fo complete, failing the test if they do not all complete.
      */
@@ -287,4 +471,30 @@ public class CachedSupplierTest {
     private Instant future() {
         return Instant.MAX;
     }
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static class AdjustableClock extends Clock {
+        private volatile Instant now = Instant.now();
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }